@@ -39,6 +39,7 @@ import ch.cyberduck.core.local.ApplicationFinder;
 import ch.cyberduck.core.local.ApplicationFinderFactory;
 import ch.cyberduck.core.local.ApplicationQuitCallback;
 import ch.cyberduck.core.manta.MantaProtocol;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.nio.LocalProtocol;
 import ch.cyberduck.core.onedrive.OneDriveProtocol;
 import ch.cyberduck.core.openstack.SwiftProtocol;
@@ -77,10 +78,16 @@ import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.cli.PosixParser;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.log4j.Logger;
 
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -135,7 +142,7 @@ public class Terminal {
             log.info(String.format("Parsed options %s from input %s", options, input));
         }
         this.input = input;
-        this.cache = new PathCache(preferences.getInteger("browser.cache.size"));
+        this.cache = new ConcurrentPathCache(preferences);
         this.progress = input.hasOption(TerminalOptionsBuilder.Params.quiet.name())
             ? new DisabledListProgressListener() : new TerminalProgressListener();
         this.transcript = input.hasOption(TerminalOptionsBuilder.Params.verbose.name())
@@ -279,10 +286,32 @@ public class Terminal {
         finally {
             this.disconnect(source);
             this.disconnect(destination);
+            this.metrics(console);
         }
         return Exit.failure;
     }
 
+    /**
+     * Write collected metrics as JSON to the file given with the option or to the console
+     */
+    protected void metrics(final Console console) {
+        if(!input.hasOption(TerminalOptionsBuilder.Params.metrics.name())) {
+            return;
+        }
+        final String json = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(MetricsRegistry.get().toJson());
+        final String file = input.getOptionValue(TerminalOptionsBuilder.Params.metrics.name());
+        if(StringUtils.isBlank(file)) {
+            console.printf("%n%s%n", json);
+            return;
+        }
+        try {
+            FileUtils.writeStringToFile(new File(file), json, StandardCharsets.UTF_8);
+        }
+        catch(IOException e) {
+            console.printf("%nFailure writing metrics to %s. %s%n", file, e.getMessage());
+        }
+    }
+
     protected void configure(final CommandLine input) {
         final boolean preserve = input.hasOption(TerminalOptionsBuilder.Params.preserve.name());
         preferences.setProperty("queue.upload.permissions.change", preserve);
@@ -312,6 +341,9 @@ public class Terminal {
                 NumberUtils.toInt(input.getOptionValue(TerminalOptionsBuilder.Params.parallel.name()), 2));
         }
         preferences.setProperty("connection.login.keychain", !input.hasOption(TerminalOptionsBuilder.Params.nokeychain.name()));
+        if(input.hasOption(TerminalOptionsBuilder.Params.metrics.name())) {
+            MetricsRegistry.get().setEnabled(true);
+        }
     }
 
     protected Exit transfer(final Transfer transfer, final SessionPool source, final SessionPool destination) {
@@ -384,10 +416,10 @@ public class Terminal {
         }
         final DeleteWorker worker;
         if(StringUtils.containsAny(remote.getName(), '*')) {
-            worker = new DeleteWorker(new TerminalLoginCallback(reader), files, cache, new DownloadGlobFilter(remote.getName()), progress);
+            worker = new DeleteWorker(new TerminalLoginCallback(reader), files, cache, new DownloadGlobFilter(remote.getName()), progress, session);
         }
         else {
-            worker = new DeleteWorker(new TerminalLoginCallback(reader), files, cache, progress);
+            worker = new DeleteWorker(new TerminalLoginCallback(reader), files, cache, new NullFilter<Path>(), progress, session);
         }
         final SessionBackgroundAction<List<Path>> action = new TerminalBackgroundAction<List<Path>>(controller, session, worker);
         if(!this.execute(action)) {
@@ -154,6 +154,18 @@ public final class TerminalOptionsBuilder {
                 .hasArg(true).withArgName("bytes per second")
                 .isRequired(false)
                 .create());
+        options.addOption(OptionBuilder
+                .withDescription("Share of throttled bandwidth relative to other transfers")
+                .withLongOpt(Params.priority.name())
+                .hasArg(true).withArgName("weight")
+                .isRequired(false)
+                .create());
+        options.addOption(OptionBuilder
+                .withDescription("Write transfer metrics as JSON to file or standard output when done")
+                .withLongOpt(Params.metrics.name())
+                .hasOptionalArg().withArgName("file")
+                .isRequired(false)
+                .create());
         options.addOption(OptionBuilder
                 .withDescription("Do not save passwords in keychain")
                 .withLongOpt(Params.nokeychain.name())
@@ -221,6 +233,8 @@ public final class TerminalOptionsBuilder {
         udt,
         parallel,
         throttle,
+        priority,
+        metrics,
         nokeychain,
         existing,
         verbose,
@@ -69,6 +69,14 @@ public final class TerminalTransferFactory {
                 //
             }
         }
+        if(input.hasOption(TerminalOptionsBuilder.Params.priority.name())) {
+            try {
+                transfer.setPriority(Integer.valueOf(input.getOptionValue(TerminalOptionsBuilder.Params.priority.name())));
+            }
+            catch(NumberFormatException ignore) {
+                //
+            }
+        }
         return transfer;
     }
 }
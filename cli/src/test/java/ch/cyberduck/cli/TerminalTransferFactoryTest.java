@@ -47,6 +47,16 @@ public class TerminalTransferFactoryTest  {
         assertEquals(Transfer.Type.download, transfer.getType());
     }
 
+    @Test
+    public void testPriority() throws Exception {
+        final CommandLineParser parser = new PosixParser();
+
+        final Transfer transfer = new TerminalTransferFactory().create(parser.parse(TerminalOptionsBuilder.options(), new String[]{"--download", "rackspace://cdn.cyberduck.ch/remote", "--priority", "3"}),
+                new Host(new SwiftProtocol()), new Path("/remote", EnumSet.of(Path.Type.directory)), Collections.<TransferItem>emptyList());
+        assertEquals(3, transfer.getPriority());
+        assertEquals(3, transfer.getBandwidth().getWeight());
+    }
+
     @Test
     public void testFilter() throws Exception {
         final CommandLineParser parser = new PosixParser();
@@ -29,13 +29,14 @@ import ch.cyberduck.core.exception.AccessDeniedException;
 import ch.cyberduck.core.exception.LocalAccessDeniedException;
 import ch.cyberduck.core.exception.LocalNotfoundException;
 import ch.cyberduck.core.exception.NotfoundException;
+import ch.cyberduck.core.io.FileChannelInputStream;
+import ch.cyberduck.core.io.FileChannelOutputStream;
 import ch.cyberduck.core.io.LocalRepeatableFileInputStream;
 import ch.cyberduck.core.library.Native;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.serializer.Serializer;
 
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.io.output.ProxyOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
@@ -49,6 +50,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 public class FinderLocal extends Local {
     private static final Logger log = Logger.getLogger(FinderLocal.class);
@@ -174,6 +178,36 @@ public class FinderLocal extends Local {
         }
     }
 
+    @Override
+    public OutputStream getOutputStream(final long position) throws AccessDeniedException {
+        final NSURL resolved;
+        try {
+            resolved = this.lock(false);
+        }
+        catch(LocalAccessDeniedException e) {
+            return super.getOutputStream(position);
+        }
+        try {
+            final FileChannel channel = FileChannel.open(Paths.get(resolved.path()), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.position(position);
+            return new FileChannelOutputStream(channel) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    }
+                    finally {
+                        release(resolved);
+                    }
+                }
+            };
+        }
+        catch(IOException e) {
+            this.release(resolved);
+            throw new LocalAccessDeniedException(e.getMessage(), e);
+        }
+    }
+
     /**
      * @param interactive Prompt to resolve bookmark of file outside of sandbox with choose panel
      */
@@ -209,7 +243,7 @@ public class FinderLocal extends Local {
             return super.getInputStream();
         }
         try {
-            return new ProxyInputStream(new LocalRepeatableFileInputStream(new File(resolved.path()))) {
+            return new LocalRepeatableFileInputStream(new File(resolved.path())) {
                 @Override
                 public void close() throws IOException {
                     try {
@@ -226,6 +260,36 @@ public class FinderLocal extends Local {
         }
     }
 
+    @Override
+    public InputStream getInputStream(final long position) throws AccessDeniedException {
+        final NSURL resolved;
+        try {
+            resolved = this.lock(false);
+        }
+        catch(AccessDeniedException e) {
+            return super.getInputStream(position);
+        }
+        try {
+            final FileChannel channel = FileChannel.open(Paths.get(resolved.path()), StandardOpenOption.READ);
+            channel.position(position);
+            return new FileChannelInputStream(channel) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    }
+                    finally {
+                        release(resolved);
+                    }
+                }
+            };
+        }
+        catch(IOException e) {
+            this.release(resolved);
+            throw new LocalAccessDeniedException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public AttributedList<Local> list() throws AccessDeniedException {
         if(PreferencesFactory.get().getBoolean("local.list.native")) {
@@ -90,7 +90,9 @@ public abstract class AbstractCache<T extends Referenceable> implements Cache<T>
     public AttributedList<T> get(final T reference) {
         AttributedList<T> children = impl.get(reference);
         if(null == children) {
-            log.warn(String.format("No cache for %s", reference));
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("No cache for %s", reference));
+            }
             return AttributedList.emptyList();
         }
         return children;
@@ -0,0 +1,123 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.threading.NamedThreadFactory;
+
+import org.apache.log4j.Logger;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hand off messages to a single consumer thread without blocking the caller. Messages are dropped when the queue
+ * is full.
+ */
+public class AsyncTranscriptListener implements BatchTranscriptListener {
+    private static final Logger log = Logger.getLogger(AsyncTranscriptListener.class);
+
+    private static final int CAPACITY = 10000;
+
+    private static final Queue<Record> queue = new ConcurrentLinkedQueue<Record>();
+
+    /**
+     * Number of lines in queue
+     */
+    private static final AtomicInteger size = new AtomicInteger();
+
+    private static final AtomicLong dropped = new AtomicLong();
+
+    private static final AtomicBoolean waiting = new AtomicBoolean();
+
+    private static final Thread consumer = new NamedThreadFactory("transcript").newThread(new Runnable() {
+        @Override
+        public void run() {
+            while(true) {
+                final Record record = queue.poll();
+                if(null == record) {
+                    waiting.set(true);
+                    if(queue.isEmpty()) {
+                        LockSupport.park();
+                    }
+                    waiting.set(false);
+                    continue;
+                }
+                size.addAndGet(-record.lines.size());
+                try {
+                    record.listener.log(record.type, record.lines);
+                }
+                catch(RuntimeException e) {
+                    log.warn(String.format("Failure writing transcript to %s. %s", record.listener, e.getMessage()));
+                }
+                final long count = dropped.getAndSet(0L);
+                if(count > 0) {
+                    log.warn(String.format("Dropped %d transcript lines", count));
+                }
+            }
+        }
+    });
+
+    static {
+        consumer.start();
+    }
+
+    private final BatchTranscriptListener delegate;
+
+    public AsyncTranscriptListener(final BatchTranscriptListener delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return delegate.isEnabled();
+    }
+
+    @Override
+    public void log(final Type request, final String message) {
+        this.log(request, Collections.singletonList(message));
+    }
+
+    @Override
+    public void log(final Type request, final List<String> lines) {
+        if(size.addAndGet(lines.size()) > CAPACITY) {
+            size.addAndGet(-lines.size());
+            dropped.addAndGet(lines.size());
+            return;
+        }
+        queue.offer(new Record(delegate, request, lines));
+        if(waiting.get()) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private static final class Record {
+        private final BatchTranscriptListener listener;
+        private final Type type;
+        private final List<String> lines;
+
+        private Record(final BatchTranscriptListener listener, final Type type, final List<String> lines) {
+            this.listener = listener;
+            this.type = type;
+            this.lines = lines;
+        }
+    }
+}
@@ -20,17 +20,21 @@ package ch.cyberduck.core;
 
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
 /**
- * A sortable list with a map to lookup values by key.
+ * A sortable list with a map to lookup values by key. Modifications are made to a backing list that is not copied
+ * on append. Readers get an immutable snapshot that is created on first access after a modification together with
+ * an index to lookup elements by equality.
  */
 public class AttributedList<E extends Referenceable> implements Iterable<E> {
     private static final Logger log = Logger.getLogger(AttributedList.class);
@@ -52,8 +56,28 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
         }
     };
 
+    /**
+     * Maximum number of sort orders to keep
+     */
+    private static final int SORTED_CACHE_SIZE = 4;
+
+    /**
+     * Guarded by this
+     */
     private final List<E> impl
-        = new CopyOnWriteArrayList<>();
+        = new ArrayList<>();
+
+    /**
+     * Immutable copy of backing list or null if modified since
+     */
+    private volatile Snapshot<E> snapshot
+        = new Snapshot<E>(Collections.<E>emptyList());
+
+    /**
+     * Previous sort results by comparator. Cleared on modification. Guarded by this.
+     */
+    private final Map<Comparator<E>, List<E>> sorted
+        = new HashMap<>();
 
     /**
      * Metadata of file listing
@@ -91,14 +115,40 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
         return attributes;
     }
 
-    public boolean add(final E e) {
+    /**
+     * Invalidate snapshot and cached sort orders. Must hold lock.
+     */
+    private void modified() {
+        snapshot = null;
+        sorted.clear();
+    }
+
+    /**
+     * @return Immutable view of current contents
+     */
+    private Snapshot<E> snapshot() {
+        final Snapshot<E> current = snapshot;
+        if(current != null) {
+            return current;
+        }
+        synchronized(this) {
+            if(null == snapshot) {
+                snapshot = new Snapshot<E>(new ArrayList<E>(impl));
+            }
+            return snapshot;
+        }
+    }
+
+    public synchronized boolean add(final E e) {
         if(attributes.getFilter().accept(e)) {
+            this.modified();
             return impl.add(e);
         }
         return attributes.getHidden().add(e);
     }
 
-    public void add(final int index, final E e) {
+    public synchronized void add(final int index, final E e) {
+        this.modified();
         impl.add(index, e);
     }
 
@@ -109,43 +159,59 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
         return true;
     }
 
-    public E get(final int index) {
+    public synchronized E get(final int index) {
         return impl.get(index);
     }
 
     public E get(final E reference) {
-        final int index = impl.indexOf(reference);
+        final Snapshot<E> current = this.snapshot();
+        final int index = current.indexOf(reference);
         if(-1 == index) {
             return null;
         }
-        return impl.get(index);
+        return current.list.get(index);
     }
 
-    public void set(final int i, final E e) {
+    public synchronized void set(final int i, final E e) {
+        this.modified();
         impl.set(i, e);
     }
 
     @Override
     public Iterator<E> iterator() {
-        return impl.iterator();
+        return this.snapshot().list.iterator();
     }
 
     /**
-     * The CopyOnWriteArrayList iterator does not support remove but the sort implementation
-     * makes use of it. Provide our own implementation here to circumvent.
+     * Sort backing list. Reuses the result of a previous sort with the same comparator if the list has not been
+     * modified since.
      *
      * @param comparator The comparator to use
      * @see java.util.Collections#sort(java.util.List, java.util.Comparator)
-     * @see java.util.concurrent.CopyOnWriteArrayList#iterator()
      */
-    private void doSort(final Comparator<E> comparator) {
+    private synchronized void doSort(final Comparator<E> comparator) {
         if(null == comparator) {
             return;
         }
-        if(log.isDebugEnabled()) {
-            log.debug(String.format("Sort list %s with comparator %s", this, comparator));
+        final List<E> cached = sorted.get(comparator);
+        if(cached != null) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Reuse sort order for list %s with comparator %s", this, comparator));
+            }
+            impl.clear();
+            impl.addAll(cached);
+        }
+        else {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Sort list %s with comparator %s", this, comparator));
+            }
+            impl.sort(comparator);
+            if(sorted.size() == SORTED_CACHE_SIZE) {
+                sorted.clear();
+            }
+            sorted.put(comparator, new ArrayList<E>(impl));
         }
-        Collections.sort(impl, comparator);
+        snapshot = null;
     }
 
     /**
@@ -165,7 +231,7 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
      * @param filter     Filter
      * @return Filtered list sorted with comparator
      */
-    public AttributedList<E> filter(final Comparator<E> comparator, final Filter<E> filter) {
+    public synchronized AttributedList<E> filter(final Comparator<E> comparator, final Filter<E> filter) {
         boolean needsSorting = false;
         if(null != comparator) {
             needsSorting = !attributes.getComparator().equals(comparator);
@@ -186,6 +252,7 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
             if(log.isDebugEnabled()) {
                 log.debug(String.format("Filter list %s with filter %s", this, filter));
             }
+            this.modified();
             // Add previously hidden files to children
             final List<E> hidden = attributes.getHidden();
             if(!hidden.isEmpty()) {
@@ -215,46 +282,53 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
     /**
      * Clear the list and all references.
      */
-    public void clear() {
+    public synchronized void clear() {
         attributes.clear();
+        this.modified();
         impl.clear();
     }
 
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return impl.isEmpty();
     }
 
-    public int size() {
+    public synchronized int size() {
         return impl.size();
     }
 
     public boolean contains(final E e) {
-        return impl.contains(e);
+        return this.snapshot().indexOf(e) != -1;
     }
 
     public E find(final Predicate<E> predicate) {
-        final Optional<E> optional = impl.stream().filter(predicate).findFirst();
+        final Optional<E> optional = this.snapshot().list.stream().filter(predicate).findFirst();
         return optional.orElse(null);
     }
 
     @SuppressWarnings("unchecked")
     public E[] toArray() {
-        return (E[]) impl.toArray(new Referenceable[impl.size()]);
+        final List<E> list = this.snapshot().list;
+        return (E[]) list.toArray(new Referenceable[list.size()]);
     }
 
+    /**
+     * @return Immutable snapshot of current contents
+     */
     public List<E> toList() {
-        return impl;
+        return this.snapshot().list;
     }
 
     public int indexOf(final E e) {
-        return impl.indexOf(e);
+        return this.snapshot().indexOf(e);
     }
 
-    public boolean remove(final E e) {
+    public synchronized boolean remove(final E e) {
+        this.modified();
         return impl.remove(e);
     }
 
-    public boolean removeAll(final java.util.Collection<E> e) {
+    public synchronized boolean removeAll(final java.util.Collection<E> e) {
+        this.modified();
         return impl.removeAll(e);
     }
 
@@ -267,11 +341,61 @@ public class AttributedList<E extends Referenceable> implements Iterable<E> {
             return false;
         }
         final AttributedList<?> that = (AttributedList<?>) o;
-        return Objects.equals(impl, that.impl);
+        return Objects.equals(this.toList(), that.toList());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(impl);
+        return Objects.hash(this.toList());
+    }
+
+    private static final class Snapshot<E> {
+        private final List<E> list;
+
+        /**
+         * Position of first occurrence by element. Built on first lookup.
+         */
+        private volatile Index<E> index;
+
+        private Snapshot(final List<E> list) {
+            this.list = Collections.unmodifiableList(list);
+        }
+
+        /**
+         * @return Position of first occurrence or -1
+         */
+        private int indexOf(final Object e) {
+            final Integer position = this.index().positions.get(e);
+            if(null == position) {
+                return -1;
+            }
+            return position;
+        }
+
+        /**
+         * @return Index rebuilt if the identity of any path has changed since it was built
+         */
+        private Index<E> index() {
+            final long generation = Path.generation();
+            Index<E> current = index;
+            if(null == current || current.generation != generation) {
+                final Map<E, Integer> positions = new HashMap<E, Integer>(Math.max(16, list.size() * 4 / 3 + 1));
+                for(int i = 0; i < list.size(); i++) {
+                    positions.putIfAbsent(list.get(i), i);
+                }
+                index = current = new Index<E>(positions, generation);
+            }
+            return current;
+        }
+    }
+
+    private static final class Index<E> {
+        private final Map<E, Integer> positions;
+        private final long generation;
+
+        private Index(final Map<E, Integer> positions, final long generation) {
+            this.positions = positions;
+            this.generation = generation;
+        }
     }
 }
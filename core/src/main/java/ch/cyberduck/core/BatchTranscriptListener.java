@@ -0,0 +1,35 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import java.util.List;
+
+/**
+ * Transcript listener accepting multiple lines at once that are not interleaved with lines from other callers.
+ */
+public interface BatchTranscriptListener extends TranscriptListener {
+
+    /**
+     * @return False if messages are discarded and callers can skip formatting
+     */
+    boolean isEnabled();
+
+    /**
+     * @param request Outgoing transcript
+     * @param lines   Data
+     */
+    void log(Type request, List<String> lines);
+}
@@ -0,0 +1,211 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.preferences.Preferences;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+import org.apache.log4j.Logger;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+
+/**
+ * Directory listing cache with segmented locking for concurrent access. Listings are evicted when the number of
+ * cached children in a segment exceeds the maximum weight or when the time to live since caching has elapsed.
+ */
+public class ConcurrentPathCache implements Cache<Path> {
+    private static final Logger log = Logger.getLogger(ConcurrentPathCache.class);
+
+    /**
+     * Upper bound of segments in Guava cache
+     */
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final com.google.common.cache.Cache<Path, AttributedList<Path>> impl;
+
+    /**
+     * Maximum number of children in a segment
+     */
+    private final long weight;
+
+    public ConcurrentPathCache() {
+        this(PreferencesFactory.get());
+    }
+
+    public ConcurrentPathCache(final Preferences preferences) {
+        this(preferences.getInteger("browser.cache.concurrency"),
+            preferences.getLong("browser.cache.weight"),
+            preferences.getLong("browser.cache.ttl"));
+    }
+
+    /**
+     * @param concurrency Number of segments
+     * @param weight      Maximum number of children of cached directories in a segment. Listings with more
+     *                    children are not cached.
+     * @param ttl         Milliseconds to keep a listing cached or -1 to keep until evicted
+     */
+    public ConcurrentPathCache(final int concurrency, final long weight, final long ttl) {
+        this.weight = weight;
+        // The maximum weight is divided among segments which are a power of two
+        int segments = 1;
+        while(segments < concurrency && segments < MAX_SEGMENTS) {
+            segments <<= 1;
+        }
+        final CacheBuilder<Path, AttributedList<Path>> builder = CacheBuilder.newBuilder()
+            .concurrencyLevel(segments)
+            .maximumWeight(weight * segments)
+            .weigher(new Weigher<Path, AttributedList<Path>>() {
+                @Override
+                public int weigh(final Path directory, final AttributedList<Path> children) {
+                    // Count directory itself to weigh empty listings
+                    return children.size() + 1;
+                }
+            })
+            .recordStats();
+        if(ttl > 0) {
+            builder.expireAfterWrite(ttl, TimeUnit.MILLISECONDS);
+        }
+        this.impl = builder.build();
+    }
+
+    @Override
+    public CacheReference key(final Path file) {
+        return new DefaultPathPredicate(file);
+    }
+
+    @Override
+    public boolean isCached(final Path directory) {
+        // Not recorded as hit or miss in statistics
+        return impl.asMap().containsKey(directory);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return impl.asMap().isEmpty();
+    }
+
+    @Override
+    public boolean isHidden(final Path file) {
+        final List<?> hidden = this.get(file.getParent()).attributes().getHidden();
+        return hidden.contains(file);
+    }
+
+    @Override
+    public boolean isValid(final Path directory) {
+        final AttributedList<Path> children = impl.asMap().get(directory);
+        if(null == children) {
+            return false;
+        }
+        return !children.attributes().isInvalid();
+    }
+
+    @Override
+    public AttributedList<Path> put(final Path directory, final AttributedList<Path> children) {
+        if(children.size() + 1 > weight) {
+            // Would evict all other listings in the same segment and itself
+            log.warn(String.format("Skip caching %s with %d children exceeding maximum weight %d", directory, children.size(), weight));
+            return impl.asMap().remove(directory);
+        }
+        if(log.isDebugEnabled()) {
+            log.debug(String.format("Caching %s", directory));
+        }
+        return impl.asMap().put(directory, children);
+    }
+
+    @Override
+    public AttributedList<Path> get(final Path directory) {
+        final AttributedList<Path> children = impl.getIfPresent(directory);
+        if(null == children) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("No cache for %s", directory));
+            }
+            return AttributedList.emptyList();
+        }
+        return children;
+    }
+
+    @Override
+    public AttributedList<Path> remove(final Path directory) {
+        final AttributedList<Path> removed = impl.asMap().remove(directory);
+        if(null == removed) {
+            // Not previously in cache
+            return AttributedList.emptyList();
+        }
+        return removed;
+    }
+
+    @Override
+    public Set<Path> keySet() {
+        return impl.asMap().keySet();
+    }
+
+    @Override
+    public void invalidate(final Path directory) {
+        final AttributedList<Path> children = impl.getIfPresent(directory);
+        if(null == children) {
+            log.warn(String.format("No cache for %s", directory));
+        }
+        else {
+            if(log.isInfoEnabled()) {
+                log.info(String.format("Invalidate %s", directory));
+            }
+            children.attributes().setInvalid(true);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if(log.isInfoEnabled()) {
+            log.info(String.format("Clearing cache %s", this.toString()));
+        }
+        impl.invalidateAll();
+    }
+
+    @Override
+    public Path lookup(final CacheReference<Path> reference) {
+        return null;
+    }
+
+    public long getHitCount() {
+        return impl.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return impl.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return impl.stats().evictionCount();
+    }
+
+    @Override
+    public String toString() {
+        final CacheStats stats = impl.stats();
+        final StringBuilder sb = new StringBuilder("ConcurrentPathCache{");
+        sb.append("size=").append(impl.size());
+        sb.append(", hits=").append(stats.hitCount());
+        sb.append(", misses=").append(stats.missCount());
+        sb.append(", evictions=").append(stats.evictionCount());
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -15,6 +15,10 @@ package ch.cyberduck.core;
  * GNU General Public License for more details.
  */
 
+import ch.cyberduck.core.metrics.MetricsRegistry;
+
+import org.apache.commons.lang3.StringUtils;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,12 +27,31 @@ public class CountingMetrics implements Metrics {
 
     private final Map<Object, AtomicLong> metrics = new ConcurrentHashMap<>();
 
+    private final MetricsRegistry registry;
+    private final Host host;
+
+    public CountingMetrics() {
+        this(null, null);
+    }
+
+    /**
+     * @param registry Registry to increment counters for host and protocol of bookmark in
+     */
+    public CountingMetrics(final MetricsRegistry registry, final Host host) {
+        this.registry = registry;
+        this.host = host;
+    }
+
     @Override
     public <T> void increment(final T key) {
         if(!metrics.containsKey(key)) {
             metrics.put(key, new AtomicLong());
         }
         metrics.get(key).getAndIncrement();
+        if(registry != null) {
+            registry.increment(host, String.format("feature.%s", key instanceof Class ?
+                    StringUtils.uncapitalize(((Class) key).getSimpleName()) : key), 1L);
+        }
     }
 
     @Override
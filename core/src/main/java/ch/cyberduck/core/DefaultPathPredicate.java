@@ -62,9 +62,13 @@ public class DefaultPathPredicate implements CacheReference<Path> {
         return String.valueOf(types);
     }
 
+    /**
+     * @return Hash code of string representation cached in path
+     * @see #toString()
+     */
     @Override
     public int hashCode() {
-        return this.toString().hashCode();
+        return file.hashCode();
     }
 
     /**
@@ -95,6 +99,6 @@ public class DefaultPathPredicate implements CacheReference<Path> {
 
     @Override
     public boolean test(final Path test) {
-        return this.hashCode() == new DefaultPathPredicate(test).hashCode();
+        return this.hashCode() == test.hashCode();
     }
 }
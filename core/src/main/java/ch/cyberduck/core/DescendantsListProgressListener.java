@@ -0,0 +1,33 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+
+/**
+ * Accepts listings of subdirectories returned with the listing of a parent directory. Only passed from recursive
+ * operations that keep listings for the duration of the operation.
+ */
+public interface DescendantsListProgressListener extends ListProgressListener {
+    /**
+     * Notified while descendants are retrieved. The listing is only complete when the listing of the parent
+     * directory has returned.
+     *
+     * @param folder Subdirectory of directory listed
+     * @param list   Files of subdirectory retrieved so far
+     */
+    void descendants(Path folder, AttributedList<Path> list) throws ConnectionCanceledException;
+}
@@ -18,7 +18,7 @@ package ch.cyberduck.core;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.exception.ListCanceledException;
 
-public abstract class IndexedListProgressListener implements ListProgressListener {
+public abstract class IndexedListProgressListener implements DeltaListProgressListener {
 
     private Integer index = 0;
 
@@ -30,7 +30,12 @@ public abstract class IndexedListProgressListener implements ListProgressListene
 
     @Override
     public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
-        for(int i = index; i < list.size(); i++) {
+        this.chunk(folder, list, index);
+    }
+
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+        for(int i = offset; i < list.size(); i++) {
             this.visit(list, i, list.get(i));
         }
         index = list.size();
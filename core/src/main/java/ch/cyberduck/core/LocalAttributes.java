@@ -97,6 +97,26 @@ public class LocalAttributes extends Attributes {
         return -1;
     }
 
+    /**
+     * @return Identifier of file such as device and inode number that changes when the file is replaced or null if
+     * not available on platform
+     */
+    public String getFileKey() {
+        if(Files.exists(Paths.get(path))) {
+            try {
+                final Object key = Files.readAttributes(Paths.get(path), BasicFileAttributes.class).fileKey();
+                if(null == key) {
+                    return null;
+                }
+                return key.toString();
+            }
+            catch(IOException e) {
+                log.warn(String.format("Failure getting file key of %s. %s", path, e.getMessage()));
+            }
+        }
+        return null;
+    }
+
     @Override
     public Permission getPermission() {
         if(FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
@@ -17,7 +17,9 @@ package ch.cyberduck.core;
 
 import org.apache.log4j.Logger;
 
-public class LoggingTranscriptListener implements TranscriptListener {
+import java.util.List;
+
+public class LoggingTranscriptListener implements BatchTranscriptListener {
 
     private final Logger request;
     private final Logger response;
@@ -31,6 +33,18 @@ public class LoggingTranscriptListener implements TranscriptListener {
         this.response = response;
     }
 
+    @Override
+    public boolean isEnabled() {
+        return request.isInfoEnabled() || response.isInfoEnabled();
+    }
+
+    @Override
+    public void log(final Type type, final List<String> lines) {
+        for(String line : lines) {
+            this.log(type, line);
+        }
+    }
+
     @Override
     public void log(final Type type, final String message) {
         switch(type) {
@@ -22,9 +22,16 @@ import ch.cyberduck.core.serializer.Serializer;
 
 import java.util.EnumSet;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Path extends AbstractPath implements Referenceable, Serializable {
 
+    /**
+     * Incremented when type, region or version of a path with a computed identity is changed
+     */
+    private static final AtomicLong generation
+            = new AtomicLong();
+
     /**
      * The path delimiter for remote paths
      */
@@ -52,6 +59,11 @@ public class Path extends AbstractPath implements Referenceable, Serializable {
      */
     private final PathAttributes attributes;
 
+    /**
+     * Identity used for hash code and equality. Replaced when type, region or version changes.
+     */
+    private transient Identity identity;
+
     /**
      * @param parent the absolute directory
      * @param name   the file relative to param path
@@ -147,6 +159,9 @@ public class Path extends AbstractPath implements Referenceable, Serializable {
     }
 
     public void setType(final EnumSet<Type> type) {
+        if(identity != null && !type.equals(this.type)) {
+            invalidate();
+        }
         this.type = type;
     }
 
@@ -225,7 +240,37 @@ public class Path extends AbstractPath implements Referenceable, Serializable {
      */
     @Override
     public int hashCode() {
-        return new DefaultPathPredicate(this).hashCode();
+        return this.identity().hash;
+    }
+
+    /**
+     * @return Identity of this path computed from type, region and version
+     */
+    private Identity identity() {
+        final Identity cached = identity;
+        if(null != cached) {
+            if(cached.isValid(type, attributes)) {
+                return cached;
+            }
+            // Type set modified in place
+            invalidate();
+        }
+        attributes.identity();
+        return identity = new Identity(this);
+    }
+
+    /**
+     * @return Changes to the identity of any path used in hash based lookups so far
+     */
+    static long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Notify about changed identity of a path that may be used as key in an index
+     */
+    static void invalidate() {
+        generation.incrementAndGet();
     }
 
     /**
@@ -238,7 +283,7 @@ public class Path extends AbstractPath implements Referenceable, Serializable {
             return false;
         }
         if(other instanceof Path) {
-            return new DefaultPathPredicate(this).equals(new DefaultPathPredicate((Path) other));
+            return this.identity().equals(((Path) other).identity());
         }
         return false;
     }
@@ -283,4 +328,66 @@ public class Path extends AbstractPath implements Referenceable, Serializable {
         }
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Components of the string representation of {@link DefaultPathPredicate} with its hash code calculated
+     * without concatenation. Valid as long as the type set and the region and version references are unchanged.
+     */
+    private static final class Identity {
+        private final EnumSet<Type> type;
+        private final String region;
+        private final String version;
+
+        private final String types;
+        private final String qualifier;
+        private final String path;
+        private final int hash;
+
+        Identity(final Path file) {
+            this.type = EnumSet.copyOf(file.type);
+            this.region = file.attributes.getRegion();
+            this.version = file.attributes.getVersionId();
+            final DefaultPathPredicate predicate = new DefaultPathPredicate(file);
+            this.types = predicate.type();
+            this.qualifier = predicate.attributes();
+            this.path = file.path;
+            // Same as hash code of types + "-" + qualifier + path
+            int h = 0;
+            h = hash(h, types);
+            h = 31 * h + '-';
+            h = hash(h, qualifier);
+            h = hash(h, path);
+            this.hash = h;
+        }
+
+        private static int hash(int h, final String value) {
+            for(int i = 0; i < value.length(); i++) {
+                h = 31 * h + value.charAt(i);
+            }
+            return h;
+        }
+
+        boolean isValid(final EnumSet<Type> type, final PathAttributes attributes) {
+            return Objects.equals(attributes.getRegion(), region)
+                    && Objects.equals(attributes.getVersionId(), version)
+                    && type.equals(this.type);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if(this == o) {
+                return true;
+            }
+            final Identity other = (Identity) o;
+            return hash == other.hash
+                    && path.equals(other.path)
+                    && qualifier.equals(other.qualifier)
+                    && types.equals(other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
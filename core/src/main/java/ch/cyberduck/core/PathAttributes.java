@@ -28,6 +28,9 @@ import org.apache.log4j.Logger;
 import java.util.Collections;
 import java.util.Map;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 /**
  * Attributes of a remote directory or file.
  */
@@ -36,6 +39,8 @@ public class PathAttributes extends Attributes implements Serializable {
 
     public static final PathAttributes EMPTY = new PathAttributes();
 
+    private static final Interner<String> strings = Interners.newWeakInterner();
+
     /**
      * The file length
      */
@@ -45,10 +50,12 @@ public class PathAttributes extends Attributes implements Serializable {
      * The file modification date in milliseconds
      */
     private long modified = -1;
+
     /**
      * Last accessed timestamp in millliseconds
      */
     private long accessed = -1;
+
     /**
      * When this file was originally created in milliseconds
      */
@@ -59,8 +66,6 @@ public class PathAttributes extends Attributes implements Serializable {
 
     private Permission permission = Permission.EMPTY;
 
-    private Acl acl = Acl.EMPTY;
-
     /**
      * MD5 checksum
      */
@@ -76,61 +81,25 @@ public class PathAttributes extends Attributes implements Serializable {
      */
     private String storageClass;
 
-    /**
-     * Server side encryption (SSE) algorithm and key or null
-     */
-    private Encryption.Algorithm encryption = Encryption.Algorithm.NONE;
-
     /**
      * Unique identifier for a given version of a file
      */
     private String versionId;
 
-    /**
-     * Should be hidden in the browser by default
-     */
-    private Boolean duplicate;
-
-    /**
-     * Revision number
-     */
-    private long revision;
-
     /**
      * Geographical location
      */
     private String region;
 
     /**
-     *
-     */
-    private String displayname;
-
-    private DescriptiveUrl link;
-
-    /**
-     * HTTP headers
+     * Attributes set for few files only. Null until any is set to a value other than the default.
      */
-    private Map<String, String> metadata = Collections.emptyMap();
+    private Extension extension;
 
     /**
-     * Cryptomator vault
-     */
-    private Path vault;
-    /**
-     * Cryptomator decrypted path
-     */
-    private Path decrypted;
-    /**
-     * Cryptomator encrypted path.
-     */
-    private Path encrypted;
-    /**
-     * Unique identifier for cryptomator
+     * Used for the identity of a path. Changes to region and version invalidate indexes of paths.
      */
-    private String directoryId;
-
-    private Map<String, String> custom = Collections.emptyMap();
+    private transient boolean identity;
 
     public PathAttributes() {
     }
@@ -143,22 +112,38 @@ public class PathAttributes extends Attributes implements Serializable {
         owner = copy.owner;
         group = copy.group;
         permission = copy.permission;
-        acl = copy.acl;
         checksum = copy.checksum;
         etag = copy.etag;
         storageClass = copy.storageClass;
-        encryption = copy.encryption;
         versionId = copy.versionId;
-        duplicate = copy.duplicate;
-        revision = copy.revision;
         region = copy.region;
-        displayname = copy.displayname;
-        link = copy.link;
-        metadata = copy.metadata;
-        vault = copy.vault;
-        decrypted = copy.decrypted;
-        encrypted = copy.encrypted;
-        directoryId = copy.directoryId;
+        if(copy.extension != null) {
+            extension = new Extension(copy.extension);
+        }
+    }
+
+    /**
+     * @return Shared instance for equal values of attributes with low cardinality
+     */
+    private static String intern(final String value) {
+        if(null == value) {
+            return null;
+        }
+        return strings.intern(value);
+    }
+
+    /**
+     * Mark as used for the identity of a path
+     */
+    void identity() {
+        identity = true;
+    }
+
+    private Extension extension() {
+        if(null == extension) {
+            extension = new Extension();
+        }
+        return extension;
     }
 
     @Override
@@ -175,8 +160,8 @@ public class PathAttributes extends Attributes implements Serializable {
         if(StringUtils.isNotBlank(versionId)) {
             dict.setStringForKey(versionId, "Version");
         }
-        if(duplicate != null) {
-            dict.setStringForKey(String.valueOf(duplicate), "Duplicate");
+        if(extension != null && extension.duplicate != null) {
+            dict.setStringForKey(String.valueOf(extension.duplicate), "Duplicate");
         }
         if(StringUtils.isNotBlank(region)) {
             dict.setStringForKey(region, "Region");
@@ -184,6 +169,7 @@ public class PathAttributes extends Attributes implements Serializable {
         if(StringUtils.isNotBlank(storageClass)) {
             dict.setStringForKey(storageClass, "Storage Class");
         }
+        final Path vault = this.getVault();
         if(vault != null) {
             if(vault.attributes() == this) {
                 log.debug(String.format("Skip serializing vault attribute %s to avoid recursion", vault));
@@ -253,11 +239,14 @@ public class PathAttributes extends Attributes implements Serializable {
     }
 
     public Acl getAcl() {
-        return acl;
+        return null == extension ? Acl.EMPTY : extension.acl;
     }
 
     public void setAcl(final Acl acl) {
-        this.acl = acl;
+        if(null == extension && acl == Acl.EMPTY) {
+            return;
+        }
+        this.extension().acl = acl;
     }
 
     @Override
@@ -266,7 +255,7 @@ public class PathAttributes extends Attributes implements Serializable {
     }
 
     public void setOwner(final String o) {
-        this.owner = o;
+        this.owner = intern(o);
     }
 
     @Override
@@ -275,7 +264,7 @@ public class PathAttributes extends Attributes implements Serializable {
     }
 
     public void setGroup(final String g) {
-        this.group = g;
+        this.group = intern(g);
     }
 
     @Override
@@ -306,15 +295,18 @@ public class PathAttributes extends Attributes implements Serializable {
      * @param storageClass Storage redundancy identifier.
      */
     public void setStorageClass(final String storageClass) {
-        this.storageClass = storageClass;
+        this.storageClass = intern(storageClass);
     }
 
     public Encryption.Algorithm getEncryption() {
-        return encryption;
+        return null == extension ? Encryption.Algorithm.NONE : extension.encryption;
     }
 
     public void setEncryption(final Encryption.Algorithm encryption) {
-        this.encryption = encryption;
+        if(null == extension && encryption == Encryption.Algorithm.NONE) {
+            return;
+        }
+        this.extension().encryption = encryption;
     }
 
     /**
@@ -333,6 +325,9 @@ public class PathAttributes extends Attributes implements Serializable {
      * @param versionId Revision
      */
     public void setVersionId(final String versionId) {
+        if(identity && !StringUtils.equals(this.versionId, versionId)) {
+            Path.invalidate();
+        }
         this.versionId = versionId;
     }
 
@@ -342,52 +337,74 @@ public class PathAttributes extends Attributes implements Serializable {
     }
 
     public String getDirectoryId() {
-        return directoryId;
+        return null == extension ? null : extension.directoryId;
     }
 
     public void setDirectoryId(final String directoryId) {
-        this.directoryId = directoryId;
+        if(null == extension && null == directoryId) {
+            return;
+        }
+        this.extension().directoryId = directoryId;
     }
 
     /**
      * @return The incrementing revision number of the file or null if not versioned.
      */
     public String getRevision() {
-        return String.valueOf(revision);
+        return String.valueOf(this.revision());
+    }
+
+    /**
+     * @return Revision number
+     */
+    long revision() {
+        return null == extension ? 0L : extension.revision;
     }
 
     public void setRevision(final long revision) {
-        this.revision = revision;
+        if(null == extension && revision == 0L) {
+            return;
+        }
+        this.extension().revision = revision;
     }
 
     /**
      * @return Null if path is missing flag encrypted
      */
     public Path getDecrypted() {
-        return decrypted;
+        return null == extension ? null : extension.decrypted;
     }
 
     public void setDecrypted(final Path decrypted) {
-        this.decrypted = decrypted;
+        if(null == extension && null == decrypted) {
+            return;
+        }
+        this.extension().decrypted = decrypted;
     }
 
     /**
      * @return Null if path is missing flag decrypted
      */
     public Path getEncrypted() {
-        return encrypted;
+        return null == extension ? null : extension.encrypted;
     }
 
     public void setEncrypted(final Path encrypted) {
-        this.encrypted = encrypted;
+        if(null == extension && null == encrypted) {
+            return;
+        }
+        this.extension().encrypted = encrypted;
     }
 
     public void setVault(final Path vault) {
-        this.vault = vault;
+        if(null == extension && null == vault) {
+            return;
+        }
+        this.extension().vault = vault;
     }
 
     public Path getVault() {
-        return vault;
+        return null == extension ? null : extension.vault;
     }
 
     /**
@@ -397,7 +414,7 @@ public class PathAttributes extends Attributes implements Serializable {
      * @return True if hidden by default.
      */
     public boolean isDuplicate() {
-        return duplicate != null && duplicate;
+        return extension != null && extension.duplicate != null && extension.duplicate;
     }
 
     /**
@@ -406,15 +423,18 @@ public class PathAttributes extends Attributes implements Serializable {
      * @param duplicate Flag
      */
     public void setDuplicate(final boolean duplicate) {
-        this.duplicate = duplicate;
+        this.extension().duplicate = duplicate;
     }
 
     public Map<String, String> getMetadata() {
-        return metadata;
+        return null == extension ? Collections.<String, String>emptyMap() : extension.metadata;
     }
 
     public void setMetadata(final Map<String, String> metadata) {
-        this.metadata = metadata;
+        if(null == extension && (null == metadata || metadata.isEmpty())) {
+            return;
+        }
+        this.extension().metadata = metadata;
     }
 
     public String getRegion() {
@@ -422,31 +442,43 @@ public class PathAttributes extends Attributes implements Serializable {
     }
 
     public void setRegion(final String region) {
-        this.region = region;
+        if(identity && !StringUtils.equals(this.region, region)) {
+            Path.invalidate();
+        }
+        this.region = intern(region);
     }
 
     public String getDisplayname() {
-        return displayname;
+        return null == extension ? null : extension.displayname;
     }
 
     public void setDisplayname(final String displayname) {
-        this.displayname = displayname;
+        if(null == extension && null == displayname) {
+            return;
+        }
+        this.extension().displayname = displayname;
     }
 
     public DescriptiveUrl getLink() {
-        return link;
+        return null == extension ? null : extension.link;
     }
 
     public void setLink(final DescriptiveUrl link) {
-        this.link = link;
+        if(null == extension && null == link) {
+            return;
+        }
+        this.extension().link = link;
     }
 
     public Map<String, String> getCustom() {
-        return custom;
+        return null == extension ? Collections.<String, String>emptyMap() : extension.custom;
     }
 
     public void setCustom(final Map<String, String> custom) {
-        this.custom = custom;
+        if(null == extension && (null == custom || custom.isEmpty())) {
+            return;
+        }
+        this.extension().custom = custom;
     }
 
     @Override
@@ -497,24 +529,91 @@ public class PathAttributes extends Attributes implements Serializable {
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("PathAttributes{");
-        sb.append("accessed=").append(accessed);
+        sb.append("accessed=").append(this.getAccessedDate());
         sb.append(", size=").append(size);
         sb.append(", modified=").append(modified);
-        sb.append(", created=").append(created);
+        sb.append(", created=").append(this.getCreationDate());
         sb.append(", owner='").append(owner).append('\'');
         sb.append(", group='").append(group).append('\'');
         sb.append(", permission=").append(permission);
-        sb.append(", acl=").append(acl);
+        sb.append(", acl=").append(this.getAcl());
         sb.append(", checksum='").append(checksum).append('\'');
         sb.append(", etag='").append(etag).append('\'');
         sb.append(", storageClass='").append(storageClass).append('\'');
-        sb.append(", encryption='").append(encryption).append('\'');
+        sb.append(", encryption='").append(this.getEncryption()).append('\'');
         sb.append(", versionId='").append(versionId).append('\'');
-        sb.append(", duplicate=").append(duplicate);
-        sb.append(", revision=").append(revision);
+        sb.append(", duplicate=").append(null == extension ? null : extension.duplicate);
+        sb.append(", revision=").append(this.getRevision());
         sb.append(", region='").append(region).append('\'');
-        sb.append(", metadata=").append(metadata);
+        sb.append(", metadata=").append(this.getMetadata());
         sb.append('}');
         return sb.toString();
     }
+
+    /**
+     * Attributes rarely set in listings
+     */
+    private static final class Extension {
+        private Acl acl = Acl.EMPTY;
+
+        /**
+         * Server side encryption (SSE) algorithm and key or null
+         */
+        private Encryption.Algorithm encryption = Encryption.Algorithm.NONE;
+
+        /**
+         * Should be hidden in the browser by default
+         */
+        private Boolean duplicate;
+
+        /**
+         * Revision number
+         */
+        private long revision;
+
+        private String displayname;
+
+        private DescriptiveUrl link;
+
+        /**
+         * HTTP headers
+         */
+        private Map<String, String> metadata = Collections.emptyMap();
+
+        /**
+         * Cryptomator vault
+         */
+        private Path vault;
+        /**
+         * Cryptomator decrypted path
+         */
+        private Path decrypted;
+        /**
+         * Cryptomator encrypted path.
+         */
+        private Path encrypted;
+        /**
+         * Unique identifier for cryptomator
+         */
+        private String directoryId;
+
+        private Map<String, String> custom = Collections.emptyMap();
+
+        Extension() {
+        }
+
+        Extension(final Extension copy) {
+            acl = copy.acl;
+            encryption = copy.encryption;
+            duplicate = copy.duplicate;
+            revision = copy.revision;
+            displayname = copy.displayname;
+            link = copy.link;
+            metadata = copy.metadata;
+            vault = copy.vault;
+            decrypted = copy.decrypted;
+            encrypted = copy.encrypted;
+            directoryId = copy.directoryId;
+        }
+    }
 }
@@ -17,7 +17,7 @@ package ch.cyberduck.core;
 
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 
-public class ProxyListProgressListener implements ListProgressListener {
+public class ProxyListProgressListener implements DeltaListProgressListener {
 
     private final ListProgressListener[] proxy;
 
@@ -39,6 +39,18 @@ public class ProxyListProgressListener implements ListProgressListener {
         }
     }
 
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+        for(ListProgressListener listener : proxy) {
+            if(listener instanceof DeltaListProgressListener) {
+                ((DeltaListProgressListener) listener).chunk(folder, list, offset);
+            }
+            else {
+                listener.chunk(folder, list);
+            }
+        }
+    }
+
     @Override
     public ListProgressListener reset() {
         return this;
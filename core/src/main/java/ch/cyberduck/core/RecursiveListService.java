@@ -0,0 +1,31 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.BackgroundException;
+
+/**
+ * Flat listing of all files contained in a directory and its subdirectories without listing each directory
+ */
+public interface RecursiveListService extends ListService {
+    /**
+     * @param directory Parent directory
+     * @param listener  Notification for chunks of results
+     * @return All descendants of directory with absolute path
+     */
+    @Override
+    AttributedList<Path> list(Path directory, ListProgressListener listener) throws BackgroundException;
+}
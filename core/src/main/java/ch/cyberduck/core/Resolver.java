@@ -21,6 +21,7 @@ package ch.cyberduck.core;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.exception.ResolveCanceledException;
 import ch.cyberduck.core.exception.ResolveFailedException;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.threading.CancelCallback;
 import ch.cyberduck.core.threading.NamedThreadFactory;
 
@@ -29,16 +30,53 @@ import org.apache.log4j.Logger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.text.MessageFormat;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ThreadFactory;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeoutException;
 
 public final class Resolver {
     private static final Logger log = Logger.getLogger(Resolver.class);
 
-    private final ThreadFactory threadFactory
-            = new NamedThreadFactory("resolver");
+    /**
+     * Threads are reused for subsequent lookups
+     */
+    private static final ExecutorService executor
+            = Executors.newCachedThreadPool(new NamedThreadFactory("resolver"));
+
+    /**
+     * Successful lookups by hostname
+     */
+    private static final Map<String, Entry> cache
+            = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Lookups in progress by hostname shared by all callers
+     */
+    private static final Map<String, Future<InetAddress[]>> lookups
+            = new ConcurrentHashMap<String, Future<InetAddress[]>>();
+
+    /**
+     * Validity of cached lookups in milliseconds
+     */
+    private final long ttl;
+
+    public Resolver() {
+        this(TimeUnit.SECONDS.toMillis(PreferencesFactory.get().getLong("connection.dns.cache.ttl")));
+    }
+
+    /**
+     * @param ttl Validity of cached lookups in milliseconds
+     */
+    public Resolver(final long ttl) {
+        this.ttl = ttl;
+    }
 
     /**
      * This method is blocking until the hostname has been resolved or the lookup
@@ -49,38 +87,71 @@ public final class Resolver {
      * @throws ResolveCanceledException If the lookup has been interrupted
      */
     public InetAddress resolve(final String hostname, final CancelCallback callback) throws ResolveFailedException, ResolveCanceledException {
-        final CountDownLatch signal = new CountDownLatch(1);
-        final AtomicReference<InetAddress> resolved = new AtomicReference<>();
-        final AtomicReference<UnknownHostException> failure = new AtomicReference<>();
-        final Thread resolver = threadFactory.newThread(new Runnable() {
+        return this.resolveAll(hostname, callback)[0];
+    }
+
+    /**
+     * Lookup all addresses for hostname. Returns cached result from previous lookup if not expired. Concurrent
+     * lookups for the same hostname wait for a single query.
+     *
+     * @return All resolved IP addresses for this hostname
+     * @throws ResolveFailedException   If the hostname cannot be resolved
+     * @throws ResolveCanceledException If the lookup has been interrupted
+     */
+    public InetAddress[] resolveAll(final String hostname, final CancelCallback callback) throws ResolveFailedException, ResolveCanceledException {
+        final Entry entry = cache.get(hostname);
+        if(entry != null) {
+            if(entry.expiry > System.currentTimeMillis()) {
+                if(log.isDebugEnabled()) {
+                    log.debug(String.format("Return cached addresses for %s", hostname));
+                }
+                return entry.addresses;
+            }
+            cache.remove(hostname, entry);
+        }
+        final FutureTask<InetAddress[]> task = new FutureTask<InetAddress[]>(new Callable<InetAddress[]>() {
             @Override
-            public void run() {
+            public InetAddress[] call() throws UnknownHostException {
                 try {
-                    final InetAddress address = InetAddress.getByName(hostname);
-                    resolved.set(address);
+                    final InetAddress[] addresses = InetAddress.getAllByName(hostname);
                     if(log.isInfoEnabled()) {
-                        log.info(String.format("Resolved %s to %s", hostname, address.getHostAddress()));
+                        log.info(String.format("Resolved %s to %s", hostname, addresses[0].getHostAddress()));
+                    }
+                    if(ttl > 0) {
+                        cache.put(hostname, new Entry(addresses, System.currentTimeMillis() + ttl));
                     }
+                    return addresses;
                 }
                 catch(UnknownHostException e) {
                     log.warn(String.format("Failed resolving %s", hostname));
-                    failure.set(e);
+                    throw e;
                 }
                 finally {
-                    signal.countDown();
+                    lookups.remove(hostname);
                 }
             }
         });
-        resolver.start();
+        Future<InetAddress[]> lookup = lookups.putIfAbsent(hostname, task);
+        if(null == lookup) {
+            executor.execute(task);
+            lookup = task;
+        }
+        else {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Join lookup in progress for %s", hostname));
+            }
+        }
         log.debug(String.format("Waiting for resolving of %s", hostname));
-        // Wait for #run to finish
+        // Wait for lookup to finish
         try {
-            while(!signal.await(500, TimeUnit.MILLISECONDS)) {
+            while(true) {
                 try {
-                    callback.verify();
+                    final InetAddress[] addresses = lookup.get(500, TimeUnit.MILLISECONDS);
+                    this.verify(hostname, callback);
+                    return addresses;
                 }
-                catch(ConnectionCanceledException c) {
-                    throw new ResolveCanceledException(c);
+                catch(TimeoutException e) {
+                    this.verify(hostname, callback);
                 }
             }
         }
@@ -88,21 +159,31 @@ public final class Resolver {
             log.error(String.format("Waiting for resolving of %s", hostname), e);
             throw new ResolveCanceledException(e);
         }
+        catch(ExecutionException e) {
+            this.verify(hostname, callback);
+            throw new ResolveFailedException(
+                    MessageFormat.format(LocaleFactory.localizedString("DNS lookup for {0} failed", "Error"), hostname), e.getCause());
+        }
+    }
+
+    private void verify(final String hostname, final CancelCallback callback) throws ResolveCanceledException {
         try {
             callback.verify();
         }
         catch(ConnectionCanceledException c) {
+            log.warn(String.format("Canceled resolving %s", hostname));
             throw new ResolveCanceledException(c);
         }
-        if(null == resolved.get()) {
-            if(null == failure.get()) {
-                log.warn(String.format("Canceled resolving %s", hostname));
-                throw new ResolveCanceledException();
-            }
-            throw new ResolveFailedException(
-                    MessageFormat.format(LocaleFactory.localizedString("DNS lookup for {0} failed", "Error"), hostname), failure.get());
+    }
+
+    private static final class Entry {
+        private final InetAddress[] addresses;
+        private final long expiry;
+
+        public Entry(final InetAddress[] addresses, final long expiry) {
+            this.addresses = addresses;
+            this.expiry = expiry;
         }
-        return resolved.get();
     }
 
     @Override
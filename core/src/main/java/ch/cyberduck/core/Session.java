@@ -32,6 +32,10 @@ import ch.cyberduck.core.features.Read;
 import ch.cyberduck.core.features.Search;
 import ch.cyberduck.core.features.Upload;
 import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.metrics.MetricsListService;
+import ch.cyberduck.core.metrics.MetricsReadFeature;
+import ch.cyberduck.core.metrics.MetricsRegistry;
+import ch.cyberduck.core.metrics.MetricsWriteFeature;
 import ch.cyberduck.core.preferences.Preferences;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.proxy.Proxy;
@@ -54,13 +58,17 @@ import ch.cyberduck.core.vault.VaultRegistry;
 import org.apache.log4j.Logger;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-public abstract class Session<C> implements ListService, TranscriptListener {
+public abstract class Session<C> implements ListService, BatchTranscriptListener {
     private static final Logger log = Logger.getLogger(Session.class);
 
-    private static final LoggingTranscriptListener transcript = new LoggingTranscriptListener();
+    /**
+     * Written from single consumer thread to not block connection threads on appender
+     */
+    private static final AsyncTranscriptListener transcript = new AsyncTranscriptListener(new LoggingTranscriptListener());
 
     /**
      * Encapsulating all the information of the remote host
@@ -124,6 +132,9 @@ public abstract class Session<C> implements ListService, TranscriptListener {
 
     protected Session(final Host h) {
         this.host = h;
+        if(MetricsRegistry.get().isEnabled()) {
+            metrics = new CountingMetrics(MetricsRegistry.get(), h);
+        }
     }
 
     /**
@@ -134,7 +145,7 @@ public abstract class Session<C> implements ListService, TranscriptListener {
     }
 
     public void enableMetrics() {
-        metrics = new CountingMetrics();
+        metrics = new CountingMetrics(MetricsRegistry.get(), host);
     }
 
     public Metrics getMetrics() {
@@ -274,12 +285,39 @@ public abstract class Session<C> implements ListService, TranscriptListener {
      */
     @Override
     public void log(final Type request, final String message) {
-        transcript.log(request, message);
-        for(TranscriptListener listener : listeners) {
-            listener.log(request, message);
+        this.log(request, Collections.singletonList(message));
+    }
+
+    /**
+     * Log lines to all subscribed transcript listeners without interleaving with lines from other threads
+     *
+     * @param lines Log lines
+     */
+    @Override
+    public void log(final Type request, final List<String> lines) {
+        if(transcript.isEnabled()) {
+            transcript.log(request, lines);
+        }
+        if(listeners.isEmpty()) {
+            return;
+        }
+        synchronized(listeners) {
+            for(String line : lines) {
+                for(TranscriptListener listener : listeners) {
+                    listener.log(request, line);
+                }
+            }
         }
     }
 
+    /**
+     * @return False if no listener is interested in transcript messages
+     */
+    @Override
+    public boolean isEnabled() {
+        return transcript.isEnabled() || !listeners.isEmpty();
+    }
+
     /**
      * @param directory Directory
      * @param listener  Callback
@@ -296,7 +334,23 @@ public abstract class Session<C> implements ListService, TranscriptListener {
     @SuppressWarnings("unchecked")
     public <T> T getFeature(final Class<T> type) {
         metrics.increment(type);
-        return this.getFeature(type, this._getFeature(type));
+        final T feature = this.getFeature(type, this._getFeature(type));
+        if(null == feature) {
+            return null;
+        }
+        final MetricsRegistry instrumentation = MetricsRegistry.get();
+        if(instrumentation.isEnabled()) {
+            if(type == Read.class) {
+                return (T) new MetricsReadFeature(instrumentation, host, (Read) feature);
+            }
+            if(type == Write.class) {
+                return (T) new MetricsWriteFeature(instrumentation, host, (Write) feature);
+            }
+            if(type == ListService.class) {
+                return (T) new MetricsListService(instrumentation, host, (ListService) feature);
+            }
+        }
+        return feature;
     }
 
     /**
@@ -24,6 +24,11 @@ public class SimplePathPredicate extends DefaultPathPredicate {
         this.file = file;
     }
 
+    @Override
+    public int hashCode() {
+        return this.toString().hashCode();
+    }
+
     @Override
     public String toString() {
         return this.type() + "-" + file.getAbsolute();
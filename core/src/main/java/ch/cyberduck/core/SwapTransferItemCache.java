@@ -0,0 +1,479 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.AccessDeniedException;
+import ch.cyberduck.core.exception.NotfoundException;
+import ch.cyberduck.core.features.Encryption;
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.io.HashAlgorithm;
+import ch.cyberduck.core.local.TemporaryFileService;
+import ch.cyberduck.core.local.TemporaryFileServiceFactory;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.transfer.TransferItem;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workload cache keeping directory listings in memory up to a threshold of items. Listings added when the
+ * threshold is exceeded are written to a temporary file in a compact binary encoding and read back when
+ * requested. All attributes of remote files and the bookmark of local files are retained.
+ */
+public class SwapTransferItemCache extends TransferItemCache {
+    private static final Logger log = Logger.getLogger(SwapTransferItemCache.class);
+
+    /**
+     * Markers for path references in swap file
+     */
+    private static final byte NULL = 0;
+    private static final byte REFERENCE = 1;
+    private static final byte PATH = 2;
+
+    private final TemporaryFileService temporary = TemporaryFileServiceFactory.get();
+
+    /**
+     * Maximum number of items to keep in memory or -1 to never swap
+     */
+    private final int threshold;
+
+    /**
+     * Number of items currently held in memory
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Directory listings written to disk
+     */
+    private final Map<TransferItem, Local> swapped = new ConcurrentHashMap<TransferItem, Local>();
+
+    public SwapTransferItemCache() {
+        this(PreferencesFactory.get().getInteger("queue.transfer.cache.swap.threshold"));
+    }
+
+    /**
+     * @param threshold Maximum number of items to keep in memory or -1 to never swap
+     */
+    public SwapTransferItemCache(final int threshold) {
+        super(Integer.MAX_VALUE);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public AttributedList<TransferItem> put(final TransferItem reference, final AttributedList<TransferItem> children) {
+        if(threshold >= 0 && count.get() + children.size() > threshold) {
+            final Local file = temporary.create(new UUIDRandomStringService().random());
+            try {
+                this.write(file, children);
+                if(log.isInfoEnabled()) {
+                    log.info(String.format("Swapped %d items of %s to %s", children.size(), reference, file));
+                }
+                final AttributedList<TransferItem> previous = this.remove(reference);
+                swapped.put(reference, file);
+                return previous;
+            }
+            catch(AccessDeniedException e) {
+                log.warn(String.format("Failure swapping %s to disk. %s", reference, e.getMessage()));
+                this.delete(file);
+            }
+        }
+        count.addAndGet(children.size());
+        final AttributedList<TransferItem> previous = super.put(reference, children);
+        if(previous != null) {
+            count.addAndGet(-previous.size());
+        }
+        return previous;
+    }
+
+    @Override
+    public AttributedList<TransferItem> get(final TransferItem reference) {
+        final Local file = swapped.get(reference);
+        if(null == file) {
+            return super.get(reference);
+        }
+        try {
+            return this.read(file);
+        }
+        catch(AccessDeniedException e) {
+            log.error(String.format("Failure reading swapped listing of %s from %s. %s", reference, file, e.getMessage()));
+            return AttributedList.emptyList();
+        }
+    }
+
+    @Override
+    public AttributedList<TransferItem> remove(final TransferItem reference) {
+        if(swapped.containsKey(reference)) {
+            final AttributedList<TransferItem> removed = this.get(reference);
+            this.delete(swapped.remove(reference));
+            return removed;
+        }
+        final AttributedList<TransferItem> removed = super.remove(reference);
+        count.addAndGet(-removed.size());
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(final TransferItem reference) {
+        return swapped.containsKey(reference) || super.containsKey(reference);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return swapped.isEmpty() && super.isEmpty();
+    }
+
+    @Override
+    public Set<TransferItem> keySet() {
+        final Set<TransferItem> keys = new HashSet<TransferItem>(super.keySet());
+        keys.addAll(swapped.keySet());
+        return keys;
+    }
+
+    @Override
+    public void clear() {
+        for(Local file : swapped.values()) {
+            this.delete(file);
+        }
+        swapped.clear();
+        count.set(0);
+        super.clear();
+    }
+
+    private void delete(final Local file) {
+        try {
+            file.delete();
+        }
+        catch(AccessDeniedException | NotfoundException e) {
+            log.warn(String.format("Failure deleting swap file %s. %s", file, e.getMessage()));
+        }
+    }
+
+    private void write(final Local file, final AttributedList<TransferItem> children) throws AccessDeniedException {
+        file.getParent().mkdir();
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.getOutputStream(false)));
+        try {
+            // Paths referenced more than once such as vaults are written once
+            final Map<Path, Integer> references = new IdentityHashMap<Path, Integer>();
+            out.writeInt(children.size());
+            for(TransferItem item : children) {
+                this.write(out, item.remote, references);
+                out.writeBoolean(item.local != null);
+                if(item.local != null) {
+                    out.writeUTF(item.local.getAbsolute());
+                    this.write(out, item.local.getBookmark());
+                }
+            }
+        }
+        catch(IOException e) {
+            throw new AccessDeniedException(String.format("Cannot create file %s", file.getAbsolute()), e);
+        }
+        finally {
+            IOUtils.closeQuietly(out);
+        }
+    }
+
+    private void write(final DataOutputStream out, final Path file, final Map<Path, Integer> references) throws IOException {
+        if(null == file) {
+            out.writeByte(NULL);
+            return;
+        }
+        if(references.containsKey(file)) {
+            out.writeByte(REFERENCE);
+            out.writeInt(references.get(file));
+            return;
+        }
+        out.writeByte(PATH);
+        references.put(file, references.size());
+        out.writeUTF(file.getAbsolute());
+        out.writeInt(file.getType().size());
+        for(AbstractPath.Type type : file.getType()) {
+            out.writeUTF(type.name());
+        }
+        this.write(out, file.attributes(), references);
+        this.write(out, file.getSymlinkTarget(), references);
+    }
+
+    private void write(final DataOutputStream out, final PathAttributes attributes, final Map<Path, Integer> references) throws IOException {
+        out.writeLong(attributes.getSize());
+        out.writeLong(attributes.getModificationDate());
+        out.writeLong(attributes.getCreationDate());
+        out.writeLong(attributes.getAccessedDate());
+        this.write(out, attributes.getOwner());
+        this.write(out, attributes.getGroup());
+        this.write(out, attributes.getPermission() == Permission.EMPTY ? null : attributes.getPermission().getMode());
+        this.write(out, attributes.getAcl());
+        final Checksum checksum = attributes.getChecksum();
+        this.write(out, null == checksum || null == checksum.algorithm ? null : checksum.algorithm.name());
+        this.write(out, null == checksum ? null : checksum.hash);
+        this.write(out, attributes.getETag());
+        this.write(out, attributes.getStorageClass());
+        this.write(out, attributes.getEncryption() == Encryption.Algorithm.NONE ? null : attributes.getEncryption().algorithm);
+        this.write(out, attributes.getEncryption() == Encryption.Algorithm.NONE ? null : attributes.getEncryption().key);
+        this.write(out, attributes.getVersionId());
+        this.write(out, attributes.getDirectoryId());
+        out.writeLong(attributes.revision());
+        out.writeBoolean(attributes.isDuplicate());
+        this.write(out, attributes.getMetadata());
+        this.write(out, attributes.getRegion());
+        this.write(out, attributes.getDisplayname());
+        final DescriptiveUrl link = attributes.getLink();
+        this.write(out, null == link ? null : link.getUrl());
+        if(null != link && null != link.getUrl()) {
+            out.writeUTF(link.getType().name());
+            this.write(out, link.getHelp());
+        }
+        this.write(out, attributes.getCustom());
+        this.write(out, attributes.getVault(), references);
+        this.write(out, attributes.getDecrypted(), references);
+        this.write(out, attributes.getEncrypted(), references);
+    }
+
+    private void write(final DataOutputStream out, final Acl acl) throws IOException {
+        out.writeBoolean(acl != Acl.EMPTY);
+        if(acl == Acl.EMPTY) {
+            return;
+        }
+        out.writeBoolean(acl.getOwner() != null);
+        if(acl.getOwner() != null) {
+            this.write(out, acl.getOwner());
+        }
+        out.writeInt(acl.size());
+        for(Map.Entry<Acl.User, Set<Acl.Role>> entry : acl.entrySet()) {
+            this.write(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for(Acl.Role role : entry.getValue()) {
+                out.writeUTF(role.getName());
+                out.writeBoolean(role.isEditable());
+            }
+        }
+    }
+
+    private void write(final DataOutputStream out, final Acl.User user) throws IOException {
+        if(user.getClass() != Acl.CanonicalUser.class && user.getClass() != Acl.EmailUser.class
+            && user.getClass() != Acl.GroupUser.class && user.getClass() != Acl.EmailGroupUser.class
+            && user.getClass() != Acl.DomainUser.class) {
+            throw new IOException(String.format("Unsupported grantee %s", user.getClass().getName()));
+        }
+        out.writeUTF(user.getClass().getSimpleName());
+        this.write(out, user.getIdentifier());
+        if(user instanceof Acl.CanonicalUser) {
+            // Display name defaults to identifier
+            this.write(out, StringUtils.equals(user.getDisplayName(), LocaleFactory.localizedString(user.getIdentifier(), "S3"))
+                ? null : user.getDisplayName());
+        }
+        out.writeBoolean(user.isEditable());
+    }
+
+    private void write(final DataOutputStream out, final Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for(Map.Entry<String, String> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            this.write(out, entry.getValue());
+        }
+    }
+
+    private void write(final DataOutputStream out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if(value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private AttributedList<TransferItem> read(final Local file) throws AccessDeniedException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(file.getInputStream()));
+        try {
+            final List<Path> references = new ArrayList<Path>();
+            final AttributedList<TransferItem> children = new AttributedList<TransferItem>();
+            final int size = in.readInt();
+            for(int i = 0; i < size; i++) {
+                final Path remote = this.read(in, references);
+                if(in.readBoolean()) {
+                    final Local local = LocalFactory.get(in.readUTF());
+                    final String bookmark = this.readString(in);
+                    if(bookmark != null) {
+                        local.setBookmark(bookmark);
+                    }
+                    children.add(new TransferItem(remote, local));
+                }
+                else {
+                    children.add(new TransferItem(remote));
+                }
+            }
+            return children;
+        }
+        catch(IOException e) {
+            throw new AccessDeniedException(String.format("Cannot read file %s", file.getAbsolute()), e);
+        }
+        finally {
+            IOUtils.closeQuietly(in);
+        }
+    }
+
+    private Path read(final DataInputStream in, final List<Path> references) throws IOException {
+        switch(in.readByte()) {
+            case NULL:
+                return null;
+            case REFERENCE:
+                return references.get(in.readInt());
+        }
+        final String absolute = in.readUTF();
+        final EnumSet<AbstractPath.Type> type = EnumSet.noneOf(AbstractPath.Type.class);
+        for(int i = in.readInt(); i > 0; i--) {
+            type.add(AbstractPath.Type.valueOf(in.readUTF()));
+        }
+        final PathAttributes attributes = new PathAttributes();
+        final Path file = new Path(absolute, type, attributes);
+        // Register before reading attributes that may refer back to this file
+        references.add(file);
+        this.read(in, attributes, references);
+        file.setSymlinkTarget(this.read(in, references));
+        return file;
+    }
+
+    private void read(final DataInputStream in, final PathAttributes attributes, final List<Path> references) throws IOException {
+        attributes.setSize(in.readLong());
+        attributes.setModificationDate(in.readLong());
+        attributes.setCreationDate(in.readLong());
+        attributes.setAccessedDate(in.readLong());
+        attributes.setOwner(this.readString(in));
+        attributes.setGroup(this.readString(in));
+        final String permission = this.readString(in);
+        if(permission != null) {
+            attributes.setPermission(new Permission(permission));
+        }
+        attributes.setAcl(this.readAcl(in));
+        final String algorithm = this.readString(in);
+        final String hash = this.readString(in);
+        if(algorithm != null) {
+            attributes.setChecksum(new Checksum(HashAlgorithm.valueOf(algorithm), hash));
+        }
+        attributes.setETag(this.readString(in));
+        attributes.setStorageClass(this.readString(in));
+        final String encryption = this.readString(in);
+        final String key = this.readString(in);
+        if(encryption != null) {
+            attributes.setEncryption(new Encryption.Algorithm(encryption, key));
+        }
+        attributes.setVersionId(this.readString(in));
+        attributes.setDirectoryId(this.readString(in));
+        attributes.setRevision(in.readLong());
+        if(in.readBoolean()) {
+            attributes.setDuplicate(true);
+        }
+        attributes.setMetadata(this.readMap(in));
+        attributes.setRegion(this.readString(in));
+        attributes.setDisplayname(this.readString(in));
+        final String link = this.readString(in);
+        if(link != null) {
+            attributes.setLink(new DescriptiveUrl(URI.create(link), DescriptiveUrl.Type.valueOf(in.readUTF()), this.readString(in)));
+        }
+        attributes.setCustom(this.readMap(in));
+        attributes.setVault(this.read(in, references));
+        attributes.setDecrypted(this.read(in, references));
+        attributes.setEncrypted(this.read(in, references));
+    }
+
+    private Acl readAcl(final DataInputStream in) throws IOException {
+        if(!in.readBoolean()) {
+            return Acl.EMPTY;
+        }
+        final Acl acl = new Acl();
+        if(in.readBoolean()) {
+            acl.setOwner((Acl.CanonicalUser) this.readUser(in));
+        }
+        for(int i = in.readInt(); i > 0; i--) {
+            final Acl.User user = this.readUser(in);
+            final Acl.Role[] roles = new Acl.Role[in.readInt()];
+            for(int j = 0; j < roles.length; j++) {
+                roles[j] = new Acl.Role(in.readUTF(), in.readBoolean());
+            }
+            acl.addAll(user, roles);
+        }
+        return acl;
+    }
+
+    private Acl.User readUser(final DataInputStream in) throws IOException {
+        final String type = in.readUTF();
+        final String identifier = this.readString(in);
+        if(Acl.CanonicalUser.class.getSimpleName().equals(type)) {
+            final String displayName = this.readString(in);
+            return new Acl.CanonicalUser(identifier, displayName, in.readBoolean());
+        }
+        if(Acl.EmailUser.class.getSimpleName().equals(type)) {
+            final String displayName = this.readString(in);
+            return new Acl.EmailUser(identifier, displayName, in.readBoolean());
+        }
+        if(Acl.GroupUser.class.getSimpleName().equals(type)) {
+            return new Acl.GroupUser(identifier, in.readBoolean());
+        }
+        if(Acl.EmailGroupUser.class.getSimpleName().equals(type)) {
+            return new Acl.EmailGroupUser(identifier, in.readBoolean());
+        }
+        if(Acl.DomainUser.class.getSimpleName().equals(type)) {
+            in.readBoolean();
+            return new Acl.DomainUser(identifier);
+        }
+        throw new IOException(String.format("Unsupported grantee %s", type));
+    }
+
+    private Map<String, String> readMap(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        if(0 == size) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> map = new HashMap<String, String>(size);
+        for(int i = 0; i < size; i++) {
+            map.put(in.readUTF(), this.readString(in));
+        }
+        return map;
+    }
+
+    private String readString(final DataInputStream in) throws IOException {
+        if(in.readBoolean()) {
+            return in.readUTF();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SwapTransferItemCache{");
+        sb.append("threshold=").append(threshold);
+        sb.append(", count=").append(count);
+        sb.append(", swapped=").append(swapped.size());
+        sb.append('}');
+        return sb.toString();
+    }
+}
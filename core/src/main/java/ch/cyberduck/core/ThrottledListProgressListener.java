@@ -0,0 +1,113 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+/**
+ * Coalesce notifications for every file added to a listing. The delegate is notified for the first file and then
+ * when the number of files appended since the previous notification reaches the batch size or the interval has elapsed. Call
+ * {@link #flush(Path, AttributedList)} when the listing is complete to notify about remaining files.
+ */
+public class ThrottledListProgressListener implements DeltaListProgressListener {
+
+    private final ListProgressListener delegate;
+
+    /**
+     * Number of files to append before notifying
+     */
+    private final int size;
+
+    /**
+     * Milliseconds between notifications
+     */
+    private final long interval;
+
+    /**
+     * Size of list when delegate was last notified
+     */
+    private int notified = 0;
+
+    private long timestamp = 0L;
+
+    public ThrottledListProgressListener(final ListProgressListener delegate) {
+        this(delegate, PreferencesFactory.get().getInteger("browser.list.chunk.size"),
+                PreferencesFactory.get().getLong("browser.list.chunk.interval"));
+    }
+
+    public ThrottledListProgressListener(final ListProgressListener delegate, final int size, final long interval) {
+        this.delegate = delegate;
+        this.size = size;
+        this.interval = interval;
+    }
+
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+        this.chunk(folder, list, notified);
+    }
+
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+        if(list.size() < notified) {
+            // New list
+            notified = 0;
+        }
+        if(list.size() == notified) {
+            return;
+        }
+        if(0 == notified || list.size() - notified >= size || System.currentTimeMillis() - timestamp >= interval) {
+            this.notify(folder, list);
+        }
+    }
+
+    /**
+     * Notify about files appended since the previous notification if any
+     *
+     * @param folder Directory
+     * @param list   Complete listing
+     */
+    public void flush(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+        if(list.size() > notified) {
+            this.notify(folder, list);
+        }
+    }
+
+    private void notify(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+        final int offset = notified;
+        notified = list.size();
+        timestamp = System.currentTimeMillis();
+        if(delegate instanceof DeltaListProgressListener) {
+            ((DeltaListProgressListener) delegate).chunk(folder, list, offset);
+        }
+        else {
+            delegate.chunk(folder, list);
+        }
+    }
+
+    @Override
+    public ListProgressListener reset() {
+        notified = 0;
+        timestamp = 0L;
+        delegate.reset();
+        return this;
+    }
+
+    @Override
+    public void message(final String message) {
+        delegate.message(message);
+    }
+}
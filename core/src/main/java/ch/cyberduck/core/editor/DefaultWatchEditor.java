@@ -21,6 +21,7 @@ package ch.cyberduck.core.editor;
 import ch.cyberduck.core.Local;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.ProgressListener;
+import ch.cyberduck.core.io.ChecksumIndex;
 import ch.cyberduck.core.io.watchservice.NIOEventWatchService;
 import ch.cyberduck.core.local.Application;
 import ch.cyberduck.core.local.ApplicationFinder;
@@ -58,7 +59,24 @@ public class DefaultWatchEditor extends AbstractEditor {
     @Override
     protected void watch(final Local local, final FileWatcherListener listener) throws IOException {
         try {
-            monitor.register(local, listener).await();
+            monitor.register(local, new FileWatcherListener() {
+                @Override
+                public void fileWritten(final Local file) {
+                    ChecksumIndex.defaultIndex().invalidate(file);
+                    listener.fileWritten(file);
+                }
+
+                @Override
+                public void fileDeleted(final Local file) {
+                    ChecksumIndex.defaultIndex().invalidate(file);
+                    listener.fileDeleted(file);
+                }
+
+                @Override
+                public void fileCreated(final Local file) {
+                    listener.fileCreated(file);
+                }
+            }).await();
         }
         catch(InterruptedException e) {
             throw new IOException(String.format("Failure monitoring file %s", local), e);
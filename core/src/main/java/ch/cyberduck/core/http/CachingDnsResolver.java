@@ -0,0 +1,82 @@
+package ch.cyberduck.core.http;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.DisabledCancelCallback;
+import ch.cyberduck.core.Resolver;
+import ch.cyberduck.core.exception.ResolveCanceledException;
+import ch.cyberduck.core.exception.ResolveFailedException;
+
+import org.apache.http.conn.DnsResolver;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lookup addresses with shared cache. Addresses are ordered alternating between IPv6 and IPv4 starting with the
+ * family of the preferred address.
+ */
+public class CachingDnsResolver implements DnsResolver {
+
+    private final Resolver resolver;
+
+    public CachingDnsResolver() {
+        this(new Resolver());
+    }
+
+    public CachingDnsResolver(final Resolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        try {
+            return this.interleave(resolver.resolveAll(host, new DisabledCancelCallback()));
+        }
+        catch(ResolveFailedException | ResolveCanceledException e) {
+            final UnknownHostException failure = new UnknownHostException(host);
+            failure.initCause(e);
+            throw failure;
+        }
+    }
+
+    protected InetAddress[] interleave(final InetAddress[] addresses) {
+        final List<InetAddress> preferred = new ArrayList<InetAddress>();
+        final List<InetAddress> other = new ArrayList<InetAddress>();
+        for(InetAddress address : addresses) {
+            if((address instanceof Inet6Address) == (addresses[0] instanceof Inet6Address)) {
+                preferred.add(address);
+            }
+            else {
+                other.add(address);
+            }
+        }
+        final InetAddress[] result = new InetAddress[addresses.length];
+        int i = 0;
+        for(int k = 0; k < Math.max(preferred.size(), other.size()); k++) {
+            if(k < preferred.size()) {
+                result[i++] = preferred.get(k);
+            }
+            if(k < other.size()) {
+                result[i++] = other.get(k);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,212 @@
+package ch.cyberduck.core.http;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.DisabledCancelCallback;
+import ch.cyberduck.core.Resolver;
+import ch.cyberduck.core.exception.ResolveCanceledException;
+import ch.cyberduck.core.exception.ResolveFailedException;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.threading.LoggingUncaughtExceptionHandler;
+import ch.cyberduck.core.threading.NamedThreadFactory;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connect to the first address of the other address family in parallel if the connection to the given address is
+ * not established within a short delay. The first established connection is used and the other attempt is
+ * closed. Connection attempts run in a bounded pool shared by all connections of this factory. See RFC 8305.
+ */
+public class HappyEyeballsConnectionSocketFactory implements LayeredConnectionSocketFactory {
+    private static final Logger log = Logger.getLogger(HappyEyeballsConnectionSocketFactory.class);
+
+    private final ConnectionSocketFactory delegate;
+    private final Resolver resolver;
+
+    /**
+     * Milliseconds to wait before starting connection attempt to alternative address
+     */
+    private final long delay;
+
+    /**
+     * Connection attempts. Idle threads are terminated after keepalive.
+     */
+    private final ThreadPoolExecutor executor;
+
+    public HappyEyeballsConnectionSocketFactory(final ConnectionSocketFactory delegate) {
+        this(delegate, new Resolver(), PreferencesFactory.get().getLong("connection.dns.happyeyeballs.delay"),
+                PreferencesFactory.get().getInteger("connection.dns.happyeyeballs.pool.size"));
+    }
+
+    /**
+     * @param delay Milliseconds to wait before connecting to alternative address
+     * @param size  Maximum number of concurrent connection attempts
+     */
+    public HappyEyeballsConnectionSocketFactory(final ConnectionSocketFactory delegate, final Resolver resolver, final long delay, final int size) {
+        this.delegate = delegate;
+        this.resolver = resolver;
+        this.delay = delay;
+        this.executor = new ThreadPoolExecutor(size, size,
+                PreferencesFactory.get().getLong("threading.pool.keepalive.seconds"), TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new NamedThreadFactory("connect", new LoggingUncaughtExceptionHandler()));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Socket createSocket(final HttpContext context) throws IOException {
+        return delegate.createSocket(context);
+    }
+
+    @Override
+    public Socket createLayeredSocket(final Socket socket, final String target, final int port, final HttpContext context) throws IOException {
+        if(delegate instanceof LayeredConnectionSocketFactory) {
+            return ((LayeredConnectionSocketFactory) delegate).createLayeredSocket(socket, target, port, context);
+        }
+        return socket;
+    }
+
+    @Override
+    public Socket connectSocket(final int connectTimeout, final Socket socket, final HttpHost host,
+                                final InetSocketAddress remoteAddress, final InetSocketAddress localAddress,
+                                final HttpContext context) throws IOException {
+        final InetSocketAddress alternative = this.alternative(host, remoteAddress);
+        if(null == alternative) {
+            return delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        }
+        final CompletionService<Socket> completion = new ExecutorCompletionService<Socket>(executor);
+        // Unconnected socket for each attempt
+        final Map<Future<Socket>, Socket> attempts = new HashMap<Future<Socket>, Socket>();
+        try {
+            attempts.put(this.submit(completion, connectTimeout, socket, host, remoteAddress, localAddress, context), socket);
+            Future<Socket> next = completion.poll(delay, TimeUnit.MILLISECONDS);
+            boolean fallback = false;
+            IOException failure = null;
+            while(true) {
+                if(!fallback && (null == next || attempts.size() == 1 && next.isDone() && this.isFailed(next))) {
+                    if(log.isInfoEnabled()) {
+                        log.info(String.format("Connect to alternative address %s for %s", alternative, host));
+                    }
+                    final Socket other = delegate.createSocket(context);
+                    attempts.put(this.submit(completion, connectTimeout, other, host, alternative, localAddress, context), other);
+                    fallback = true;
+                }
+                if(null == next) {
+                    next = completion.take();
+                }
+                try {
+                    final Socket connected = next.get();
+                    // Abort other attempt
+                    for(Map.Entry<Future<Socket>, Socket> attempt : attempts.entrySet()) {
+                        if(attempt.getKey() != next) {
+                            IOUtils.closeQuietly(attempt.getValue());
+                        }
+                    }
+                    return connected;
+                }
+                catch(ExecutionException e) {
+                    if(e.getCause() instanceof IOException) {
+                        failure = (IOException) e.getCause();
+                    }
+                    else {
+                        failure = new IOException(e.getCause());
+                    }
+                    attempts.remove(next);
+                    if(fallback && attempts.isEmpty()) {
+                        throw failure;
+                    }
+                }
+                next = null;
+            }
+        }
+        catch(InterruptedException e) {
+            for(Socket s : attempts.values()) {
+                IOUtils.closeQuietly(s);
+            }
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private boolean isFailed(final Future<Socket> future) throws InterruptedException {
+        try {
+            future.get();
+            return false;
+        }
+        catch(ExecutionException e) {
+            return true;
+        }
+    }
+
+    private Future<Socket> submit(final CompletionService<Socket> completion, final int connectTimeout, final Socket socket,
+                                  final HttpHost host, final InetSocketAddress address, final InetSocketAddress localAddress,
+                                  final HttpContext context) {
+        return completion.submit(new Callable<Socket>() {
+            @Override
+            public Socket call() throws IOException {
+                return delegate.connectSocket(connectTimeout, socket, host, address, localAddress, context);
+            }
+        });
+    }
+
+    /**
+     * @return First address of other family than the given address or null
+     */
+    private InetSocketAddress alternative(final HttpHost host, final InetSocketAddress remoteAddress) {
+        if(delay <= 0 || null == remoteAddress.getAddress()) {
+            return null;
+        }
+        try {
+            for(InetAddress address : this.resolve(host.getHostName())) {
+                if((address instanceof Inet6Address) != (remoteAddress.getAddress() instanceof Inet6Address)) {
+                    return new InetSocketAddress(address, remoteAddress.getPort());
+                }
+            }
+        }
+        catch(ResolveFailedException | ResolveCanceledException e) {
+            log.warn(String.format("Failure resolving alternative address for %s. %s", host, e.getMessage()));
+        }
+        return null;
+    }
+
+    /**
+     * @return All addresses of hostname
+     */
+    protected InetAddress[] resolve(final String hostname) throws ResolveFailedException, ResolveCanceledException {
+        return resolver.resolveAll(hostname, new DisabledCancelCallback());
+    }
+}
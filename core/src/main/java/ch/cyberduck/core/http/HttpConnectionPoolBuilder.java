@@ -243,15 +243,15 @@ public class HttpConnectionPoolBuilder {
 
     public Registry<ConnectionSocketFactory> createRegistry() {
         return RegistryBuilder.<ConnectionSocketFactory>create()
-            .register(Scheme.http.toString(), socketFactory)
-            .register(Scheme.https.toString(), sslSocketFactory).build();
+            .register(Scheme.http.toString(), new HappyEyeballsConnectionSocketFactory(socketFactory))
+            .register(Scheme.https.toString(), new HappyEyeballsConnectionSocketFactory(sslSocketFactory)).build();
     }
 
     public PoolingHttpClientConnectionManager createConnectionManager(final Registry<ConnectionSocketFactory> registry) {
         if(log.isDebugEnabled()) {
             log.debug(String.format("Setup connection pool with registry %s", registry));
         }
-        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry);
+        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry, new CachingDnsResolver());
         manager.setMaxTotal(preferences.getInteger("http.connections.total"));
         manager.setDefaultMaxPerRoute(preferences.getInteger("http.connections.route"));
         manager.setValidateAfterInactivity(5000);
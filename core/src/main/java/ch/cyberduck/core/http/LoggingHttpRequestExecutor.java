@@ -18,6 +18,7 @@ package ch.cyberduck.core.http;
  * feedback@cyberduck.io
  */
 
+import ch.cyberduck.core.BatchTranscriptListener;
 import ch.cyberduck.core.PreferencesUseragentProvider;
 import ch.cyberduck.core.TranscriptListener;
 import ch.cyberduck.core.UseragentProvider;
@@ -34,6 +35,8 @@ import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestExecutor;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class LoggingHttpRequestExecutor extends HttpRequestExecutor {
 
@@ -57,21 +60,23 @@ public class LoggingHttpRequestExecutor extends HttpRequestExecutor {
 
     @Override
     protected HttpResponse doSendRequest(final HttpRequest request, final HttpClientConnection conn, final HttpContext context) throws IOException, HttpException {
-        synchronized(listener) {
-            listener.log(TranscriptListener.Type.request, request.getRequestLine().toString());
+        if(this.isEnabled()) {
+            final List<String> lines = new ArrayList<String>(request.getAllHeaders().length + 1);
+            lines.add(request.getRequestLine().toString());
             for(Header header : request.getAllHeaders()) {
                 switch(header.getName()) {
                     case HttpHeaders.AUTHORIZATION:
                     case "X-Auth-Key":
                     case "X-Auth-Token":
-                        listener.log(TranscriptListener.Type.request, String.format("%s: %s", header.getName(),
+                        lines.add(String.format("%s: %s", header.getName(),
                                 StringUtils.repeat("*", Integer.min(8, StringUtils.length(header.getValue())))));
                         break;
                     default:
-                        listener.log(TranscriptListener.Type.request, header.toString());
+                        lines.add(header.toString());
                         break;
                 }
             }
+            this.log(TranscriptListener.Type.request, lines);
         }
         return super.doSendRequest(request, conn, context);
     }
@@ -79,12 +84,37 @@ public class LoggingHttpRequestExecutor extends HttpRequestExecutor {
     @Override
     protected HttpResponse doReceiveResponse(final HttpRequest request, final HttpClientConnection conn, final HttpContext context) throws HttpException, IOException {
         final HttpResponse response = super.doReceiveResponse(request, conn, context);
-        synchronized(listener) {
-            listener.log(TranscriptListener.Type.response, response.getStatusLine().toString());
+        if(this.isEnabled()) {
+            final List<String> lines = new ArrayList<String>(response.getAllHeaders().length + 1);
+            lines.add(response.getStatusLine().toString());
             for(Header header : response.getAllHeaders()) {
-                listener.log(TranscriptListener.Type.response, header.toString());
+                lines.add(header.toString());
             }
+            this.log(TranscriptListener.Type.response, lines);
         }
         return response;
     }
+
+    /**
+     * @return False if no formatting of transcript is required
+     */
+    private boolean isEnabled() {
+        if(listener instanceof BatchTranscriptListener) {
+            return ((BatchTranscriptListener) listener).isEnabled();
+        }
+        return true;
+    }
+
+    private void log(final TranscriptListener.Type type, final List<String> lines) {
+        if(listener instanceof BatchTranscriptListener) {
+            ((BatchTranscriptListener) listener).log(type, lines);
+        }
+        else {
+            synchronized(listener) {
+                for(String line : lines) {
+                    listener.log(type, line);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Shared bandwidth throttles for all transfers of the application and all transfers with the same host. Throttles of
+ * transfers created with a parent from here draw from the host and application throttle.
+ */
+public final class BandwidthScheduler {
+
+    private static final BandwidthThrottle APPLICATION = new BandwidthThrottle(BandwidthThrottle.UNLIMITED);
+
+    /**
+     * Throttles for hosts only referenced by throttles of transfers
+     */
+    private static final Map<String, WeakReference<BandwidthThrottle>> HOSTS
+            = new HashMap<String, WeakReference<BandwidthThrottle>>();
+
+    private BandwidthScheduler() {
+        //
+    }
+
+    /**
+     * @return Throttle for all transfers with rate from preferences
+     */
+    public static BandwidthThrottle application() {
+        APPLICATION.setRate(PreferencesFactory.get().getFloat("queue.bandwidth.bytes"));
+        return APPLICATION;
+    }
+
+    /**
+     * @return Throttle for all transfers with protocol, hostname and port of host
+     */
+    public static synchronized BandwidthThrottle host(final Host host) {
+        final BandwidthThrottle application = application();
+        // Remove throttles of hosts with no transfers left
+        for(Iterator<WeakReference<BandwidthThrottle>> iter = HOSTS.values().iterator(); iter.hasNext(); ) {
+            if(null == iter.next().get()) {
+                iter.remove();
+            }
+        }
+        final String key = String.format("%s://%s:%d", host.getProtocol().getIdentifier(),
+                StringUtils.defaultString(host.getHostname()), host.getPort());
+        final WeakReference<BandwidthThrottle> reference = HOSTS.get(key);
+        BandwidthThrottle throttle = null == reference ? null : reference.get();
+        if(null == throttle) {
+            throttle = new BandwidthThrottle(application, BandwidthThrottle.UNLIMITED);
+            HOSTS.put(key, new WeakReference<BandwidthThrottle>(throttle));
+        }
+        throttle.setRate(PreferencesFactory.get().getFloat("queue.bandwidth.host.bytes"));
+        return throttle;
+    }
+
+    /**
+     * @param host           Host of transfer
+     * @param bytesPerSecond Limit of transfer
+     * @return New throttle for transfer drawing from host and application throttle
+     */
+    public static BandwidthThrottle transfer(final Host host, final float bytesPerSecond) {
+        return new BandwidthThrottle(host(host), bytesPerSecond);
+    }
+}
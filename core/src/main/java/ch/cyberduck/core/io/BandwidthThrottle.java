@@ -2,6 +2,9 @@ package ch.cyberduck.core.io;
 
 import org.apache.log4j.Logger;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * Limits throughput of a stream to at most N bytes per T seconds.  Mutable and
  * thread-safe.<p>
@@ -21,14 +24,14 @@ import org.apache.log4j.Logger;
  * <p/>
  * This class works by allowing exactly N bytes to be sent every T seconds.  If
  * the number of bytes for a given window have been exceeded, subsequent calls
- * to request(..) will block.  The default value of T is 100 milliseconds.
+ * to request(..) will block.  The default value of T is 20 milliseconds.
  * Smaller window values T allow fairer bandwidth sharing and less noticeable
  * pauses but may decrease efficiency slightly.<p>
  * <p/>
- * Note that throttles are <i>not</i> cumulative.  In the future, this may allow
- * enable fancier control.  Also, BandwidthThrottle may be able delegate to
- * other throttles.  This would allow, for example, a 15 KB/s Gnutella messaging
- * throttle, with no more than 10 KB/s devoted to uploads.<p>
+ * Throttles can be nested by passing a parent throttle. Bytes granted must be
+ * available in all throttles up to the root. Children are limited to their share
+ * of a window of the parent according to their weight relative to the weights of
+ * all children that requested bandwidth in the current or previous window.<p>
  * <p/>
  * This implementation is based on the <a href="http://cvs.sourceforge.net/cgi-bin/viewcvs.cgi/freenet/freenet/src/freenet/support/io/Bandwidth.java">Bandwidth</a>
  * class from
@@ -41,12 +44,38 @@ public final class BandwidthThrottle {
     /**
      * The number of windows per second.
      */
-    private static final int TICKS_PER_SECOND = 10;
+    private static final int TICKS_PER_SECOND = 50;
     /**
      * The value of T, in milliseconds.
      */
     private static final int MILLIS_PER_TICK = 1000 / TICKS_PER_SECOND;
 
+    /**
+     * Throttle to draw bandwidth from additionally or null
+     */
+    private final BandwidthThrottle parent;
+
+    /**
+     * Share relative to other children of parent
+     */
+    private volatile int weight = 1;
+
+    /**
+     * Bytes granted to children that requested bandwidth in the current window
+     */
+    private final Map<BandwidthThrottle, Integer> active
+            = new IdentityHashMap<BandwidthThrottle, Integer>();
+
+    /**
+     * Sum of weights of children that requested bandwidth in the current window
+     */
+    private int activeWeight;
+
+    /**
+     * Sum of weights of children that requested bandwidth in the previous window
+     */
+    private int previousWeight;
+
     /**
      * The bytes to send per tick.  Modified by setThrottle.
      */
@@ -76,6 +105,19 @@ public final class BandwidthThrottle {
      *                       (not milliseconds!)
      */
     public BandwidthThrottle(float bytesPerSecond) {
+        this(null, bytesPerSecond);
+    }
+
+    /**
+     * Creates a new bandwidth throttle at the given throttle rate limited
+     * additionally by the bandwidth available in the parent.
+     *
+     * @param parent         the throttle to draw bandwidth from or null
+     * @param bytesPerSecond the limits in bytes (not bits!) per second
+     *                       (not milliseconds!)
+     */
+    public BandwidthThrottle(final BandwidthThrottle parent, float bytesPerSecond) {
+        this.parent = parent;
         this.setRate(bytesPerSecond);
     }
 
@@ -92,6 +134,7 @@ public final class BandwidthThrottle {
      *                       every other second.
      */
     public BandwidthThrottle(float bytesPerSecond, boolean switching) {
+        this.parent = null;
         this.setRate(bytesPerSecond);
         this.setSwitching(switching);
 
@@ -105,7 +148,7 @@ public final class BandwidthThrottle {
     /**
      * Bytes per second allowed
      */
-    private float rate = UNLIMITED;
+    private volatile float rate = UNLIMITED;
 
     /**
      * Sets the throttle to the given throttle rate.  The default windows size
@@ -123,7 +166,7 @@ public final class BandwidthThrottle {
                 log.debug(String.format("Set rate to %s bytes per second", bytesPerSecond));
             }
             rate = bytesPerSecond;
-            bytesPerTick = (int) (bytesPerSecond / TICKS_PER_SECOND);
+            bytesPerTick = bytesPerSecond > 0 ? Math.max(1, (int) (bytesPerSecond / TICKS_PER_SECOND)) : 0;
         }
         if(switching) {
             this.fixBytesPerTick(true);
@@ -137,6 +180,27 @@ public final class BandwidthThrottle {
         return rate;
     }
 
+    /**
+     * @return True if neither this throttle nor any parent limits the rate
+     */
+    public boolean isUnlimited() {
+        if(UNLIMITED != rate) {
+            return false;
+        }
+        return null == parent || parent.isUnlimited();
+    }
+
+    /**
+     * @param weight Share of bandwidth of parent relative to other children
+     */
+    public void setWeight(final int weight) {
+        this.weight = Math.max(1, weight);
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
     /**
      * Sets whether or not this throttle is switching bandwidth on/off.
      */
@@ -176,31 +240,87 @@ public final class BandwidthThrottle {
      * @return the number of bytes the sender is expected to send, which
      *         is always greater than one and less than or equal to desired
      */
-    public synchronized int request(int desired) {
-        if(UNLIMITED == rate) {
-            return desired;
+    public int request(int desired) {
+        return this.request(desired, null);
+    }
+
+    private int request(final int desired, final BandwidthThrottle child) {
+        // No need to synchronize for unlimited rate
+        final int granted = UNLIMITED == rate ? desired : this.acquire(desired, child);
+        if(null == parent) {
+            return granted;
+        }
+        // Shares of parent are computed for the nearest limited throttle
+        final int allowed = parent.request(granted, UNLIMITED == rate && child != null ? child : this);
+        if(allowed < granted && UNLIMITED != rate) {
+            this.release(granted - allowed);
         }
-        waitForBandwidth();
-        int result = Math.min(desired, availableBytes);
-        availableBytes -= result;
-        return result;
+        return allowed;
     }
 
     /**
-     * Waits until data is _availableBytes.
+     * Grant bytes available in current window. The delay until the next window is computed holding the monitor
+     * but waited for after releasing it to not block other children and the parent.
      */
-    private void waitForBandwidth() {
+    private int acquire(final int desired, final BandwidthThrottle child) {
         while(true) {
-            long now = System.currentTimeMillis();
-            updateWindow(now);
-            if(availableBytes != 0) {
-                break;
+            final long delay;
+            synchronized(this) {
+                if(UNLIMITED == rate) {
+                    return desired;
+                }
+                final long now = System.currentTimeMillis();
+                this.updateWindow(now);
+                delay = nextTickTime - now;
+                if(availableBytes != 0) {
+                    int result = Math.min(desired, availableBytes);
+                    if(null == child) {
+                        availableBytes -= result;
+                        return result;
+                    }
+                    Integer consumed = active.get(child);
+                    if(null == consumed) {
+                        consumed = 0;
+                        activeWeight += child.weight;
+                    }
+                    final int total = Math.max(child.weight, Math.max(previousWeight, activeWeight));
+                    // Weighted share of window when other children are active
+                    final int share = total > child.weight
+                            ? (int) Math.max(1L, (long) bytesPerTick * child.weight / total) : Integer.MAX_VALUE;
+                    if(consumed < share) {
+                        result = Math.min(result, share - consumed);
+                        active.put(child, consumed + result);
+                        availableBytes -= result;
+                        return result;
+                    }
+                    // Wait for next window
+                    active.put(child, consumed);
+                }
             }
+            this.waitForBandwidth(delay);
+        }
+    }
+
+    /**
+     * Return bytes not granted by parent
+     */
+    private synchronized void release(final int bytes) {
+        if(UNLIMITED == rate) {
+            return;
+        }
+        availableBytes = Math.min(bytesPerTick, availableBytes + bytes);
+    }
+
+    /**
+     * Waits until the next window. Must not hold the monitor.
+     */
+    private void waitForBandwidth(final long delay) {
+        if(delay > 0) {
             try {
                 if(log.isInfoEnabled()) {
-                    log.info(String.format("Throttling bandwidth for %d milliseconds", nextTickTime - now));
+                    log.info(String.format("Throttling bandwidth for %d milliseconds", delay));
                 }
-                Thread.sleep(nextTickTime - now);
+                Thread.sleep(delay);
             }
             catch(InterruptedException e) {
                 log.error(e.getMessage(), e);
@@ -213,6 +333,10 @@ public final class BandwidthThrottle {
      */
     private void updateWindow(long now) {
         if(now >= nextTickTime) {
+            // Children idle for more than a window are not considered
+            previousWeight = now >= nextTickTime + MILLIS_PER_TICK ? 0 : activeWeight;
+            activeWeight = 0;
+            active.clear();
             if(!switching || ((now / 1000) % 2) == 0) {
                 availableBytes = bytesPerTick;
                 nextTickTime = now + MILLIS_PER_TICK;
@@ -39,4 +39,26 @@ public final class ChecksumComputeFactory {
                 return new DisabledChecksumCompute();
         }
     }
+
+    /**
+     * @return Algorithm of default implementation or null if not known or output depends on transfer status
+     */
+    public static HashAlgorithm algorithm(final ChecksumCompute compute) {
+        if(compute.getClass() == MD5ChecksumCompute.class) {
+            return HashAlgorithm.md5;
+        }
+        if(compute.getClass() == SHA1ChecksumCompute.class) {
+            return HashAlgorithm.sha1;
+        }
+        if(compute.getClass() == SHA256ChecksumCompute.class) {
+            return HashAlgorithm.sha256;
+        }
+        if(compute.getClass() == SHA512ChecksumCompute.class) {
+            return HashAlgorithm.sha512;
+        }
+        if(compute.getClass() == CRC32ChecksumCompute.class) {
+            return HashAlgorithm.crc32;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,387 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.LocalFactory;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Persistent index of checksums computed for local files. Entries are keyed by absolute path and only valid as long
+ * as size, modification date and file key of the file are unchanged. The least recently used entries are dropped
+ * when the maximum number of entries is reached. Records are appended to the index file and the file is compacted
+ * when it holds more than twice as many records as entries.
+ */
+public class ChecksumIndex {
+    private static final Logger log = Logger.getLogger(ChecksumIndex.class);
+
+    private static final ChecksumIndex DEFAULT_INDEX = new ChecksumIndex(
+        LocalFactory.get(PreferencesFactory.get().getProperty("application.support.path"), "Checksums.index")
+    );
+
+    public static ChecksumIndex defaultIndex() {
+        return DEFAULT_INDEX;
+    }
+
+    private static final String SEPARATOR = "\t";
+    /**
+     * Algorithm of record removing all entries for file
+     */
+    private static final String TOMBSTONE = "-";
+    /**
+     * Placeholder for file key field of record if not available on platform
+     */
+    private static final String NOKEY = "-";
+
+    private final Local file;
+    private final boolean enabled;
+
+    /**
+     * Maximum number of entries
+     */
+    private final int size;
+
+    private final Map<String, Entry> entries;
+
+    private boolean loaded;
+
+    /**
+     * Number of records in index file. Guarded by this.
+     */
+    private int records;
+
+    public ChecksumIndex(final Local file) {
+        this(file, PreferencesFactory.get().getBoolean("local.checksum.index.enable"),
+            PreferencesFactory.get().getInteger("local.checksum.index.size"));
+    }
+
+    public ChecksumIndex(final Local file, final boolean enabled) {
+        this(file, enabled, PreferencesFactory.get().getInteger("local.checksum.index.size"));
+    }
+
+    /**
+     * @param file    Index file
+     * @param enabled Lookup and add checksums
+     * @param size    Maximum number of files in index
+     */
+    public ChecksumIndex(final Local file, final boolean enabled, final int size) {
+        this.file = file;
+        this.enabled = enabled;
+        this.size = size;
+        this.entries = Collections.synchronizedMap(new LRUMap<String, Entry>(size));
+    }
+
+    /**
+     * Lookup checksum in index or compute from file contents and add to index
+     *
+     * @param compute Checksum algorithm
+     * @param local   File to read
+     * @param status  Transfer status
+     * @return Checksum of file contents
+     */
+    public Checksum compute(final ChecksumCompute compute, final Local local, final TransferStatus status) throws BackgroundException {
+        final HashAlgorithm algorithm = ChecksumComputeFactory.algorithm(compute);
+        if(!enabled || null == algorithm) {
+            return compute.compute(local.getInputStream(), status);
+        }
+        final Stat before = this.stat(local);
+        if(null == before) {
+            return compute.compute(local.getInputStream(), status);
+        }
+        final Checksum cached = this.get(local, before, algorithm);
+        if(cached != null) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Return checksum %s for %s from index", cached, local));
+            }
+            return cached;
+        }
+        final Checksum checksum = compute.compute(local.getInputStream(), status);
+        // Skip if file has been modified while reading
+        if(before.equals(this.stat(local))) {
+            this.put(local, before, checksum);
+        }
+        return checksum;
+    }
+
+    /**
+     * @return Checksum or null if not found in index or file has been modified since
+     */
+    public Checksum get(final Local local, final HashAlgorithm algorithm) {
+        if(!enabled) {
+            return null;
+        }
+        final Stat stat = this.stat(local);
+        if(null == stat) {
+            return null;
+        }
+        return this.get(local, stat, algorithm);
+    }
+
+    private Checksum get(final Local local, final Stat stat, final HashAlgorithm algorithm) {
+        this.load();
+        final Entry entry = entries.get(local.getAbsolute());
+        if(null == entry) {
+            return null;
+        }
+        if(!entry.stat.equals(stat)) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Ignore outdated entry for %s in index", local));
+            }
+            return null;
+        }
+        final String hash = entry.checksums.get(algorithm);
+        if(null == hash) {
+            return null;
+        }
+        return new Checksum(algorithm, hash);
+    }
+
+    /**
+     * Add checksum for current contents of file
+     */
+    public void put(final Local local, final Checksum checksum) {
+        if(!enabled) {
+            return;
+        }
+        final Stat stat = this.stat(local);
+        if(null == stat) {
+            return;
+        }
+        this.put(local, stat, checksum);
+    }
+
+    private void put(final Local local, final Stat stat, final Checksum checksum) {
+        if(Checksum.NONE == checksum) {
+            return;
+        }
+        this.load();
+        final Entry previous = entries.get(local.getAbsolute());
+        final Entry entry = null != previous && previous.stat.equals(stat) ? previous : new Entry(stat);
+        entry.checksums.put(checksum.algorithm, checksum.hash);
+        entries.put(local.getAbsolute(), entry);
+        this.append(String.join(SEPARATOR, checksum.algorithm.name(), String.valueOf(stat.size),
+            String.valueOf(stat.modified), stat.key, checksum.hash, local.getAbsolute()));
+    }
+
+    /**
+     * Remove all checksums for file
+     */
+    public void invalidate(final Local local) {
+        if(!enabled) {
+            return;
+        }
+        this.load();
+        if(null != entries.remove(local.getAbsolute())) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Invalidate entry for %s in index", local));
+            }
+            this.append(String.join(SEPARATOR, TOMBSTONE, "0", "0", "-", "-", local.getAbsolute()));
+        }
+    }
+
+    private Stat stat(final Local local) {
+        if(!local.isFile()) {
+            return null;
+        }
+        final long size = local.attributes().getSize();
+        final long modified = local.attributes().getModificationDate();
+        if(-1 == size || -1 == modified) {
+            log.warn(String.format("Failure reading attributes of %s", local));
+            return null;
+        }
+        final String key = local.attributes().getFileKey();
+        // Must not contain field separator of record
+        if(StringUtils.isBlank(key) || StringUtils.containsAny(key, SEPARATOR, "\n")) {
+            return new Stat(size, modified, NOKEY);
+        }
+        return new Stat(size, modified, key);
+    }
+
+    private synchronized void load() {
+        if(loaded) {
+            return;
+        }
+        loaded = true;
+        if(!file.exists()) {
+            return;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while((line = reader.readLine()) != null) {
+                final String[] fields = StringUtils.split(line, SEPARATOR, 6);
+                if(fields.length != 6) {
+                    log.warn(String.format("Skip invalid record %s in index", line));
+                    continue;
+                }
+                records++;
+                if(TOMBSTONE.equals(fields[0])) {
+                    entries.remove(fields[5]);
+                    continue;
+                }
+                final HashAlgorithm algorithm;
+                try {
+                    algorithm = HashAlgorithm.valueOf(fields[0]);
+                }
+                catch(IllegalArgumentException e) {
+                    log.warn(String.format("Skip unknown algorithm in record %s", line));
+                    continue;
+                }
+                final Stat stat = new Stat(Long.valueOf(fields[1]), Long.valueOf(fields[2]), fields[3]);
+                final Entry previous = entries.get(fields[5]);
+                final Entry entry = null != previous && previous.stat.equals(stat) ? previous : new Entry(stat);
+                entry.checksums.put(algorithm, fields[4]);
+                entries.put(fields[5], entry);
+            }
+        }
+        catch(BackgroundException | IOException | NumberFormatException e) {
+            log.warn(String.format("Failure reading index %s. %s", file, e.getMessage()));
+            entries.clear();
+            records = Integer.MAX_VALUE;
+        }
+        finally {
+            IOUtils.closeQuietly(reader);
+        }
+        if(log.isInfoEnabled()) {
+            log.info(String.format("Loaded %d entries from index %s", entries.size(), file));
+        }
+        if(records > entries.size() * 2) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Rewrite index with current entries only
+     */
+    private synchronized void compact() {
+        final Map<String, Entry> current;
+        synchronized(entries) {
+            current = new HashMap<String, Entry>(entries);
+        }
+        records = 0;
+        Writer writer = null;
+        try {
+            writer = new BufferedWriter(new OutputStreamWriter(file.getOutputStream(false), StandardCharsets.UTF_8));
+            for(Map.Entry<String, Entry> entry : current.entrySet()) {
+                for(Map.Entry<HashAlgorithm, String> checksum : new EnumMap<HashAlgorithm, String>(entry.getValue().checksums).entrySet()) {
+                    final Stat stat = entry.getValue().stat;
+                    writer.write(String.join(SEPARATOR, checksum.getKey().name(), String.valueOf(stat.size),
+                        String.valueOf(stat.modified), stat.key, checksum.getValue(), entry.getKey()));
+                    writer.write('\n');
+                    records++;
+                }
+            }
+        }
+        catch(BackgroundException | IOException e) {
+            log.warn(String.format("Failure compacting index %s. %s", file, e.getMessage()));
+        }
+        finally {
+            IOUtils.closeQuietly(writer);
+        }
+    }
+
+    private synchronized void append(final String record) {
+        OutputStream out = null;
+        try {
+            out = file.getOutputStream(true);
+            IOUtils.write(String.format("%s%n", record), out, StandardCharsets.UTF_8);
+            records++;
+        }
+        catch(BackgroundException | IOException e) {
+            log.warn(String.format("Failure writing to index %s. %s", file, e.getMessage()));
+        }
+        finally {
+            IOUtils.closeQuietly(out);
+        }
+        if(records > Math.max(size, entries.size()) * 2) {
+            this.compact();
+        }
+    }
+
+    private static final class Stat {
+        private final long size;
+        private final long modified;
+        /**
+         * Device and inode number of file
+         */
+        private final String key;
+
+        public Stat(final long size, final long modified, final String key) {
+            this.size = size;
+            this.modified = modified;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Stat)) {
+                return false;
+            }
+            final Stat stat = (Stat) o;
+            return size == stat.size &&
+                modified == stat.modified &&
+                Objects.equals(key, stat.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, modified, key);
+        }
+    }
+
+    private static final class Entry {
+        private final Stat stat;
+        private final Map<HashAlgorithm, String> checksums
+            = Collections.synchronizedMap(new EnumMap<HashAlgorithm, String>(HashAlgorithm.class));
+
+        public Entry(final Stat stat) {
+            this.stat = stat;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ChecksumIndex{");
+        sb.append("file=").append(file);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -18,12 +18,21 @@ package ch.cyberduck.core.io;
  *  dkocher@cyberduck.ch
  */
 
-import org.jets3t.service.io.RepeatableFileInputStream;
-
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * File input stream supporting mark and reset at any position. Exposes its file channel to allow copying without
+ * user space buffers.
+ */
+public class LocalRepeatableFileInputStream extends FileChannelInputStream {
 
-public class LocalRepeatableFileInputStream extends RepeatableFileInputStream {
+    /**
+     * Position in file to return to on reset
+     */
+    private long mark = 0L;
 
     /**
      * Creates a repeatable input stream based on a file.
@@ -32,6 +41,27 @@ public class LocalRepeatableFileInputStream extends RepeatableFileInputStream {
      * @throws FileNotFoundException Invalid file
      */
     public LocalRepeatableFileInputStream(final File file) throws FileNotFoundException {
-        super(file);
+        super(new FileInputStream(file).getChannel());
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(final int readlimit) {
+        try {
+            mark = this.getChannel().position();
+        }
+        catch(IOException e) {
+            // Reset to start of file
+            mark = 0L;
+        }
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        this.getChannel().position(mark);
     }
 }
@@ -0,0 +1,139 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.LocaleFactory;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ChecksumException;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compute checksums of a region of a local file reading from the start of the region without skipping preceding
+ * bytes of the file. All algorithms are computed in a single pass over the region.
+ */
+public class PartChecksumCompute {
+
+    /**
+     * Size of buffer passed to all digests before reading on
+     */
+    private static final int SLICE = 1024 * 1024;
+
+    private final Set<HashAlgorithm> algorithms;
+
+    /**
+     * @param algorithms One of md5, sha1, sha256 or sha512
+     */
+    public PartChecksumCompute(final HashAlgorithm... algorithms) {
+        this.algorithms = EnumSet.noneOf(HashAlgorithm.class);
+        for(HashAlgorithm algorithm : algorithms) {
+            this.algorithms.add(algorithm);
+        }
+    }
+
+    /**
+     * Checksum region of file with default implementation if supported and fallback to checksum implementation
+     * reading the region of the file
+     *
+     * @param compute Checksum implementation of write feature
+     * @param local   File to read
+     * @param offset  Start of region
+     * @param length  Length of region
+     * @param status  Transfer status of part
+     * @return Checksum of region
+     */
+    public static Checksum compute(final ChecksumCompute compute, final Local local,
+                                   final long offset, final long length, final TransferStatus status) throws BackgroundException {
+        final HashAlgorithm algorithm = ChecksumComputeFactory.algorithm(compute);
+        if(null == algorithm || HashAlgorithm.crc32 == algorithm) {
+            return compute.compute(new BoundedInputStream(local.getInputStream(offset), length), status);
+        }
+        return new PartChecksumCompute(algorithm).compute(local, offset, length).get(algorithm);
+    }
+
+    /**
+     * @param local  File to read
+     * @param offset Start of region
+     * @param length Length of region
+     * @return Checksum for each algorithm
+     */
+    public Map<HashAlgorithm, Checksum> compute(final Local local, final long offset, final long length) throws BackgroundException {
+        final Map<HashAlgorithm, MessageDigest> digests = new EnumMap<HashAlgorithm, MessageDigest>(HashAlgorithm.class);
+        for(HashAlgorithm algorithm : algorithms) {
+            digests.put(algorithm, this.digest(algorithm));
+        }
+        final InputStream in = local.getInputStream(offset);
+        try {
+            final byte[] buffer = new byte[(int) Math.min(SLICE, Math.max(length, 1L))];
+            long remaining = length;
+            while(remaining > 0) {
+                final int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if(-1 == read) {
+                    throw new ChecksumException(LocaleFactory.localizedString("Checksum failure", "Error"),
+                            String.format("Unexpected end of file %s", local.getAbsolute()));
+                }
+                for(MessageDigest digest : digests.values()) {
+                    digest.update(buffer, 0, read);
+                }
+                remaining -= read;
+            }
+        }
+        catch(IOException e) {
+            throw new ChecksumException(LocaleFactory.localizedString("Checksum failure", "Error"), e.getMessage(), e);
+        }
+        finally {
+            IOUtils.closeQuietly(in);
+        }
+        final Map<HashAlgorithm, Checksum> checksums = new EnumMap<HashAlgorithm, Checksum>(HashAlgorithm.class);
+        for(Map.Entry<HashAlgorithm, MessageDigest> entry : digests.entrySet()) {
+            checksums.put(entry.getKey(), new Checksum(entry.getKey(), Hex.encodeHexString(entry.getValue().digest())));
+        }
+        return checksums;
+    }
+
+    private MessageDigest digest(final HashAlgorithm algorithm) throws ChecksumException {
+        try {
+            switch(algorithm) {
+                case md5:
+                    return MessageDigest.getInstance("MD5");
+                case sha1:
+                    return MessageDigest.getInstance("SHA-1");
+                case sha256:
+                    return MessageDigest.getInstance("SHA-256");
+                case sha512:
+                    return MessageDigest.getInstance("SHA-512");
+                default:
+                    throw new NoSuchAlgorithmException(algorithm.toString());
+            }
+        }
+        catch(NoSuchAlgorithmException e) {
+            throw new ChecksumException(LocaleFactory.localizedString("Checksum failure", "Error"), e.getMessage(), e);
+        }
+    }
+}
@@ -25,13 +25,30 @@ import ch.cyberduck.core.preferences.PreferencesFactory;
 
 import org.apache.log4j.Logger;
 
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 
 public final class StreamCopier {
     private static final Logger log = Logger.getLogger(StreamCopier.class);
 
+    /**
+     * Maximum number of idle buffers kept for reuse
+     */
+    private static final int POOL_SIZE = 16;
+
+    /**
+     * Buffers of default chunk size returned after use. Cleared before returned to not retain transferred data.
+     */
+    private static final Queue<byte[]> buffers = new ArrayBlockingQueue<byte[]>(POOL_SIZE);
+
     private final StreamCancelation cancel;
 
     private final StreamProgress progress;
@@ -87,42 +104,13 @@ public final class StreamCopier {
     public void transfer(final InputStream in, final OutputStream out) throws BackgroundException {
         try {
             try {
-                if(offset > 0) {
-                    skip(in, offset);
-                }
-                final byte[] buffer = new byte[chunksize];
-                long total = 0;
-                int len = chunksize;
-                if(limit > 0 && limit < chunksize) {
-                    // Cast will work because chunk size is int
-                    len = limit.intValue();
+                final FileChannel source = channel(in);
+                final FileChannel target = channel(out);
+                if(source != null && target != null) {
+                    this.transfer(source, target);
                 }
-                while(len > 0 && !cancel.isCanceled()) {
-                    final int read = in.read(buffer, 0, len);
-                    if(-1 == read) {
-                        if(log.isDebugEnabled()) {
-                            log.debug(String.format("End of file reached with %d bytes read from stream", total));
-                        }
-                        progress.setComplete();
-                        break;
-                    }
-                    else {
-                        listener.recv(read);
-                        out.write(buffer, 0, read);
-                        progress.progress(read);
-                        listener.sent(read);
-                        total += read;
-                    }
-                    if(limit > 0) {
-                        // Only adjust if not reading to the end of the stream. Cast will work because chunk size is int
-                        len = (int) Math.min(limit - total, chunksize);
-                    }
-                    if(limit == total) {
-                        if(log.isDebugEnabled()) {
-                            log.debug(String.format("Limit %d reached reading from stream", limit));
-                        }
-                        progress.setComplete();
-                    }
+                else {
+                    this.copy(in, out);
                 }
             }
             catch(IOException e) {
@@ -148,6 +136,181 @@ public final class StreamCopier {
         }
     }
 
+    private void copy(final InputStream in, final OutputStream out) throws BackgroundException, IOException {
+        if(offset > 0) {
+            skip(in, offset);
+        }
+        final byte[] buffer = this.borrow();
+        try {
+            long total = 0;
+            int len = chunksize;
+            if(limit > 0 && limit < chunksize) {
+                // Cast will work because chunk size is int
+                len = limit.intValue();
+            }
+            while(len > 0 && !cancel.isCanceled()) {
+                final int read = in.read(buffer, 0, len);
+                if(-1 == read) {
+                    if(log.isDebugEnabled()) {
+                        log.debug(String.format("End of file reached with %d bytes read from stream", total));
+                    }
+                    progress.setComplete();
+                    break;
+                }
+                else {
+                    listener.recv(read);
+                    out.write(buffer, 0, read);
+                    progress.progress(read);
+                    listener.sent(read);
+                    total += read;
+                }
+                if(limit > 0) {
+                    // Only adjust if not reading to the end of the stream. Cast will work because chunk size is int
+                    len = (int) Math.min(limit - total, chunksize);
+                }
+                if(limit == total) {
+                    if(log.isDebugEnabled()) {
+                        log.debug(String.format("Limit %d reached reading from stream", limit));
+                    }
+                    progress.setComplete();
+                }
+            }
+        }
+        finally {
+            this.release(buffer);
+        }
+    }
+
+    /**
+     * Copy between file channels without passing data through user space buffers
+     */
+    private void transfer(final FileChannel in, final FileChannel out) throws BackgroundException, IOException {
+        long position = in.position();
+        if(offset > 0) {
+            if(in.size() < position + offset) {
+                throw new IOResumeException(String.format("Skipped %d bytes instead of %d",
+                        in.size() - position, offset));
+            }
+            position += offset;
+        }
+        if(log.isDebugEnabled()) {
+            log.debug(String.format("Transfer from channel %s to %s at position %d", in, out, position));
+        }
+        long total = 0;
+        long len = chunksize;
+        if(limit > 0 && limit < chunksize) {
+            len = limit;
+        }
+        while(len > 0 && !cancel.isCanceled()) {
+            final long transferred = in.transferTo(position, len, out);
+            if(0 == transferred) {
+                if(position >= in.size()) {
+                    if(log.isDebugEnabled()) {
+                        log.debug(String.format("End of file reached with %d bytes read from channel", total));
+                    }
+                    progress.setComplete();
+                    break;
+                }
+                log.warn(String.format("No bytes transferred from channel %s at position %d. Copy remaining with buffer", in, position));
+                position += this.copy(in, position, out, limit > 0 ? limit - total : -1L);
+                break;
+            }
+            listener.recv(transferred);
+            progress.progress(transferred);
+            listener.sent(transferred);
+            position += transferred;
+            total += transferred;
+            if(limit > 0) {
+                // Only adjust if not reading to the end of the channel
+                len = Math.min(limit - total, chunksize);
+            }
+            if(limit == total) {
+                if(log.isDebugEnabled()) {
+                    log.debug(String.format("Limit %d reached reading from channel", limit));
+                }
+                progress.setComplete();
+            }
+        }
+        in.position(position);
+    }
+
+    /**
+     * Copy through buffer outside of heap
+     *
+     * @param remaining Number of bytes to copy or -1 to read to the end of the channel
+     * @return Number of bytes copied
+     */
+    private long copy(final FileChannel in, final long position, final FileChannel out, final long remaining) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(chunksize);
+        long total = 0;
+        while(!cancel.isCanceled()) {
+            buffer.clear();
+            if(remaining > 0) {
+                if(remaining == total) {
+                    if(log.isDebugEnabled()) {
+                        log.debug(String.format("Limit %d reached reading from channel", limit));
+                    }
+                    progress.setComplete();
+                    break;
+                }
+                // Cast will work because chunk size is int
+                buffer.limit((int) Math.min(remaining - total, chunksize));
+            }
+            final int read = in.read(buffer, position + total);
+            if(-1 == read) {
+                if(log.isDebugEnabled()) {
+                    log.debug(String.format("End of file reached with %d bytes read from channel", total));
+                }
+                progress.setComplete();
+                break;
+            }
+            listener.recv(read);
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            progress.progress(read);
+            listener.sent(read);
+            total += read;
+        }
+        return total;
+    }
+
+    private byte[] borrow() {
+        if(chunksize.equals(PreferencesFactory.get().getInteger("connection.chunksize"))) {
+            final byte[] buffer = buffers.poll();
+            if(buffer != null) {
+                return buffer;
+            }
+        }
+        return new byte[chunksize];
+    }
+
+    private void release(final byte[] buffer) {
+        if(buffer.length == PreferencesFactory.get().getInteger("connection.chunksize")) {
+            Arrays.fill(buffer, (byte) 0);
+            // Discard if pool is full
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * @param stream Input or output stream
+     * @return File channel backing the stream or null
+     */
+    static FileChannel channel(final Object stream) {
+        if(stream instanceof FileChannelStream) {
+            return ((FileChannelStream) stream).getChannel();
+        }
+        if(stream instanceof FileInputStream) {
+            return ((FileInputStream) stream).getChannel();
+        }
+        if(stream instanceof FileOutputStream) {
+            return ((FileOutputStream) stream).getChannel();
+        }
+        return null;
+    }
+
     public static InputStream skip(final InputStream in, final long offset) throws BackgroundException {
         try {
             long skipped = in.skip(offset);
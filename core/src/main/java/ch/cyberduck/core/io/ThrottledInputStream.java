@@ -22,8 +22,9 @@ import org.apache.commons.io.input.ProxyInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 
-public class ThrottledInputStream extends ProxyInputStream {
+public class ThrottledInputStream extends ProxyInputStream implements FileChannelStream {
 
     /**
      * The delegate.
@@ -53,4 +54,12 @@ public class ThrottledInputStream extends ProxyInputStream {
     public int read(byte[] data, int offset, int len) throws IOException {
         return delegate.read(data, offset, throttle.request(len));
     }
-}
\ No newline at end of file
+
+    @Override
+    public FileChannel getChannel() {
+        if(throttle.isUnlimited()) {
+            return StreamCopier.channel(delegate);
+        }
+        return null;
+    }
+}
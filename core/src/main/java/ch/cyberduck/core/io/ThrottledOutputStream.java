@@ -21,8 +21,9 @@ import org.apache.commons.io.output.ProxyOutputStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
-public class ThrottledOutputStream extends ProxyOutputStream {
+public class ThrottledOutputStream extends ProxyOutputStream implements FileChannelStream {
 
     /**
      * The delegate.
@@ -79,4 +80,12 @@ public class ThrottledOutputStream extends ProxyOutputStream {
             offset += length;
         }
     }
+
+    @Override
+    public FileChannel getChannel() {
+        if(throttle.isUnlimited()) {
+            return StreamCopier.channel(delegate);
+        }
+        return null;
+    }
 }
@@ -18,8 +18,9 @@ package ch.cyberduck.core.io;
 import ch.cyberduck.core.exception.BackgroundException;
 
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 
-public class VoidStatusOutputStream extends StatusOutputStream<Void> {
+public class VoidStatusOutputStream extends StatusOutputStream<Void> implements FileChannelStream {
     public VoidStatusOutputStream(final OutputStream proxy) {
         super(proxy);
     }
@@ -28,4 +29,9 @@ public class VoidStatusOutputStream extends StatusOutputStream<Void> {
     public Void getStatus() throws BackgroundException {
         return null;
     }
+
+    @Override
+    public FileChannel getChannel() {
+        return StreamCopier.channel(out);
+    }
 }
@@ -0,0 +1,116 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import com.google.gson.JsonObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of recorded values in buckets with upper bounds in powers of ten
+ */
+public final class Histogram {
+
+    /**
+     * Upper bounds of buckets
+     */
+    public static final long[] BUCKETS = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, Long.MAX_VALUE
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length);
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    public void record(final long value) {
+        for(int i = 0; i < BUCKETS.length; i++) {
+            if(value < BUCKETS[i]) {
+                buckets.incrementAndGet(i);
+                break;
+            }
+        }
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long current;
+        while(value < (current = min.get())) {
+            if(min.compareAndSet(current, value)) {
+                break;
+            }
+        }
+        while(value > (current = max.get())) {
+            if(max.compareAndSet(current, value)) {
+                break;
+            }
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSum() {
+        return sum.get();
+    }
+
+    public long getMin() {
+        return 0 == count.get() ? 0L : min.get();
+    }
+
+    public long getMax() {
+        return 0 == count.get() ? 0L : max.get();
+    }
+
+    public long getMean() {
+        final long n = count.get();
+        if(0 == n) {
+            return 0L;
+        }
+        return sum.get() / n;
+    }
+
+    /**
+     * @return Number of values per bucket in #BUCKETS
+     */
+    public long[] getBuckets() {
+        final long[] histogram = new long[BUCKETS.length];
+        for(int i = 0; i < BUCKETS.length; i++) {
+            histogram[i] = buckets.get(i);
+        }
+        return histogram;
+    }
+
+    public JsonObject toJson() {
+        final JsonObject json = new JsonObject();
+        json.addProperty("count", this.getCount());
+        json.addProperty("sum", this.getSum());
+        json.addProperty("min", this.getMin());
+        json.addProperty("max", this.getMax());
+        json.addProperty("mean", this.getMean());
+        final JsonObject buckets = new JsonObject();
+        final long[] histogram = this.getBuckets();
+        for(int i = 0; i < BUCKETS.length; i++) {
+            if(histogram[i] > 0) {
+                buckets.addProperty(Long.MAX_VALUE == BUCKETS[i] ? "inf" : String.format("<%d", BUCKETS[i]), histogram[i]);
+            }
+        }
+        json.add("buckets", buckets);
+        return json;
+    }
+}
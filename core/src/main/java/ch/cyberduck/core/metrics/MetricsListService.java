@@ -0,0 +1,62 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.ListService;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.exception.BackgroundException;
+
+/**
+ * Record time to list directory
+ */
+public class MetricsListService implements ListService {
+
+    private final MetricsRegistry registry;
+    private final Host host;
+    private final ListService proxy;
+
+    public MetricsListService(final MetricsRegistry registry, final Host host, final ListService proxy) {
+        this.registry = registry;
+        this.host = host;
+        this.proxy = proxy;
+    }
+
+    @Override
+    public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
+        final long start = System.currentTimeMillis();
+        try {
+            return proxy.list(directory, listener);
+        }
+        catch(BackgroundException e) {
+            registry.increment(host, "list.failures", 1L);
+            throw e;
+        }
+        finally {
+            registry.record(host, "list.latency", System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MetricsListService{");
+        sb.append("proxy=").append(proxy);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.ConnectionCallback;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.features.Read;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import java.io.InputStream;
+
+/**
+ * Record time to open stream for download
+ */
+public class MetricsReadFeature implements Read {
+
+    private final MetricsRegistry registry;
+    private final Host host;
+    private final Read proxy;
+
+    public MetricsReadFeature(final MetricsRegistry registry, final Host host, final Read proxy) {
+        this.registry = registry;
+        this.host = host;
+        this.proxy = proxy;
+    }
+
+    @Override
+    public InputStream read(final Path file, final TransferStatus status, final ConnectionCallback callback) throws BackgroundException {
+        final long start = System.currentTimeMillis();
+        try {
+            return proxy.read(file, status, callback);
+        }
+        catch(BackgroundException e) {
+            registry.increment(host, "read.failures", 1L);
+            throw e;
+        }
+        finally {
+            registry.record(host, "read.latency", System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public boolean offset(final Path file) throws BackgroundException {
+        return proxy.offset(file);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MetricsReadFeature{");
+        sb.append("proxy=").append(proxy);
+        sb.append('}');
+        return sb.toString();
+    }
+}
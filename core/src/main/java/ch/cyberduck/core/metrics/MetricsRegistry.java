@@ -0,0 +1,192 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters and histograms grouped by scope such as a transfer, host or protocol. Recording is a no-op unless
+ * enabled. Fed by the feature counts of sessions in {@link ch.cyberduck.core.CountingMetrics} and the transfer
+ * progress of {@link ch.cyberduck.core.transfer.TransferSpeedometer}.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry global
+            = new MetricsRegistry(PreferencesFactory.get().getBoolean("metrics.enable"));
+
+    public static MetricsRegistry get() {
+        return global;
+    }
+
+    private final Map<String, Map<String, AtomicLong>> counters
+            = new ConcurrentHashMap<String, Map<String, AtomicLong>>();
+
+    private final Map<String, Map<String, Histogram>> histograms
+            = new ConcurrentHashMap<String, Map<String, Histogram>>();
+
+    private volatile boolean enabled;
+
+    public MetricsRegistry(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return Scope for all connections to hostname
+     */
+    public static String host(final Host host) {
+        return String.format("host/%s", StringUtils.defaultString(host.getHostname()));
+    }
+
+    /**
+     * @return Scope for all connections with protocol
+     */
+    public static String protocol(final Host host) {
+        return String.format("protocol/%s", host.getProtocol().getIdentifier());
+    }
+
+    /**
+     * Increment counter in host and protocol scope
+     */
+    public void increment(final Host host, final String name, final long delta) {
+        if(!enabled) {
+            return;
+        }
+        this.increment(host(host), name, delta);
+        this.increment(protocol(host), name, delta);
+    }
+
+    /**
+     * Record value in host and protocol scope
+     */
+    public void record(final Host host, final String name, final long value) {
+        if(!enabled) {
+            return;
+        }
+        this.record(host(host), name, value);
+        this.record(protocol(host), name, value);
+    }
+
+    public void increment(final String scope, final String name, final long delta) {
+        if(!enabled) {
+            return;
+        }
+        final Map<String, AtomicLong> metrics = this.scope(counters, scope);
+        AtomicLong counter = metrics.get(name);
+        if(null == counter) {
+            metrics.putIfAbsent(name, new AtomicLong());
+            counter = metrics.get(name);
+        }
+        counter.addAndGet(delta);
+    }
+
+    public void record(final String scope, final String name, final long value) {
+        if(!enabled) {
+            return;
+        }
+        final Map<String, Histogram> metrics = this.scope(histograms, scope);
+        Histogram histogram = metrics.get(name);
+        if(null == histogram) {
+            metrics.putIfAbsent(name, new Histogram());
+            histogram = metrics.get(name);
+        }
+        histogram.record(value);
+    }
+
+    private <T> Map<String, T> scope(final Map<String, Map<String, T>> metrics, final String scope) {
+        Map<String, T> map = metrics.get(scope);
+        if(null == map) {
+            metrics.putIfAbsent(scope, new ConcurrentHashMap<String, T>());
+            map = metrics.get(scope);
+        }
+        return map;
+    }
+
+    /**
+     * @return Counter value or 0 if never incremented
+     */
+    public long getCounter(final String scope, final String name) {
+        final Map<String, AtomicLong> metrics = counters.get(scope);
+        if(null == metrics || !metrics.containsKey(name)) {
+            return 0L;
+        }
+        return metrics.get(name).get();
+    }
+
+    /**
+     * @return Histogram or null if no value recorded
+     */
+    public Histogram getHistogram(final String scope, final String name) {
+        final Map<String, Histogram> metrics = histograms.get(scope);
+        if(null == metrics) {
+            return null;
+        }
+        return metrics.get(name);
+    }
+
+    public void clear() {
+        counters.clear();
+        histograms.clear();
+    }
+
+    /**
+     * @return Object with a member for each scope containing its counters and histograms sorted by name
+     */
+    public JsonObject toJson() {
+        final Map<String, JsonObject> scopes = new TreeMap<String, JsonObject>();
+        for(Map.Entry<String, Map<String, AtomicLong>> scope : counters.entrySet()) {
+            final JsonObject json = this.json(scopes, scope.getKey());
+            for(Map.Entry<String, AtomicLong> counter : new TreeMap<String, AtomicLong>(scope.getValue()).entrySet()) {
+                json.addProperty(counter.getKey(), counter.getValue().get());
+            }
+        }
+        for(Map.Entry<String, Map<String, Histogram>> scope : histograms.entrySet()) {
+            final JsonObject json = this.json(scopes, scope.getKey());
+            for(Map.Entry<String, Histogram> histogram : new TreeMap<String, Histogram>(scope.getValue()).entrySet()) {
+                json.add(histogram.getKey(), histogram.getValue().toJson());
+            }
+        }
+        final JsonObject json = new JsonObject();
+        for(Map.Entry<String, JsonObject> scope : scopes.entrySet()) {
+            json.add(scope.getKey(), scope.getValue());
+        }
+        return json;
+    }
+
+    private JsonObject json(final Map<String, JsonObject> scopes, final String scope) {
+        if(!scopes.containsKey(scope)) {
+            scopes.put(scope, new JsonObject());
+        }
+        return scopes.get(scope);
+    }
+}
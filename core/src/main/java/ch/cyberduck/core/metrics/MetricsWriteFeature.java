@@ -0,0 +1,85 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.ConnectionCallback;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.io.ChecksumCompute;
+import ch.cyberduck.core.io.StatusOutputStream;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+/**
+ * Record time to open stream for upload
+ */
+public class MetricsWriteFeature<Reply> implements Write<Reply> {
+
+    private final MetricsRegistry registry;
+    private final Host host;
+    private final Write<Reply> proxy;
+
+    public MetricsWriteFeature(final MetricsRegistry registry, final Host host, final Write<Reply> proxy) {
+        this.registry = registry;
+        this.host = host;
+        this.proxy = proxy;
+    }
+
+    @Override
+    public StatusOutputStream<Reply> write(final Path file, final TransferStatus status, final ConnectionCallback callback) throws BackgroundException {
+        final long start = System.currentTimeMillis();
+        try {
+            return proxy.write(file, status, callback);
+        }
+        catch(BackgroundException e) {
+            registry.increment(host, "write.failures", 1L);
+            throw e;
+        }
+        finally {
+            registry.record(host, "write.latency", System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public Append append(final Path file, final Long length, final Cache<Path> cache) throws BackgroundException {
+        return proxy.append(file, length, cache);
+    }
+
+    @Override
+    public boolean temporary() {
+        return proxy.temporary();
+    }
+
+    @Override
+    public boolean random() {
+        return proxy.random();
+    }
+
+    @Override
+    public ChecksumCompute checksum(final Path file) {
+        return proxy.checksum(file);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("MetricsWriteFeature{");
+        sb.append("proxy=").append(proxy);
+        sb.append('}');
+        return sb.toString();
+    }
+}
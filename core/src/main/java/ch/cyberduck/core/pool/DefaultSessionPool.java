@@ -24,6 +24,7 @@ import ch.cyberduck.core.SessionFactory;
 import ch.cyberduck.core.TranscriptListener;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.ssl.DefaultX509KeyManager;
 import ch.cyberduck.core.ssl.DisabledX509TrustManager;
 import ch.cyberduck.core.ssl.X509KeyManager;
@@ -31,6 +32,8 @@ import ch.cyberduck.core.ssl.X509TrustManager;
 import ch.cyberduck.core.threading.BackgroundActionState;
 import ch.cyberduck.core.threading.DefaultFailureDiagnostics;
 import ch.cyberduck.core.threading.FailureDiagnostics;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
 import ch.cyberduck.core.vault.VaultRegistry;
 import ch.cyberduck.core.worker.DefaultExceptionMappingService;
 
@@ -42,7 +45,12 @@ import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class DefaultSessionPool implements SessionPool {
     private static final Logger log = Logger.getLogger(DefaultSessionPool.class);
@@ -62,6 +70,11 @@ public class DefaultSessionPool implements SessionPool {
 
     private final GenericObjectPool<Session> pool;
 
+    /**
+     * Maximum number of idle connections configured. Lowered temporarily after network failures.
+     */
+    private volatile int maxIdle;
+
     private SessionPool features = SessionPool.DISCONNECTED;
 
     public DefaultSessionPool(final ConnectionService connect, final X509TrustManager trust, final X509KeyManager key,
@@ -78,6 +91,7 @@ public class DefaultSessionPool implements SessionPool {
         configuration.setBlockWhenExhausted(true);
         configuration.setMaxWaitMillis(BORROW_MAX_WAIT_INTERVAL);
         this.pool = new GenericObjectPool<Session>(new PooledSessionFactory(connect, trust, key, cache, bookmark, registry), configuration);
+        this.maxIdle = pool.getMaxIdle();
         final AbandonedConfig abandon = new AbandonedConfig();
         abandon.setUseUsageTracking(true);
         this.pool.setAbandonedConfig(abandon);
@@ -91,6 +105,7 @@ public class DefaultSessionPool implements SessionPool {
         this.bookmark = bookmark;
         this.registry = registry;
         this.pool = pool;
+        this.maxIdle = pool.getMaxIdle();
     }
 
     public static final class CustomPoolEvictionPolicy implements EvictionPolicy<Session<?>> {
@@ -118,6 +133,7 @@ public class DefaultSessionPool implements SessionPool {
             log.debug(String.format("Configure with max idle %d", count));
         }
         pool.setMaxIdle(count);
+        maxIdle = count;
         return this;
     }
 
@@ -135,6 +151,7 @@ public class DefaultSessionPool implements SessionPool {
         if(numActive > POOL_WARNING_THRESHOLD) {
             log.warn(String.format("Possibly large number of open connections (%d) in pool %s", numActive, this));
         }
+        final long start = System.currentTimeMillis();
         try {
             /*
              * The number of times this action has been run
@@ -149,6 +166,7 @@ public class DefaultSessionPool implements SessionPool {
                     if(log.isInfoEnabled()) {
                         log.info(String.format("Borrowed session %s from pool %s", session, this));
                     }
+                    MetricsRegistry.get().record(bookmark, "pool.wait", System.currentTimeMillis() - start);
                     if(DISCONNECTED == features) {
                         features = new StatelessSessionPool(connect, session, cache, transcript, registry);
                     }
@@ -170,12 +188,9 @@ public class DefaultSessionPool implements SessionPool {
                     if(cause instanceof BackgroundException) {
                         final BackgroundException failure = (BackgroundException) cause;
                         log.warn(String.format("Failure %s obtaining connection for %s", failure, this));
+                        MetricsRegistry.get().increment(bookmark, "pool.failures", 1L);
                         if(diagnostics.determine(failure) == FailureDiagnostics.Type.network) {
-                            final int max = Math.max(1, pool.getMaxIdle() - 1);
-                            log.warn(String.format("Lower maximum idle pool size to %d connections.", max));
-                            pool.setMaxIdle(max);
-                            // Clear pool from idle connections
-                            pool.clear();
+                            this.lower();
                         }
                         throw failure;
                     }
@@ -196,6 +211,70 @@ public class DefaultSessionPool implements SessionPool {
         }
     }
 
+    /**
+     * Lower maximum idle pool size by one connection after network failure
+     */
+    private synchronized void lower() {
+        final int max = Math.max(1, pool.getMaxIdle() - 1);
+        log.warn(String.format("Lower maximum idle pool size to %d connections.", max));
+        pool.setMaxIdle(max);
+        // Clear pool from idle connections
+        pool.clear();
+    }
+
+    /**
+     * Raise maximum idle pool size lowered after network failures by one connection when a session has been
+     * used without failure
+     */
+    private synchronized void recover() {
+        final int current = pool.getMaxIdle();
+        if(current < maxIdle) {
+            if(log.isInfoEnabled()) {
+                log.info(String.format("Raise maximum idle pool size to %d connections.", current + 1));
+            }
+            pool.setMaxIdle(current + 1);
+        }
+    }
+
+    /**
+     * Open connections in parallel and return them to the pool as idle sessions
+     *
+     * @param count    Number of connections to open
+     * @param callback Cancel callback
+     */
+    public void warmup(final int count, final BackgroundActionState callback) {
+        final int size = Math.min(count, pool.getMaxIdle()) - pool.getNumIdle();
+        if(size <= 0) {
+            return;
+        }
+        if(log.isInfoEnabled()) {
+            log.info(String.format("Open %d connections in pool %s", size, this));
+        }
+        final ThreadPool executor = ThreadPoolFactory.get("warmup", size);
+        try {
+            final List<Future<Session<?>>> futures = new ArrayList<Future<Session<?>>>();
+            for(int i = 0; i < size; i++) {
+                futures.add(executor.execute(new Callable<Session<?>>() {
+                    @Override
+                    public Session<?> call() throws BackgroundException {
+                        return borrow(callback);
+                    }
+                }));
+            }
+            for(Future<Session<?>> future : futures) {
+                try {
+                    this.release(future.get(), null);
+                }
+                catch(InterruptedException | ExecutionException e) {
+                    log.warn(String.format("Failure opening connection in pool %s. %s", this, e.getMessage()));
+                }
+            }
+        }
+        finally {
+            executor.shutdown(false);
+        }
+    }
+
     @Override
     public void release(final Session<?> session, final BackgroundException failure) {
         if(log.isInfoEnabled()) {
@@ -221,6 +300,9 @@ public class DefaultSessionPool implements SessionPool {
             }
             else {
                 pool.returnObject(session);
+                if(null == failure) {
+                    this.recover();
+                }
             }
         }
         catch(IllegalStateException e) {
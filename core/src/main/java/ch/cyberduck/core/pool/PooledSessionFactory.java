@@ -25,6 +25,7 @@ import ch.cyberduck.core.Path;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.SessionFactory;
 import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.ssl.X509KeyManager;
 import ch.cyberduck.core.ssl.X509TrustManager;
 import ch.cyberduck.core.vault.VaultRegistry;
@@ -73,8 +74,13 @@ public class PooledSessionFactory extends BasePooledObjectFactory<Session> {
         if(log.isDebugEnabled()) {
             log.debug(String.format("Activate session %s", session));
         }
+        final boolean connected = session.isConnected();
+        final long start = System.currentTimeMillis();
         // Load vault to increment open count for pooled vault
         connect.check(session, cache, new DisabledCancelCallback());
+        if(!connected) {
+            MetricsRegistry.get().record(bookmark, "pool.connect", System.currentTimeMillis() - start);
+        }
     }
 
     @Override
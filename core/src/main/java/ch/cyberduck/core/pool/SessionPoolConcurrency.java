@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+package ch.cyberduck.core.pool;
+
+public final class SessionPoolConcurrency {
+
+    private SessionPoolConcurrency() {
+        //
+    }
+
+    /**
+     * A worker running with a session borrowed from a stateful pool holds its only connection. Borrowing again from
+     * another thread blocks until the worker has completed.
+     *
+     * @return True if connections can be borrowed from other threads while a worker holds a session of the pool
+     */
+    public static boolean isConcurrent(final SessionPool pool) {
+        if(pool instanceof DefaultSessionPool) {
+            return true;
+        }
+        if(pool instanceof StatefulSessionPool) {
+            // Locked while borrowed
+            return false;
+        }
+        // Single session shared for stateless protocols
+        return pool instanceof StatelessSessionPool;
+    }
+}
@@ -279,6 +279,11 @@ public abstract class Preferences {
         defaults.put("local.list.native", String.valueOf(true));
         defaults.put("local.delimiter", File.separator);
         defaults.put("local.temporaryfiles.shortening.threshold", String.valueOf(240));
+        /*
+          Persist checksums of local files to skip hashing unchanged files again. Maximum number of files in index.
+         */
+        defaults.put("local.checksum.index.enable", String.valueOf(false));
+        defaults.put("local.checksum.index.size", String.valueOf(10000));
 
         defaults.put("application.name", "Cyberduck");
         defaults.put("application.container.name", "duck");
@@ -306,6 +311,13 @@ public abstract class Preferences {
         defaults.put("browser.cache.size", String.valueOf(1000));
         defaults.put("transfer.cache.size", String.valueOf(100));
         defaults.put("icon.cache.size", String.valueOf(200));
+        /*
+          Number of segments, maximum number of cached children per segment and time to live in milliseconds for
+          concurrent cache. Listings with more children than the weight of a segment are not cached.
+         */
+        defaults.put("browser.cache.concurrency", String.valueOf(16));
+        defaults.put("browser.cache.weight", String.valueOf(100000));
+        defaults.put("browser.cache.ttl", String.valueOf(-1));
 
         /*
           Caching NS* proxy instances.
@@ -317,6 +329,11 @@ public abstract class Preferences {
          */
         defaults.put("browser.list.limit.directory", String.valueOf(5000));
         defaults.put("browser.list.limit.container", String.valueOf(100));
+        /*
+          Number of files or milliseconds elapsed before notifying about listing progress
+         */
+        defaults.put("browser.list.chunk.size", String.valueOf(100));
+        defaults.put("browser.list.chunk.interval", String.valueOf(200));
 
         defaults.put("info.toolbar.selected", String.valueOf(0));
         defaults.put("preferences.toolbar.selected", String.valueOf(0));
@@ -398,6 +415,23 @@ public abstract class Preferences {
         defaults.put("browser.date.natural", String.valueOf(true));
 
         defaults.put("browser.delete.concurrency", String.valueOf(10));
+        /*
+          Number of directories listed in parallel to calculate the size of folders
+         */
+        defaults.put("browser.size.concurrency", String.valueOf(5));
+        /*
+          Number of requests in flight when writing metadata or permissions recursively
+         */
+        defaults.put("browser.write.concurrency", String.valueOf(5));
+        /*
+          Number of files passed to the delete feature at once while still listing recursively. Set to 0 to
+          compile the complete list of files and check all files are supported before deleting.
+         */
+        defaults.put("delete.batch.size", String.valueOf(0));
+        /*
+          Number of batches deleted in parallel with connections from the pool
+         */
+        defaults.put("delete.batch.concurrency", String.valueOf(4));
 
 
         defaults.put("info.toggle.permission", String.valueOf(1));
@@ -439,6 +473,20 @@ public abstract class Preferences {
                 String.valueOf(Host.TransferType.concurrent.name())
         ));
         defaults.put("queue.transfer.type", String.valueOf(Host.TransferType.concurrent.name()));
+        /*
+          Submit files for transfer while the remaining tree is still listed
+         */
+        defaults.put("queue.transfer.pipeline", String.valueOf(false));
+        /*
+          Maximum number of prepared files waiting for transfer and passed to bulk features at once when pipelined
+         */
+        defaults.put("queue.transfer.pipeline.size", String.valueOf(1000));
+        /*
+          Maximum number of listed items kept in memory before writing directory listings of transfer to disk. Also
+          limits the number of files prepared before transferring any, above which the transfer continues pipelined.
+          Set to -1 to keep all listings and transfer status in memory.
+         */
+        defaults.put("queue.transfer.cache.swap.threshold", String.valueOf(-1));
         /*
           Warning when number of transfers in queue exceeds limit
          */
@@ -525,6 +573,11 @@ public abstract class Preferences {
         defaults.put("queue.download.segments", String.valueOf(false));
         defaults.put("queue.download.segments.threshold", String.valueOf(100L * 1024L * 1024L));
         defaults.put("queue.download.segments.size", String.valueOf(50L * 1024L * 1024L));
+        /*
+          Write segments directly at their offset to the pre-allocated target file instead of concatenating
+          segment files when complete
+         */
+        defaults.put("queue.download.segments.inplace", String.valueOf(false));
 
         /*
           Open completed downloads
@@ -566,6 +619,14 @@ public abstract class Preferences {
           Bandwidth throttle download stream
          */
         defaults.put("queue.download.bandwidth.bytes", String.valueOf(-1));
+        /*
+          Bandwidth throttle shared by all transfers
+         */
+        defaults.put("queue.bandwidth.bytes", String.valueOf(-1));
+        /*
+          Bandwidth throttle shared by all transfers with the same host
+         */
+        defaults.put("queue.bandwidth.host.bytes", String.valueOf(-1));
 
         /*
          * Concurrent connections
@@ -691,6 +752,10 @@ public abstract class Preferences {
         defaults.put("s3.mfa.serialnumber", StringUtils.EMPTY);
 
         defaults.put("s3.listing.chunksize", String.valueOf(1000));
+        /*
+          Number of common prefixes listed in parallel for recursive listings
+         */
+        defaults.put("s3.listing.concurrency", String.valueOf(10));
 
         defaults.put("s3.upload.md5", String.valueOf(true));
 
@@ -773,6 +838,10 @@ public abstract class Preferences {
 
         defaults.put("googledrive.list.limit", String.valueOf(1000));
         defaults.put("googledrive.teamdrive.enable", String.valueOf(true));
+        /*
+          Maximum number of calls in a single batch request
+         */
+        defaults.put("googledrive.delete.multiple.partition", String.valueOf(100));
 
         defaults.put("b2.bucket.acl.default", "allPrivate");
         defaults.put("b2.listing.chunksize", String.valueOf(100));
@@ -817,6 +886,11 @@ public abstract class Preferences {
         defaults.put("webdav.redirect.PROPFIND.follow", String.valueOf(true));
 
         defaults.put("webdav.upload.md5", String.valueOf(false));
+        /*
+          Request listings of all descendants with PROPFIND depth infinity if allowed by server when downloading
+          folders recursively
+         */
+        defaults.put("webdav.list.depth.infinity", String.valueOf(false));
         defaults.put("webdav.metadata.default", StringUtils.EMPTY);
 
         defaults.put("analytics.provider.qloudstat.setup", "https://qloudstat.com/configuration/add");
@@ -872,6 +946,10 @@ public abstract class Preferences {
         defaults.put("connection.pool.minidle", String.valueOf(1));
         defaults.put("connection.pool.maxidle", String.valueOf(5));
         defaults.put("connection.pool.maxtotal", String.valueOf(Integer.MAX_VALUE));
+        /*
+          Open connections for all transfer threads in parallel when transfer starts
+         */
+        defaults.put("connection.pool.warmup", String.valueOf(false));
 
         /*
           Default login name
@@ -923,6 +1001,18 @@ public abstract class Preferences {
           java.net.preferIPv6Addresses
          */
         defaults.put("connection.dns.ipv6", String.valueOf(false));
+        /*
+          Seconds to cache successful DNS lookups
+         */
+        defaults.put("connection.dns.cache.ttl", String.valueOf(30));
+        /*
+          Milliseconds to wait for connection before trying address of other family in parallel
+         */
+        defaults.put("connection.dns.happyeyeballs.delay", String.valueOf(250));
+        /*
+          Maximum number of concurrent connection attempts
+         */
+        defaults.put("connection.dns.happyeyeballs.pool.size", String.valueOf(10));
 
         /*
           Read proxy settings from system preferences
@@ -940,9 +1030,23 @@ public abstract class Preferences {
         defaults.put(String.format("connection.unsecure.warning.%s", Scheme.ftp), String.valueOf(true));
         defaults.put(String.format("connection.unsecure.warning.%s", Scheme.http), String.valueOf(true));
 
+        /*
+          Record transfer, request and connection pool metrics by host and protocol
+         */
+        defaults.put("metrics.enable", String.valueOf(false));
+
         defaults.put("connection.ssl.provider.bouncycastle.position", String.valueOf(1));
         defaults.put("connection.ssl.protocols", "TLSv1.2,TLSv1.1,TLSv1");
         defaults.put("connection.ssl.cipher.blacklist", StringUtils.EMPTY);
+        /*
+          Number of SSL sessions and seconds to keep for resumption with the same host and port
+         */
+        defaults.put("connection.ssl.session.cache.size", String.valueOf(100));
+        defaults.put("connection.ssl.session.cache.timeout", String.valueOf(3600));
+        /*
+          Seconds to cache successful certificate chain validations
+         */
+        defaults.put("connection.ssl.trust.cache.ttl", String.valueOf(300));
 
         defaults.put("connection.ssl.x509.revocation.online", String.valueOf(false));
 
@@ -1053,6 +1157,15 @@ public abstract class Preferences {
 
         defaults.put("cryptomator.enable", String.valueOf(true));
         defaults.put("cryptomator.vault.autodetect", String.valueOf(true));
+        /*
+          Read directory IDs of all subfolders when listing a vault directory
+         */
+        defaults.put("cryptomator.directory.prefetch", String.valueOf(false));
+        /*
+          Decrypt filenames of listing chunks with at least the given number of files in parallel
+         */
+        defaults.put("cryptomator.list.decrypt.threads", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        defaults.put("cryptomator.list.decrypt.threshold", String.valueOf(100));
     }
 
     protected void setLogging() {
@@ -225,6 +225,10 @@ public class TransferDictionary {
         if(bandwidthObj != null) {
             transfer.getBandwidth().setRate(Float.parseFloat(bandwidthObj.toString()));
         }
+        final Object priorityObj = dict.stringForKey("Priority");
+        if(priorityObj != null) {
+            transfer.setPriority(Integer.parseInt(priorityObj.toString()));
+        }
         return transfer;
     }
 }
@@ -20,16 +20,30 @@ package ch.cyberduck.core.ssl;
 
 import ch.cyberduck.core.CertificateStore;
 import ch.cyberduck.core.LocaleFactory;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 
 import org.apache.log4j.Logger;
 
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 public class CertificateStoreX509TrustManager extends AbstractX509TrustManager {
     private static final Logger log = Logger.getLogger(CertificateStoreX509TrustManager.class);
 
+    /**
+     * Expiry of successful validations by hostname and certificate chain in this store shared by all connections
+     * using this trust manager
+     */
+    private final Map<Validation, Long> validations = new ConcurrentHashMap<Validation, Long>();
+
+    private final long ttl = TimeUnit.SECONDS.toMillis(
+            PreferencesFactory.get().getLong("connection.ssl.trust.cache.ttl"));
+
     private final TrustManagerHostnameCallback callback;
 
     private final CertificateStore store;
@@ -70,10 +84,27 @@ public class CertificateStoreX509TrustManager extends AbstractX509TrustManager {
             }
             return;
         }
+        final Validation validation = new Validation(hostname, Arrays.asList(certs));
+        final Long expiry = validations.get(validation);
+        if(expiry != null) {
+            if(expiry > System.currentTimeMillis()) {
+                if(log.isInfoEnabled()) {
+                    log.info(String.format("Certificate for %s previously validated", hostname));
+                }
+                // Validity period of certificate is still verified
+                certs[0].checkValidity();
+                this.accept(Arrays.asList(certs));
+                return;
+            }
+            validations.remove(validation);
+        }
         if(store.isTrusted(hostname, Arrays.asList(certs))) {
             if(log.isInfoEnabled()) {
                 log.info(String.format("Certificate for %s trusted in Keychain", hostname));
             }
+            if(ttl > 0) {
+                validations.put(validation, System.currentTimeMillis() + ttl);
+            }
             // We still accept the certificate if we find it in the Keychain
             // regardless of its trust settings. There is currently no way I am
             // aware of to read the trust settings for a certificate in the Keychain
@@ -85,4 +116,36 @@ public class CertificateStoreX509TrustManager extends AbstractX509TrustManager {
                     LocaleFactory.localizedString("No trusted certificate found", "Status"));
         }
     }
-}
\ No newline at end of file
+
+    private static final class Validation {
+        private final String hostname;
+        private final List<X509Certificate> chain;
+
+        private Validation(final String hostname, final List<X509Certificate> chain) {
+            this.hostname = hostname;
+            this.chain = chain;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Validation)) {
+                return false;
+            }
+            final Validation that = (Validation) o;
+            if(hostname != null ? !hostname.equals(that.hostname) : that.hostname != null) {
+                return false;
+            }
+            return chain.equals(that.chain);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hostname != null ? hostname.hashCode() : 0;
+            result = 31 * result + chain.hashCode();
+            return result;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package ch.cyberduck.core.ssl;
  */
 
 import ch.cyberduck.core.FactoryException;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.preferences.Preferences;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.random.SecureRandomProviderFactory;
@@ -39,12 +40,27 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CustomTrustSSLProtocolSocketFactory extends SSLSocketFactory {
     private static final Logger log = Logger.getLogger(CustomTrustSSLProtocolSocketFactory.class);
 
+    /**
+     * Contexts shared by all factories with the same trust and key manager. Each context holds its own cache of
+     * sessions by host and port to resume from. Sessions of a pool wrap the trust manager of the pool with their own
+     * hostname delegating trust manager and are keyed by the wrapped trust manager.
+     */
+    private static final Map<Managers, SSLContext> contexts = new LinkedHashMap<Managers, SSLContext>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Managers, SSLContext> eldest) {
+            return this.size() > 20;
+        }
+    };
+
     private final SSLSocketFactory factory;
 
     /**
@@ -80,18 +96,35 @@ public class CustomTrustSSLProtocolSocketFactory extends SSLSocketFactory {
                                                final String... protocols) {
         this.trust = trust;
         this.key = key;
-        try {
-            context = SSLContext.getInstance("TLS");
-            context.init(new KeyManager[]{key}, new TrustManager[]{trust}, seeder);
-            if(log.isDebugEnabled()) {
-                log.debug(String.format("Using SSL context with protocol %s", context.getProtocol()));
+        this.context = context(trust, key, seeder);
+        this.factory = context.getSocketFactory();
+        this.protocols = protocols;
+    }
+
+    private static SSLContext context(final X509TrustManager trust, final X509KeyManager key, final SecureRandom seeder) {
+        final Managers managers = new Managers(trust, key);
+        synchronized(contexts) {
+            if(contexts.containsKey(managers)) {
+                return contexts.get(managers);
+            }
+            try {
+                final SSLContext context = SSLContext.getInstance("TLS");
+                context.init(new KeyManager[]{key}, new TrustManager[]{trust}, seeder);
+                if(log.isDebugEnabled()) {
+                    log.debug(String.format("Using SSL context with protocol %s", context.getProtocol()));
+                }
+                final Preferences preferences = PreferencesFactory.get();
+                context.getClientSessionContext().setSessionCacheSize(
+                        preferences.getInteger("connection.ssl.session.cache.size"));
+                context.getClientSessionContext().setSessionTimeout(
+                        preferences.getInteger("connection.ssl.session.cache.timeout"));
+                contexts.put(managers, context);
+                return context;
+            }
+            catch(NoSuchAlgorithmException | KeyManagementException e) {
+                throw new FactoryException(e.getMessage(), e);
             }
-            factory = context.getSocketFactory();
-        }
-        catch(NoSuchAlgorithmException | KeyManagementException e) {
-            throw new FactoryException(e.getMessage(), e);
         }
-        this.protocols = protocols;
     }
 
     /**
@@ -114,15 +147,24 @@ public class CustomTrustSSLProtocolSocketFactory extends SSLSocketFactory {
                 if(log.isInfoEnabled()) {
                     log.info(String.format("Enabled cipher suites %s",
                             Arrays.toString(((SSLSocket) socket).getEnabledCipherSuites())));
-                    ((SSLSocket) socket).addHandshakeCompletedListener(new HandshakeCompletedListener() {
-                        @Override
-                        public void handshakeCompleted(final HandshakeCompletedEvent event) {
-                            log.info(String.format("Completed handshake with %s and negotiated cipher suite %s",
-                                    event.getSession().getProtocol(), event.getCipherSuite()));
-                            ((SSLSocket) socket).removeHandshakeCompletedListener(this);
-                        }
-                    });
                 }
+                final long start = System.nanoTime();
+                final long created = System.currentTimeMillis();
+                ((SSLSocket) socket).addHandshakeCompletedListener(new HandshakeCompletedListener() {
+                    @Override
+                    public void handshakeCompleted(final HandshakeCompletedEvent event) {
+                        // Session of resumed handshake was created before this socket
+                        final boolean resumed = event.getSession().getCreationTime() < created;
+                        final MetricsRegistry registry = MetricsRegistry.get();
+                        registry.increment("tls", resumed ? "handshake.resumed" : "handshake.full", 1L);
+                        registry.record("tls", "handshake.latency", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        if(log.isInfoEnabled()) {
+                            log.info(String.format("Completed %s handshake with %s and negotiated cipher suite %s",
+                                    resumed ? "abbreviated" : "full", event.getSession().getProtocol(), event.getCipherSuite()));
+                        }
+                        ((SSLSocket) socket).removeHandshakeCompletedListener(this);
+                    }
+                });
             }
             catch(Exception e) {
                 log.warn(String.format("Failed to configure SSL parameters %s", e.getMessage()));
@@ -160,6 +202,39 @@ public class CustomTrustSSLProtocolSocketFactory extends SSLSocketFactory {
         return context;
     }
 
+    private static final class Managers {
+        private final X509TrustManager trust;
+        private final X509KeyManager key;
+
+        private Managers(final X509TrustManager trust, final X509KeyManager key) {
+            if(trust instanceof ThreadLocalHostnameDelegatingTrustManager) {
+                // Target hostname is verified on the handshake thread regardless of wrapper instance
+                this.trust = ((ThreadLocalHostnameDelegatingTrustManager) trust).getDelegate();
+            }
+            else {
+                this.trust = trust;
+            }
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Managers)) {
+                return false;
+            }
+            final Managers managers = (Managers) o;
+            return trust == managers.trust && key == managers.key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(trust) + System.identityHashCode(key);
+        }
+    }
+
     @Override
     public String[] getDefaultCipherSuites() {
         return ((SSLSocketFactory) SSLSocketFactory.getDefault()).getDefaultCipherSuites();
@@ -25,9 +25,10 @@ import java.security.cert.X509Certificate;
 public class ThreadLocalHostnameDelegatingTrustManager implements X509TrustManager, TrustManagerHostnameCallback {
 
     /**
-     * Target hostname of current request stored as thread local
+     * Target hostname of current request stored as thread local. Shared by all instances as a SSL context
+     * initialized with another instance wrapping the same delegate may verify the handshake on this thread.
      */
-    private final ThreadLocal<String> target
+    private static final ThreadLocal<String> target
             = new ThreadLocal<String>();
 
     private final X509TrustManager delegate;
@@ -63,13 +64,20 @@ public class ThreadLocalHostnameDelegatingTrustManager implements X509TrustManag
         return delegate.getAcceptedIssuers();
     }
 
+    /**
+     * @return Trust manager verifying certificates
+     */
+    public X509TrustManager getDelegate() {
+        return delegate;
+    }
+
     @Override
     public String getTarget() {
         return target.get();
     }
 
     public void setTarget(final String hostname) {
-        this.target.set(hostname);
+        target.set(hostname);
     }
 
     @Override
@@ -24,6 +24,7 @@ import ch.cyberduck.core.features.Copy;
 import ch.cyberduck.core.features.Directory;
 import ch.cyberduck.core.features.Upload;
 import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.io.BandwidthScheduler;
 import ch.cyberduck.core.io.BandwidthThrottle;
 import ch.cyberduck.core.io.StreamListener;
 import ch.cyberduck.core.preferences.PreferencesFactory;
@@ -64,7 +65,7 @@ public class CopyTransfer extends Transfer {
 
     public CopyTransfer(final Host source, final Host destination,
                         final Map<Path, Path> selected) {
-        this(source, destination, selected, new BandwidthThrottle(PreferencesFactory.get().getFloat("queue.download.bandwidth.bytes")));
+        this(source, destination, selected, BandwidthScheduler.transfer(source, PreferencesFactory.get().getFloat("queue.download.bandwidth.bytes")));
     }
 
     public CopyTransfer(final Host source, final Host destination,
@@ -116,6 +117,9 @@ public class CopyTransfer extends Transfer {
         }
         if(bandwidth != null) {
             dict.setStringForKey(String.valueOf(bandwidth.getRate()), "Bandwidth");
+            if(bandwidth.getWeight() > 1) {
+                dict.setStringForKey(String.valueOf(bandwidth.getWeight()), "Priority");
+            }
         }
         return dict.getSerialized();
     }
@@ -19,11 +19,12 @@ package ch.cyberduck.core.transfer;
 
 import ch.cyberduck.core.*;
 import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.features.Bulk;
 import ch.cyberduck.core.features.Download;
 import ch.cyberduck.core.filter.DownloadDuplicateFilter;
 import ch.cyberduck.core.filter.DownloadRegexFilter;
-import ch.cyberduck.core.io.BandwidthThrottle;
+import ch.cyberduck.core.io.BandwidthScheduler;
 import ch.cyberduck.core.io.StreamListener;
 import ch.cyberduck.core.local.LocalSymlinkFactory;
 import ch.cyberduck.core.local.features.Symlink;
@@ -48,6 +49,7 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -84,7 +86,7 @@ public class DownloadTransfer extends Transfer {
     }
 
     public DownloadTransfer(final Host host, final List<TransferItem> roots, final Filter<Path> f, final Comparator<Path> comparator) {
-        super(host, roots, new BandwidthThrottle(PreferencesFactory.get().getFloat("queue.download.bandwidth.bytes")));
+        super(host, roots, BandwidthScheduler.transfer(host, PreferencesFactory.get().getFloat("queue.download.bandwidth.bytes")));
         this.filter = f;
         this.comparator = comparator;
         this.symlinkResolver = new DownloadSymlinkResolver(roots);
@@ -125,8 +127,37 @@ public class DownloadTransfer extends Transfer {
                 list = cache.get(directory);
             }
             else {
-                list = source.getFeature(ListService.class).list(directory, listener);
+                // Listings of subdirectories returned with this listing
+                final Map<Path, AttributedList<Path>> descendants = new HashMap<Path, AttributedList<Path>>();
+                list = source.getFeature(ListService.class).list(directory, new DescendantsListProgressListener() {
+                    @Override
+                    public void descendants(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+                        listener.chunk(folder, list);
+                        descendants.put(folder, list);
+                    }
+
+                    @Override
+                    public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+                        listener.chunk(folder, list);
+                    }
+
+                    @Override
+                    public ListProgressListener reset() {
+                        descendants.clear();
+                        listener.reset();
+                        return this;
+                    }
+
+                    @Override
+                    public void message(final String message) {
+                        listener.message(message);
+                    }
+                });
                 cache.put(directory, list);
+                // Only cached for this transfer after the listing is complete
+                for(Map.Entry<Path, AttributedList<Path>> entry : descendants.entrySet()) {
+                    cache.put(entry.getKey(), entry.getValue());
+                }
             }
             final List<TransferItem> children = new ArrayList<TransferItem>();
             // Return copy with filtered result only
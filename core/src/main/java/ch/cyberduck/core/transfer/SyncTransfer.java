@@ -31,7 +31,7 @@ import ch.cyberduck.core.ProgressListener;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.Find;
-import ch.cyberduck.core.io.BandwidthThrottle;
+import ch.cyberduck.core.io.BandwidthScheduler;
 import ch.cyberduck.core.io.StreamListener;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.serializer.Serializer;
@@ -82,7 +82,7 @@ public class SyncTransfer extends Transfer {
 
     public SyncTransfer(final Host host, final TransferItem item, final TransferAction action) {
         super(host, Collections.singletonList(item),
-            new BandwidthThrottle(PreferencesFactory.get().getFloat("queue.upload.bandwidth.bytes")));
+            BandwidthScheduler.transfer(host, PreferencesFactory.get().getFloat("queue.upload.bandwidth.bytes")));
         this.init();
         this.item = item;
         this.action = action;
@@ -120,6 +120,9 @@ public class SyncTransfer extends Transfer {
         }
         if(bandwidth != null) {
             dict.setStringForKey(String.valueOf(bandwidth.getRate()), "Bandwidth");
+            if(bandwidth.getWeight() > 1) {
+                dict.setStringForKey(String.valueOf(bandwidth.getWeight()), "Priority");
+            }
         }
         if(action != null) {
             dict.setStringForKey(action.name(), "Action");
@@ -138,6 +141,13 @@ public class SyncTransfer extends Transfer {
         download.setBandwidth(bytesPerSecond);
     }
 
+    @Override
+    public void setPriority(final int priority) {
+        super.setPriority(priority);
+        upload.setPriority(priority);
+        download.setPriority(priority);
+    }
+
     @Override
     public String getName() {
         return this.getRoot().remote.getName()
@@ -184,6 +184,9 @@ public abstract class Transfer implements Serializable {
         }
         if(bandwidth != null) {
             dict.setStringForKey(String.valueOf(bandwidth.getRate()), "Bandwidth");
+            if(bandwidth.getWeight() > 1) {
+                dict.setStringForKey(String.valueOf(bandwidth.getWeight()), "Priority");
+            }
         }
         return dict.getSerialized();
     }
@@ -199,6 +202,7 @@ public abstract class Transfer implements Serializable {
     }
 
     public void setBandwidth(final BandwidthThrottle bandwidth) {
+        bandwidth.setWeight(this.bandwidth.getWeight());
         this.bandwidth = bandwidth;
     }
 
@@ -209,6 +213,20 @@ public abstract class Transfer implements Serializable {
         return bandwidth;
     }
 
+    /**
+     * @param priority Share of bandwidth relative to other transfers drawing from the same host or application limit
+     */
+    public void setPriority(final int priority) {
+        if(log.isDebugEnabled()) {
+            log.debug(String.format("Set bandwidth priority to %d", priority));
+        }
+        bandwidth.setWeight(priority);
+    }
+
+    public int getPriority() {
+        return bandwidth.getWeight();
+    }
+
     /**
      * @return Time when transfer did end
      */
@@ -18,6 +18,8 @@ package ch.cyberduck.core.transfer;
  * dkocher@cyberduck.ch
  */
 
+import ch.cyberduck.core.metrics.MetricsRegistry;
+
 import org.apache.log4j.Logger;
 
 public class TransferSpeedometer extends Speedometer {
@@ -44,4 +46,24 @@ public class TransferSpeedometer extends Speedometer {
         }
         this.reset(timestamp, transfer.getTransferred());
     }
+
+    /**
+     * Record bytes transferred and throughput for transfer, host and protocol
+     *
+     * @param duration Milliseconds elapsed
+     */
+    public void record(final MetricsRegistry registry, final long duration) {
+        if(!registry.isEnabled()) {
+            return;
+        }
+        final long bytes = transfer.getTransferred();
+        final String scope = String.format("transfer/%s", transfer.getUuid());
+        registry.increment(scope, "bytes", bytes);
+        registry.increment(transfer.getSource(), "bytes", bytes);
+        if(duration > 0) {
+            final long throughput = bytes * 1000L / duration;
+            registry.record(scope, "throughput", throughput);
+            registry.record(transfer.getSource(), "throughput", throughput);
+        }
+    }
 }
\ No newline at end of file
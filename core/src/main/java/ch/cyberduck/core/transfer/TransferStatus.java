@@ -75,6 +75,11 @@ public class TransferStatus implements StreamCancelation, StreamProgress {
      */
     private boolean segment = false;
 
+    /**
+     * Segment is written at its offset to the target file instead of a separate segment file
+     */
+    private boolean inplace = false;
+
     /**
      * Not accepted
      */
@@ -182,6 +187,7 @@ public class TransferStatus implements StreamCancelation, StreamProgress {
         this.exists = copy.exists;
         this.append = copy.append;
         this.segment = copy.segment;
+        this.inplace = copy.inplace;
         this.rejected = copy.rejected;
         this.offset.set(copy.offset.get());
         this.length = copy.length;
@@ -353,6 +359,19 @@ public class TransferStatus implements StreamCancelation, StreamProgress {
         return this;
     }
 
+    public boolean isInplace() {
+        return inplace;
+    }
+
+    public void setInplace(final boolean inplace) {
+        this.inplace = inplace;
+    }
+
+    public TransferStatus inplace(final boolean inplace) {
+        this.inplace = inplace;
+        return this;
+    }
+
     public void setRejected(boolean rejected) {
         this.rejected = rejected;
     }
@@ -39,6 +39,7 @@ import ch.cyberduck.core.features.Download;
 import ch.cyberduck.core.io.Checksum;
 import ch.cyberduck.core.io.ChecksumCompute;
 import ch.cyberduck.core.io.ChecksumComputeFactory;
+import ch.cyberduck.core.io.ChecksumIndex;
 import ch.cyberduck.core.local.ApplicationLauncher;
 import ch.cyberduck.core.local.ApplicationLauncherFactory;
 import ch.cyberduck.core.local.IconService;
@@ -54,9 +55,12 @@ import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.symlink.SymlinkResolver;
 
 import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -83,7 +87,7 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
 
     protected AttributesFinder attribute;
 
-    private DownloadFilterOptions options;
+    protected DownloadFilterOptions options;
 
     protected AbstractDownloadFilter(final SymlinkResolver<Path> symlinkResolver, final Session<?> session,
                                      final DownloadFilterOptions options) {
@@ -223,8 +227,14 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
                                     .segment(true)
                                     .append(true)
                                     .skip(offset)
-                                    .length(length)
-                                    .rename(segmentFile);
+                                    .length(length);
+                            if(options.inplace) {
+                                // Write to target file at offset
+                                segmentStatus.inplace(true);
+                            }
+                            else {
+                                segmentStatus.rename(segmentFile);
+                            }
                             if(log.isDebugEnabled()) {
                                 log.debug(String.format("Adding status %s for segment %s", segmentStatus, segmentFile));
                             }
@@ -246,7 +256,43 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
     @Override
     public void apply(final Path file, final Local local, final TransferStatus status,
                       final ProgressListener listener) throws BackgroundException {
-        //
+        if(status.isSegmented()) {
+            if(status.getSegments().iterator().next().isInplace()) {
+                final SegmentsIndex index = new SegmentsIndex(local);
+                if(status.isAppend() && index.exists() && local.exists()) {
+                    if(log.isInfoEnabled()) {
+                        log.info(String.format("Resume in place download to %s with %s", local, index));
+                    }
+                }
+                else {
+                    if(index.exists()) {
+                        // Discard completed ranges of previous download when overwriting
+                        index.delete();
+                    }
+                    if(log.isInfoEnabled()) {
+                        log.info(String.format("Allocate %d bytes for in place download to %s", status.getLength(), local));
+                    }
+                    final Local folder = local.getParent();
+                    if(!folder.exists()) {
+                        folder.mkdir();
+                    }
+                    // Truncate existing file
+                    IOUtils.closeQuietly(local.getOutputStream(false));
+                    // Extend to final length
+                    final OutputStream out = local.getOutputStream(status.getLength() - 1);
+                    try {
+                        out.write(0);
+                    }
+                    catch(IOException e) {
+                        throw new LocalAccessDeniedException(e.getMessage(), e);
+                    }
+                    finally {
+                        IOUtils.closeQuietly(out);
+                    }
+                    index.create();
+                }
+            }
+        }
     }
 
     /**
@@ -260,13 +306,25 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
             log.debug(String.format("Complete %s with status %s", file.getAbsolute(), status));
         }
         if(status.isSegment()) {
+            if(status.isInplace()) {
+                if(status.isComplete()) {
+                    // Record completed range for resume
+                    new SegmentsIndex(local).add(status.getOffset() - status.getLength(), status.getLength());
+                }
+            }
             if(log.isDebugEnabled()) {
                 log.debug(String.format("Skip completion for single segment %s", status));
             }
             return;
         }
         if(status.isComplete()) {
-            if(status.isSegmented()) {
+            if(status.isSegmented() && status.getSegments().iterator().next().isInplace()) {
+                if(log.isInfoEnabled()) {
+                    log.info(String.format("Segments written in place to file %s", local));
+                }
+                new SegmentsIndex(local).delete();
+            }
+            else if(status.isSegmented()) {
                 // Obtain ordered list of segments to reassemble
                 final List<TransferStatus> segments = status.getSegments();
                 if(log.isInfoEnabled()) {
@@ -358,6 +416,8 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
                 }
             }
             if(file.isFile()) {
+                // Contents replaced possibly with same size and timestamp
+                ChecksumIndex.defaultIndex().invalidate(local);
                 if(this.options.checksum) {
                     if(file.getType().contains(Path.Type.decrypted)) {
                         log.warn(String.format("Skip checksum verification for %s with client side encryption enabled", file));
@@ -366,7 +426,7 @@ public abstract class AbstractDownloadFilter implements TransferPathFilter {
                         final Checksum checksum = status.getChecksum();
                         if(Checksum.NONE != checksum) {
                             final ChecksumCompute compute = ChecksumComputeFactory.get(checksum.algorithm);
-                            final Checksum download = compute.compute(local.getInputStream(), status);
+                            final Checksum download = ChecksumIndex.defaultIndex().compute(compute, local, status);
                             if(!checksum.equals(download)) {
                                 throw new ChecksumException(
                                         MessageFormat.format(LocaleFactory.localizedString("Download {0} failed", "Error"), file.getName()),
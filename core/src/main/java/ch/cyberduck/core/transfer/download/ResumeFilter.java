@@ -27,11 +27,16 @@ import ch.cyberduck.core.features.Download;
 import ch.cyberduck.core.io.Checksum;
 import ch.cyberduck.core.io.ChecksumCompute;
 import ch.cyberduck.core.io.ChecksumComputeFactory;
+import ch.cyberduck.core.io.ChecksumIndex;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.symlink.SymlinkResolver;
 
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 public class ResumeFilter extends AbstractDownloadFilter {
     private static final Logger log = Logger.getLogger(ResumeFilter.class);
 
@@ -55,13 +60,17 @@ public class ResumeFilter extends AbstractDownloadFilter {
     @Override
     public boolean accept(final Path file, final Local local, final TransferStatus parent) throws BackgroundException {
         if(local.isFile()) {
+            if(options.inplace && new SegmentsIndex(local).exists()) {
+                // Incomplete file allocated with final size for download in place
+                return super.accept(file, local, parent);
+            }
             if(local.exists()) {
                 // Read remote attributes
                 final PathAttributes attributes = attribute.find(file);
                 if(local.attributes().getSize() == attributes.getSize()) {
                     if(Checksum.NONE != attributes.getChecksum()) {
                         final ChecksumCompute compute = ChecksumComputeFactory.get(attributes.getChecksum().algorithm);
-                        if(compute.compute(local.getInputStream(), parent).equals(attributes.getChecksum())) {
+                        if(ChecksumIndex.defaultIndex().compute(compute, local, parent).equals(attributes.getChecksum())) {
                             if(log.isInfoEnabled()) {
                                 log.info(String.format("Skip file %s with checksum %s", file, local.attributes().getChecksum()));
                             }
@@ -88,7 +97,34 @@ public class ResumeFilter extends AbstractDownloadFilter {
     public TransferStatus prepare(final Path file, final Local local, final TransferStatus parent, final ProgressListener progress) throws BackgroundException {
         final TransferStatus status = super.prepare(file, local, parent, progress);
         if(status.isSegmented()) {
+            final SegmentsIndex index = new SegmentsIndex(local);
+            if(options.inplace && index.exists() && local.exists()) {
+                final Set<String> completed = index.get();
+                final List<TransferStatus> segments = new ArrayList<TransferStatus>();
+                for(TransferStatus segmentStatus : status.getSegments()) {
+                    if(segmentStatus.isInplace()) {
+                        if(completed.contains(String.format("%d %d", segmentStatus.getOffset(), segmentStatus.getLength()))) {
+                            if(log.isInfoEnabled()) {
+                                log.info(String.format("Skip completed part %s", segmentStatus));
+                            }
+                            continue;
+                        }
+                    }
+                    segments.add(segmentStatus);
+                }
+                if(segments.isEmpty()) {
+                    // Transfer last segment to run completion
+                    segments.add(status.getSegments().get(status.getSegments().size() - 1));
+                }
+                // Keep file allocated by previous download
+                status.setAppend(true);
+                status.withSegments(segments);
+                return status;
+            }
             for(TransferStatus segmentStatus : status.getSegments()) {
+                if(segmentStatus.isInplace()) {
+                    continue;
+                }
                 final Local segmentFile = segmentStatus.getRename().local;
                 if(segmentFile.exists()) {
                     if(log.isInfoEnabled()) {
@@ -0,0 +1,121 @@
+package ch.cyberduck.core.transfer.download;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.LocalFactory;
+import ch.cyberduck.core.exception.AccessDeniedException;
+import ch.cyberduck.core.exception.LocalAccessDeniedException;
+import ch.cyberduck.core.exception.NotfoundException;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sidecar file next to a download target written in place recording the byte ranges of completed segments. Named
+ * distinct from the folder holding segments of downloads not written in place.
+ */
+final class SegmentsIndex {
+    private static final Logger log = Logger.getLogger(SegmentsIndex.class);
+
+    private static final Object lock = new Object();
+
+    private final Local file;
+
+    public SegmentsIndex(final Local local) {
+        this.file = LocalFactory.get(local.getParent(), String.format("%s.cyberducksegmentindex", local.getName()));
+    }
+
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Create empty index marking target file as incomplete
+     */
+    public void create() throws AccessDeniedException {
+        synchronized(lock) {
+            IOUtils.closeQuietly(file.getOutputStream(false));
+        }
+    }
+
+    /**
+     * @param offset Start of range in target file
+     * @param length Length of range
+     */
+    public void add(final long offset, final long length) throws AccessDeniedException {
+        synchronized(lock) {
+            final OutputStream out = file.getOutputStream(true);
+            try {
+                IOUtils.write(String.format("%d %d%n", offset, length), out, StandardCharsets.UTF_8);
+            }
+            catch(IOException e) {
+                throw new LocalAccessDeniedException(e.getMessage(), e);
+            }
+            finally {
+                IOUtils.closeQuietly(out);
+            }
+        }
+    }
+
+    /**
+     * @return Ranges of completed segments formatted as offset and length separated by space
+     */
+    public Set<String> get() throws AccessDeniedException {
+        synchronized(lock) {
+            final InputStream in = file.getInputStream();
+            try {
+                final List<String> lines = IOUtils.readLines(in, StandardCharsets.UTF_8);
+                return new HashSet<String>(lines);
+            }
+            catch(IOException e) {
+                throw new LocalAccessDeniedException(e.getMessage(), e);
+            }
+            finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+    }
+
+    public boolean contains(final long offset, final long length) throws AccessDeniedException {
+        return this.get().contains(String.format("%d %d", offset, length));
+    }
+
+    public void delete() {
+        try {
+            file.delete();
+        }
+        catch(AccessDeniedException | NotfoundException e) {
+            log.warn(String.format("Failure deleting segments index %s. %s", file, e.getMessage()));
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SegmentsIndex{");
+        sb.append("file=").append(file);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -29,6 +29,7 @@ import ch.cyberduck.core.features.Write;
 import ch.cyberduck.core.io.Checksum;
 import ch.cyberduck.core.io.ChecksumCompute;
 import ch.cyberduck.core.io.ChecksumComputeFactory;
+import ch.cyberduck.core.io.ChecksumIndex;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.symlink.SymlinkResolver;
 
@@ -71,7 +72,7 @@ public class ResumeFilter extends AbstractUploadFilter {
                     if(append.size == local.attributes().getSize()) {
                         if(Checksum.NONE != append.checksum) {
                             final ChecksumCompute compute = ChecksumComputeFactory.get(append.checksum.algorithm);
-                            if(compute.compute(local.getInputStream(), parent).equals(append.checksum)) {
+                            if(ChecksumIndex.defaultIndex().compute(compute, local, parent).equals(append.checksum)) {
                                 if(log.isInfoEnabled()) {
                                     log.info(String.format("Skip file %s with checksum %s", file, local.attributes().getChecksum()));
                                 }
@@ -16,6 +16,7 @@ package ch.cyberduck.core.vault;
  */
 
 import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.DeltaListProgressListener;
 import ch.cyberduck.core.IndexedListProgressListener;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.Path;
@@ -24,9 +25,18 @@ import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.exception.ListCanceledException;
 import ch.cyberduck.core.features.Vault;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
 
 import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 public class DecryptingListProgressListener extends IndexedListProgressListener {
     private static final Logger log = Logger.getLogger(DecryptingListProgressListener.class);
 
@@ -34,32 +44,143 @@ public class DecryptingListProgressListener extends IndexedListProgressListener
     private final Vault vault;
     private final ListProgressListener delegate;
 
+    /**
+     * Number of threads to decrypt filenames in a chunk
+     */
+    private final int threads;
+
+    /**
+     * Minimum number of new files in chunk to decrypt in parallel
+     */
+    private final int threshold;
+
+    /**
+     * Index of first file in list not yet decrypted
+     */
+    private int index = 0;
+
+    /**
+     * Pool shared by all chunks of the listing. Created for the first chunk decrypted in parallel.
+     */
+    private ThreadPool pool;
+
     public DecryptingListProgressListener(final Session<?> session, final Vault vault,
                                           final ListProgressListener delegate) {
+        this(session, vault, delegate,
+                PreferencesFactory.get().getInteger("cryptomator.list.decrypt.threads"),
+                PreferencesFactory.get().getInteger("cryptomator.list.decrypt.threshold"));
+    }
+
+    public DecryptingListProgressListener(final Session<?> session, final Vault vault,
+                                          final ListProgressListener delegate, final int threads, final int threshold) {
         this.session = session;
         this.vault = vault;
         this.delegate = delegate;
+        this.threads = threads;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public IndexedListProgressListener reset() {
+        index = 0;
+        return super.reset();
     }
 
     @Override
     public void visit(final AttributedList<Path> list, final int index, final Path file) throws ListCanceledException {
-        for(int i = index; i < list.size(); i++) {
-            final Path f = list.get(i);
-            try {
-                f.getType().add(Path.Type.encrypted);
-                list.set(i, vault.decrypt(session, f));
+        list.set(index, this.decrypt(file));
+    }
+
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+        this.chunk(folder, list, index);
+    }
+
+    @Override
+    public void chunk(final Path folder, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+        final int size = list.size();
+        if(threads > 1 && size - offset >= threshold) {
+            this.decrypt(list, offset, size);
+        }
+        else {
+            for(int i = offset; i < size; i++) {
+                this.visit(list, i, list.get(i));
+            }
+        }
+        index = size;
+        if(delegate instanceof DeltaListProgressListener) {
+            ((DeltaListProgressListener) delegate).chunk(folder, list, offset);
+        }
+        else {
+            delegate.chunk(folder, list);
+        }
+    }
+
+    /**
+     * Decrypt new files in chunk with batches submitted to thread pool
+     *
+     * @param list  List
+     * @param start Index of first file to decrypt
+     * @param end   Index after last file to decrypt
+     */
+    private void decrypt(final AttributedList<Path> list, final int start, final int end) throws ConnectionCanceledException {
+        if(log.isDebugEnabled()) {
+            log.debug(String.format("Decrypt %d files with %d threads", end - start, threads));
+        }
+        final int batch = (end - start + threads - 1) / threads;
+        if(null == pool) {
+            pool = ThreadPoolFactory.get("decrypt", threads);
+        }
+        try {
+            final List<Future<List<Path>>> futures = new ArrayList<Future<List<Path>>>();
+            for(int offset = start; offset < end; offset += batch) {
+                final List<Path> files = new ArrayList<Path>(list.toList().subList(offset, Math.min(offset + batch, end)));
+                futures.add(pool.execute(new Callable<List<Path>>() {
+                    @Override
+                    public List<Path> call() {
+                        final List<Path> decrypted = new ArrayList<Path>(files.size());
+                        for(Path f : files) {
+                            decrypted.add(decrypt(f));
+                        }
+                        return decrypted;
+                    }
+                }));
             }
-            catch(BackgroundException e) {
-                log.error(String.format("Failure decrypting %s. %s", f, e.getDetail()));
-                f.getType().remove(Path.Type.encrypted);
+            int i = start;
+            for(Future<List<Path>> future : futures) {
+                for(Path f : future.get()) {
+                    list.set(i++, f);
+                }
             }
         }
+        catch(InterruptedException e) {
+            throw new ConnectionCanceledException(e);
+        }
+        catch(ExecutionException e) {
+            throw new ConnectionCanceledException(e.getCause());
+        }
     }
 
-    @Override
-    public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
-        super.chunk(folder, list);
-        delegate.chunk(folder, list);
+    /**
+     * Release threads used to decrypt chunks when listing is complete
+     */
+    public void shutdown() {
+        if(pool != null) {
+            pool.shutdown(false);
+            pool = null;
+        }
+    }
+
+    private Path decrypt(final Path f) {
+        try {
+            f.getType().add(Path.Type.encrypted);
+            return vault.decrypt(session, f);
+        }
+        catch(BackgroundException e) {
+            log.error(String.format("Failure decrypting %s. %s", f, e.getDetail()));
+            f.getType().remove(Path.Type.encrypted);
+            return f;
+        }
     }
 
     @Override
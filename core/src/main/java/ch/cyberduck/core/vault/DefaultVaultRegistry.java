@@ -20,6 +20,7 @@ import ch.cyberduck.core.PasswordCallback;
 import ch.cyberduck.core.PasswordStore;
 import ch.cyberduck.core.PasswordStoreFactory;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.RecursiveListService;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.UrlProvider;
 import ch.cyberduck.core.features.*;
@@ -125,6 +126,11 @@ public class DefaultVaultRegistry extends CopyOnWriteArraySet<Vault> implements
                 .withAutodetect(preferences.getBoolean("cryptomator.vault.autodetect")
                 );
         }
+        if(type == RecursiveListService.class) {
+            return (T) new VaultRegistryRecursiveListService(session, (RecursiveListService) proxy, this)
+                .withAutodetect(preferences.getBoolean("cryptomator.vault.autodetect")
+                );
+        }
         if(type == Find.class) {
             return (T) new VaultRegistryFindFeature(session, (Find) proxy, this,
                 new LoadingVaultLookupListener(session, this, keychain, prompt))
@@ -0,0 +1,120 @@
+package ch.cyberduck.core.vault.registry;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.IndexedListProgressListener;
+import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.RecursiveListService;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.exception.ListCanceledException;
+import ch.cyberduck.core.exception.UnsupportedException;
+import ch.cyberduck.core.features.Vault;
+import ch.cyberduck.core.preferences.Preferences;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
+import ch.cyberduck.core.vault.VaultRegistry;
+
+import org.apache.log4j.Logger;
+
+public class VaultRegistryRecursiveListService implements RecursiveListService {
+    private static final Logger log = Logger.getLogger(VaultRegistryRecursiveListService.class);
+
+    private final Preferences preferences = PreferencesFactory.get();
+
+    private final Session<?> session;
+    private final RecursiveListService proxy;
+    private final VaultRegistry registry;
+
+    private boolean autodetect = preferences.getBoolean("cryptomator.vault.autodetect")
+        && preferences.getBoolean("cryptomator.enable");
+
+    public VaultRegistryRecursiveListService(final Session<?> session, final RecursiveListService proxy, final VaultRegistry registry) {
+        this.session = session;
+        this.proxy = proxy;
+        this.registry = registry;
+    }
+
+    /**
+     * @throws UnsupportedException Directory is contained in vault with encrypted directory structure or any
+     *                              subdirectory is a registered or detected vault
+     */
+    @Override
+    public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
+        final Vault vault = registry.find(session, directory);
+        if(vault.contains(directory)) {
+            throw new UnsupportedException();
+        }
+        try {
+            return proxy.list(directory, new IndexedListProgressListener() {
+                @Override
+                public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+                    super.chunk(folder, list);
+                    listener.chunk(folder, list);
+                }
+
+                @Override
+                public void visit(final AttributedList<Path> list, final int index, final Path file) throws ConnectionCanceledException {
+                    if(isVault(file)) {
+                        // Stop listing to fallback to listing each directory
+                        throw new VaultFoundException(list, file);
+                    }
+                }
+
+                @Override
+                public void message(final String message) {
+                    listener.message(message);
+                }
+            });
+        }
+        catch(VaultFoundException e) {
+            log.warn(String.format("Found vault in %s", e.getDetail()));
+            throw new UnsupportedException();
+        }
+    }
+
+    /**
+     * @return True if file is the home of a registered vault or the masterkey of a vault to detect
+     */
+    private boolean isVault(final Path file) {
+        if(file.isDirectory()) {
+            return registry.contains(file);
+        }
+        return autodetect && DefaultVaultRegistry.DEFAULT_MASTERKEY_FILE_NAME.equals(file.getName());
+    }
+
+    public VaultRegistryRecursiveListService withAutodetect(final boolean autodetect) {
+        this.autodetect = autodetect && preferences.getBoolean("cryptomator.enable");
+        return this;
+    }
+
+    private static final class VaultFoundException extends ListCanceledException {
+        public VaultFoundException(final AttributedList<Path> chunk, final Path file) {
+            super(file.getAbsolute(), chunk);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("VaultRegistryRecursiveListService{");
+        sb.append("proxy=").append(proxy);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -31,12 +31,15 @@ import ch.cyberduck.core.ProgressListener;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.SleepPreventer;
 import ch.cyberduck.core.SleepPreventerFactory;
-import ch.cyberduck.core.TransferItemCache;
+import ch.cyberduck.core.SwapTransferItemCache;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.io.StreamListener;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.notification.NotificationService;
 import ch.cyberduck.core.notification.NotificationServiceFactory;
+import ch.cyberduck.core.preferences.Preferences;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.threading.TransferBackgroundActionState;
 import ch.cyberduck.core.transfer.SynchronizingTransferErrorCallback;
 import ch.cyberduck.core.transfer.Transfer;
@@ -54,11 +57,15 @@ import org.apache.commons.lang3.concurrent.ConcurrentUtils;
 import org.apache.log4j.Logger;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
     private static final Logger log = Logger.getLogger(AbstractTransferWorker.class);
@@ -67,6 +74,13 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
 
     private final NotificationService growl = NotificationServiceFactory.get();
 
+    private final Preferences preferences = PreferencesFactory.get();
+
+    /**
+     * Maximum number of files to prepare in advance or -1 to prepare all files before transferring
+     */
+    private final int threshold = preferences.getInteger("queue.transfer.cache.swap.threshold");
+
     private final Transfer transfer;
 
     /**
@@ -96,6 +110,16 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
      */
     private final Cache<TransferItem> cache;
 
+    /**
+     * Number of files accepted by filter
+     */
+    private final AtomicInteger accepted = new AtomicInteger();
+
+    /**
+     * Directories created in pipeline to complete after all files are transferred. Keyed by item before rename
+     */
+    private final Map<TransferItem, TransferStatus> folders = new LinkedHashMap<TransferItem, TransferStatus>();
+
     private final ProgressListener progress;
 
     private final StreamListener stream;
@@ -107,7 +131,7 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                                   final StreamListener stream,
                                   final ConnectionCallback connectionCallback,
                                   final PasswordCallback passwordCallback) {
-        this(transfer, options, prompt, meter, error, progress, stream, connectionCallback, passwordCallback, new TransferItemCache(Integer.MAX_VALUE));
+        this(transfer, options, prompt, meter, error, progress, stream, connectionCallback, passwordCallback, new SwapTransferItemCache());
     }
 
     public AbstractTransferWorker(final Transfer transfer, final TransferOptions options,
@@ -117,7 +141,7 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                                   final StreamListener stream,
                                   final ConnectionCallback connectionCallback, final PasswordCallback passwordCallback,
                                   final Cache<TransferItem> cache) {
-        this(transfer, options, prompt, meter, error, progress, stream, connectionCallback, passwordCallback, cache, new HashMap<Path, TransferStatus>());
+        this(transfer, options, prompt, meter, error, progress, stream, connectionCallback, passwordCallback, cache, new ConcurrentHashMap<Path, TransferStatus>());
     }
 
     public AbstractTransferWorker(final Transfer transfer, final TransferOptions options,
@@ -168,13 +192,31 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
         super.cancel();
     }
 
+    /**
+     * @return True if no file other than the one failing has been accepted by the filter. Failure is then not
+     * prompted for but aborts the transfer.
+     */
+    private boolean isSingle() {
+        return accepted.get() <= 1;
+    }
+
     public void await() throws BackgroundException {
         // No need to implement for single threaded transfer
     }
 
+    /**
+     * Block until the number of submitted tasks not yet completed drops to the given limit
+     *
+     * @param pending Maximum number of tasks allowed to remain in the queue
+     */
+    public void await(final int pending) throws BackgroundException {
+        // No need to implement for single threaded transfer
+    }
+
     @Override
     public Boolean run(final Session<?> source, final Session<?> destination) throws BackgroundException {
         final String lock = sleep.lock();
+        final long start = System.currentTimeMillis();
         try {
             // No need for session. Return prematurely to pool
             this.release(source, Connection.source);
@@ -207,18 +249,37 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
             progress.message(MessageFormat.format(LocaleFactory.localizedString("Prepare {0} ({1})", "Status"), transfer.getName(), action.getTitle()));
             transfer.normalize();
 
-            // Calculate information about the files in advance to give progress information
-            for(TransferItem next : transfer.getRoots()) {
-                this.prepare(next.remote, next.local, new TransferStatus().exists(true), action);
+            if(preferences.getBoolean("queue.transfer.pipeline")) {
+                meter.reset();
+                // Start transferring files as soon as they are accepted by the filter
+                this.pipeline(transfer.getRoots(), new TransferStatus().exists(true), action);
+                this.await();
+                this.complete(action);
             }
-            this.await();
-            meter.reset();
-            transfer.pre(source, destination, table, connectionCallback);
-            // Transfer all files sequentially
-            for(TransferItem next : transfer.getRoots()) {
-                this.transfer(next, action);
+            else {
+                // Calculate information about the files in advance to give progress information
+                if(this.prepare(action)) {
+                    meter.reset();
+                    transfer.pre(source, destination, table, connectionCallback);
+                    // Transfer all files sequentially
+                    for(TransferItem next : transfer.getRoots()) {
+                        this.transfer(next, action);
+                    }
+                    this.await();
+                }
+                else {
+                    log.warn(String.format("Number of accepted files exceeds %d. Continue with pipelined transfer", threshold));
+                    // Discard transfer status of files prepared so far
+                    table.clear();
+                    cache.clear();
+                    accepted.set(0);
+                    transfer.reset();
+                    meter.reset();
+                    this.pipeline(transfer.getRoots(), new TransferStatus().exists(true), action);
+                    this.await();
+                    this.complete(action);
+                }
             }
-            this.await();
         }
         finally {
             transfer.post(source, destination, table, connectionCallback);
@@ -228,10 +289,44 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                         "Transfer incomplete", transfer.getName());
             }
             sleep.release(lock);
+            meter.record(MetricsRegistry.get(), System.currentTimeMillis() - start);
         }
         return true;
     }
 
+    /**
+     * Prepare all files before transferring any. Gives up when the number of accepted files exceeds the threshold
+     * to bound the memory used by the table of transfer status and the workload cache.
+     *
+     * @param action Transfer action for existing files
+     * @return False if aborted because too many files were accepted
+     */
+    private boolean prepare(final TransferAction action) throws BackgroundException {
+        try {
+            for(TransferItem next : transfer.getRoots()) {
+                this.prepare(next.remote, next.local, new TransferStatus().exists(true), action);
+            }
+            this.await();
+            return true;
+        }
+        catch(ThresholdExceededException e) {
+            // Await tasks still running that fail for the same reason
+            boolean pending = true;
+            while(pending) {
+                try {
+                    this.await();
+                    pending = false;
+                }
+                catch(ThresholdExceededException f) {
+                    if(log.isDebugEnabled()) {
+                        log.debug(String.format("Discard prepare task with failure %s", f.getDetail()));
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
     /**
      * To be called before any file is actually transferred
      *
@@ -245,8 +340,16 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
         if(this.isCanceled()) {
             throw new ConnectionCanceledException();
         }
+        if(threshold >= 0 && accepted.get() > threshold) {
+            throw new ThresholdExceededException(threshold);
+        }
         if(prompt.isSelected(new TransferItem(file, local))) {
-            return this.submit(new RetryTransferCallable() {
+            return this.submit(new RetryTransferCallable(transfer.getSource()) {
+                /**
+                 * Count file only once when retried
+                 */
+                private boolean counted;
+
                 @Override
                 public TransferStatus call() throws BackgroundException {
                     if(parent.isCanceled()) {
@@ -270,6 +373,10 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                             if(log.isInfoEnabled()) {
                                 log.info(String.format("Accepted file %s in transfer %s", file, this));
                             }
+                            if(!counted) {
+                                accepted.incrementAndGet();
+                                counted = true;
+                            }
                             // Transfer
                             progress.message(MessageFormat.format(LocaleFactory.localizedString("Prepare {0} ({1})", "Status"),
                                     file.getName(), action.getTitle()));
@@ -313,7 +420,7 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                             // Retry immediately
                             return call();
                         }
-                        if(table.size() == 0) {
+                        if(isSingle()) {
                             throw e;
                         }
                         // Prompt to continue or abort for application errors
@@ -354,6 +461,290 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
         return null;
     }
 
+    /**
+     * Prepare files and submit for transfer immediately. Files are prepared in batches of at most
+     * <code>queue.transfer.pipeline.size</code> passed to bulk features before the batch is transferred. Directories
+     * are created before their children are listed and completed with {@link #complete(TransferAction)} when all
+     * files have been transferred. Blocks when the number of files waiting to be transferred exceeds the batch size.
+     *
+     * @param items  Files to transfer
+     * @param parent Transfer status of parent folder
+     * @param action Transfer action for existing files
+     */
+    public void pipeline(final List<TransferItem> items, final TransferStatus parent, final TransferAction action) throws BackgroundException {
+        final int size = preferences.getInteger("queue.transfer.pipeline.size");
+        for(int offset = 0; offset < items.size(); offset += size) {
+            final Map<TransferItem, TransferStatus> batch = new LinkedHashMap<TransferItem, TransferStatus>();
+            for(TransferItem item : items.subList(offset, Math.min(offset + size, items.size()))) {
+                if(this.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                if(!prompt.isSelected(item)) {
+                    log.info(String.format("Skip unchecked file %s for transfer %s", item.remote, this));
+                    continue;
+                }
+                final TransferStatus status = this.prepare(item, parent, action);
+                if(null == status) {
+                    continue;
+                }
+                batch.put(item, status);
+            }
+            if(batch.isEmpty()) {
+                continue;
+            }
+            this.pre(batch);
+            for(Map.Entry<TransferItem, TransferStatus> entry : batch.entrySet()) {
+                final TransferItem item = entry.getKey();
+                final TransferStatus status = entry.getValue();
+                table.put(item.remote, status);
+                if(item.remote.isDirectory()) {
+                    final List<TransferItem> children = this.mkdir(item, status);
+                    if(null == children) {
+                        table.remove(item.remote);
+                        continue;
+                    }
+                    // Sessions are returned to the pool before descending
+                    this.pipeline(children, status, action);
+                }
+                else {
+                    this.transfer(item, action);
+                    // Apply back pressure to listing
+                    this.await(size);
+                }
+            }
+        }
+    }
+
+    /**
+     * Determine transfer status of file to pipeline
+     *
+     * @return Null if skipped by filter or after failure
+     */
+    private TransferStatus prepare(final TransferItem item, final TransferStatus parent, final TransferAction action) throws BackgroundException {
+        return new RetryTransferCallable(transfer.getSource()) {
+            /**
+             * Count file only once when retried
+             */
+            private boolean counted;
+
+            @Override
+            public TransferStatus call() throws BackgroundException {
+                if(parent.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                Session<?> source = null;
+                Session<?> destination = null;
+                try {
+                    source = borrow(Connection.source);
+                    destination = borrow(Connection.destination);
+                    // Determine transfer filter implementation from selected overwrite action
+                    final TransferPathFilter filter = transfer.filter(source, destination, action, progress);
+                    if(!filter.accept(item.remote, item.local, parent)) {
+                        if(log.isInfoEnabled()) {
+                            log.info(String.format("Skip file %s by filter %s for transfer %s", item.remote, filter, this));
+                        }
+                        return null;
+                    }
+                    if(!counted) {
+                        accepted.incrementAndGet();
+                        counted = true;
+                    }
+                    progress.message(MessageFormat.format(LocaleFactory.localizedString("Prepare {0} ({1})", "Status"),
+                            item.remote.getName(), action.getTitle()));
+                    // Determine transfer status
+                    final TransferStatus status = filter.prepare(item.remote, item.local, parent, progress);
+                    // Apply filter
+                    filter.apply(
+                        status.getRename().remote != null ? status.getRename().remote : item.remote,
+                        status.getRename().local != null ? status.getRename().local : item.local,
+                        status, progress);
+                    // Add transfer length to total bytes
+                    transfer.addSize(status.getLength() + status.getOffset());
+                    // Add skipped bytes
+                    transfer.addTransferred(status.getOffset());
+                    if(log.isInfoEnabled()) {
+                        log.info(String.format("Determined transfer status %s of %s for transfer %s", status, item.remote, this));
+                    }
+                    return status;
+                }
+                catch(ConnectionCanceledException e) {
+                    throw e;
+                }
+                catch(BackgroundException e) {
+                    if(this.retry(e, progress, new TransferBackgroundActionState(parent))) {
+                        // Retry immediately
+                        return call();
+                    }
+                    if(isSingle()) {
+                        throw e;
+                    }
+                    // Prompt to continue or abort for application errors
+                    else if(error.prompt(e)) {
+                        // Continue
+                        log.warn(String.format("Ignore transfer failure %s", e));
+                        return null;
+                    }
+                    else {
+                        throw new ConnectionCanceledException(e);
+                    }
+                }
+                finally {
+                    if(source != null) {
+                        // Return session to pool
+                        release(source, Connection.source);
+                    }
+                    if(destination != null) {
+                        // Return session to pool
+                        release(destination, Connection.destination);
+                    }
+                }
+            }
+        }.call();
+    }
+
+    /**
+     * Invoke bulk features once with all files prepared in batch
+     */
+    private void pre(final Map<TransferItem, TransferStatus> batch) throws BackgroundException {
+        final Map<Path, TransferStatus> files = new LinkedHashMap<Path, TransferStatus>();
+        for(Map.Entry<TransferItem, TransferStatus> entry : batch.entrySet()) {
+            files.put(entry.getKey().remote, entry.getValue());
+        }
+        final Session<?> source = this.borrow(Connection.source);
+        final Session<?> destination = this.borrow(Connection.destination);
+        try {
+            transfer.pre(source, destination, files, connectionCallback);
+        }
+        finally {
+            // Return session to pool
+            this.release(source, Connection.source);
+            this.release(destination, Connection.destination);
+        }
+    }
+
+    /**
+     * Create directory before any child is submitted for transfer
+     *
+     * @return Children of directory or null after failure
+     */
+    private List<TransferItem> mkdir(final TransferItem item, final TransferStatus status) throws BackgroundException {
+        final List<TransferItem> children = new ArrayList<TransferItem>();
+        final TransferStatus created = new RetryTransferCallable(transfer.getSource()) {
+            @Override
+            public TransferStatus call() throws BackgroundException {
+                if(status.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                Session<?> source = null;
+                Session<?> destination = null;
+                try {
+                    source = borrow(Connection.source);
+                    destination = borrow(Connection.destination);
+                    final TransferItem target = new TransferItem(
+                        status.getRename().remote != null ? status.getRename().remote : item.remote,
+                        status.getRename().local != null ? status.getRename().local : item.local
+                    );
+                    transfer.transfer(source, destination, target.remote, target.local,
+                            options, status, connectionCallback, passwordCallback, progress, stream);
+                    children.clear();
+                    children.addAll(transfer.list(source, destination, item.remote, item.local, new WorkerListProgressListener(AbstractTransferWorker.this, progress)));
+                    // Post process after all children are transferred
+                    folders.put(item, status);
+                    return status;
+                }
+                catch(ConnectionCanceledException e) {
+                    throw e;
+                }
+                catch(BackgroundException e) {
+                    if(this.retry(e, progress, new TransferBackgroundActionState(status))) {
+                        // Retry immediately
+                        return call();
+                    }
+                    status.setFailure();
+                    if(isSingle()) {
+                        throw e;
+                    }
+                    // Prompt to continue or abort for application errors
+                    else if(error.prompt(e)) {
+                        // Continue
+                        log.warn(String.format("Ignore transfer failure %s", e));
+                        return null;
+                    }
+                    else {
+                        throw new ConnectionCanceledException(e);
+                    }
+                }
+                finally {
+                    if(source != null) {
+                        // Return session to pool
+                        release(source, Connection.source);
+                    }
+                    if(destination != null) {
+                        // Return session to pool
+                        release(destination, Connection.destination);
+                    }
+                }
+            }
+        }.call();
+        if(null == created) {
+            return null;
+        }
+        return children;
+    }
+
+    /**
+     * Post process directories created in pipeline with all files transferred. Children are completed before their
+     * parent directory.
+     *
+     * @param action Transfer action for existing files
+     */
+    public void complete(final TransferAction action) throws BackgroundException {
+        final List<Map.Entry<TransferItem, TransferStatus>> entries = new ArrayList<Map.Entry<TransferItem, TransferStatus>>(folders.entrySet());
+        folders.clear();
+        if(entries.isEmpty()) {
+            return;
+        }
+        Collections.reverse(entries);
+        final Session<?> source = this.borrow(Connection.source);
+        final Session<?> destination = this.borrow(Connection.destination);
+        try {
+            // Determine transfer filter implementation from selected overwrite action
+            final TransferPathFilter filter = transfer.filter(source, destination, action, progress);
+            for(Map.Entry<TransferItem, TransferStatus> entry : entries) {
+                if(this.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                final TransferItem item = entry.getKey();
+                final TransferStatus status = entry.getValue();
+                try {
+                    filter.complete(
+                            status.getRename().remote != null ? status.getRename().remote : item.remote,
+                            status.getRename().local != null ? status.getRename().local : item.local,
+                            options, status, progress);
+                    // Free memory when directory is complete
+                    table.remove(item.remote);
+                }
+                catch(ConnectionCanceledException e) {
+                    throw e;
+                }
+                catch(BackgroundException e) {
+                    // Prompt to continue or abort for application errors
+                    if(error.prompt(e)) {
+                        log.warn(String.format("Ignore failure completing %s. %s", entry.getKey(), e));
+                    }
+                    else {
+                        throw new ConnectionCanceledException(e);
+                    }
+                }
+            }
+        }
+        finally {
+            // Return session to pool
+            this.release(source, Connection.source);
+            this.release(destination, Connection.destination);
+        }
+    }
+
     /**
      * @param item   File to transfer
      * @param action Transfer action for existing files
@@ -369,7 +760,7 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
             final List<TransferStatus> segments = status.getSegments();
             for(final Iterator<TransferStatus> iter = segments.iterator(); iter.hasNext(); ) {
                 final TransferStatus segment = iter.next();
-                this.submit(new RetryTransferCallable() {
+                this.submit(new RetryTransferCallable(transfer.getSource()) {
                     @Override
                     public TransferStatus call() throws BackgroundException {
                         if(status.isCanceled()) {
@@ -422,7 +813,7 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
                                 return call();
                             }
                             segment.setFailure();
-                            if(table.size() == 1) {
+                            if(isSingle()) {
                                 throw e;
                             }
                             // Prompt to continue or abort for application errors
@@ -512,6 +903,15 @@ public abstract class AbstractTransferWorker extends TransferWorker<Boolean> {
         return ConcurrentUtils.constantFuture(null);
     }
 
+    /**
+     * Too many files accepted to keep transfer status of all files in memory
+     */
+    private static final class ThresholdExceededException extends ConnectionCanceledException {
+        public ThresholdExceededException(final int threshold) {
+            super(String.format("Threshold of %d accepted files exceeded", threshold));
+        }
+    }
+
     @Override
     public String getActivity() {
         return BookmarkNameProvider.toString(transfer.getSource());
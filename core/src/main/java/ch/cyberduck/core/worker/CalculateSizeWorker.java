@@ -19,18 +19,36 @@ package ch.cyberduck.core.worker;
  * dkocher@cyberduck.ch
  */
 
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.IndexedListProgressListener;
+import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.LocaleFactory;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.ProgressListener;
+import ch.cyberduck.core.RecursiveListService;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.exception.UnsupportedException;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.SessionPoolConcurrency;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
+
+import org.apache.log4j.Logger;
 
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 
 public abstract class CalculateSizeWorker extends Worker<Long> {
+    private static final Logger log = Logger.getLogger(CalculateSizeWorker.class);
 
     /**
      * Selected files.
@@ -39,17 +57,63 @@ public abstract class CalculateSizeWorker extends Worker<Long> {
 
     private final ProgressListener listener;
 
+    /**
+     * Connections to list directories in parallel
+     */
+    private final SessionPool pool;
+    private final int concurrency;
+
     public CalculateSizeWorker(final List<Path> files, final ProgressListener listener) {
+        this(files, listener, SessionPool.DISCONNECTED);
+    }
+
+    public CalculateSizeWorker(final List<Path> files, final ProgressListener listener, final SessionPool pool) {
+        this(files, listener, pool, PreferencesFactory.get().getInteger("browser.size.concurrency"));
+    }
+
+    /**
+     * @param pool        Connections to list directories in parallel
+     * @param concurrency Number of directories listed in parallel
+     */
+    public CalculateSizeWorker(final List<Path> files, final ProgressListener listener, final SessionPool pool, final int concurrency) {
         this.files = files;
         this.listener = listener;
+        this.pool = pool;
+        this.concurrency = concurrency;
     }
 
     private Long total = 0L;
 
     @Override
     public Long run(final Session<?> session) throws BackgroundException {
-        for(Path next : files) {
-            next.attributes().setSize(this.calculateSize(session, next));
+        final RecursiveListService recursive = session.getFeature(RecursiveListService.class);
+        // Borrowing from a stateful pool blocks while this worker holds its only connection
+        final ThreadPool executor = concurrency > 1 && SessionPoolConcurrency.isConcurrent(pool)
+            ? ThreadPoolFactory.get("size", concurrency) : null;
+        try {
+            for(Path next : files) {
+                if(next.isDirectory()) {
+                    if(null != recursive) {
+                        try {
+                            next.attributes().setSize(this.calculateSize(recursive, next));
+                            continue;
+                        }
+                        catch(UnsupportedException e) {
+                            log.warn(String.format("Flat listing not supported for %s", next));
+                        }
+                    }
+                    if(null != executor) {
+                        next.attributes().setSize(this.calculateSize(executor, next));
+                        continue;
+                    }
+                }
+                next.attributes().setSize(this.calculateSize(session, next));
+            }
+        }
+        finally {
+            if(executor != null) {
+                executor.shutdown(false);
+            }
         }
         return total;
     }
@@ -81,6 +145,131 @@ public abstract class CalculateSizeWorker extends Worker<Long> {
         return size;
     }
 
+    /**
+     * Sum of all files in a single flat listing of the directory
+     *
+     * @param directory Directory
+     * @return The sum of all files contained in directory and its subdirectories
+     */
+    private long calculateSize(final RecursiveListService service, final Path directory) throws BackgroundException {
+        if(this.isCanceled()) {
+            throw new ConnectionCanceledException();
+        }
+        listener.message(MessageFormat.format(LocaleFactory.localizedString("Getting size of {0}", "Status"),
+                directory.getName()));
+        final long offset = total;
+        final ListProgressListener progress = new WorkerListProgressListener(this, listener);
+        long size = 0;
+        for(Path next : service.list(directory, new IndexedListProgressListener() {
+            private long partial = 0;
+
+            @Override
+            public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+                progress.chunk(folder, list);
+                super.chunk(folder, list);
+                update(offset + partial);
+            }
+
+            @Override
+            public void visit(final AttributedList<Path> list, final int index, final Path file) {
+                if(file.isFile()) {
+                    partial += file.attributes().getSize();
+                }
+            }
+
+            @Override
+            public void message(final String message) {
+                progress.message(message);
+            }
+        })) {
+            if(next.isFile()) {
+                size += next.attributes().getSize();
+            }
+        }
+        total += size;
+        this.update(total);
+        return size;
+    }
+
+    /**
+     * List directories in parallel with connections from the pool
+     *
+     * @param directory Directory
+     * @return The sum of all files contained in directory and its subdirectories
+     */
+    private long calculateSize(final ThreadPool executor, final Path directory) throws BackgroundException {
+        final CompletionService<AttributedList<Path>> completion = new ExecutorCompletionService<AttributedList<Path>>(executor.executor());
+        long size = 0;
+        int pending = 0;
+        this.submit(completion, directory);
+        pending++;
+        try {
+            while(pending > 0) {
+                if(this.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                final AttributedList<Path> children = completion.take().get();
+                pending--;
+                for(Path next : children) {
+                    if(next.isDirectory()) {
+                        this.submit(completion, next);
+                        pending++;
+                    }
+                    else if(next.isFile()) {
+                        size += next.attributes().getSize();
+                        total += next.attributes().getSize();
+                    }
+                }
+                this.update(total);
+            }
+        }
+        catch(InterruptedException e) {
+            throw new ConnectionCanceledException(e);
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof BackgroundException) {
+                throw (BackgroundException) e.getCause();
+            }
+            throw new DefaultExceptionMappingService().map(e.getCause());
+        }
+        return size;
+    }
+
+    private void submit(final CompletionService<AttributedList<Path>> completion, final Path directory) {
+        completion.submit(new Callable<AttributedList<Path>>() {
+            @Override
+            public AttributedList<Path> call() throws BackgroundException {
+                if(isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                listener.message(MessageFormat.format(LocaleFactory.localizedString("Getting size of {0}", "Status"),
+                    directory.getName()));
+                final Session<?> session = pool.borrow(new BackgroundActionState() {
+                    @Override
+                    public boolean isCanceled() {
+                        return CalculateSizeWorker.this.isCanceled();
+                    }
+
+                    @Override
+                    public boolean isRunning() {
+                        return true;
+                    }
+                });
+                BackgroundException failure = null;
+                try {
+                    return session.getFeature(ListService.class).list(directory, new WorkerListProgressListener(CalculateSizeWorker.this, listener));
+                }
+                catch(BackgroundException e) {
+                    failure = e;
+                    throw e;
+                }
+                finally {
+                    pool.release(session, failure);
+                }
+            }
+        });
+    }
+
     /**
      * Incremental update with latest size value.
      *
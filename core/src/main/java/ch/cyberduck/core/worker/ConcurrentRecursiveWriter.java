@@ -0,0 +1,195 @@
+package ch.cyberduck.core.worker;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.ListService;
+import ch.cyberduck.core.LocaleFactory;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.ProgressListener;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
+
+import org.apache.log4j.Logger;
+
+import java.text.MessageFormat;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Apply changes to files and the contents of directories in parallel with connections borrowed from a session pool.
+ * Directories are listed on the same connection after the change has been applied and their children are queued.
+ * Only to be used with pools where connections can be borrowed while the worker holds a session.
+ *
+ * @see ch.cyberduck.core.pool.SessionPoolConcurrency#isConcurrent(SessionPool)
+ */
+final class ConcurrentRecursiveWriter {
+    private static final Logger log = Logger.getLogger(ConcurrentRecursiveWriter.class);
+
+    private final Worker<?> worker;
+    private final SessionPool pool;
+    private final int concurrency;
+    private final ProgressListener listener;
+
+    /**
+     * @param worker      Parent worker to check for cancellation
+     * @param pool        Connections to apply changes with
+     * @param concurrency Maximum number of requests in flight
+     */
+    public ConcurrentRecursiveWriter(final Worker<?> worker, final SessionPool pool, final int concurrency, final ProgressListener listener) {
+        this.worker = worker;
+        this.pool = pool;
+        this.concurrency = concurrency;
+        this.listener = listener;
+    }
+
+    public interface Operation {
+        /**
+         * Apply change to single file
+         *
+         * @param session Connection borrowed from pool
+         */
+        void write(Session<?> session, Path file) throws BackgroundException;
+
+        /**
+         * Called on the thread of the worker before the change is applied to a directory
+         *
+         * @return True if change should be applied to contents of directory
+         */
+        boolean recurse(Path directory);
+    }
+
+    /**
+     * @param files     Selected files
+     * @param operation Change to apply
+     * @return Number of files changed
+     */
+    public int run(final List<Path> files, final Operation operation) throws BackgroundException {
+        final Map<Path, Operation> operations = new LinkedHashMap<Path, Operation>();
+        for(Path file : files) {
+            operations.put(file, operation);
+        }
+        return this.run(operations);
+    }
+
+    /**
+     * Apply changes to all selected files with a single thread pool
+     *
+     * @param files Selected files with change to apply to file and its contents
+     * @return Number of files changed
+     */
+    public int run(final Map<Path, Operation> files) throws BackgroundException {
+        final ThreadPool executor = ThreadPoolFactory.get("write", concurrency);
+        final CompletionService<List<Path>> completion = new ExecutorCompletionService<List<Path>>(executor.executor());
+        // Children are written with the operation of their parent
+        final Map<Future<List<Path>>, Operation> submitted = new HashMap<Future<List<Path>>, Operation>();
+        final Deque<Map.Entry<Path, Operation>> queue = new ArrayDeque<Map.Entry<Path, Operation>>(files.entrySet());
+        int total = files.size();
+        int completed = 0;
+        try {
+            while(!queue.isEmpty() || !submitted.isEmpty()) {
+                if(worker.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                // Bound number of requests in flight
+                while(!queue.isEmpty() && submitted.size() < concurrency) {
+                    final Map.Entry<Path, Operation> next = queue.poll();
+                    final Path file = next.getKey();
+                    final Operation operation = next.getValue();
+                    submitted.put(this.submit(completion, file, file.isDirectory() && operation.recurse(file), operation), operation);
+                }
+                final Future<List<Path>> future = completion.take();
+                final Operation operation = submitted.remove(future);
+                final List<Path> children = future.get();
+                completed++;
+                for(Path child : children) {
+                    queue.add(new AbstractMap.SimpleImmutableEntry<Path, Operation>(child, operation));
+                }
+                total += children.size();
+                listener.message(MessageFormat.format(LocaleFactory.localizedString("{0} of {1}"),
+                    completed, total));
+            }
+            if(log.isInfoEnabled()) {
+                log.info(String.format("Completed writing %d files", completed));
+            }
+            return completed;
+        }
+        catch(InterruptedException e) {
+            throw new ConnectionCanceledException(e);
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof BackgroundException) {
+                throw (BackgroundException) e.getCause();
+            }
+            throw new DefaultExceptionMappingService().map(e.getCause());
+        }
+        finally {
+            executor.shutdown(false);
+        }
+    }
+
+    private Future<List<Path>> submit(final CompletionService<List<Path>> completion, final Path file, final boolean recurse, final Operation operation) {
+        return completion.submit(new Callable<List<Path>>() {
+            @Override
+            public List<Path> call() throws BackgroundException {
+                if(worker.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                final Session<?> session = pool.borrow(new BackgroundActionState() {
+                    @Override
+                    public boolean isCanceled() {
+                        return worker.isCanceled();
+                    }
+
+                    @Override
+                    public boolean isRunning() {
+                        return true;
+                    }
+                });
+                BackgroundException failure = null;
+                try {
+                    operation.write(session, file);
+                    if(recurse) {
+                        return session.getFeature(ListService.class).list(file, new WorkerListProgressListener(worker, listener)).toList();
+                    }
+                    return Collections.emptyList();
+                }
+                catch(BackgroundException e) {
+                    failure = e;
+                    throw e;
+                }
+                finally {
+                    pool.release(session, failure);
+                }
+            }
+        });
+    }
+}
@@ -26,6 +26,8 @@ import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.io.StreamListener;
+import ch.cyberduck.core.metrics.MetricsRegistry;
+import ch.cyberduck.core.pool.DefaultSessionPool;
 import ch.cyberduck.core.pool.SessionPool;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.threading.BackgroundActionState;
@@ -52,7 +54,11 @@ public class ConcurrentTransferWorker extends AbstractTransferWorker {
     private final SessionPool source;
     private final SessionPool destination;
 
+    private final Host host;
+
     private final CompletionService<TransferStatus> completion;
+    // Number of concurrent connections
+    private final int connections;
     // Keep number of submited tasks
     private final AtomicInteger size = new AtomicInteger();
 
@@ -70,12 +76,41 @@ public class ConcurrentTransferWorker extends AbstractTransferWorker {
         super(transfer, options, prompt, meter, error, progressListener, streamListener, connectionCallback, passwordCallback);
         this.source = source;
         this.destination = destination;
-        final ThreadPool pool = ThreadPoolFactory.get("transfer",
-                transfer.getSource().getTransferType() == Host.TransferType.newconnection ?
-                        1 : PreferencesFactory.get().getInteger("queue.connections.limit"));
+        this.host = transfer.getSource();
+        this.connections = transfer.getSource().getTransferType() == Host.TransferType.newconnection ?
+                1 : PreferencesFactory.get().getInteger("queue.connections.limit");
+        final ThreadPool pool = ThreadPoolFactory.get("transfer", connections);
         this.completion = new ExecutorCompletionService<TransferStatus>(pool.executor());
     }
 
+    @Override
+    public Boolean run(final Session<?> source, final Session<?> destination) throws BackgroundException {
+        if(PreferencesFactory.get().getBoolean("connection.pool.warmup")) {
+            this.warmup(this.source);
+            this.warmup(this.destination);
+        }
+        return super.run(source, destination);
+    }
+
+    /**
+     * Open connections for all transfer threads in parallel before the transfer starts
+     */
+    private void warmup(final SessionPool pool) {
+        if(pool instanceof DefaultSessionPool) {
+            ((DefaultSessionPool) pool).warmup(connections, new BackgroundActionState() {
+                @Override
+                public boolean isCanceled() {
+                    return ConcurrentTransferWorker.this.isCanceled();
+                }
+
+                @Override
+                public boolean isRunning() {
+                    return true;
+                }
+            });
+        }
+    }
+
     @Override
     protected Session<?> borrow(final Connection type) throws BackgroundException {
         switch(type) {
@@ -125,13 +160,18 @@ public class ConcurrentTransferWorker extends AbstractTransferWorker {
             log.info(String.format("Submit %s to pool", callable));
         }
         final Future<TransferStatus> f = completion.submit(callable);
-        size.incrementAndGet();
+        MetricsRegistry.get().record(host, "queue.depth", size.incrementAndGet());
         return f;
     }
 
     @Override
     public void await() throws BackgroundException {
-        while(size.get() > 0) {
+        this.await(0);
+    }
+
+    @Override
+    public void await(final int pending) throws BackgroundException {
+        while(size.get() > pending) {
             // Repeat until no new entries in queue found
             if(log.isInfoEnabled()) {
                 log.info(String.format("Await completion for %d submitted tasks in queue", size.get()));
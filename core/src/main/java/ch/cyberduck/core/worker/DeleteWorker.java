@@ -18,8 +18,10 @@ package ch.cyberduck.core.worker;
  * dkocher@cyberduck.ch
  */
 
+import ch.cyberduck.core.AttributedList;
 import ch.cyberduck.core.Cache;
 import ch.cyberduck.core.Filter;
+import ch.cyberduck.core.IndexedListProgressListener;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.LocaleFactory;
@@ -30,18 +32,32 @@ import ch.cyberduck.core.ProgressListener;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.exception.ListCanceledException;
 import ch.cyberduck.core.exception.UnsupportedException;
 import ch.cyberduck.core.features.Delete;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.SessionPoolConcurrency;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
+
+import org.apache.log4j.Logger;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public class DeleteWorker extends Worker<List<Path>> {
+    private static final Logger log = Logger.getLogger(DeleteWorker.class);
 
     private final Cache<Path> cache;
     /**
@@ -51,23 +67,54 @@ public class DeleteWorker extends Worker<List<Path>> {
     private final LoginCallback prompt;
     private final ProgressListener listener;
     private final Filter<Path> filter;
+    /**
+     * Connections to delete batches in parallel
+     */
+    private final SessionPool pool;
+    /**
+     * Number of files to delete in a single call to the delete feature
+     */
+    private final int size;
+    private final int concurrency;
 
     public DeleteWorker(final LoginCallback prompt, final List<Path> files, final Cache<Path> cache, final ProgressListener listener) {
         this(prompt, files, cache, new NullFilter<Path>(), listener);
     }
 
     public DeleteWorker(final LoginCallback prompt, final List<Path> files, final Cache<Path> cache, final Filter<Path> filter, final ProgressListener listener) {
+        this(prompt, files, cache, filter, listener, SessionPool.DISCONNECTED);
+    }
+
+    public DeleteWorker(final LoginCallback prompt, final List<Path> files, final Cache<Path> cache, final Filter<Path> filter, final ProgressListener listener,
+                        final SessionPool pool) {
+        this(prompt, files, cache, filter, listener, pool,
+            PreferencesFactory.get().getInteger("delete.batch.size"), PreferencesFactory.get().getInteger("delete.batch.concurrency"));
+    }
+
+    /**
+     * @param pool        Connections to delete batches in parallel while listing continues
+     * @param size        Number of files to delete at once or 0 to compile the complete list first
+     * @param concurrency Number of batches deleted in parallel
+     */
+    public DeleteWorker(final LoginCallback prompt, final List<Path> files, final Cache<Path> cache, final Filter<Path> filter, final ProgressListener listener,
+                        final SessionPool pool, final int size, final int concurrency) {
         this.files = files;
         this.prompt = prompt;
         this.listener = listener;
         this.filter = filter;
         this.cache = cache;
+        this.pool = pool;
+        this.size = size;
+        this.concurrency = concurrency;
     }
 
     @Override
     public List<Path> run(final Session<?> session) throws BackgroundException {
         final Delete delete = session.getFeature(Delete.class);
         final ListService list = session.getFeature(ListService.class);
+        if(size > 0 && !delete.isRecursive()) {
+            return this.stream(delete, list);
+        }
         final List<Path> recursive = new ArrayList<Path>();
         for(Path file : files) {
             if(this.isCanceled()) {
@@ -78,16 +125,113 @@ public class DeleteWorker extends Worker<List<Path>> {
             }
             recursive.addAll(this.compile(delete, list, new WorkerListProgressListener(this, listener), file));
         }
-        delete.delete(recursive, prompt, new Delete.Callback() {
-            @Override
-            public void delete(final Path file) {
-                listener.message(MessageFormat.format(LocaleFactory.localizedString("Deleting {0}", "Status"),
-                    file.getName()));
-            }
-        });
+        delete.delete(recursive, prompt, new ProgressDeleteCallback());
         return recursive;
     }
 
+    /**
+     * Delete files in batches while still listing. Parent directories are deleted after all files have been deleted.
+     * Batches are deleted in parallel only if connections can be borrowed from the pool while this worker holds a
+     * session. Support of the delete feature is checked for files when listed and a failure stops deleting further
+     * batches but cannot undo batches already deleted.
+     */
+    protected List<Path> stream(final Delete delete, final ListService list) throws BackgroundException {
+        final ThreadPool executor = concurrency > 1 && SessionPoolConcurrency.isConcurrent(pool)
+            ? ThreadPoolFactory.get("delete", concurrency) : null;
+        try {
+            final Batches batches = new Batches(delete, executor);
+            for(Path file : files) {
+                if(this.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                if(!delete.isSupported(file)) {
+                    throw new UnsupportedException();
+                }
+                this.stream(delete, list, new WorkerListProgressListener(this, listener), file, batches);
+            }
+            return batches.close();
+        }
+        finally {
+            if(executor != null) {
+                executor.shutdown(false);
+            }
+        }
+    }
+
+    private void stream(final Delete delete, final ListService list, final ListProgressListener listener, final Path file, final Batches batches) throws BackgroundException {
+        if(file.isFile() || file.isSymbolicLink()) {
+            batches.add(file);
+        }
+        else if(file.isDirectory()) {
+            // Files already submitted while listing
+            final Set<Path> submitted = new HashSet<>();
+            final AttributedList<Path> children;
+            try {
+                children = list.list(file, new IndexedListProgressListener() {
+                    @Override
+                    public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+                        listener.chunk(folder, list);
+                        if(batches.isConcurrent()) {
+                            super.chunk(folder, list);
+                        }
+                    }
+
+                    @Override
+                    public void visit(final AttributedList<Path> list, final int index, final Path child) throws ConnectionCanceledException {
+                        if(child.isFile() || child.isSymbolicLink()) {
+                            if(filter.accept(child)) {
+                                if(!delete.isSupported(child)) {
+                                    // Stop listing and submitting further batches
+                                    throw new ListCanceledException(list, new UnsupportedException());
+                                }
+                                // Visited again when listing is retried after reset
+                                if(submitted.add(child)) {
+                                    try {
+                                        batches.add(child);
+                                    }
+                                    catch(BackgroundException e) {
+                                        throw new ListCanceledException(list, e);
+                                    }
+                                }
+                            }
+                        }
+                    }
+
+                    @Override
+                    public ListProgressListener reset() {
+                        listener.reset();
+                        return super.reset();
+                    }
+
+                    @Override
+                    public void message(final String message) {
+                        listener.message(message);
+                    }
+                });
+            }
+            catch(ListCanceledException e) {
+                if(e.getCause() instanceof BackgroundException) {
+                    throw (BackgroundException) e.getCause();
+                }
+                throw e;
+            }
+            for(Path child : children.filter(filter)) {
+                if(this.isCanceled()) {
+                    throw new ConnectionCanceledException();
+                }
+                if(submitted.contains(child)) {
+                    continue;
+                }
+                if(!delete.isSupported(child)) {
+                    throw new UnsupportedException();
+                }
+                this.stream(delete, list, listener, child, batches);
+            }
+            // Add parent after children
+            batches.directory(file);
+        }
+    }
+
     protected Set<Path> compile(final Delete delete, final ListService list, final ListProgressListener listener, final Path file) throws BackgroundException {
         // Compile recursive list
         final Set<Path> recursive = new LinkedHashSet<>();
@@ -112,6 +256,130 @@ public class DeleteWorker extends Worker<List<Path>> {
         return recursive;
     }
 
+    private final class ProgressDeleteCallback implements Delete.Callback {
+        @Override
+        public void delete(final Path file) {
+            listener.message(MessageFormat.format(LocaleFactory.localizedString("Deleting {0}", "Status"),
+                file.getName()));
+        }
+    }
+
+    /**
+     * Pending files submitted in batches to the delete feature
+     */
+    private final class Batches {
+        private final Delete delete;
+        /**
+         * Null if batches are deleted with the session of the worker after listing
+         */
+        private final ThreadPool executor;
+
+        private final List<Path> batch = new ArrayList<Path>();
+        private final Set<Path> directories = new LinkedHashSet<Path>();
+        private final List<Future<Void>> pending = new ArrayList<Future<Void>>();
+        private final List<Path> deleted = new ArrayList<Path>();
+
+        public Batches(final Delete delete, final ThreadPool executor) {
+            this.delete = delete;
+            this.executor = executor;
+        }
+
+        public boolean isConcurrent() {
+            return executor != null;
+        }
+
+        public void add(final Path file) throws BackgroundException {
+            batch.add(file);
+            if(batch.size() >= size) {
+                this.flush();
+            }
+        }
+
+        public void directory(final Path file) {
+            directories.add(file);
+        }
+
+        private void flush() throws BackgroundException {
+            final List<Path> files = new ArrayList<Path>(batch);
+            batch.clear();
+            deleted.addAll(files);
+            if(null == executor) {
+                delete.delete(files, prompt, new ProgressDeleteCallback());
+                return;
+            }
+            // Limit number of batches waiting for a connection
+            while(pending.size() >= concurrency) {
+                this.await(pending.remove(0));
+            }
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Submit batch with %d files", files.size()));
+            }
+            pending.add(executor.execute(new Callable<Void>() {
+                @Override
+                public Void call() throws BackgroundException {
+                    final Session<?> session = pool.borrow(new BackgroundActionState() {
+                        @Override
+                        public boolean isCanceled() {
+                            return DeleteWorker.this.isCanceled();
+                        }
+
+                        @Override
+                        public boolean isRunning() {
+                            return true;
+                        }
+                    });
+                    BackgroundException failure = null;
+                    try {
+                        session.getFeature(Delete.class).delete(files, prompt, new ProgressDeleteCallback());
+                    }
+                    catch(BackgroundException e) {
+                        failure = e;
+                        throw e;
+                    }
+                    finally {
+                        pool.release(session, failure);
+                    }
+                    return null;
+                }
+            }));
+        }
+
+        private void await(final Future<Void> future) throws BackgroundException {
+            try {
+                future.get();
+            }
+            catch(InterruptedException e) {
+                throw new ConnectionCanceledException(e);
+            }
+            catch(ExecutionException e) {
+                if(e.getCause() instanceof BackgroundException) {
+                    throw (BackgroundException) e.getCause();
+                }
+                throw new DefaultExceptionMappingService().map(e.getCause());
+            }
+        }
+
+        /**
+         * Wait for pending batches and delete remaining files followed by directories
+         *
+         * @return All deleted files
+         */
+        public List<Path> close() throws BackgroundException {
+            while(!pending.isEmpty()) {
+                this.await(pending.remove(0));
+            }
+            final List<Path> remaining = new ArrayList<Path>(batch);
+            remaining.addAll(directories);
+            batch.clear();
+            directories.clear();
+            if(!remaining.isEmpty()) {
+                deleted.addAll(remaining);
+                delete.delete(remaining, prompt, new ProgressDeleteCallback());
+            }
+            return deleted;
+        }
+    }
+
     @Override
     public void cleanup(final List<Path> deleted) {
         for(Path f : deleted) {
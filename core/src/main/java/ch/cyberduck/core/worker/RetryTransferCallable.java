@@ -15,9 +15,32 @@ package ch.cyberduck.core.worker;
  * GNU General Public License for more details.
  */
 
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ProgressListener;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.metrics.MetricsRegistry;
 import ch.cyberduck.core.threading.AbstractRetryCallable;
+import ch.cyberduck.core.threading.BackgroundActionState;
 import ch.cyberduck.core.transfer.TransferStatus;
 
 public abstract class RetryTransferCallable extends AbstractRetryCallable<TransferStatus>
         implements TransferWorker.TransferCallable {
+
+    private final Host host;
+
+    /**
+     * @param host Host to count retry attempts for
+     */
+    public RetryTransferCallable(final Host host) {
+        this.host = host;
+    }
+
+    @Override
+    public boolean retry(final BackgroundException failure, final ProgressListener progress, final BackgroundActionState cancel) {
+        if(super.retry(failure, progress, cancel)) {
+            MetricsRegistry.get().increment(host, "retries", 1L);
+            return true;
+        }
+        return false;
+    }
 }
@@ -19,6 +19,7 @@ package ch.cyberduck.core.worker;
 
 import ch.cyberduck.core.AttributedList;
 import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.DeltaListProgressListener;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.LocaleFactory;
@@ -112,7 +113,7 @@ public class SessionListWorker extends Worker<AttributedList<Path>> {
         return sb.toString();
     }
 
-    private static final class ConnectionCancelListProgressListener implements ListProgressListener {
+    private static final class ConnectionCancelListProgressListener implements DeltaListProgressListener {
         private final Worker worker;
         private final Path directory;
         private final ListProgressListener proxy;
@@ -134,6 +135,21 @@ public class SessionListWorker extends Worker<AttributedList<Path>> {
             proxy.chunk(directory, list);
         }
 
+        @Override
+        public void chunk(final Path parent, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+            if(!(proxy instanceof DeltaListProgressListener)) {
+                this.chunk(parent, list);
+                return;
+            }
+            if(log.isInfoEnabled()) {
+                log.info(String.format("Retrieved chunk of %d items in %s", list.size() - offset, directory));
+            }
+            if(worker.isCanceled()) {
+                throw new ConnectionCanceledException();
+            }
+            ((DeltaListProgressListener) proxy).chunk(directory, list, offset);
+        }
+
         @Override
         public ListProgressListener reset() {
             return proxy.reset();
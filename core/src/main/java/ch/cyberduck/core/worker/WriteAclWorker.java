@@ -28,6 +28,9 @@ import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.features.AclPermission;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.SessionPoolConcurrency;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 
 import java.text.MessageFormat;
 import java.util.List;
@@ -51,6 +54,11 @@ public class WriteAclWorker extends Worker<Boolean> {
 
     private final ProgressListener listener;
 
+    /**
+     * Connections to write permissions of files in parallel
+     */
+    private final SessionPool pool;
+
     public WriteAclWorker(final List<Path> files,
                           final Acl acl, final boolean recursive,
                           final ProgressListener listener) {
@@ -60,14 +68,41 @@ public class WriteAclWorker extends Worker<Boolean> {
     public WriteAclWorker(final List<Path> files,
                           final Acl acl, final RecursiveCallback<Acl> callback,
                           final ProgressListener listener) {
+        this(files, acl, callback, listener, SessionPool.DISCONNECTED);
+    }
+
+    /**
+     * @param pool Connections to write permissions of files in parallel
+     */
+    public WriteAclWorker(final List<Path> files,
+                          final Acl acl, final RecursiveCallback<Acl> callback,
+                          final ProgressListener listener,
+                          final SessionPool pool) {
         this.files = files;
         this.acl = acl;
         this.callback = callback;
         this.listener = listener;
+        this.pool = pool;
     }
 
     @Override
     public Boolean run(final Session<?> session) throws BackgroundException {
+        final int concurrency = PreferencesFactory.get().getInteger("browser.write.concurrency");
+        if(concurrency > 1 && SessionPoolConcurrency.isConcurrent(pool)) {
+            new ConcurrentRecursiveWriter(this, pool, concurrency, listener).run(files, new ConcurrentRecursiveWriter.Operation() {
+                @Override
+                public void write(final Session<?> session, final Path file) throws BackgroundException {
+                    WriteAclWorker.this.write(session.getFeature(AclPermission.class), file);
+                }
+
+                @Override
+                public boolean recurse(final Path directory) {
+                    // No recursion when changing container ACL
+                    return !directory.isVolume() && callback.recurse(directory, acl);
+                }
+            });
+            return true;
+        }
         final AclPermission feature = session.getFeature(AclPermission.class);
         for(Path file : files) {
             this.write(session, feature, file);
@@ -79,9 +114,7 @@ public class WriteAclWorker extends Worker<Boolean> {
         if(this.isCanceled()) {
             throw new ConnectionCanceledException();
         }
-        listener.message(MessageFormat.format(LocaleFactory.localizedString("Changing permission of {0} to {1}", "Status"),
-                file.getName(), acl));
-        feature.setPermission(file, acl);
+        this.write(feature, file);
         if(file.isVolume()) {
             // No recursion when changing container ACL
         }
@@ -94,6 +127,12 @@ public class WriteAclWorker extends Worker<Boolean> {
         }
     }
 
+    private void write(final AclPermission feature, final Path file) throws BackgroundException {
+        listener.message(MessageFormat.format(LocaleFactory.localizedString("Changing permission of {0} to {1}", "Status"),
+                file.getName(), acl));
+        feature.setPermission(file, acl);
+    }
+
     @Override
     public Boolean initialize() {
         return false;
@@ -27,6 +27,9 @@ import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.features.Metadata;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.SessionPoolConcurrency;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 
 import java.text.MessageFormat;
 import java.util.HashMap;
@@ -52,6 +55,11 @@ public class WriteMetadataWorker extends Worker<Boolean> {
 
     private final ProgressListener listener;
 
+    /**
+     * Connections to write metadata of files in parallel
+     */
+    private final SessionPool pool;
+
     public WriteMetadataWorker(List<Path> files, final Map<String, String> metadata,
                                final boolean recursive,
                                final ProgressListener listener) {
@@ -61,14 +69,40 @@ public class WriteMetadataWorker extends Worker<Boolean> {
     public WriteMetadataWorker(final List<Path> files, final Map<String, String> metadata,
                                final RecursiveCallback<String> callback,
                                final ProgressListener listener) {
+        this(files, metadata, callback, listener, SessionPool.DISCONNECTED);
+    }
+
+    /**
+     * @param pool Connections to write metadata of files in parallel
+     */
+    public WriteMetadataWorker(final List<Path> files, final Map<String, String> metadata,
+                               final RecursiveCallback<String> callback,
+                               final ProgressListener listener,
+                               final SessionPool pool) {
         this.files = files;
         this.metadata = metadata;
         this.callback = callback;
         this.listener = listener;
+        this.pool = pool;
     }
 
     @Override
     public Boolean run(final Session<?> session) throws BackgroundException {
+        final int concurrency = PreferencesFactory.get().getInteger("browser.write.concurrency");
+        if(concurrency > 1 && SessionPoolConcurrency.isConcurrent(pool)) {
+            new ConcurrentRecursiveWriter(this, pool, concurrency, listener).run(files, new ConcurrentRecursiveWriter.Operation() {
+                @Override
+                public void write(final Session<?> session, final Path file) throws BackgroundException {
+                    WriteMetadataWorker.this.write(session.getFeature(Metadata.class), file);
+                }
+
+                @Override
+                public boolean recurse(final Path directory) {
+                    return callback.recurse(directory, LocaleFactory.localizedString("Metadata", "Info"));
+                }
+            });
+            return true;
+        }
         final Metadata feature = session.getFeature(Metadata.class);
         for(Path file : files) {
             if(this.isCanceled()) {
@@ -83,6 +117,17 @@ public class WriteMetadataWorker extends Worker<Boolean> {
         if(this.isCanceled()) {
             throw new ConnectionCanceledException();
         }
+        this.write(feature, file);
+        if(file.isDirectory()) {
+            if(callback.recurse(file, LocaleFactory.localizedString("Metadata", "Info"))) {
+                for(Path child : session.getFeature(ListService.class).list(file, new WorkerListProgressListener(this, listener))) {
+                    this.write(session, feature, child);
+                }
+            }
+        }
+    }
+
+    private void write(final Metadata feature, final Path file) throws BackgroundException {
         // Read online metadata (storing non-edited metadata entries)
         final Map<String, String> update = new HashMap<>(file.attributes().getMetadata());
         // Purge removed entries
@@ -101,13 +146,6 @@ public class WriteMetadataWorker extends Worker<Boolean> {
                 file.getName()));
             feature.setMetadata(file, update);
         }
-        if(file.isDirectory()) {
-            if(callback.recurse(file, LocaleFactory.localizedString("Metadata", "Info"))) {
-                for(Path child : session.getFeature(ListService.class).list(file, new WorkerListProgressListener(this, listener))) {
-                    this.write(session, feature, child);
-                }
-            }
-        }
     }
 
     @Override
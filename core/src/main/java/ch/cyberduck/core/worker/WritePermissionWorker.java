@@ -28,9 +28,13 @@ import ch.cyberduck.core.Session;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 import ch.cyberduck.core.features.UnixPermission;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.SessionPoolConcurrency;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 
 import java.text.MessageFormat;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -53,10 +57,26 @@ public class WritePermissionWorker extends Worker<Boolean> {
 
     private final ProgressListener listener;
 
+    /**
+     * Connections to write permissions of files in parallel
+     */
+    private final SessionPool pool;
+
     public WritePermissionWorker(final List<Path> files,
                                  final Permission permission,
                                  final RecursiveCallback<Permission> callback,
                                  final ProgressListener listener) {
+        this(files, permission, callback, listener, SessionPool.DISCONNECTED);
+    }
+
+    /**
+     * @param pool Connections to write permissions of files in parallel
+     */
+    public WritePermissionWorker(final List<Path> files,
+                                 final Permission permission,
+                                 final RecursiveCallback<Permission> callback,
+                                 final ProgressListener listener,
+                                 final SessionPool pool) {
         this.files = files;
         this.permissions = new HashMap<>();
         for(Path f : files) {
@@ -64,12 +84,24 @@ public class WritePermissionWorker extends Worker<Boolean> {
         }
         this.callback = callback;
         this.listener = listener;
+        this.pool = pool;
     }
 
     public WritePermissionWorker(final List<Path> files,
                                  final PermissionOverwrite overwrite,
                                  final RecursiveCallback<Permission> callback,
                                  final ProgressListener listener) {
+        this(files, overwrite, callback, listener, SessionPool.DISCONNECTED);
+    }
+
+    /**
+     * @param pool Connections to write permissions of files in parallel
+     */
+    public WritePermissionWorker(final List<Path> files,
+                                 final PermissionOverwrite overwrite,
+                                 final RecursiveCallback<Permission> callback,
+                                 final ProgressListener listener,
+                                 final SessionPool pool) {
         this.files = files;
         this.permissions = new HashMap<>();
         for(Path f : files) {
@@ -77,10 +109,31 @@ public class WritePermissionWorker extends Worker<Boolean> {
         }
         this.callback = callback;
         this.listener = listener;
+        this.pool = pool;
     }
 
     @Override
     public Boolean run(final Session<?> session) throws BackgroundException {
+        final int concurrency = PreferencesFactory.get().getInteger("browser.write.concurrency");
+        if(concurrency > 1 && SessionPoolConcurrency.isConcurrent(pool)) {
+            final Map<Path, ConcurrentRecursiveWriter.Operation> operations = new LinkedHashMap<>();
+            for(Path selected : files) {
+                final Permission merged = permissions.get(selected);
+                operations.put(selected, new ConcurrentRecursiveWriter.Operation() {
+                    @Override
+                    public void write(final Session<?> session, final Path file) throws BackgroundException {
+                        WritePermissionWorker.this.write(session.getFeature(UnixPermission.class), file, merged);
+                    }
+
+                    @Override
+                    public boolean recurse(final Path directory) {
+                        return callback.recurse(directory, merged);
+                    }
+                });
+            }
+            new ConcurrentRecursiveWriter(this, pool, concurrency, listener).run(operations);
+            return true;
+        }
         final UnixPermission feature = session.getFeature(UnixPermission.class);
         for(Path file : files) {
             if(this.isCanceled()) {
@@ -93,8 +146,7 @@ public class WritePermissionWorker extends Worker<Boolean> {
     }
 
     protected void write(final Session<?> session, final UnixPermission feature, final Path file, final Permission permission) throws BackgroundException {
-        listener.message(MessageFormat.format(LocaleFactory.localizedString("Changing permission of {0} to {1}", "Status"), file.getName(), permission));
-        feature.setUnixPermission(file, permission);
+        this.write(feature, file, permission);
         if(file.isDirectory()) {
             if(callback.recurse(file, permission)) {
                 for(Path child : session.getFeature(ListService.class).list(file, new WorkerListProgressListener(this, listener))) {
@@ -104,6 +156,11 @@ public class WritePermissionWorker extends Worker<Boolean> {
         }
     }
 
+    private void write(final UnixPermission feature, final Path file, final Permission permission) throws BackgroundException {
+        listener.message(MessageFormat.format(LocaleFactory.localizedString("Changing permission of {0} to {1}", "Status"), file.getName(), permission));
+        feature.setUnixPermission(file, permission);
+    }
+
     @Override
     public String getActivity() {
         return MessageFormat.format(LocaleFactory.localizedString("Changing permission of {0} to {1}", "Status"),
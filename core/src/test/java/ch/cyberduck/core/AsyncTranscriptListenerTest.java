@@ -0,0 +1,59 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncTranscriptListenerTest {
+
+    @Test
+    public void testLog() throws Exception {
+        final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch latch = new CountDownLatch(2);
+        final AsyncTranscriptListener listener = new AsyncTranscriptListener(new BatchTranscriptListener() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public void log(final Type request, final List<String> lines) {
+                received.addAll(lines);
+                latch.countDown();
+            }
+
+            @Override
+            public void log(final Type request, final String message) {
+                this.log(request, Collections.singletonList(message));
+            }
+        });
+        assertTrue(listener.isEnabled());
+        listener.log(TranscriptListener.Type.request, Arrays.asList("GET / HTTP/1.1", "Host: cyberduck.io"));
+        listener.log(TranscriptListener.Type.response, "HTTP/1.1 200 OK");
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("GET / HTTP/1.1", "Host: cyberduck.io", "HTTP/1.1 200 OK"), received);
+    }
+}
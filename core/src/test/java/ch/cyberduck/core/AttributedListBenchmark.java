@@ -0,0 +1,100 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.ui.comparator.FilenameComparator;
+import ch.cyberduck.ui.comparator.SizeComparator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build, sort and lookup in directory listings. Run with main method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AttributedListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Path> files;
+
+    private AttributedList<Path> list;
+
+    @Setup
+    public void setup() {
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        files = new ArrayList<Path>(size);
+        for(int i = 0; i < size; i++) {
+            final Path file = new Path(directory, String.format("f-%d", size - i), EnumSet.of(Path.Type.file));
+            file.attributes().setSize(i);
+            files.add(file);
+        }
+        list = new AttributedList<Path>(files);
+    }
+
+    @Benchmark
+    public AttributedList<Path> build() {
+        final AttributedList<Path> list = new AttributedList<Path>();
+        for(Path file : files) {
+            list.add(file);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public AttributedList<Path> sort() {
+        list.filter(new FilenameComparator(true));
+        return list.filter(new SizeComparator(true));
+    }
+
+    @Benchmark
+    public int lookup() {
+        int found = 0;
+        for(int i = 0; i < 1000; i++) {
+            if(list.contains(files.get(i * (size / 1000)))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AttributedListBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -75,4 +75,23 @@ public class AttributedListTest {
         list.filter(new NullFilter<>());
         assertNotNull(list.find(new SimplePathPredicate(a)));
     }
+
+    @Test
+    public void testIndexIdentityChanged() throws Exception {
+        final AttributedList<Path> list = new AttributedList<Path>();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.file));
+        final Path b = new Path("/b", EnumSet.of(Path.Type.file));
+        list.add(a);
+        list.add(b);
+        assertEquals(1, list.indexOf(b));
+        b.attributes().setVersionId("1");
+        assertEquals(-1, list.indexOf(new Path("/b", EnumSet.of(Path.Type.file))));
+        final Path version = new Path("/b", EnumSet.of(Path.Type.file));
+        version.attributes().setVersionId("1");
+        assertEquals(1, list.indexOf(version));
+        assertTrue(list.contains(b));
+        b.setType(EnumSet.of(Path.Type.directory));
+        assertTrue(list.contains(b));
+        assertFalse(list.contains(version));
+    }
 }
@@ -0,0 +1,95 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.EnumSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup and replace directory listings from concurrent threads in the synchronized LRU cache and the segmented
+ * cache. Run with main method from test classpath for 1, 8 and 32 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentPathCacheBenchmark {
+
+    @Param({"lru", "concurrent"})
+    private String implementation;
+
+    private Cache<Path> cache;
+
+    private Path[] directories;
+
+    private AttributedList<Path> children;
+
+    @Setup
+    public void setup() {
+        directories = new Path[1000];
+        for(int i = 0; i < directories.length; i++) {
+            directories[i] = new Path(String.format("/d-%d", i), EnumSet.of(Path.Type.directory));
+        }
+        children = new AttributedList<Path>();
+        for(int i = 0; i < 10; i++) {
+            children.add(new Path(directories[0], String.format("f-%d", i), EnumSet.of(Path.Type.file)));
+        }
+        if("lru".equals(implementation)) {
+            cache = new PathCache(directories.length);
+        }
+        else {
+            cache = new ConcurrentPathCache(16, 100000, -1);
+        }
+        for(Path directory : directories) {
+            cache.put(directory, children);
+        }
+    }
+
+    @Benchmark
+    public boolean lookup() {
+        return cache.isCached(directories[ThreadLocalRandom.current().nextInt(directories.length)]);
+    }
+
+    @Benchmark
+    public AttributedList<Path> replace() {
+        return cache.put(directories[ThreadLocalRandom.current().nextInt(directories.length)], children);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        for(int threads : new int[]{1, 8, 32}) {
+            new Runner(new OptionsBuilder().include(ConcurrentPathCacheBenchmark.class.getSimpleName())
+                    .threads(threads).build()).run();
+        }
+    }
+}
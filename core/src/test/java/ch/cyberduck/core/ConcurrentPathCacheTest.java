@@ -0,0 +1,125 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentPathCacheTest {
+
+    @Test
+    public void testPut() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(1, 10, -1);
+        assertTrue(cache.isEmpty());
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> list = new AttributedList<Path>();
+        list.add(new Path(directory, "f", EnumSet.of(Path.Type.file)));
+        cache.put(directory, list);
+        assertFalse(cache.isEmpty());
+        assertTrue(cache.isCached(directory));
+        assertTrue(cache.isCached(new Path("/d", EnumSet.of(Path.Type.directory))));
+        // Lookup for membership only not counted
+        assertEquals(0L, cache.getHitCount());
+        assertSame(list, cache.get(directory));
+        assertEquals(1L, cache.getHitCount());
+        assertTrue(cache.keySet().contains(directory));
+        assertSame(list, cache.remove(directory));
+        assertFalse(cache.isCached(directory));
+        assertEquals(AttributedList.<Path>emptyList(), cache.get(directory));
+        assertEquals(AttributedList.<Path>emptyList(), cache.remove(directory));
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(1, 10, -1);
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        cache.put(directory, new AttributedList<Path>());
+        assertTrue(cache.isValid(directory));
+        cache.invalidate(directory);
+        assertTrue(cache.isCached(directory));
+        assertFalse(cache.isValid(directory));
+    }
+
+    @Test
+    public void testEvictByWeight() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(1, 10, -1);
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Path b = new Path("/b", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> children = new AttributedList<Path>();
+        for(int i = 0; i < 5; i++) {
+            children.add(new Path(a, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        cache.put(a, children);
+        cache.put(b, new AttributedList<Path>(children));
+        assertFalse(cache.isCached(a));
+        assertTrue(cache.isCached(b));
+        assertEquals(1L, cache.getEvictionCount());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(1, 10, 1L);
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        cache.put(directory, new AttributedList<Path>());
+        Thread.sleep(10L);
+        assertFalse(cache.isCached(directory));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(4, 10, -1);
+        cache.put(new Path("/d", EnumSet.of(Path.Type.directory)), new AttributedList<Path>());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testLargestListingWithDefaultConcurrency() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(
+            PreferencesFactory.get().getInteger("browser.cache.concurrency"), 1000, -1);
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> children = new AttributedList<Path>();
+        for(int i = 0; i < 999; i++) {
+            children.add(new Path(a, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        cache.put(a, children);
+        assertTrue(cache.isCached(a));
+        assertEquals(0L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testSkipListingExceedingWeight() throws Exception {
+        final ConcurrentPathCache cache = new ConcurrentPathCache(
+            PreferencesFactory.get().getInteger("browser.cache.concurrency"), 10, -1);
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> children = new AttributedList<Path>();
+        for(int i = 0; i < 10; i++) {
+            children.add(new Path(a, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        cache.put(a, new AttributedList<Path>());
+        assertTrue(cache.isCached(a));
+        cache.put(a, children);
+        assertFalse(cache.isCached(a));
+        assertEquals(0L, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,84 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes for 1M objects as populated by a S3 and a SFTP listing. The heap allocated per 1M listed objects is
+ * reported as <code>gc.alloc.rate.norm</code> by the GC profiler. Run with main method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathAttributesBenchmark {
+
+    private static final int SIZE = 1000000;
+
+    @Benchmark
+    public List<PathAttributes> s3() {
+        final List<PathAttributes> list = new ArrayList<PathAttributes>(SIZE);
+        for(int i = 0; i < SIZE; i++) {
+            final PathAttributes attributes = new PathAttributes();
+            attributes.setSize(i);
+            attributes.setModificationDate(i);
+            attributes.setETag(String.valueOf(i));
+            attributes.setStorageClass(new String("STANDARD"));
+            attributes.setRegion(new String("eu-west-1"));
+            list.add(attributes);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<PathAttributes> sftp() {
+        final List<PathAttributes> list = new ArrayList<PathAttributes>(SIZE);
+        for(int i = 0; i < SIZE; i++) {
+            final PathAttributes attributes = new PathAttributes();
+            attributes.setSize(i);
+            attributes.setModificationDate(i);
+            attributes.setAccessedDate(i);
+            attributes.setOwner(new String("user"));
+            attributes.setGroup(new String("staff"));
+            list.add(attributes);
+        }
+        return list;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathAttributesBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).build()).run();
+    }
+}
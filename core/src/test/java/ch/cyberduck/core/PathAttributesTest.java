@@ -34,4 +34,33 @@ public class PathAttributesTest {
         r2.setRegion("r2");
         assertFalse(r1.equals(r2));
     }
+
+    @Test
+    public void testIntern() {
+        final PathAttributes a = new PathAttributes();
+        a.setOwner(new String("o"));
+        a.setRegion(new String("r"));
+        final PathAttributes b = new PathAttributes();
+        b.setOwner(new String("o"));
+        b.setRegion(new String("r"));
+        assertSame(a.getOwner(), b.getOwner());
+        assertSame(a.getRegion(), b.getRegion());
+    }
+
+    @Test
+    public void testCopyExtension() {
+        final PathAttributes attributes = new PathAttributes();
+        assertEquals(-1L, attributes.getCreationDate());
+        assertFalse(attributes.isDuplicate());
+        assertTrue(attributes.getMetadata().isEmpty());
+        attributes.setCreationDate(1L);
+        attributes.setDuplicate(true);
+        final PathAttributes copy = new PathAttributes(attributes);
+        assertEquals(1L, copy.getCreationDate());
+        assertTrue(copy.isDuplicate());
+        copy.setCreationDate(2L);
+        assertEquals(1L, attributes.getCreationDate());
+        copy.setDuplicate(false);
+        assertTrue(attributes.isDuplicate());
+    }
 }
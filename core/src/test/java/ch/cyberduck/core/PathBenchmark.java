@@ -0,0 +1,118 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map operations with 1M paths as keys compared to keys of string representation as calculated previously for
+ * every hash code. Run with main method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathBenchmark {
+
+    private static final int SIZE = 1000000;
+
+    private List<Path> files;
+
+    private Map<Path, Path> map;
+
+    @Setup
+    public void setup() {
+        files = new ArrayList<Path>(SIZE);
+        for(int i = 0; i < SIZE; i++) {
+            final Path directory = new Path(String.format("/c/d-%d", i % 1000), EnumSet.of(Path.Type.directory));
+            final Path file = new Path(directory, String.format("f-%d", i), EnumSet.of(Path.Type.file));
+            file.attributes().setVersionId(String.valueOf(i % 3));
+            files.add(file);
+        }
+        map = new HashMap<Path, Path>(SIZE * 2);
+        for(Path file : files) {
+            map.put(file, file);
+        }
+    }
+
+    @Benchmark
+    public Map<Path, Path> put() {
+        final Map<Path, Path> map = new HashMap<Path, Path>(SIZE * 2);
+        for(Path file : files) {
+            map.put(file, file);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int get() {
+        int found = 0;
+        for(Path file : files) {
+            if(map.get(file) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getCacheReference() {
+        int found = 0;
+        for(Path file : files) {
+            if(new DefaultPathPredicate(file).test(file)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Baseline with key concatenated for every lookup
+     */
+    @Benchmark
+    public Map<String, Path> putConcatenated() {
+        final Map<String, Path> map = new HashMap<String, Path>(SIZE * 2);
+        for(Path file : files) {
+            map.put(new DefaultPathPredicate(file).toString(), file);
+        }
+        return map;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -28,6 +28,22 @@ import static org.junit.Assert.*;
 
 public class PathTest {
 
+    @Test
+    public void testHashcodeInvalidated() {
+        final Path path = new Path("/c/f", EnumSet.of(Path.Type.file));
+        assertEquals(new DefaultPathPredicate(path).toString().hashCode(), path.hashCode());
+        path.attributes().setVersionId("1");
+        assertEquals("[file]-1/c/f", new DefaultPathPredicate(path).toString());
+        assertEquals(new DefaultPathPredicate(path).toString().hashCode(), path.hashCode());
+        assertNotEquals(new Path("/c/f", EnumSet.of(Path.Type.file)), path);
+        path.getType().add(Path.Type.placeholder);
+        assertEquals(new DefaultPathPredicate(path).toString().hashCode(), path.hashCode());
+        path.setType(EnumSet.of(Path.Type.directory));
+        assertEquals("[directory]-/c/f", new DefaultPathPredicate(path).toString());
+        assertEquals(new DefaultPathPredicate(path).toString().hashCode(), path.hashCode());
+        assertEquals(new Path("/c/f", EnumSet.of(Path.Type.directory)), path);
+    }
+
     @Test
     public void testDictionaryDirectory() {
         Path path = new Path("/path", EnumSet.of(Path.Type.directory));
@@ -0,0 +1,135 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.features.Encryption;
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.transfer.TransferItem;
+
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class SwapTransferItemCacheTest {
+
+    @Test
+    public void testPutInMemory() throws Exception {
+        final SwapTransferItemCache cache = new SwapTransferItemCache(10);
+        final TransferItem directory = new TransferItem(new Path("/d", EnumSet.of(Path.Type.directory)), new Local("/tmp/d"));
+        final AttributedList<TransferItem> list = new AttributedList<TransferItem>();
+        list.add(new TransferItem(new Path("/d/f", EnumSet.of(Path.Type.file)), new Local("/tmp/d/f")));
+        cache.put(directory, list);
+        assertTrue(cache.isCached(directory));
+        assertSame(list, cache.get(directory));
+        assertSame(list, cache.remove(directory));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testSwap() throws Exception {
+        final SwapTransferItemCache cache = new SwapTransferItemCache(1);
+        final TransferItem directory = new TransferItem(new Path("/d", EnumSet.of(Path.Type.directory)), new Local("/tmp/d"));
+        final AttributedList<TransferItem> list = new AttributedList<TransferItem>();
+        final Path file = new Path("/d/f", EnumSet.of(Path.Type.file));
+        file.attributes().setSize(3L);
+        file.attributes().setModificationDate(1000L);
+        file.attributes().setVersionId("v");
+        file.attributes().setChecksum(Checksum.parse("d41d8cd98f00b204e9800998ecf8427e"));
+        list.add(new TransferItem(file, new Local("/tmp/d/f")));
+        final Path symlink = new Path("/d/s", EnumSet.of(Path.Type.file, Path.Type.symboliclink));
+        symlink.setSymlinkTarget(new Path("/d/f", EnumSet.of(Path.Type.file)));
+        list.add(new TransferItem(symlink));
+        cache.put(directory, list);
+        assertTrue(cache.isCached(directory));
+        assertFalse(cache.isEmpty());
+        assertTrue(cache.keySet().contains(directory));
+        final AttributedList<TransferItem> swapped = cache.get(directory);
+        assertNotSame(list, swapped);
+        assertEquals(list, swapped);
+        final Path read = swapped.get(0).remote;
+        assertEquals(3L, read.attributes().getSize());
+        assertEquals(1000L, read.attributes().getModificationDate());
+        assertEquals("v", read.attributes().getVersionId());
+        assertEquals(file.attributes().getChecksum(), read.attributes().getChecksum());
+        assertEquals(new Local("/tmp/d/f"), swapped.get(0).local);
+        assertNull(swapped.get(1).local);
+        assertEquals(symlink.getSymlinkTarget(), swapped.get(1).remote.getSymlinkTarget());
+        assertEquals(list, cache.remove(directory));
+        assertFalse(cache.isCached(directory));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testSwapAttributes() throws Exception {
+        final SwapTransferItemCache cache = new SwapTransferItemCache(0);
+        final TransferItem directory = new TransferItem(new Path("/d", EnumSet.of(Path.Type.directory)));
+        final Path vault = new Path("/v", EnumSet.of(Path.Type.directory, Path.Type.vault));
+        final Path encrypted = new Path("/v/d/e", EnumSet.of(Path.Type.file, Path.Type.encrypted));
+        final Path file = new Path("/d/f", EnumSet.of(Path.Type.file, Path.Type.decrypted));
+        file.attributes().setCreationDate(2000L);
+        file.attributes().setOwner("o");
+        file.attributes().setPermission(new Permission(1755));
+        final Acl acl = new Acl(new Acl.CanonicalUser("u", "n"), new Acl.Role(Acl.Role.FULL));
+        acl.addAll(new Acl.GroupUser(Acl.GroupUser.EVERYONE), new Acl.Role(Acl.Role.READ));
+        acl.setOwner(new Acl.CanonicalUser("u"));
+        file.attributes().setAcl(acl);
+        file.attributes().setEncryption(new Encryption.Algorithm("aws:kms", "k"));
+        file.attributes().setMetadata(Collections.singletonMap("Content-Type", "text/plain"));
+        file.attributes().setLink(new DescriptiveUrl(URI.create("https://d/f"), DescriptiveUrl.Type.signed, "h"));
+        file.attributes().setVault(vault);
+        file.attributes().setEncrypted(encrypted);
+        encrypted.attributes().setVault(vault);
+        encrypted.attributes().setDecrypted(file);
+        final AttributedList<TransferItem> list = new AttributedList<TransferItem>();
+        list.add(new TransferItem(file, new Local("/tmp/d/f")));
+        cache.put(directory, list);
+        final Path read = cache.get(directory).get(0).remote;
+        assertNotSame(file, read);
+        assertEquals(file, read);
+        assertEquals(2000L, read.attributes().getCreationDate());
+        assertEquals("o", read.attributes().getOwner());
+        assertEquals(new Permission(1755), read.attributes().getPermission());
+        assertEquals(acl, read.attributes().getAcl());
+        assertEquals(new Acl.CanonicalUser("u"), read.attributes().getAcl().getOwner());
+        for(Acl.User user : read.attributes().getAcl().keySet()) {
+            if(user instanceof Acl.CanonicalUser) {
+                assertEquals("n", user.getDisplayName());
+            }
+        }
+        assertEquals(new Encryption.Algorithm("aws:kms", "k"), read.attributes().getEncryption());
+        assertEquals("text/plain", read.attributes().getMetadata().get("Content-Type"));
+        assertEquals(file.attributes().getLink(), read.attributes().getLink());
+        assertEquals(vault, read.attributes().getVault());
+        assertEquals(encrypted, read.attributes().getEncrypted());
+        // Shared references are retained
+        assertSame(read.attributes().getVault(), read.attributes().getEncrypted().attributes().getVault());
+        assertSame(read, read.attributes().getEncrypted().attributes().getDecrypted());
+    }
+
+    @Test
+    public void testNeverSwap() throws Exception {
+        final SwapTransferItemCache cache = new SwapTransferItemCache(-1);
+        final TransferItem directory = new TransferItem(new Path("/d", EnumSet.of(Path.Type.directory)));
+        final AttributedList<TransferItem> list = new AttributedList<TransferItem>();
+        list.add(new TransferItem(new Path("/d/f", EnumSet.of(Path.Type.file))));
+        cache.put(directory, list);
+        assertSame(list, cache.get(directory));
+    }
+}
@@ -0,0 +1,71 @@
+package ch.cyberduck.core;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ThrottledListProgressListenerTest {
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final List<Integer> offsets = new ArrayList<Integer>();
+        final List<Integer> visited = new ArrayList<Integer>();
+        final ThrottledListProgressListener listener = new ThrottledListProgressListener(new IndexedListProgressListener() {
+            @Override
+            public void chunk(final Path folder, final AttributedList<Path> list, final int offset) throws ConnectionCanceledException {
+                offsets.add(offset);
+                super.chunk(folder, list, offset);
+            }
+
+            @Override
+            public void visit(final AttributedList<Path> list, final int index, final Path file) {
+                visited.add(index);
+            }
+
+            @Override
+            public void message(final String message) {
+                //
+            }
+        }, 10, Long.MAX_VALUE);
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> list = new AttributedList<Path>();
+        for(int i = 0; i < 25; i++) {
+            list.add(new Path(directory, String.valueOf(i), EnumSet.of(Path.Type.file)));
+            listener.chunk(directory, list);
+        }
+        // First file notified immediately
+        assertEquals(3, offsets.size());
+        listener.flush(directory, list);
+        listener.flush(directory, list);
+        assertEquals(4, offsets.size());
+        assertEquals(Integer.valueOf(0), offsets.get(0));
+        assertEquals(Integer.valueOf(1), offsets.get(1));
+        assertEquals(Integer.valueOf(11), offsets.get(2));
+        assertEquals(Integer.valueOf(21), offsets.get(3));
+        assertEquals(25, visited.size());
+        for(int i = 0; i < 25; i++) {
+            assertEquals(Integer.valueOf(i), visited.get(i));
+        }
+    }
+}
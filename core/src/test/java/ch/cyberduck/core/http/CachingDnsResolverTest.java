@@ -0,0 +1,52 @@
+package ch.cyberduck.core.http;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.DisabledCancelCallback;
+import ch.cyberduck.core.Resolver;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
+
+public class CachingDnsResolverTest {
+
+    @Test
+    public void testInterleave() throws Exception {
+        final InetAddress v4a = InetAddress.getByName("127.0.0.1");
+        final InetAddress v4b = InetAddress.getByName("127.0.0.2");
+        final InetAddress v6a = InetAddress.getByName("::1");
+        final InetAddress v6b = InetAddress.getByName("::2");
+        assertArrayEquals(new InetAddress[]{v4a, v6a, v4b, v6b},
+            new CachingDnsResolver().interleave(new InetAddress[]{v4a, v4b, v6a, v6b}));
+        assertArrayEquals(new InetAddress[]{v6a, v4a, v6b, v4b},
+            new CachingDnsResolver().interleave(new InetAddress[]{v6a, v6b, v4a, v4b}));
+        assertArrayEquals(new InetAddress[]{v4a, v4b},
+            new CachingDnsResolver().interleave(new InetAddress[]{v4a, v4b}));
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        final Resolver resolver = new Resolver(60000L);
+        assertSame(resolver.resolveAll("localhost", new DisabledCancelCallback()),
+            resolver.resolveAll("localhost", new DisabledCancelCallback()));
+        assertSame(resolver.resolveAll("localhost", new DisabledCancelCallback()),
+            new Resolver(60000L).resolveAll("localhost", new DisabledCancelCallback()));
+    }
+}
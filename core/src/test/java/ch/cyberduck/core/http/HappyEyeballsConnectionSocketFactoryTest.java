@@ -0,0 +1,157 @@
+package ch.cyberduck.core.http;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Resolver;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class HappyEyeballsConnectionSocketFactoryTest {
+
+    @Test
+    public void testFallbackAfterDelay() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Socket alternative = new Socket();
+        final HappyEyeballsConnectionSocketFactory factory = new TestHappyEyeballsConnectionSocketFactory(new TestConnectionSocketFactory(alternative) {
+            @Override
+            protected Socket connect(final Socket socket) throws IOException {
+                try {
+                    // Never established within delay
+                    release.await(10L, TimeUnit.SECONDS);
+                }
+                catch(InterruptedException e) {
+                    throw new ConnectException(e.getMessage());
+                }
+                return socket;
+            }
+        }, 100L, InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"));
+        final Socket socket = new Socket();
+        assertSame(alternative, factory.connectSocket(1000, socket, new HttpHost("test.cyberduck.ch"),
+                new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 80), null, new BasicHttpContext()));
+        // Other attempt aborted
+        assertTrue(socket.isClosed());
+        release.countDown();
+    }
+
+    @Test
+    public void testFallbackOnFailureBeforeDelay() throws Exception {
+        final Socket alternative = new Socket();
+        final HappyEyeballsConnectionSocketFactory factory = new TestHappyEyeballsConnectionSocketFactory(new TestConnectionSocketFactory(alternative) {
+            @Override
+            protected Socket connect(final Socket socket) throws IOException {
+                throw new ConnectException("Connection refused");
+            }
+        }, 60000L, InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"));
+        final long start = System.currentTimeMillis();
+        assertSame(alternative, factory.connectSocket(1000, new Socket(), new HttpHost("test.cyberduck.ch"),
+                new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 80), null, new BasicHttpContext()));
+        // Not waiting for delay
+        assertTrue(System.currentTimeMillis() - start < 60000L);
+    }
+
+    @Test(expected = ConnectException.class)
+    public void testFailureBothAttempts() throws Exception {
+        final HappyEyeballsConnectionSocketFactory factory = new TestHappyEyeballsConnectionSocketFactory(new TestConnectionSocketFactory(new Socket()) {
+            @Override
+            protected Socket connect(final Socket socket) throws IOException {
+                throw new ConnectException("Connection refused");
+            }
+
+            @Override
+            protected Socket alternative(final Socket socket) throws IOException {
+                throw new ConnectException("Network unreachable");
+            }
+        }, 100L, InetAddress.getByName("127.0.0.1"), InetAddress.getByName("::1"));
+        factory.connectSocket(1000, new Socket(), new HttpHost("test.cyberduck.ch"),
+                new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 80), null, new BasicHttpContext());
+    }
+
+    @Test
+    public void testNoAlternative() throws Exception {
+        final Socket socket = new Socket();
+        final HappyEyeballsConnectionSocketFactory factory = new TestHappyEyeballsConnectionSocketFactory(new TestConnectionSocketFactory(new Socket()) {
+            @Override
+            protected Socket connect(final Socket socket) {
+                return socket;
+            }
+        }, 100L, InetAddress.getByName("127.0.0.1"));
+        assertSame(socket, factory.connectSocket(1000, socket, new HttpHost("test.cyberduck.ch"),
+                new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 80), null, new BasicHttpContext()));
+    }
+
+    /**
+     * Resolves to fixed addresses
+     */
+    private static class TestHappyEyeballsConnectionSocketFactory extends HappyEyeballsConnectionSocketFactory {
+        private final InetAddress[] addresses;
+
+        public TestHappyEyeballsConnectionSocketFactory(final ConnectionSocketFactory delegate, final long delay, final InetAddress... addresses) {
+            super(delegate, new Resolver(), delay, 2);
+            this.addresses = addresses;
+        }
+
+        @Override
+        protected InetAddress[] resolve(final String hostname) {
+            return addresses;
+        }
+    }
+
+    /**
+     * Connection to IPv6 address succeeds with socket created for alternative attempt
+     */
+    private abstract static class TestConnectionSocketFactory implements ConnectionSocketFactory {
+        private final Socket alternative;
+
+        public TestConnectionSocketFactory(final Socket alternative) {
+            this.alternative = alternative;
+        }
+
+        @Override
+        public Socket createSocket(final HttpContext context) {
+            return alternative;
+        }
+
+        @Override
+        public Socket connectSocket(final int connectTimeout, final Socket socket, final HttpHost host, final InetSocketAddress remoteAddress,
+                                    final InetSocketAddress localAddress, final HttpContext context) throws IOException {
+            if(remoteAddress.getAddress() instanceof Inet6Address) {
+                return this.alternative(socket);
+            }
+            return this.connect(socket);
+        }
+
+        protected abstract Socket connect(Socket socket) throws IOException;
+
+        protected Socket alternative(final Socket socket) throws IOException {
+            return socket;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BandwidthSchedulerTest {
+
+    @Test
+    public void testHost() {
+        final Host host = new Host(new TestProtocol(), "h", 21);
+        final BandwidthThrottle throttle = BandwidthScheduler.host(host);
+        assertSame(throttle, BandwidthScheduler.host(new Host(new TestProtocol(), "h", 21)));
+        assertNotSame(throttle, BandwidthScheduler.host(new Host(new TestProtocol(), "h", 22)));
+    }
+
+    @Test
+    public void testRateFromPreferences() {
+        final Host host = new Host(new TestProtocol(), "h", 21);
+        assertTrue(BandwidthScheduler.transfer(host, BandwidthThrottle.UNLIMITED).isUnlimited());
+        PreferencesFactory.get().setProperty("queue.bandwidth.host.bytes", 1000f);
+        try {
+            assertFalse(BandwidthScheduler.transfer(host, BandwidthThrottle.UNLIMITED).isUnlimited());
+            assertEquals(1000f, BandwidthScheduler.host(host).getRate(), 0f);
+        }
+        finally {
+            PreferencesFactory.get().deleteProperty("queue.bandwidth.host.bytes");
+        }
+        assertTrue(BandwidthScheduler.transfer(host, BandwidthThrottle.UNLIMITED).isUnlimited());
+    }
+}
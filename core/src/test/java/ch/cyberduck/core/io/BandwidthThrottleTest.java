@@ -0,0 +1,87 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class BandwidthThrottleTest {
+
+    @Test
+    public void testUnlimited() {
+        assertTrue(new BandwidthThrottle(BandwidthThrottle.UNLIMITED).isUnlimited());
+        assertEquals(100, new BandwidthThrottle(BandwidthThrottle.UNLIMITED).request(100));
+        final BandwidthThrottle parent = new BandwidthThrottle(1000f);
+        assertFalse(new BandwidthThrottle(parent, BandwidthThrottle.UNLIMITED).isUnlimited());
+    }
+
+    @Test
+    public void testParent() {
+        // 20 bytes per window
+        final BandwidthThrottle parent = new BandwidthThrottle(1000f);
+        final BandwidthThrottle child = new BandwidthThrottle(parent, BandwidthThrottle.UNLIMITED);
+        final int granted = child.request(100);
+        assertTrue(granted > 0);
+        assertTrue(granted <= 20);
+    }
+
+    @Test
+    public void testWeightedShare() throws Exception {
+        // 100 bytes per window
+        final BandwidthThrottle parent = new BandwidthThrottle(5000f);
+        final BandwidthThrottle bulk = new BandwidthThrottle(parent, BandwidthThrottle.UNLIMITED);
+        final BandwidthThrottle interactive = new BandwidthThrottle(parent, BandwidthThrottle.UNLIMITED);
+        interactive.setWeight(3);
+        assertEquals(1, bulk.getWeight());
+        assertEquals(3, interactive.getWeight());
+        final AtomicLong bulkBytes = new AtomicLong();
+        final AtomicLong interactiveBytes = new AtomicLong();
+        final long deadline = System.currentTimeMillis() + 1000L;
+        final Thread t1 = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(System.currentTimeMillis() < deadline) {
+                    bulkBytes.addAndGet(bulk.request(1000));
+                }
+            }
+        });
+        final Thread t2 = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while(System.currentTimeMillis() < deadline) {
+                    interactiveBytes.addAndGet(interactive.request(1000));
+                }
+            }
+        });
+        t1.start();
+        t2.start();
+        t1.join();
+        t2.join();
+        // Parent limit shared by both children
+        assertTrue(bulkBytes.get() + interactiveBytes.get() <= 5000L + 200L);
+        // Share relative to weight
+        assertTrue(interactiveBytes.get() > 2 * bulkBytes.get());
+    }
+
+    @Test
+    public void testLowRate() {
+        // Less than one byte per window
+        assertEquals(1, new BandwidthThrottle(1f).request(100));
+    }
+}
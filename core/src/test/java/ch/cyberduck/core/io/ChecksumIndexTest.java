@@ -0,0 +1,114 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ChecksumIndexTest {
+
+    @Test
+    public void testPersist() throws Exception {
+        final Local index = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local file = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final byte[] content = RandomUtils.nextBytes(1024);
+        this.write(file, content);
+        final Checksum expected = new SHA256ChecksumCompute().compute(new ByteArrayInputStream(content), new TransferStatus());
+        assertNull(new ChecksumIndex(index, true).get(file, HashAlgorithm.sha256));
+        assertEquals(expected, new ChecksumIndex(index, true).compute(new SHA256ChecksumCompute(), file, new TransferStatus()));
+        // Read from file
+        assertEquals(expected, new ChecksumIndex(index, true).get(file, HashAlgorithm.sha256));
+        assertNull(new ChecksumIndex(index, true).get(file, HashAlgorithm.md5));
+        new ChecksumIndex(index, true).invalidate(file);
+        assertNull(new ChecksumIndex(index, true).get(file, HashAlgorithm.sha256));
+        file.delete();
+        index.delete();
+    }
+
+    @Test
+    public void testModified() throws Exception {
+        final Local index = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local file = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        this.write(file, RandomUtils.nextBytes(1024));
+        final ChecksumIndex checksums = new ChecksumIndex(index, true);
+        assertNotNull(checksums.compute(new MD5ChecksumCompute(), file, new TransferStatus()));
+        assertNotNull(checksums.get(file, HashAlgorithm.md5));
+        final byte[] content = RandomUtils.nextBytes(2048);
+        this.write(file, content);
+        assertNull(checksums.get(file, HashAlgorithm.md5));
+        assertEquals(new MD5ChecksumCompute().compute(new ByteArrayInputStream(content), new TransferStatus()),
+            checksums.compute(new MD5ChecksumCompute(), file, new TransferStatus()));
+        file.delete();
+        index.delete();
+    }
+
+    @Test
+    public void testReplaced() throws Exception {
+        final Local index = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local file = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local replacement = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        this.write(file, RandomUtils.nextBytes(1024));
+        Assume.assumeNotNull(file.attributes().getFileKey());
+        final ChecksumIndex checksums = new ChecksumIndex(index, true);
+        assertNotNull(checksums.compute(new MD5ChecksumCompute(), file, new TransferStatus()));
+        // Same size and modification date
+        this.write(replacement, RandomUtils.nextBytes(1024));
+        replacement.attributes().setModificationDate(file.attributes().getModificationDate());
+        replacement.rename(file);
+        assertEquals(1024L, file.attributes().getSize());
+        assertNull(checksums.get(file, HashAlgorithm.md5));
+        assertNull(new ChecksumIndex(index, true).get(file, HashAlgorithm.md5));
+        file.delete();
+        index.delete();
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        final Local index = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local a = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final Local b = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        this.write(a, RandomUtils.nextBytes(1024));
+        this.write(b, RandomUtils.nextBytes(1024));
+        final ChecksumIndex checksums = new ChecksumIndex(index, true, 1);
+        checksums.compute(new MD5ChecksumCompute(), a, new TransferStatus());
+        checksums.compute(new MD5ChecksumCompute(), b, new TransferStatus());
+        assertNull(checksums.get(a, HashAlgorithm.md5));
+        assertNotNull(checksums.get(b, HashAlgorithm.md5));
+        // Reloaded index is bounded to maximum number of entries
+        assertNull(new ChecksumIndex(index, true, 1).get(a, HashAlgorithm.md5));
+        assertNotNull(new ChecksumIndex(index, true, 1).get(b, HashAlgorithm.md5));
+        a.delete();
+        b.delete();
+        index.delete();
+    }
+
+    private void write(final Local file, final byte[] content) throws Exception {
+        final OutputStream out = file.getOutputStream(false);
+        IOUtils.write(content, out);
+        out.close();
+    }
+}
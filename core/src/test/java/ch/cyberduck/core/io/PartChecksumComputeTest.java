@@ -0,0 +1,57 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class PartChecksumComputeTest {
+
+    @Test
+    public void testComputeRegion() throws Exception {
+        final Local file = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final byte[] content = RandomUtils.nextBytes(3 * 1024 * 1024 + 17);
+        this.write(file, content);
+        final Map<HashAlgorithm, Checksum> checksums = new PartChecksumCompute(HashAlgorithm.md5, HashAlgorithm.sha256)
+            .compute(file, 1000L, content.length - 1000L);
+        assertEquals(new MD5ChecksumCompute().compute(new ByteArrayInputStream(content, 1000, content.length - 1000), new TransferStatus()),
+            checksums.get(HashAlgorithm.md5));
+        assertEquals(new SHA256ChecksumCompute().compute(new ByteArrayInputStream(content, 1000, content.length - 1000), new TransferStatus()),
+            checksums.get(HashAlgorithm.sha256));
+        assertEquals(new SHA1ChecksumCompute().compute(new ByteArrayInputStream(content, 5, 10), new TransferStatus()),
+            PartChecksumCompute.compute(new SHA1ChecksumCompute(), file, 5L, 10L, new TransferStatus()));
+        assertEquals(new CRC32ChecksumCompute().compute(new ByteArrayInputStream(content, 5, 10), new TransferStatus()),
+            PartChecksumCompute.compute(new CRC32ChecksumCompute(), file, 5L, 10L, new TransferStatus()));
+        file.delete();
+    }
+
+    private void write(final Local file, final byte[] content) throws Exception {
+        final OutputStream out = file.getOutputStream(false);
+        IOUtils.write(content, out);
+        out.close();
+    }
+}
@@ -0,0 +1,96 @@
+package ch.cyberduck.core.io;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copy a local file to a local file with file channels and with pooled buffers. Run with main method from test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamCopierBenchmark {
+
+    @Param({"1048576", "104857600"})
+    private int size;
+
+    private File source;
+
+    private File target;
+
+    @Setup
+    public void setup() throws Exception {
+        source = File.createTempFile("source", null);
+        Files.write(source.toPath(), RandomUtils.nextBytes(size));
+        target = File.createTempFile("target", null);
+    }
+
+    @TearDown
+    public void teardown() {
+        source.delete();
+        target.delete();
+    }
+
+    @Benchmark
+    public long channel() throws Exception {
+        final TransferStatus status = new TransferStatus();
+        new StreamCopier(status, status).transfer(new LocalRepeatableFileInputStream(source), new FileOutputStream(target));
+        return status.getOffset();
+    }
+
+    @Benchmark
+    public long stream() throws Exception {
+        final TransferStatus status = new TransferStatus();
+        // Hide file channel of input
+        final InputStream in = new ProxyInputStream(new LocalRepeatableFileInputStream(source)) {
+        };
+        new StreamCopier(status, status).transfer(in, new FileOutputStream(target));
+        return status.getOffset();
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StreamCopierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -11,7 +11,19 @@ import org.apache.commons.text.RandomStringGenerator;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -168,4 +180,196 @@ public class StreamCopierTest {
         assertTrue(status.isCanceled());
         assertEquals(32768L, status.getOffset());
     }
+
+    @Test
+    public void testTransferChannel() throws Exception {
+        final byte[] bytes = new RandomStringGenerator.Builder().build().generate(100000).getBytes();
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        Files.write(source.toPath(), bytes);
+        final File target = File.createTempFile("target", null);
+        target.deleteOnExit();
+        final TransferStatus status = new TransferStatus();
+        new StreamCopier(status, status).withOffset(1000L).withLimit(50000L).transfer(
+                new ThrottledInputStream(new FileInputStream(source), new BandwidthThrottle(BandwidthThrottle.UNLIMITED)),
+                new FileChannelOutputStream(new FileOutputStream(target).getChannel()));
+        assertTrue(status.isComplete());
+        assertEquals(50000L, status.getOffset(), 0L);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 1000, 51000), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testTransferChannelUnknownLength() throws Exception {
+        final byte[] bytes = new RandomStringGenerator.Builder().build().generate(100000).getBytes();
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        Files.write(source.toPath(), bytes);
+        final File target = File.createTempFile("target", null);
+        target.deleteOnExit();
+        final TransferStatus status = new TransferStatus();
+        new StreamCopier(status, status).transfer(new FileInputStream(source), new FileOutputStream(target));
+        assertTrue(status.isComplete());
+        assertEquals(100000L, status.getOffset(), 0L);
+        assertArrayEquals(bytes, Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testTransferChannelNoProgress() throws Exception {
+        final byte[] bytes = new RandomStringGenerator.Builder().build().generate(100000).getBytes();
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        Files.write(source.toPath(), bytes);
+        final File target = File.createTempFile("target", null);
+        target.deleteOnExit();
+        final TransferStatus status = new TransferStatus();
+        new StreamCopier(status, status).withOffset(1000L).withLimit(50000L).transfer(
+                new FileChannelInputStream(new StalledFileChannel(new FileInputStream(source).getChannel())),
+                new FileOutputStream(target));
+        assertTrue(status.isComplete());
+        assertEquals(50000L, status.getOffset(), 0L);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 1000, 51000), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testChannelThrottled() throws Exception {
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        assertNotNull(StreamCopier.channel(new FileInputStream(source)));
+        assertNull(StreamCopier.channel(new ThrottledInputStream(new FileInputStream(source), new BandwidthThrottle(1024))));
+        assertNull(StreamCopier.channel(new NullInputStream(0L)));
+    }
+
+    @Test
+    public void testTransferRepeatableFileInputStream() throws Exception {
+        final byte[] bytes = new RandomStringGenerator.Builder().build().generate(100000).getBytes();
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        Files.write(source.toPath(), bytes);
+        final File target = File.createTempFile("target", null);
+        target.deleteOnExit();
+        final LocalRepeatableFileInputStream in = new LocalRepeatableFileInputStream(source);
+        assertNotNull(StreamCopier.channel(in));
+        in.mark(0);
+        final TransferStatus status = new TransferStatus();
+        new StreamCopier(status, status).withOffset(1000L).transfer(in, new FileOutputStream(target));
+        assertTrue(status.isComplete());
+        assertEquals(99000L, status.getOffset(), 0L);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 1000, 100000), Files.readAllBytes(target.toPath()));
+    }
+
+    @Test
+    public void testRepeatableFileInputStreamReset() throws Exception {
+        final byte[] bytes = new RandomStringGenerator.Builder().build().generate(1000).getBytes();
+        final File source = File.createTempFile("source", null);
+        source.deleteOnExit();
+        Files.write(source.toPath(), bytes);
+        final LocalRepeatableFileInputStream in = new LocalRepeatableFileInputStream(source);
+        assertEquals(100L, in.skip(100L));
+        in.mark(0);
+        final byte[] buffer = new byte[10];
+        IOUtils.readFully(in, buffer);
+        in.reset();
+        final byte[] repeated = new byte[10];
+        IOUtils.readFully(in, repeated);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 100, 110), repeated);
+        in.close();
+    }
+
+    /**
+     * Never transfers any bytes to other channel
+     */
+    private static final class StalledFileChannel extends FileChannel {
+        private final FileChannel proxy;
+
+        public StalledFileChannel(final FileChannel proxy) {
+            this.proxy = proxy;
+        }
+
+        @Override
+        public long transferTo(final long position, final long count, final WritableByteChannel target) {
+            return 0L;
+        }
+
+        @Override
+        public long transferFrom(final ReadableByteChannel src, final long position, final long count) {
+            return 0L;
+        }
+
+        @Override
+        public int read(final ByteBuffer dst) throws IOException {
+            return proxy.read(dst);
+        }
+
+        @Override
+        public long read(final ByteBuffer[] dsts, final int offset, final int length) throws IOException {
+            return proxy.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(final ByteBuffer dst, final long position) throws IOException {
+            return proxy.read(dst, position);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            return proxy.write(src);
+        }
+
+        @Override
+        public long write(final ByteBuffer[] srcs, final int offset, final int length) throws IOException {
+            return proxy.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(final ByteBuffer src, final long position) throws IOException {
+            return proxy.write(src, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return proxy.position();
+        }
+
+        @Override
+        public FileChannel position(final long newPosition) throws IOException {
+            proxy.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return proxy.size();
+        }
+
+        @Override
+        public FileChannel truncate(final long size) throws IOException {
+            proxy.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(final boolean metaData) throws IOException {
+            proxy.force(metaData);
+        }
+
+        @Override
+        public MappedByteBuffer map(final MapMode mode, final long position, final long size) throws IOException {
+            return proxy.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(final long position, final long size, final boolean shared) throws IOException {
+            return proxy.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(final long position, final long size, final boolean shared) throws IOException {
+            return proxy.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            proxy.close();
+        }
+    }
 }
@@ -6,9 +6,12 @@ import ch.cyberduck.core.exception.AccessDeniedException;
 import ch.cyberduck.core.exception.LocalAccessDeniedException;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -33,6 +36,22 @@ public class LocalTest {
         l.getInputStream();
     }
 
+    @Test
+    public void testWriteAtPosition() throws Exception {
+        final String name = UUID.randomUUID().toString();
+        final TestLocal l = new TestLocal(System.getProperty("java.io.tmpdir") + "/" + name);
+        final OutputStream second = l.getOutputStream(2L);
+        second.write(new byte[]{3, 4});
+        second.close();
+        final OutputStream first = l.getOutputStream(0L);
+        first.write(new byte[]{1, 2});
+        first.close();
+        final InputStream in = l.getInputStream();
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, IOUtils.toByteArray(in));
+        in.close();
+        l.delete();
+    }
+
     @Test
     public void testGetParent() throws Exception {
         assertNotNull(new TestLocal(System.getProperty("java.io.tmpdir")).getParent());
@@ -0,0 +1,73 @@
+package ch.cyberduck.core.metrics;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.CountingMetrics;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.features.Copy;
+
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import static org.junit.Assert.*;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testDisabled() {
+        final MetricsRegistry registry = new MetricsRegistry(false);
+        registry.increment("transfer/1", "bytes", 1L);
+        registry.record("transfer/1", "throughput", 1L);
+        assertEquals(0L, registry.getCounter("transfer/1", "bytes"));
+        assertNull(registry.getHistogram("transfer/1", "throughput"));
+        assertEquals(0, registry.toJson().size());
+    }
+
+    @Test
+    public void testRecord() {
+        final MetricsRegistry registry = new MetricsRegistry(true);
+        final Host host = new Host(new TestProtocol(), "h");
+        registry.increment(host, "retries", 1L);
+        registry.increment(host, "retries", 2L);
+        registry.record(host, "read.latency", 5L);
+        registry.record(host, "read.latency", 50L);
+        assertEquals(3L, registry.getCounter(MetricsRegistry.host(host), "retries"));
+        assertEquals(3L, registry.getCounter(MetricsRegistry.protocol(host), "retries"));
+        final Histogram histogram = registry.getHistogram(MetricsRegistry.host(host), "read.latency");
+        assertEquals(2L, histogram.getCount());
+        assertEquals(5L, histogram.getMin());
+        assertEquals(50L, histogram.getMax());
+        assertEquals(27L, histogram.getMean());
+        final JsonObject json = registry.toJson().getAsJsonObject(MetricsRegistry.host(host));
+        assertEquals(3L, json.get("retries").getAsLong());
+        assertEquals(2L, json.getAsJsonObject("read.latency").get("count").getAsLong());
+        assertEquals(1L, json.getAsJsonObject("read.latency").getAsJsonObject("buckets").get("<10").getAsLong());
+    }
+
+    @Test
+    public void testCountingMetrics() {
+        final MetricsRegistry registry = new MetricsRegistry(true);
+        final Host host = new Host(new TestProtocol(), "h");
+        final CountingMetrics metrics = new CountingMetrics(registry, host);
+        metrics.increment(Copy.class);
+        metrics.increment(Copy.class);
+        assertEquals(2L, metrics.get(Copy.class));
+        assertEquals(2L, registry.getCounter(MetricsRegistry.host(host), "feature.copy"));
+        assertEquals(2L, registry.getCounter(MetricsRegistry.protocol(host), "feature.copy"));
+    }
+}
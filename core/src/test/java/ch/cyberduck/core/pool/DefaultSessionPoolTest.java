@@ -39,9 +39,12 @@ import org.junit.Test;
 
 import java.net.SocketException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class DefaultSessionPoolTest {
 
@@ -124,4 +127,59 @@ public class DefaultSessionPoolTest {
         pool.release(session, new BackgroundException("m", "d"));
         assertFalse(interrupt.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWarmup() throws Exception {
+        final DefaultSessionPool pool = new DefaultSessionPool(new TestLoginConnectionService(), new DisabledX509TrustManager(), new DefaultX509KeyManager(),
+                new DefaultVaultRegistry(new DisabledPasswordCallback()), PathCache.empty(), new DisabledTranscriptListener(), new Host(new TestProtocol()))
+                .withMaxIdle(5);
+        assertEquals(0, pool.getNumIdle());
+        pool.warmup(3, BackgroundActionState.running);
+        assertEquals(3, pool.getNumIdle());
+        assertEquals(0, pool.getNumActive());
+        pool.warmup(10, BackgroundActionState.running);
+        assertEquals(5, pool.getNumIdle());
+    }
+
+    @Test
+    public void testRecoverMaxIdleAfterRelease() throws Exception {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Host bookmark = new Host(new TestProtocol());
+        final TestLoginConnectionService connect = new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) throws BackgroundException {
+                if(attempts.incrementAndGet() == 1) {
+                    throw new ConnectionRefusedException("t", new SocketException("t"));
+                }
+                return true;
+            }
+        };
+        final GenericObjectPool<Session> impl = new GenericObjectPool<Session>(new PooledSessionFactory(connect, new DisabledX509TrustManager(), new DefaultX509KeyManager(),
+                PathCache.empty(), bookmark, new DefaultVaultRegistry(new DisabledPasswordCallback())) {
+            @Override
+            public Session create() {
+                return new NullSession(bookmark);
+            }
+        });
+        impl.setMaxIdle(3);
+        final DefaultSessionPool pool = new DefaultSessionPool(connect,
+                new DefaultVaultRegistry(new DisabledPasswordCallback()), PathCache.empty(), new DisabledTranscriptListener(), bookmark, impl);
+        try {
+            pool.borrow(BackgroundActionState.running);
+            fail();
+        }
+        catch(ConnectionRefusedException e) {
+            //
+        }
+        assertEquals(2, impl.getMaxIdle());
+        final Session<?> session = pool.borrow(BackgroundActionState.running);
+        // Not raised before session is released without failure
+        assertEquals(2, impl.getMaxIdle());
+        pool.release(session, new BackgroundException("m", new SocketException("m")));
+        assertEquals(2, impl.getMaxIdle());
+        pool.release(pool.borrow(BackgroundActionState.running), null);
+        assertEquals(3, impl.getMaxIdle());
+        pool.release(pool.borrow(BackgroundActionState.running), null);
+        assertEquals(3, impl.getMaxIdle());
+    }
+}
@@ -11,6 +11,10 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CertificateStoreX509TrustManagerTest {
 
@@ -48,4 +52,39 @@ public class CertificateStoreX509TrustManagerTest {
         X509Certificate cert = (X509Certificate) cf.generateCertificate(inStream);
         m.checkServerTrusted(new X509Certificate[]{cert}, "RSA");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testValidationNotSharedWithOtherStore() throws Exception {
+        final TrustManagerHostnameCallback callback = new TrustManagerHostnameCallback() {
+            @Override
+            public String getTarget() {
+                return "cyberduck.ch";
+            }
+        };
+        final CertificateFactory cf = CertificateFactory.getInstance("X.509");
+        final X509Certificate cert = (X509Certificate) cf.generateCertificate(
+                new FileInputStream("src/test/resources//OXxlRDVcWqdPEvFm.cer")
+        );
+        new CertificateStoreX509TrustManager(callback, new DisabledCertificateStore() {
+            @Override
+            public boolean isTrusted(final String hostname, List<X509Certificate> certificates) {
+                return true;
+            }
+        }).checkServerTrusted(new X509Certificate[]{cert}, "RSA");
+        final AtomicBoolean verified = new AtomicBoolean();
+        try {
+            new CertificateStoreX509TrustManager(callback, new DisabledCertificateStore() {
+                @Override
+                public boolean isTrusted(final String hostname, List<X509Certificate> certificates) {
+                    verified.set(true);
+                    return false;
+                }
+            }).checkServerTrusted(new X509Certificate[]{cert}, "RSA");
+            fail();
+        }
+        catch(CertificateException e) {
+            // Expected
+        }
+        assertTrue(verified.get());
+    }
+}
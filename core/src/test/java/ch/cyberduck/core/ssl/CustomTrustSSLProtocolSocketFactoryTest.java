@@ -6,7 +6,10 @@ import ch.cyberduck.core.TestProtocol;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class CustomTrustSSLProtocolSocketFactoryTest {
 
@@ -16,4 +19,32 @@ public class CustomTrustSSLProtocolSocketFactoryTest {
                 new DisabledCertificateStore(),
                 new Host(new TestProtocol()))).getSSLContext());
     }
+
+    @Test
+    public void testSharedSSLContext() throws Exception {
+        final DefaultX509TrustManager trust = new DefaultX509TrustManager();
+        final CertificateStoreX509KeyManager key = new CertificateStoreX509KeyManager(
+                new DisabledCertificateStore(), new Host(new TestProtocol()));
+        assertSame(new CustomTrustSSLProtocolSocketFactory(trust, key).getSSLContext(),
+                new CustomTrustSSLProtocolSocketFactory(trust, key).getSSLContext());
+        assertNotSame(new CustomTrustSSLProtocolSocketFactory(trust, key).getSSLContext(),
+                new CustomTrustSSLProtocolSocketFactory(new DefaultX509TrustManager(), key).getSSLContext());
+    }
+
+    @Test
+    public void testSharedSSLContextForSessionsOfPool() throws Exception {
+        // Trust manager of pool wrapped by every session
+        final DefaultX509TrustManager trust = new DefaultX509TrustManager();
+        final CertificateStoreX509KeyManager key = new CertificateStoreX509KeyManager(
+                new DisabledCertificateStore(), new Host(new TestProtocol()));
+        final ThreadLocalHostnameDelegatingTrustManager first = new ThreadLocalHostnameDelegatingTrustManager(trust, "a.localhost");
+        final ThreadLocalHostnameDelegatingTrustManager second = new ThreadLocalHostnameDelegatingTrustManager(trust, "a.localhost");
+        assertSame(new CustomTrustSSLProtocolSocketFactory(first, key).getSSLContext(),
+                new CustomTrustSSLProtocolSocketFactory(second, key).getSSLContext());
+        assertNotSame(new CustomTrustSSLProtocolSocketFactory(first, key).getSSLContext(),
+                new CustomTrustSSLProtocolSocketFactory(new ThreadLocalHostnameDelegatingTrustManager(new DefaultX509TrustManager(), "a.localhost"), key).getSSLContext());
+        // Hostname set for connection of second session is verified by trust manager of first session
+        second.setTarget("b.localhost");
+        assertEquals("b.localhost", first.getTarget());
+    }
 }
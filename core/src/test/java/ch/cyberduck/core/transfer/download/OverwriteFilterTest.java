@@ -2,6 +2,7 @@ package ch.cyberduck.core.transfer.download;
 
 import ch.cyberduck.core.DisabledProgressListener;
 import ch.cyberduck.core.Host;
+import ch.cyberduck.core.Local;
 import ch.cyberduck.core.LocalAttributes;
 import ch.cyberduck.core.NullLocal;
 import ch.cyberduck.core.NullSession;
@@ -13,8 +14,12 @@ import ch.cyberduck.core.local.DefaultLocalTouchFeature;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.symlink.DisabledDownloadSymlinkResolver;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.UUID;
 
@@ -56,6 +61,37 @@ public class OverwriteFilterTest {
         assertEquals(8L, status.getLength(), 0L);
     }
 
+    @Test
+    public void testApplyInplaceDiscardSegmentsIndex() throws Exception {
+        final OverwriteFilter f = new OverwriteFilter(new DisabledDownloadSymlinkResolver(), new NullSession(new Host(new TestProtocol())));
+        final Local local = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final OutputStream out = local.getOutputStream(false);
+        IOUtils.write(new byte[]{1, 1, 1, 1, 1, 1}, out);
+        out.close();
+        // Left by previous incomplete download
+        final SegmentsIndex index = new SegmentsIndex(local);
+        index.create();
+        index.add(0L, 2L);
+        try {
+            final TransferStatus status = new TransferStatus().length(4L).withSegments(Collections.singletonList(
+                    new TransferStatus().segment(true).inplace(true).length(4L)));
+            f.apply(new Path("a", EnumSet.of(Path.Type.file)), local, status, new DisabledProgressListener());
+            assertTrue(index.exists());
+            assertTrue(index.get().isEmpty());
+            final InputStream in = local.getInputStream();
+            try {
+                assertArrayEquals(new byte[4], IOUtils.toByteArray(in));
+            }
+            finally {
+                in.close();
+            }
+        }
+        finally {
+            index.delete();
+            local.delete();
+        }
+    }
+
     @Test
     public void testPrepareAttributes() throws Exception {
         OverwriteFilter f = new OverwriteFilter(new DisabledDownloadSymlinkResolver(), new NullSession(new Host(new TestProtocol())));
@@ -2,20 +2,26 @@ package ch.cyberduck.core.transfer.download;
 
 import ch.cyberduck.core.DisabledProgressListener;
 import ch.cyberduck.core.Host;
+import ch.cyberduck.core.Local;
 import ch.cyberduck.core.LocalAttributes;
 import ch.cyberduck.core.NullLocal;
+import ch.cyberduck.core.NullReadFeature;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.TestProtocol;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.Read;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.shared.DefaultDownloadFeature;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.symlink.DisabledDownloadSymlinkResolver;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
+import java.io.OutputStream;
 import java.util.EnumSet;
+import java.util.UUID;
 
 import static org.junit.Assert.*;
 
@@ -141,4 +147,93 @@ public class ResumeFilterTest {
         final TransferStatus status = f.prepare(p, local, new TransferStatus(), new DisabledProgressListener());
         assertFalse(status.isAppend());
     }
+
+    @Test
+    public void testAcceptSegmentsIndexInplaceOnly() throws Exception {
+        final Local local = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final OutputStream out = local.getOutputStream(false);
+        IOUtils.write(new byte[2], out);
+        out.close();
+        final SegmentsIndex index = new SegmentsIndex(local);
+        index.create();
+        try {
+            final Path p = new Path("a", EnumSet.of(Path.Type.file));
+            p.attributes().setSize(2L);
+            PreferencesFactory.get().setProperty("queue.download.segments.inplace", false);
+            try {
+                // Index ignored when not downloading in place and complete file skipped
+                assertFalse(new ResumeFilter(new DisabledDownloadSymlinkResolver(), new NullSession(new Host(new TestProtocol())))
+                        .accept(p, local, new TransferStatus()));
+            }
+            finally {
+                PreferencesFactory.get().deleteProperty("queue.download.segments.inplace");
+            }
+            PreferencesFactory.get().setProperty("queue.download.segments.inplace", true);
+            try {
+                // Allocated file with final size is incomplete
+                assertTrue(new ResumeFilter(new DisabledDownloadSymlinkResolver(), new NullSession(new Host(new TestProtocol())))
+                        .accept(p, local, new TransferStatus()));
+            }
+            finally {
+                PreferencesFactory.get().deleteProperty("queue.download.segments.inplace");
+            }
+        }
+        finally {
+            index.delete();
+            local.delete();
+        }
+    }
+
+    @Test
+    public void testPrepareResumeInplace() throws Exception {
+        final NullSession session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Read.class) {
+                    return (T) new NullReadFeature() {
+                        @Override
+                        public boolean offset(final Path file) {
+                            return true;
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final Local local = new Local(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        final OutputStream out = local.getOutputStream(false);
+        IOUtils.write(new byte[4], out);
+        out.close();
+        final SegmentsIndex index = new SegmentsIndex(local);
+        index.create();
+        index.add(0L, 2L);
+        PreferencesFactory.get().setProperty("queue.download.segments", true);
+        PreferencesFactory.get().setProperty("queue.download.segments.inplace", true);
+        PreferencesFactory.get().setProperty("queue.download.segments.threshold", 0L);
+        PreferencesFactory.get().setProperty("queue.download.segments.size", 1L);
+        PreferencesFactory.get().setProperty("queue.connections.limit", 2);
+        try {
+            final Path p = new Path("a", EnumSet.of(Path.Type.file));
+            p.attributes().setSize(4L);
+            final TransferStatus status = new ResumeFilter(new DisabledDownloadSymlinkResolver(), session)
+                    .prepare(p, local, new TransferStatus().exists(true), new DisabledProgressListener());
+            assertTrue(status.isSegmented());
+            // Completed first segment is skipped
+            assertEquals(1, status.getSegments().size());
+            assertEquals(2L, status.getSegments().get(0).getOffset());
+            assertEquals(2L, status.getSegments().get(0).getLength());
+            assertTrue(status.getSegments().get(0).isInplace());
+            assertTrue(status.isAppend());
+        }
+        finally {
+            PreferencesFactory.get().deleteProperty("queue.download.segments");
+            PreferencesFactory.get().deleteProperty("queue.download.segments.inplace");
+            PreferencesFactory.get().deleteProperty("queue.download.segments.threshold");
+            PreferencesFactory.get().deleteProperty("queue.download.segments.size");
+            PreferencesFactory.get().deleteProperty("queue.connections.limit");
+            index.delete();
+            local.delete();
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package ch.cyberduck.core.vault;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.DisabledListProgressListener;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.NullSession;
+import ch.cyberduck.core.PasswordCallback;
+import ch.cyberduck.core.PasswordStore;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.features.Vault;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DecryptingListProgressListenerTest {
+
+    @Test
+    public void testDecryptOnceInParallel() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Set<Thread> workers = Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+        final Thread main = Thread.currentThread();
+        final Vault vault = new Vault() {
+            @Override
+            public Path create(final Session<?> session, final String region, final VaultCredentials credentials, final PasswordStore keychain) {
+                return null;
+            }
+
+            @Override
+            public Vault load(final Session<?> session, final PasswordCallback prompt, final PasswordStore keychain) {
+                return this;
+            }
+
+            @Override
+            public void close() {
+                //
+            }
+
+            @Override
+            public boolean contains(final Path file) {
+                return true;
+            }
+
+            @Override
+            public Path encrypt(final Session<?> session, final Path file) {
+                return file;
+            }
+
+            @Override
+            public Path encrypt(final Session<?> session, final Path file, final boolean metadata) {
+                return file;
+            }
+
+            @Override
+            public Path decrypt(final Session<?> session, final Path file) {
+                count.incrementAndGet();
+                if(Thread.currentThread() != main) {
+                    workers.add(Thread.currentThread());
+                }
+                return new Path(file.getParent(), String.format("%s.decrypted", file.getName()), EnumSet.of(Path.Type.file, Path.Type.decrypted));
+            }
+
+            @Override
+            public long toCiphertextSize(final long cleartextFileSize) {
+                return cleartextFileSize;
+            }
+
+            @Override
+            public long toCleartextSize(final long ciphertextFileSize) {
+                return ciphertextFileSize;
+            }
+
+            @Override
+            public <T> T getFeature(final Session<?> session, final Class<T> type, final T delegate) {
+                return delegate;
+            }
+
+            @Override
+            public State getState() {
+                return State.open;
+            }
+
+            @Override
+            public Path getHome() {
+                return new Path("/", EnumSet.of(Path.Type.directory));
+            }
+        };
+        final DecryptingListProgressListener listener = new DecryptingListProgressListener(
+                new NullSession(new Host(new TestProtocol())), vault, new DisabledListProgressListener(), 4, 10);
+        final Path folder = new Path("/", EnumSet.of(Path.Type.directory));
+        final AttributedList<Path> list = new AttributedList<Path>();
+        for(int i = 0; i < 5; i++) {
+            list.add(new Path(folder, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        // Sequential
+        listener.chunk(folder, list);
+        assertEquals(5, count.get());
+        for(int i = 5; i < 50; i++) {
+            list.add(new Path(folder, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        // Parallel
+        listener.chunk(folder, list);
+        assertEquals(50, count.get());
+        for(int i = 50; i < 100; i++) {
+            list.add(new Path(folder, String.valueOf(i), EnumSet.of(Path.Type.file)));
+        }
+        // Parallel with same pool
+        listener.chunk(folder, list);
+        listener.shutdown();
+        assertEquals(100, count.get());
+        assertTrue(workers.size() <= 4);
+        for(int i = 0; i < 100; i++) {
+            assertEquals(String.format("%d.decrypted", i), list.get(i).getName());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ch.cyberduck.core.vault.registry;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.DisabledListProgressListener;
+import ch.cyberduck.core.DisabledPasswordCallback;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.NullSession;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.RecursiveListService;
+import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.UnsupportedException;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class VaultRegistryRecursiveListServiceTest {
+
+    private static RecursiveListService service() {
+        return new RecursiveListService() {
+            @Override
+            public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
+                final AttributedList<Path> list = new AttributedList<Path>();
+                final Path folder = new Path(directory, "a", EnumSet.of(Path.Type.directory));
+                list.add(folder);
+                list.add(new Path(folder, "f", EnumSet.of(Path.Type.file)));
+                list.add(new Path(folder, DefaultVaultRegistry.DEFAULT_MASTERKEY_FILE_NAME, EnumSet.of(Path.Type.file)));
+                listener.chunk(directory, list);
+                return list;
+            }
+        };
+    }
+
+    @Test(expected = UnsupportedException.class)
+    public void testListVaultInSubdirectory() throws Exception {
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        new VaultRegistryRecursiveListService(new NullSession(new Host(new TestProtocol())), service(),
+                new DefaultVaultRegistry(new DisabledPasswordCallback())).withAutodetect(true)
+                .list(directory, new DisabledListProgressListener());
+    }
+
+    @Test
+    public void testListNoAutodetect() throws Exception {
+        final Path directory = new Path("/d", EnumSet.of(Path.Type.directory));
+        assertEquals(3, new VaultRegistryRecursiveListService(new NullSession(new Host(new TestProtocol())), service(),
+                new DefaultVaultRegistry(new DisabledPasswordCallback())).withAutodetect(false)
+                .list(directory, new DisabledListProgressListener()).size());
+    }
+}
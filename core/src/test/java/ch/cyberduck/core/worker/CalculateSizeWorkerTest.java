@@ -1,14 +1,29 @@
 package ch.cyberduck.core.worker;
 
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.DisabledPasswordCallback;
 import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.DisabledTranscriptListener;
 import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.PathCache;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestLoginConnectionService;
 import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.pool.StatefulSessionPool;
+import ch.cyberduck.core.pool.StatelessSessionPool;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
 
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -46,4 +61,91 @@ public class CalculateSizeWorkerTest {
             }
         }.run(new NullSession(new Host(new TestProtocol()))), 0L);
     }
+
+    @Test
+    public void testRunConcurrent() throws Exception {
+        final Path directory = new Path("/t", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(directory)) {
+                    final Path a = new Path(file, "a", EnumSet.of(Path.Type.file));
+                    a.attributes().setSize(1L);
+                    return new AttributedList<Path>(Arrays.asList(a, new Path(file, "d", EnumSet.of(Path.Type.directory))));
+                }
+                if(file.equals(new Path("/t/d", EnumSet.of(Path.Type.directory)))) {
+                    final Path b = new Path(file, "b", EnumSet.of(Path.Type.file));
+                    b.attributes().setSize(2L);
+                    return new AttributedList<Path>(Arrays.asList(b, new Path(file, "e", EnumSet.of(Path.Type.directory))));
+                }
+                if(file.equals(new Path("/t/d/e", EnumSet.of(Path.Type.directory)))) {
+                    final Path c = new Path(file, "c", EnumSet.of(Path.Type.file));
+                    c.attributes().setSize(4L);
+                    return new AttributedList<Path>(Collections.singletonList(c));
+                }
+                return AttributedList.emptyList();
+            }
+        };
+        final StatelessSessionPool pool = new StatelessSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        assertEquals(7L, new CalculateSizeWorker(Collections.singletonList(directory),
+                new DisabledProgressListener(), pool, 2) {
+            @Override
+            protected void update(final long size) {
+                //
+            }
+        }.run(session), 0L);
+        assertEquals(7L, directory.attributes().getSize());
+    }
+
+    @Test(timeout = 10000L)
+    public void testRunStatefulPool() throws Exception {
+        final Path directory = new Path("/t", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(directory)) {
+                    final Path a = new Path(file, "a", EnumSet.of(Path.Type.file));
+                    a.attributes().setSize(1L);
+                    return new AttributedList<Path>(Arrays.asList(a, new Path(file, "d", EnumSet.of(Path.Type.directory))));
+                }
+                if(file.equals(new Path("/t/d", EnumSet.of(Path.Type.directory)))) {
+                    final Path b = new Path(file, "b", EnumSet.of(Path.Type.file));
+                    b.attributes().setSize(2L);
+                    return new AttributedList<Path>(Arrays.asList(b, new Path(file, "e", EnumSet.of(Path.Type.directory))));
+                }
+                if(file.equals(new Path("/t/d/e", EnumSet.of(Path.Type.directory)))) {
+                    final Path c = new Path(file, "c", EnumSet.of(Path.Type.file));
+                    c.attributes().setSize(4L);
+                    return new AttributedList<Path>(Collections.singletonList(c));
+                }
+                return AttributedList.emptyList();
+            }
+        };
+        final StatefulSessionPool pool = new StatefulSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        // Connection held by worker
+        final Session<?> borrowed = pool.borrow(BackgroundActionState.running);
+        try {
+            assertEquals(7L, new CalculateSizeWorker(Collections.singletonList(directory),
+                    new DisabledProgressListener(), pool, 2) {
+                @Override
+                protected void update(final long size) {
+                    //
+                }
+            }.run(borrowed), 0L);
+        }
+        finally {
+            pool.release(borrowed, null);
+        }
+        assertEquals(7L, directory.attributes().getSize());
+    }
 }
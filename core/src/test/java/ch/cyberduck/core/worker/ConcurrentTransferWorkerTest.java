@@ -275,4 +275,34 @@ public class ConcurrentTransferWorkerTest {
 
     }
 
+    @Test
+    public void testAwaitPending() throws Exception {
+        final Host host = new Host(new TestProtocol(), "localhost", new Credentials("u", "p"));
+        final Transfer transfer = new UploadTransfer(host,
+                new Path("/t", EnumSet.of(Path.Type.directory)),
+                new NullLocal("l"));
+        final LoginConnectionService connection = new TestLoginConnectionService();
+        final ConcurrentTransferWorker worker = new ConcurrentTransferWorker(
+                new DefaultSessionPool(connection, new DisabledX509TrustManager(), new DefaultX509KeyManager(),
+                        new DefaultVaultRegistry(new DisabledPasswordCallback()),
+                        PathCache.empty(), new DisabledTranscriptListener(), host), SessionPool.DISCONNECTED, transfer, new TransferOptions(), new TransferSpeedometer(transfer), new DisabledTransferPrompt(), new DisabledTransferErrorCallback(),
+                new DisabledLoginCallback(), new DisabledPasswordCallback(), new DisabledProgressListener(), new DisabledStreamListener()
+        );
+        int workers = 1000;
+        final CountDownLatch entry = new CountDownLatch(workers);
+        for(int i = 0; i < workers; i++) {
+            worker.submit(new TransferWorker.TransferCallable() {
+                @Override
+                public TransferStatus call() throws BackgroundException {
+                    entry.countDown();
+                    return new TransferStatus().complete();
+                }
+            });
+        }
+        worker.await(10);
+        assertTrue(entry.getCount() <= 10);
+        worker.await();
+        assertTrue(entry.getCount() == 0);
+    }
+
 }
@@ -2,22 +2,33 @@ package ch.cyberduck.core.worker;
 
 import ch.cyberduck.core.AbstractPath;
 import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Cache;
 import ch.cyberduck.core.DisabledLoginCallback;
+import ch.cyberduck.core.DisabledPasswordCallback;
 import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.DisabledTranscriptListener;
 import ch.cyberduck.core.Host;
 import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.NullFilter;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.PasswordCallback;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathCache;
 import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestLoginConnectionService;
 import ch.cyberduck.core.TestProtocol;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.UnsupportedException;
 import ch.cyberduck.core.features.Delete;
+import ch.cyberduck.core.pool.SessionPool;
+import ch.cyberduck.core.pool.StatefulSessionPool;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -175,4 +186,168 @@ public class DeleteWorkerTest {
             PathCache.empty(), new DisabledProgressListener());
         worker.run(session);
     }
+
+    @Test
+    public void testStreamBatches() throws Exception {
+        final List<List<Path>> batches = new ArrayList<List<Path>>();
+        final Session session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Delete.class) {
+                    return (T) new Delete() {
+                        @Override
+                        public void delete(final List<Path> files, final PasswordCallback prompt, final Callback callback) throws BackgroundException {
+                            batches.add(new ArrayList<Path>(files));
+                        }
+
+                        @Override
+                        public boolean isSupported(final Path file) {
+                            return true;
+                        }
+
+                        @Override
+                        public boolean isRecursive() {
+                            return false;
+                        }
+                    };
+                }
+                return (T) super._getFeature(type);
+            }
+
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(new Path("/t", EnumSet.of(Path.Type.directory)))) {
+                    return new AttributedList<Path>(Arrays.asList(
+                        new Path("/t/a", EnumSet.of(Path.Type.file)),
+                        new Path("/t/d", EnumSet.of(Path.Type.directory))
+                    ));
+                }
+                if(file.equals(new Path("/t/d", EnumSet.of(Path.Type.directory)))) {
+                    return new AttributedList<Path>(Arrays.asList(
+                        new Path("/t/d/b", EnumSet.of(Path.Type.file))
+                    ));
+                }
+                fail();
+                return null;
+            }
+        };
+        final DeleteWorker worker = new DeleteWorker(new DisabledLoginCallback(),
+            Collections.singletonList(new Path("/t", EnumSet.of(Path.Type.directory))),
+            PathCache.empty(), new NullFilter<Path>(), new DisabledProgressListener(), SessionPool.DISCONNECTED, 1, 1);
+        assertEquals(4, worker.run(session).size());
+        assertEquals(3, batches.size());
+        assertEquals(Collections.singletonList(new Path("/t/a", EnumSet.of(Path.Type.file))), batches.get(0));
+        assertEquals(Collections.singletonList(new Path("/t/d/b", EnumSet.of(Path.Type.file))), batches.get(1));
+        // Parents after children
+        assertEquals(Arrays.asList(new Path("/t/d", EnumSet.of(Path.Type.directory)), new Path("/t", EnumSet.of(Path.Type.directory))), batches.get(2));
+    }
+
+    @Test(timeout = 10000L)
+    public void testStreamStatefulPool() throws Exception {
+        final List<Path> deleted = new ArrayList<Path>();
+        final Session session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Delete.class) {
+                    return (T) new Delete() {
+                        @Override
+                        public void delete(final List<Path> files, final PasswordCallback prompt, final Callback callback) throws BackgroundException {
+                            deleted.addAll(files);
+                        }
+
+                        @Override
+                        public boolean isSupported(final Path file) {
+                            return true;
+                        }
+
+                        @Override
+                        public boolean isRecursive() {
+                            return false;
+                        }
+                    };
+                }
+                return (T) super._getFeature(type);
+            }
+
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) throws BackgroundException {
+                final AttributedList<Path> list = new AttributedList<Path>(Arrays.asList(
+                    new Path(file, "a", EnumSet.of(Path.Type.file)),
+                    new Path(file, "b", EnumSet.of(Path.Type.file))
+                ));
+                listener.chunk(file, list);
+                return list;
+            }
+        };
+        final StatefulSessionPool pool = new StatefulSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        // Connection held by worker
+        final Session<?> borrowed = pool.borrow(BackgroundActionState.running);
+        try {
+            final DeleteWorker worker = new DeleteWorker(new DisabledLoginCallback(),
+                Collections.singletonList(new Path("/t", EnumSet.of(Path.Type.directory))),
+                PathCache.empty(), new NullFilter<Path>(), new DisabledProgressListener(), pool, 1, 4);
+            assertEquals(3, worker.run(borrowed).size());
+            assertEquals(3, deleted.size());
+        }
+        finally {
+            pool.release(borrowed, null);
+        }
+    }
+
+    @Test(expected = UnsupportedException.class)
+    public void testStreamUnsupportedStopsListing() throws Exception {
+        final List<Path> deleted = new ArrayList<Path>();
+        final Session session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Delete.class) {
+                    return (T) new Delete() {
+                        @Override
+                        public void delete(final List<Path> files, final PasswordCallback prompt, final Callback callback) throws BackgroundException {
+                            deleted.addAll(files);
+                        }
+
+                        @Override
+                        public boolean isSupported(final Path file) {
+                            return !file.getName().equals("b");
+                        }
+
+                        @Override
+                        public boolean isRecursive() {
+                            return false;
+                        }
+                    };
+                }
+                return (T) super._getFeature(type);
+            }
+
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) throws BackgroundException {
+                final AttributedList<Path> list = new AttributedList<Path>(Arrays.asList(
+                    new Path(file, "a", EnumSet.of(Path.Type.file)),
+                    new Path(file, "b", EnumSet.of(Path.Type.file))
+                ));
+                listener.chunk(file, list);
+                return list;
+            }
+        };
+        final DeleteWorker worker = new DeleteWorker(new DisabledLoginCallback(),
+            Collections.singletonList(new Path("/t", EnumSet.of(Path.Type.directory))),
+            PathCache.empty(), new NullFilter<Path>(), new DisabledProgressListener(), SessionPool.DISCONNECTED, 10, 1);
+        try {
+            worker.run(session);
+        }
+        finally {
+            // Parent directory is never deleted
+            assertEquals(0, deleted.size());
+        }
+    }
 }
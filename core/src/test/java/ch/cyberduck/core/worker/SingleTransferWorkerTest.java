@@ -8,6 +8,7 @@ import ch.cyberduck.core.exception.NotfoundException;
 import ch.cyberduck.core.features.AttributesFinder;
 import ch.cyberduck.core.io.DisabledStreamListener;
 import ch.cyberduck.core.io.StreamListener;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.transfer.DisabledTransferErrorCallback;
 import ch.cyberduck.core.transfer.DisabledTransferPrompt;
 import ch.cyberduck.core.transfer.DownloadTransfer;
@@ -15,6 +16,7 @@ import ch.cyberduck.core.transfer.Transfer;
 import ch.cyberduck.core.transfer.TransferAction;
 import ch.cyberduck.core.transfer.TransferItem;
 import ch.cyberduck.core.transfer.TransferOptions;
+import ch.cyberduck.core.transfer.TransferPathFilter;
 import ch.cyberduck.core.transfer.TransferSpeedometer;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.transfer.UploadTransfer;
@@ -22,8 +24,13 @@ import ch.cyberduck.core.transfer.download.AbstractDownloadFilter;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
@@ -291,4 +298,210 @@ public class SingleTransferWorkerTest {
             throw e;
         }
     }
+
+    @Test
+    public void testPipeline() throws Exception {
+        final Path root = new Path("/t", EnumSet.of(Path.Type.directory));
+        final NullLocal local = new NullLocal("l") {
+            @Override
+            public AttributedList<Local> list() throws LocalAccessDeniedException {
+                final AttributedList<Local> l = new AttributedList<Local>();
+                for(String name : new String[]{"a", "b", "c"}) {
+                    l.add(new NullLocal(this.getAbsolute(), name) {
+                        @Override
+                        public boolean exists() {
+                            return true;
+                        }
+                    });
+                }
+                return l;
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+        };
+        final List<Integer> batches = new ArrayList<Integer>();
+        final List<Path> transferred = new ArrayList<Path>();
+        final List<Path> completed = new ArrayList<Path>();
+        final Map<Path, TransferStatus> table = new ConcurrentHashMap<Path, TransferStatus>();
+        final Transfer t = new UploadTransfer(new Host(new TestProtocol()), root, local) {
+            @Override
+            public void pre(final Session<?> source, final Session<?> destination, final Map<Path, TransferStatus> files, final ConnectionCallback callback) {
+                batches.add(files.size());
+            }
+
+            @Override
+            public TransferPathFilter filter(final Session<?> source, final Session<?> destination, final TransferAction action, final ProgressListener listener) {
+                final TransferPathFilter proxy = super.filter(source, destination, action, listener);
+                return new TransferPathFilter() {
+                    @Override
+                    public TransferPathFilter withCache(final Cache<Path> cache) {
+                        return this;
+                    }
+
+                    @Override
+                    public boolean accept(final Path file, final Local local, final TransferStatus parent) throws BackgroundException {
+                        return proxy.accept(file, local, parent);
+                    }
+
+                    @Override
+                    public TransferStatus prepare(final Path file, final Local local, final TransferStatus parent, final ProgressListener progress) throws BackgroundException {
+                        return proxy.prepare(file, local, parent, progress);
+                    }
+
+                    @Override
+                    public void apply(final Path file, final Local local, final TransferStatus status, final ProgressListener listener) {
+                        //
+                    }
+
+                    @Override
+                    public void complete(final Path file, final Local local, final TransferOptions options, final TransferStatus status, final ProgressListener listener) {
+                        completed.add(file);
+                    }
+                };
+            }
+
+            @Override
+            public Path transfer(final Session<?> source, final Session<?> destination, final Path file, Local local,
+                                 final TransferOptions options, final TransferStatus status,
+                                 final ConnectionCallback connectionCallback,
+                                 final PasswordCallback passwordCallback, final ProgressListener listener, final StreamListener streamListener) {
+                // Recorded with transfer status until complete
+                assertTrue(table.containsKey(file));
+                transferred.add(file);
+                return file;
+            }
+        };
+        final NullSession session = new NullSession(new Host(new TestProtocol()));
+        PreferencesFactory.get().setProperty("queue.transfer.pipeline", true);
+        PreferencesFactory.get().setProperty("queue.transfer.pipeline.size", 2);
+        try {
+            new SingleTransferWorker(session, session, t, new TransferOptions(), new TransferSpeedometer(t), new DisabledTransferPrompt() {
+                @Override
+                public TransferAction prompt(final TransferItem file) {
+                    return TransferAction.overwrite;
+                }
+            }, new DisabledTransferErrorCallback(),
+                    new DisabledProgressListener(), new DisabledStreamListener(), new DisabledLoginCallback(), new DisabledPasswordCallback(),
+                    new TransferItemCache(Integer.MAX_VALUE), table).run(session, session);
+        }
+        finally {
+            PreferencesFactory.get().deleteProperty("queue.transfer.pipeline");
+            PreferencesFactory.get().deleteProperty("queue.transfer.pipeline.size");
+        }
+        // Bulk features invoked once for root and per batch of children
+        assertEquals(3, batches.size());
+        assertEquals(1, batches.get(0).intValue());
+        assertEquals(2, batches.get(1).intValue());
+        assertEquals(1, batches.get(2).intValue());
+        assertEquals(4, transferred.size());
+        // Directory created before children are transferred
+        assertEquals(root, transferred.get(0));
+        assertEquals(4, completed.size());
+        // Directory completed after all children
+        assertEquals(root, completed.get(3));
+        assertTrue(table.isEmpty());
+    }
+
+    @Test
+    public void testPrepareThresholdExceeded() throws Exception {
+        final Path root = new Path("/t", EnumSet.of(Path.Type.directory));
+        final NullLocal local = new NullLocal("l") {
+            @Override
+            public AttributedList<Local> list() throws LocalAccessDeniedException {
+                final AttributedList<Local> l = new AttributedList<Local>();
+                for(String name : new String[]{"a", "b", "c"}) {
+                    l.add(new NullLocal(this.getAbsolute(), name) {
+                        @Override
+                        public boolean exists() {
+                            return true;
+                        }
+                    });
+                }
+                return l;
+            }
+
+            @Override
+            public boolean exists() {
+                return true;
+            }
+        };
+        final List<Integer> batches = new ArrayList<Integer>();
+        final List<Path> transferred = new ArrayList<Path>();
+        final List<Path> completed = new ArrayList<Path>();
+        final Transfer t = new UploadTransfer(new Host(new TestProtocol()), root, local) {
+            @Override
+            public void pre(final Session<?> source, final Session<?> destination, final Map<Path, TransferStatus> files, final ConnectionCallback callback) {
+                batches.add(files.size());
+            }
+
+            @Override
+            public TransferPathFilter filter(final Session<?> source, final Session<?> destination, final TransferAction action, final ProgressListener listener) {
+                final TransferPathFilter proxy = super.filter(source, destination, action, listener);
+                return new TransferPathFilter() {
+                    @Override
+                    public TransferPathFilter withCache(final Cache<Path> cache) {
+                        return this;
+                    }
+
+                    @Override
+                    public boolean accept(final Path file, final Local local, final TransferStatus parent) throws BackgroundException {
+                        return proxy.accept(file, local, parent);
+                    }
+
+                    @Override
+                    public TransferStatus prepare(final Path file, final Local local, final TransferStatus parent, final ProgressListener progress) throws BackgroundException {
+                        return proxy.prepare(file, local, parent, progress);
+                    }
+
+                    @Override
+                    public void apply(final Path file, final Local local, final TransferStatus status, final ProgressListener listener) {
+                        //
+                    }
+
+                    @Override
+                    public void complete(final Path file, final Local local, final TransferOptions options, final TransferStatus status, final ProgressListener listener) {
+                        completed.add(file);
+                    }
+                };
+            }
+
+            @Override
+            public Path transfer(final Session<?> source, final Session<?> destination, final Path file, Local local,
+                                 final TransferOptions options, final TransferStatus status,
+                                 final ConnectionCallback connectionCallback,
+                                 final PasswordCallback passwordCallback, final ProgressListener listener, final StreamListener streamListener) {
+                transferred.add(file);
+                return file;
+            }
+        };
+        final NullSession session = new NullSession(new Host(new TestProtocol()));
+        PreferencesFactory.get().setProperty("queue.transfer.cache.swap.threshold", 1);
+        try {
+            new SingleTransferWorker(session, session, t, new TransferOptions(), new TransferSpeedometer(t), new DisabledTransferPrompt() {
+                @Override
+                public TransferAction prompt(final TransferItem file) {
+                    return TransferAction.overwrite;
+                }
+            }, new DisabledTransferErrorCallback(),
+                    new DisabledProgressListener(), new DisabledStreamListener(), new DisabledLoginCallback(), new DisabledPasswordCallback()).run(session, session);
+        }
+        finally {
+            PreferencesFactory.get().deleteProperty("queue.transfer.cache.swap.threshold");
+        }
+        // Continued pipelined after more than one file accepted in advance
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(0).intValue());
+        assertEquals(3, batches.get(1).intValue());
+        // Each file transferred once
+        assertEquals(4, transferred.size());
+        assertEquals(4, new HashSet<Path>(transferred).size());
+        // Directory created before children are transferred
+        assertEquals(root, transferred.get(0));
+        assertEquals(4, completed.size());
+        // Directory completed after all children
+        assertEquals(root, completed.get(3));
+    }
 }
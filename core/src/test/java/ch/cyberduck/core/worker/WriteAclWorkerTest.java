@@ -1,14 +1,27 @@
 package ch.cyberduck.core.worker;
 
 import ch.cyberduck.core.Acl;
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.DisabledPasswordCallback;
 import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.DisabledTranscriptListener;
 import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.PathCache;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestLoginConnectionService;
 import ch.cyberduck.core.TestProtocol;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.AclPermission;
+import ch.cyberduck.core.pool.StatefulSessionPool;
+import ch.cyberduck.core.pool.StatelessSessionPool;
 import ch.cyberduck.core.shared.DefaultAclFeature;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
 
 import org.junit.Test;
 
@@ -16,6 +29,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -154,4 +168,125 @@ public class WriteAclWorkerTest {
 
         );
     }
+
+    @Test
+    public void testRunConcurrent() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Acl acl = new Acl(new Acl.EmailUser("e"), new Acl.Role("r"));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type.equals(AclPermission.class)) {
+                    return (T) new DefaultAclFeature() {
+                        @Override
+                        public Acl getPermission(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setPermission(final Path file, final Acl permission) throws BackgroundException {
+                            assertEquals(acl, permission);
+                            count.incrementAndGet();
+                        }
+
+                        @Override
+                        public List<Acl.User> getAvailableAclUsers() {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public List<Acl.Role> getAvailableAclRoles(final List<Path> files) {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatelessSessionPool pool = new StatelessSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        new WriteAclWorker(Collections.singletonList(a), acl, new BooleanRecursiveCallback<Acl>(true), new DisabledProgressListener(), pool).run(session);
+        assertEquals(3, count.get());
+    }
+
+    @Test(timeout = 10000L)
+    public void testRunStatefulPool() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Acl acl = new Acl(new Acl.EmailUser("e"), new Acl.Role("r"));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type.equals(AclPermission.class)) {
+                    return (T) new DefaultAclFeature() {
+                        @Override
+                        public Acl getPermission(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setPermission(final Path file, final Acl permission) throws BackgroundException {
+                            assertEquals(acl, permission);
+                            count.incrementAndGet();
+                        }
+
+                        @Override
+                        public List<Acl.User> getAvailableAclUsers() {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public List<Acl.Role> getAvailableAclRoles(final List<Path> files) {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatefulSessionPool pool = new StatefulSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        // Connection held by worker
+        final Session<?> borrowed = pool.borrow(BackgroundActionState.running);
+        try {
+            new WriteAclWorker(Collections.singletonList(a), acl, new BooleanRecursiveCallback<Acl>(true), new DisabledProgressListener(), pool).run(borrowed);
+        }
+        finally {
+            pool.release(borrowed, null);
+        }
+        assertEquals(3, count.get());
+    }
 }
@@ -1,14 +1,27 @@
 package ch.cyberduck.core.worker;
 
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.DisabledPasswordCallback;
 import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.DisabledTranscriptListener;
 import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.Local;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
+import ch.cyberduck.core.PathCache;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestLoginConnectionService;
 import ch.cyberduck.core.TestProtocol;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.Metadata;
+import ch.cyberduck.core.pool.StatefulSessionPool;
+import ch.cyberduck.core.pool.StatelessSessionPool;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
 
 import org.junit.Test;
 
@@ -20,6 +33,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -291,4 +305,113 @@ public class WriteMetadataWorkerTest {
         });
         assertTrue(call.get());
     }
+
+    @Test
+    public void testRunConcurrent() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Metadata.class) {
+                    return (T) new Metadata() {
+                        @Override
+                        public Map<String, String> getDefault(final Local local) {
+                            return Collections.emptyMap();
+                        }
+
+                        @Override
+                        public Map<String, String> getMetadata(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setMetadata(final Path file, final Map<String, String> metadata) throws BackgroundException {
+                            assertEquals(Collections.singletonMap("k", "v"), metadata);
+                            count.incrementAndGet();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatelessSessionPool pool = new StatelessSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        new WriteMetadataWorker(Collections.singletonList(a), Collections.singletonMap("k", "v"), new BooleanRecursiveCallback<String>(true), new DisabledProgressListener(), pool).run(session);
+        assertEquals(3, count.get());
+    }
+
+    @Test(timeout = 10000L)
+    public void testRunStatefulPool() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Metadata.class) {
+                    return (T) new Metadata() {
+                        @Override
+                        public Map<String, String> getDefault(final Local local) {
+                            return Collections.emptyMap();
+                        }
+
+                        @Override
+                        public Map<String, String> getMetadata(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setMetadata(final Path file, final Map<String, String> metadata) throws BackgroundException {
+                            assertEquals(Collections.singletonMap("k", "v"), metadata);
+                            count.incrementAndGet();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatefulSessionPool pool = new StatefulSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        // Connection held by worker
+        final Session<?> borrowed = pool.borrow(BackgroundActionState.running);
+        try {
+            new WriteMetadataWorker(Collections.singletonList(a), Collections.singletonMap("k", "v"), new BooleanRecursiveCallback<String>(true), new DisabledProgressListener(), pool).run(borrowed);
+        }
+        finally {
+            pool.release(borrowed, null);
+        }
+        assertEquals(3, count.get());
+    }
 }
@@ -19,24 +19,36 @@ package ch.cyberduck.core.worker;
  */
 
 import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.Cache;
+import ch.cyberduck.core.DisabledPasswordCallback;
 import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.DisabledTranscriptListener;
 import ch.cyberduck.core.Host;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.NullSession;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.PathCache;
 import ch.cyberduck.core.Permission;
 import ch.cyberduck.core.PermissionOverwrite;
+import ch.cyberduck.core.Session;
+import ch.cyberduck.core.TestLoginConnectionService;
 import ch.cyberduck.core.TestPermissionAttributes;
 import ch.cyberduck.core.TestProtocol;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.UnixPermission;
+import ch.cyberduck.core.pool.StatefulSessionPool;
+import ch.cyberduck.core.pool.StatelessSessionPool;
 import ch.cyberduck.core.shared.DefaultUnixPermissionFeature;
+import ch.cyberduck.core.threading.BackgroundActionState;
+import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.vault.DefaultVaultRegistry;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
@@ -274,4 +286,125 @@ public class WritePermissionWorkerTest {
             }
         });
     }
+
+    @Test
+    public void testRunConcurrent() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == UnixPermission.class) {
+                    return (T) new DefaultUnixPermissionFeature() {
+                        @Override
+                        public void setUnixOwner(final Path file, final String owner) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setUnixGroup(final Path file, final String group) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public Permission getUnixPermission(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setUnixPermission(final Path file, final Permission permission) throws BackgroundException {
+                            assertEquals(new Permission(644), permission);
+                            count.incrementAndGet();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatelessSessionPool pool = new StatelessSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        final WritePermissionWorker worker = new WritePermissionWorker(Collections.singletonList(a), new Permission(644),
+            new BooleanRecursiveCallback<Permission>(true), new DisabledProgressListener(), pool);
+        worker.run(session);
+        assertEquals(3, count.get());
+    }
+
+    @Test(timeout = 10000L)
+    public void testRunStatefulPool() throws Exception {
+        final AtomicInteger count = new AtomicInteger();
+        final Path a = new Path("/a", EnumSet.of(Path.Type.directory));
+        final Session<?> session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            public AttributedList<Path> list(final Path file, final ListProgressListener listener) {
+                if(file.equals(a)) {
+                    final AttributedList<Path> children = new AttributedList<Path>();
+                    children.add(new Path(a, "b", EnumSet.of(Path.Type.file)));
+                    children.add(new Path(a, "c", EnumSet.of(Path.Type.directory)));
+                    return children;
+                }
+                return AttributedList.emptyList();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == UnixPermission.class) {
+                    return (T) new DefaultUnixPermissionFeature() {
+                        @Override
+                        public void setUnixOwner(final Path file, final String owner) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setUnixGroup(final Path file, final String group) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public Permission getUnixPermission(final Path file) throws BackgroundException {
+                            throw new UnsupportedOperationException();
+                        }
+
+                        @Override
+                        public void setUnixPermission(final Path file, final Permission permission) throws BackgroundException {
+                            assertEquals(new Permission(644), permission);
+                            count.incrementAndGet();
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        final StatefulSessionPool pool = new StatefulSessionPool(new TestLoginConnectionService() {
+            @Override
+            public boolean check(final Session<?> session, final Cache<Path> cache, final CancelCallback callback) {
+                return true;
+            }
+        }, session, PathCache.empty(), new DisabledTranscriptListener(), new DefaultVaultRegistry(new DisabledPasswordCallback()));
+        // Connection held by worker
+        final Session<?> borrowed = pool.borrow(BackgroundActionState.running);
+        try {
+            new WritePermissionWorker(Collections.singletonList(a), new Permission(644), new BooleanRecursiveCallback<Permission>(true), new DisabledProgressListener(), pool).run(borrowed);
+        }
+        finally {
+            pool.release(borrowed, null);
+        }
+        assertEquals(3, count.get());
+    }
 }
@@ -0,0 +1,100 @@
+package ch.cyberduck.core.cryptomator;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.io.HashAlgorithm;
+import ch.cyberduck.core.io.StatusOutputStream;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+
+/**
+ * Compute the checksum of ciphertext while it is written to the server. The checksum is only set in the transfer
+ * status when the stream is closed after all data has been copied.
+ */
+public class DigestStatusOutputStream<Reply> extends StatusOutputStream<Reply> {
+    private static final Logger log = Logger.getLogger(DigestStatusOutputStream.class);
+
+    private final StatusOutputStream<Reply> proxy;
+    private final MessageDigest digest;
+    private final HashAlgorithm algorithm;
+    private final TransferStatus status;
+
+    private boolean closed;
+
+    /**
+     * @param proxy     Stream to server
+     * @param digest    Message digest updated with every byte written
+     * @param algorithm Algorithm of digest
+     * @param status    Transfer status marked complete when all data has been copied
+     */
+    public DigestStatusOutputStream(final StatusOutputStream<Reply> proxy, final MessageDigest digest,
+                                    final HashAlgorithm algorithm, final TransferStatus status) {
+        super(proxy);
+        this.proxy = proxy;
+        this.digest = digest;
+        this.algorithm = algorithm;
+        this.status = status;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        proxy.write(b);
+        digest.update((byte) b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        this.write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        proxy.write(b, off, len);
+        digest.update(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+        closed = true;
+        proxy.close();
+        if(status.isComplete()) {
+            final Checksum checksum = new Checksum(algorithm, Hex.encodeHexString(digest.digest()));
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Computed checksum %s of ciphertext for %s", checksum, status));
+            }
+            status.setChecksum(checksum);
+        }
+        else {
+            log.warn(String.format("Discard checksum of incomplete transfer %s", status));
+            digest.reset();
+        }
+    }
+
+    @Override
+    public Reply getStatus() throws BackgroundException {
+        return proxy.getStatus();
+    }
+}
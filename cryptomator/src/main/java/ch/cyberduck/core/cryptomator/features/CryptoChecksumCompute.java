@@ -18,6 +18,7 @@ package ch.cyberduck.core.cryptomator.features;
 import ch.cyberduck.core.LocaleFactory;
 import ch.cyberduck.core.cryptomator.CryptoOutputStream;
 import ch.cyberduck.core.cryptomator.CryptoVault;
+import ch.cyberduck.core.cryptomator.random.RandomNonceGenerator;
 import ch.cyberduck.core.cryptomator.random.RotatingNonceGenerator;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ChecksumException;
@@ -25,6 +26,7 @@ import ch.cyberduck.core.io.AbstractChecksumCompute;
 import ch.cyberduck.core.io.Checksum;
 import ch.cyberduck.core.io.ChecksumCompute;
 import ch.cyberduck.core.io.StreamCopier;
+import ch.cyberduck.core.io.VerifyingChecksumCompute;
 import ch.cyberduck.core.io.VoidStatusOutputStream;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.random.NonceGenerator;
@@ -33,6 +35,7 @@ import ch.cyberduck.core.threading.ThreadPoolFactory;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.worker.DefaultExceptionMappingService;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.log4j.Logger;
 import org.cryptomator.cryptolib.api.Cryptor;
@@ -69,6 +72,16 @@ public class CryptoChecksumCompute extends AbstractChecksumCompute implements Ch
             final FileHeader header = cryptor.fileHeaderCryptor().create();
             status.setHeader(cryptor.fileHeaderCryptor().encryptHeader(header));
         }
+        if(delegate instanceof VerifyingChecksumCompute) {
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Defer checksum calculation to writer for %s", status));
+            }
+            if(null == status.getNonces()) {
+                status.setNonces(new RandomNonceGenerator());
+            }
+            IOUtils.closeQuietly(in);
+            return Checksum.NONE;
+        }
         // Make nonces reusable in case we need to compute a checksum
         status.setNonces(new RotatingNonceGenerator(cryptomator.numberOfChunks(status.getLength())));
         return this.compute(in, status.getOffset(), status.getHeader(), status.getNonces());
@@ -20,17 +20,21 @@ import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.Session;
+import ch.cyberduck.core.cryptomator.CryptoVault;
 import ch.cyberduck.core.exception.BackgroundException;
-import ch.cyberduck.core.features.Vault;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.vault.DecryptingListProgressListener;
 
+import org.apache.log4j.Logger;
+
 public class CryptoListService implements ListService {
+    private static final Logger log = Logger.getLogger(CryptoListService.class);
 
     private final Session<?> session;
     private final ListService delegate;
-    private final Vault vault;
+    private final CryptoVault vault;
 
-    public CryptoListService(final Session<?> session, final ListService delegate, final Vault vault) {
+    public CryptoListService(final Session<?> session, final ListService delegate, final CryptoVault vault) {
         this.session = session;
         this.delegate = delegate;
         this.vault = vault;
@@ -38,8 +42,24 @@ public class CryptoListService implements ListService {
 
     @Override
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
-        return delegate.list(vault.encrypt(session, directory),
-                new DecryptingListProgressListener(session, vault, listener));
+        final DecryptingListProgressListener decrypting = new DecryptingListProgressListener(session, vault, listener);
+        final AttributedList<Path> list;
+        try {
+            list = delegate.list(vault.encrypt(session, directory), decrypting);
+        }
+        finally {
+            decrypting.shutdown();
+        }
+        if(PreferencesFactory.get().getBoolean("cryptomator.directory.prefetch")) {
+            try {
+                // Read directory IDs of subfolders to avoid lookup when descending
+                vault.getDirectoryProvider().prefetch(session, list.toList());
+            }
+            catch(BackgroundException e) {
+                log.warn(String.format("Failure prefetching directory IDs in %s. %s", directory, e.getDetail()));
+            }
+        }
+        return list;
     }
 
     @Override
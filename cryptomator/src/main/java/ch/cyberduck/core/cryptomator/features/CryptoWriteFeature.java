@@ -18,17 +18,23 @@ package ch.cyberduck.core.cryptomator.features;
 import ch.cyberduck.core.Cache;
 import ch.cyberduck.core.ConnectionCallback;
 import ch.cyberduck.core.DefaultIOExceptionMappingService;
+import ch.cyberduck.core.LocaleFactory;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
 import ch.cyberduck.core.Session;
 import ch.cyberduck.core.cryptomator.CryptoOutputStream;
 import ch.cyberduck.core.cryptomator.CryptoVault;
+import ch.cyberduck.core.cryptomator.DigestStatusOutputStream;
 import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ChecksumException;
 import ch.cyberduck.core.features.AttributesFinder;
 import ch.cyberduck.core.features.Find;
 import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.io.Checksum;
 import ch.cyberduck.core.io.ChecksumCompute;
+import ch.cyberduck.core.io.HashAlgorithm;
 import ch.cyberduck.core.io.StatusOutputStream;
+import ch.cyberduck.core.io.VerifyingChecksumCompute;
 import ch.cyberduck.core.shared.DefaultAttributesFinderFeature;
 import ch.cyberduck.core.shared.DefaultFindFeature;
 import ch.cyberduck.core.transfer.TransferStatus;
@@ -36,6 +42,8 @@ import ch.cyberduck.core.transfer.TransferStatus;
 import org.cryptomator.cryptolib.api.Cryptor;
 
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 public class CryptoWriteFeature<Reply> implements Write<Reply> {
 
@@ -65,15 +73,25 @@ public class CryptoWriteFeature<Reply> implements Write<Reply> {
         try {
             final Path encrypted = vault.encrypt(session, file);
             final Cryptor cryptor = vault.getCryptor();
-            final StatusOutputStream<Reply> out;
+            final TransferStatus ciphertext;
             if(status.getOffset() == 0) {
-                out = proxy.write(encrypted,
-                        new TransferStatus(status).length(vault.toCiphertextSize(status.getLength())), callback);
-                out.write(status.getHeader().array());
+                ciphertext = new TransferStatus(status).length(vault.toCiphertextSize(status.getLength()));
+            }
+            else {
+                ciphertext = new TransferStatus(status).length(vault.toCiphertextSize(status.getLength()) - cryptor.fileHeaderCryptor().headerSize());
+            }
+            final StatusOutputStream<Reply> out;
+            final HashAlgorithm algorithm = this.algorithm(status, encrypted);
+            if(null == algorithm) {
+                out = proxy.write(encrypted, ciphertext, callback);
             }
             else {
-                out = proxy.write(encrypted,
-                        new TransferStatus(status).length(vault.toCiphertextSize(status.getLength()) - cryptor.fileHeaderCryptor().headerSize()), callback);
+                // Compute checksum of ciphertext as it is written
+                out = new DigestStatusOutputStream<Reply>(proxy.write(encrypted, ciphertext, callback),
+                        this.digest(algorithm), algorithm, status);
+            }
+            if(status.getOffset() == 0) {
+                out.write(status.getHeader().array());
             }
             return new CryptoOutputStream<Reply>(out, cryptor, cryptor.fileHeaderCryptor().decryptHeader(status.getHeader()),
                     status.getNonces(), vault.numberOfChunks(status.getOffset()));
@@ -83,6 +101,48 @@ public class CryptoWriteFeature<Reply> implements Write<Reply> {
         }
     }
 
+    /**
+     * @return Algorithm of writer to compute checksum of ciphertext while uploading or null if the writer requires
+     * the checksum when opening the request
+     */
+    private HashAlgorithm algorithm(final TransferStatus status, final Path encrypted) {
+        if(Checksum.NONE != status.getChecksum()) {
+            // Checksum already computed in previous pass
+            return null;
+        }
+        final ChecksumCompute compute = proxy.checksum(encrypted);
+        if(!(compute instanceof VerifyingChecksumCompute)) {
+            return null;
+        }
+        final HashAlgorithm algorithm = ((VerifyingChecksumCompute) compute).algorithm();
+        switch(algorithm) {
+            case md5:
+            case sha1:
+            case sha256:
+            case sha512:
+                return algorithm;
+        }
+        return null;
+    }
+
+    private MessageDigest digest(final HashAlgorithm algorithm) throws ChecksumException {
+        try {
+            switch(algorithm) {
+                case md5:
+                    return MessageDigest.getInstance("MD5");
+                case sha1:
+                    return MessageDigest.getInstance("SHA-1");
+                case sha256:
+                    return MessageDigest.getInstance("SHA-256");
+                default:
+                    return MessageDigest.getInstance("SHA-512");
+            }
+        }
+        catch(NoSuchAlgorithmException e) {
+            throw new ChecksumException(LocaleFactory.localizedString("Checksum failure", "Error"), e.getMessage(), e);
+        }
+    }
+
     @Override
     public Append append(final Path file, final Long length, final Cache<Path> cache) throws BackgroundException {
         if(finder.withCache(cache).find(vault.encrypt(session, file))) {
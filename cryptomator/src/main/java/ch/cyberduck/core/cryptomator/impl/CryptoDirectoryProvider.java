@@ -29,14 +29,21 @@ import ch.cyberduck.core.cryptomator.CryptoVault;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.NotfoundException;
 import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.worker.DefaultExceptionMappingService;
 
-import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 
 import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 public class CryptoDirectoryProvider {
     private static final Logger log = Logger.getLogger(CryptoDirectoryProvider.class);
@@ -51,8 +58,13 @@ public class CryptoDirectoryProvider {
     private final RandomStringService random
             = new UUIDRandomStringService();
 
-    private final Map<CacheReference<Path>, String> cache = new LRUMap<CacheReference<Path>, String>(
-            PreferencesFactory.get().getInteger("browser.cache.size"));
+    /**
+     * Concurrent loads of the same directory ID wait for the first to complete
+     */
+    private final Cache<CacheReference<Path>, String> cache = CacheBuilder.newBuilder()
+            .maximumSize(PreferencesFactory.get().getInteger("browser.cache.size"))
+            .recordStats()
+            .build();
 
     public CryptoDirectoryProvider(final Path vault, final CryptoVault cryptomator) {
         this.home = vault;
@@ -116,17 +128,49 @@ public class CryptoDirectoryProvider {
             return ROOT_DIR_ID;
         }
         if(StringUtils.isBlank(directoryId)) {
-            if(cache.containsKey(new DefaultPathPredicate(directory))) {
-                return cache.get(new DefaultPathPredicate(directory));
+            try {
+                return cache.get(new DefaultPathPredicate(directory), new Callable<String>() {
+                    @Override
+                    public String call() throws BackgroundException {
+                        return load(session, directory);
+                    }
+                });
+            }
+            catch(ExecutionException | UncheckedExecutionException e) {
+                if(e.getCause() instanceof BackgroundException) {
+                    throw (BackgroundException) e.getCause();
+                }
+                throw new DefaultExceptionMappingService().map(e.getCause());
             }
-            final String id = this.load(session, directory);
-            cache.put(new DefaultPathPredicate(directory), id);
-            return id;
         }
         cache.put(new DefaultPathPredicate(directory), directoryId);
         return directoryId;
     }
 
+    /**
+     * Load directory IDs of folders not yet cached
+     *
+     * @param session     Connection
+     * @param directories Clear text folders in vault
+     */
+    public void prefetch(final Session<?> session, final List<Path> directories) throws BackgroundException {
+        for(Path directory : directories) {
+            if(!directory.isDirectory()) {
+                continue;
+            }
+            if(StringUtils.isNotBlank(directory.attributes().getDirectoryId())) {
+                continue;
+            }
+            if(cache.asMap().containsKey(new DefaultPathPredicate(directory))) {
+                continue;
+            }
+            if(log.isDebugEnabled()) {
+                log.debug(String.format("Prefetch directory ID for folder %s", directory));
+            }
+            this.toDirectoryId(session, directory, null);
+        }
+    }
+
     private String load(final Session<?> session, final Path directory) throws BackgroundException {
         final Path parent = this.toEncrypted(session, directory.getParent().attributes().getDirectoryId(), directory.getParent());
         final String cleartextName = directory.getName();
@@ -149,10 +193,33 @@ public class CryptoDirectoryProvider {
      * Remove from cache
      */
     public void delete(final Path directory) {
-        cache.remove(new DefaultPathPredicate(directory));
+        cache.invalidate(new DefaultPathPredicate(directory));
     }
 
     public void destroy() {
-        cache.clear();
+        if(log.isInfoEnabled()) {
+            log.info(String.format("Clearing cache %s", this));
+        }
+        cache.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public String toString() {
+        final CacheStats stats = cache.stats();
+        final StringBuilder sb = new StringBuilder("CryptoDirectoryProvider{");
+        sb.append("size=").append(cache.size());
+        sb.append(", hits=").append(stats.hitCount());
+        sb.append(", misses=").append(stats.missCount());
+        sb.append(", hitRate=").append(stats.hitRate());
+        sb.append('}');
+        return sb.toString();
     }
 }
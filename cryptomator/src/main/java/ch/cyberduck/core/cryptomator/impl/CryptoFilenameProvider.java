@@ -24,15 +24,22 @@ import ch.cyberduck.core.features.Directory;
 import ch.cyberduck.core.features.Find;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.transfer.TransferStatus;
+import ch.cyberduck.core.worker.DefaultExceptionMappingService;
 
 import org.apache.commons.collections4.map.LRUMap;
 import org.apache.log4j.Logger;
 import org.cryptomator.cryptolib.common.MessageDigestSupplier;
 
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -47,8 +54,15 @@ public class CryptoFilenameProvider {
 
     private final Path metadataRoot;
 
-    private final Map<String, String> cache = new LRUMap<String, String>(
-        PreferencesFactory.get().getInteger("browser.cache.size"));
+    private final Map<String, String> cache = Collections.synchronizedMap(new LRUMap<String, String>(
+        PreferencesFactory.get().getInteger("browser.cache.size")));
+
+    /**
+     * Long names by shortened name. The metadata file of a shortened name never changes as it is named by the
+     * hash of its content.
+     */
+    private final Cache<String, String> inflated = CacheBuilder.newBuilder()
+        .maximumSize(PreferencesFactory.get().getInteger("browser.cache.size")).build();
 
     public CryptoFilenameProvider(final Path vault) {
         this.metadataRoot = new Path(vault, METADATA_DIR_NAME, vault.getType());
@@ -58,8 +72,24 @@ public class CryptoFilenameProvider {
         return filename.endsWith(LONG_NAME_FILE_EXT);
     }
 
+    /**
+     * Concurrent calls for the same shortened name wait for a single read of the metadata file
+     */
     public String inflate(final Session<?> session, final String shortName) throws BackgroundException {
-        return new ContentReader(session).read(resolve(shortName));
+        try {
+            return inflated.get(shortName, new Callable<String>() {
+                @Override
+                public String call() throws BackgroundException {
+                    return new ContentReader(session).read(resolve(shortName));
+                }
+            });
+        }
+        catch(ExecutionException | UncheckedExecutionException e) {
+            if(e.getCause() instanceof BackgroundException) {
+                throw (BackgroundException) e.getCause();
+            }
+            throw new DefaultExceptionMappingService().map(e.getCause());
+        }
     }
 
     public String deflate(final Session<?> session, final String filename) throws BackgroundException {
@@ -106,5 +136,6 @@ public class CryptoFilenameProvider {
 
     public void destroy() {
         cache.clear();
+        inflated.invalidateAll();
     }
 }
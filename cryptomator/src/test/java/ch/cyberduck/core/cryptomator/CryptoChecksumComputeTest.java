@@ -25,7 +25,10 @@ import ch.cyberduck.core.cryptomator.random.RandomNonceGenerator;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.Directory;
 import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.io.HashAlgorithm;
 import ch.cyberduck.core.io.SHA256ChecksumCompute;
+import ch.cyberduck.core.io.VerifyingChecksumCompute;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.vault.VaultCredentials;
 
@@ -40,8 +43,7 @@ import static org.junit.Assert.*;
 
 public class CryptoChecksumComputeTest {
 
-    @Test
-    public void testCompute() throws Exception {
+    private static CryptoVault create() throws Exception {
         final Path vault = new Path("/vault", EnumSet.of(Path.Type.directory));
         final NullSession session = new NullSession(new Host(new TestProtocol())) {
             @Override
@@ -72,6 +74,13 @@ public class CryptoChecksumComputeTest {
         };
         final CryptoVault cryptomator = new CryptoVault(vault);
         cryptomator.create(session, null, new VaultCredentials("test"), new DisabledPasswordStore());
+        return cryptomator;
+    }
+
+    @Test
+    public void testCompute() throws Exception {
+        final CryptoVault cryptomator = create();
+        final Path vault = cryptomator.getHome();
         final Cryptor cryptor = cryptomator.getCryptor();
         final ByteBuffer header = cryptor.fileHeaderCryptor().encryptHeader(cryptor.fileHeaderCryptor().create());
         // DEFAULT_PIPE_SIZE=1024
@@ -89,4 +98,25 @@ public class CryptoChecksumComputeTest {
         assertNotEquals(compute.compute(new NullInputStream(0L), new TransferStatus().withHeader(header).withNonces(nonces)),
                 sha.compute(new NullInputStream(0L), new TransferStatus()));
     }
+
+    @Test
+    public void testDeferToVerifyingWriter() throws Exception {
+        final CryptoVault cryptomator = create();
+        final CryptoChecksumCompute compute = new CryptoChecksumCompute(new VerifyingSHA256ChecksumCompute(), cryptomator);
+        final TransferStatus status = new TransferStatus().length(1025L);
+        // No separate encryption pass when writer verifies checksum after upload
+        assertEquals(Checksum.NONE, compute.compute(new NullInputStream(1025L), status));
+        assertNotNull(status.getHeader());
+        assertNotNull(status.getNonces());
+        // Writer requiring checksum when opening the request
+        assertNotEquals(Checksum.NONE, new CryptoChecksumCompute(new SHA256ChecksumCompute(), cryptomator)
+                .compute(new NullInputStream(1025L), new TransferStatus().length(1025L)));
+    }
+
+    private static final class VerifyingSHA256ChecksumCompute extends SHA256ChecksumCompute implements VerifyingChecksumCompute {
+        @Override
+        public HashAlgorithm algorithm() {
+            return HashAlgorithm.sha256;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package ch.cyberduck.core.cryptomator;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.DisabledPasswordStore;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.NullSession;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.TestProtocol;
+import ch.cyberduck.core.cryptomator.features.CryptoChecksumCompute;
+import ch.cyberduck.core.features.Directory;
+import ch.cyberduck.core.features.Write;
+import ch.cyberduck.core.io.HashAlgorithm;
+import ch.cyberduck.core.io.SHA256ChecksumCompute;
+import ch.cyberduck.core.io.StatusOutputStream;
+import ch.cyberduck.core.io.StreamCopier;
+import ch.cyberduck.core.io.VerifyingChecksumCompute;
+import ch.cyberduck.core.io.VoidStatusOutputStream;
+import ch.cyberduck.core.transfer.TransferStatus;
+import ch.cyberduck.core.vault.VaultCredentials;
+
+import org.apache.commons.io.input.NullInputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.cryptomator.cryptolib.api.Cryptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.MessageDigest;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload of a file to a vault with a SHA-256 checksum of the ciphertext. Compares computing the checksum in a
+ * separate encryption pass before the upload with computing it while the ciphertext is written. Run with main
+ * method from test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CryptoUploadBenchmark {
+
+    @Param({"1048576", "104857600"})
+    private long size;
+
+    private CryptoVault vault;
+
+    @Setup
+    public void setup() throws Exception {
+        final Path home = new Path("/vault", EnumSet.of(Path.Type.directory));
+        final NullSession session = new NullSession(new Host(new TestProtocol())) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T _getFeature(final Class<T> type) {
+                if(type == Directory.class) {
+                    return (T) new Directory() {
+                        @Override
+                        public Path mkdir(final Path folder, final String region, final TransferStatus status) {
+                            return folder;
+                        }
+
+                        @Override
+                        public boolean isSupported(final Path workdir, final String name) {
+                            return true;
+                        }
+
+                        @Override
+                        public Directory withWriter(final Write writer) {
+                            return this;
+                        }
+                    };
+                }
+                return super._getFeature(type);
+            }
+        };
+        vault = new CryptoVault(home);
+        vault.create(session, null, new VaultCredentials("test"), new DisabledPasswordStore());
+    }
+
+    @Benchmark
+    public TransferStatus twopass() throws Exception {
+        final TransferStatus status = new TransferStatus().length(size);
+        status.setChecksum(new CryptoChecksumCompute(new SHA256ChecksumCompute(), vault).compute(new NullInputStream(size), status));
+        this.upload(new VoidStatusOutputStream(new NullOutputStream()), status);
+        return status;
+    }
+
+    @Benchmark
+    public TransferStatus stream() throws Exception {
+        final TransferStatus status = new TransferStatus().length(size);
+        new CryptoChecksumCompute(new VerifyingSHA256ChecksumCompute(), vault).compute(new NullInputStream(size), status);
+        this.upload(new DigestStatusOutputStream<Void>(new VoidStatusOutputStream(new NullOutputStream()),
+                MessageDigest.getInstance("SHA-256"), HashAlgorithm.sha256, status), status);
+        return status;
+    }
+
+    private void upload(final StatusOutputStream<Void> out, final TransferStatus status) throws Exception {
+        final Cryptor cryptor = vault.getCryptor();
+        out.write(status.getHeader().array());
+        new StreamCopier(status, status).transfer(new NullInputStream(size), new CryptoOutputStream<Void>(out, cryptor,
+                cryptor.fileHeaderCryptor().decryptHeader(status.getHeader()), status.getNonces(), 0L));
+    }
+
+    /**
+     * Writer verifying the checksum after upload
+     */
+    private static final class VerifyingSHA256ChecksumCompute extends SHA256ChecksumCompute implements VerifyingChecksumCompute {
+        @Override
+        public HashAlgorithm algorithm() {
+            return HashAlgorithm.sha256;
+        }
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CryptoUploadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
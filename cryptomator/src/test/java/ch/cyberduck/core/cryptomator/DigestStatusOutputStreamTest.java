@@ -0,0 +1,70 @@
+package ch.cyberduck.core.cryptomator;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.io.HashAlgorithm;
+import ch.cyberduck.core.io.SHA256ChecksumCompute;
+import ch.cyberduck.core.io.StatusOutputStream;
+import ch.cyberduck.core.transfer.TransferStatus;
+
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+
+import static org.junit.Assert.*;
+
+public class DigestStatusOutputStreamTest {
+
+    @Test
+    public void testChecksumOnComplete() throws Exception {
+        final byte[] content = "ciphertext".getBytes();
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        final TransferStatus status = new TransferStatus().length(content.length);
+        final DigestStatusOutputStream<Void> out = new DigestStatusOutputStream<Void>(new StatusOutputStream<Void>(received) {
+            @Override
+            public Void getStatus() {
+                return null;
+            }
+        }, MessageDigest.getInstance("SHA-256"), HashAlgorithm.sha256, status);
+        out.write(content, 0, 4);
+        // Streamed through without buffering
+        assertEquals(4, received.size());
+        out.write(content, 4, content.length - 4);
+        status.setComplete();
+        out.close();
+        assertEquals(new SHA256ChecksumCompute().compute(new ByteArrayInputStream(content), new TransferStatus()), status.getChecksum());
+        assertArrayEquals(content, received.toByteArray());
+    }
+
+    @Test
+    public void testNoChecksumOnIncomplete() throws Exception {
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+        final TransferStatus status = new TransferStatus().length(10L);
+        final DigestStatusOutputStream<Void> out = new DigestStatusOutputStream<Void>(new StatusOutputStream<Void>(received) {
+            @Override
+            public Void getStatus() {
+                return null;
+            }
+        }, MessageDigest.getInstance("SHA-256"), HashAlgorithm.sha256, status);
+        out.write("cipher".getBytes());
+        // Closed by stream copier after cancel or failure
+        out.close();
+        assertEquals(Checksum.NONE, status.getChecksum());
+    }
+}
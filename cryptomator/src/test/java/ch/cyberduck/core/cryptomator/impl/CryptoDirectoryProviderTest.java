@@ -37,6 +37,7 @@ import org.junit.Test;
 
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.EnumSet;
 
 import static org.junit.Assert.assertEquals;
@@ -104,5 +105,11 @@ public class CryptoDirectoryProviderTest {
         final Path f = new Path("/vault/f", EnumSet.of(Path.Type.directory));
         assertNotNull(provider.toEncrypted(session, null, f));
         assertEquals(provider.toEncrypted(session, null, f), provider.toEncrypted(session, null, f));
+        assertEquals(1L, provider.getMissCount());
+        assertEquals(2L, provider.getHitCount());
+        provider.prefetch(session, Collections.singletonList(new Path("/vault/g", EnumSet.of(Path.Type.directory))));
+        assertEquals(2L, provider.getMissCount());
+        assertNotNull(provider.toEncrypted(session, null, new Path("/vault/g", EnumSet.of(Path.Type.directory))));
+        assertEquals(3L, provider.getHitCount());
     }
 }
@@ -21,6 +21,7 @@ import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathNormalizer;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.ConnectionCanceledException;
 
@@ -52,14 +53,16 @@ public class DropboxListService implements ListService {
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         try {
             final AttributedList<Path> children = new AttributedList<>();
+            final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
             final String path = directory.isRoot() ? StringUtils.EMPTY : directory.getAbsolute();
             ListFolderResult result;
-            this.parse(directory, listener, children, result = new DbxUserFilesRequests(session.getClient()).listFolder(path));
+            this.parse(directory, throttled, children, result = new DbxUserFilesRequests(session.getClient()).listFolder(path));
             // If true, then there are more entries available. Pass the cursor to list_folder/continue to retrieve the rest.
             while(result.getHasMore()) {
-                this.parse(directory, listener, children, result = new DbxUserFilesRequests(session.getClient())
+                this.parse(directory, throttled, children, result = new DbxUserFilesRequests(session.getClient())
                         .listFolderContinue(result.getCursor()));
             }
+            throttled.flush(directory, children);
             return children;
         }
         catch(DbxException e) {
@@ -18,6 +18,7 @@ package ch.cyberduck.core.ftp;
  * dkocher@cyberduck.ch
  */
 
+import ch.cyberduck.core.BatchTranscriptListener;
 import ch.cyberduck.core.TranscriptListener;
 
 import org.apache.commons.lang3.StringUtils;
@@ -35,6 +36,9 @@ public class LoggingProtocolCommandListener implements ProtocolCommandListener,
 
     @Override
     public void protocolCommandSent(final ProtocolCommandEvent event) {
+        if(!this.isEnabled()) {
+            return;
+        }
         final String message = StringUtils.chomp(event.getMessage());
         if(message.startsWith(FTPCmd.PASS.name())) {
             this.log(Type.request, String.format("%s %s", FTPCmd.PASS.name(),
@@ -47,9 +51,22 @@ public class LoggingProtocolCommandListener implements ProtocolCommandListener,
 
     @Override
     public void protocolReplyReceived(final ProtocolCommandEvent event) {
+        if(!this.isEnabled()) {
+            return;
+        }
         this.log(Type.response, StringUtils.chomp(event.getMessage()));
     }
 
+    /**
+     * @return False if no formatting of transcript is required
+     */
+    private boolean isEnabled() {
+        if(transcript instanceof BatchTranscriptListener) {
+            return ((BatchTranscriptListener) transcript).isEnabled();
+        }
+        return true;
+    }
+
     @Override
     public void log(final Type request, final String event) {
         transcript.log(request, event);
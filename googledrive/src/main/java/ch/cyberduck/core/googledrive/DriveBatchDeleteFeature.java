@@ -18,6 +18,7 @@ package ch.cyberduck.core.googledrive;
 import ch.cyberduck.core.DisabledListProgressListener;
 import ch.cyberduck.core.PasswordCallback;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.collections.Partition;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.features.Delete;
 import ch.cyberduck.core.http.HttpResponseExceptionMappingService;
@@ -46,6 +47,13 @@ public class DriveBatchDeleteFeature implements Delete {
 
     @Override
     public void delete(final List<Path> files, final PasswordCallback prompt, final Callback callback) throws BackgroundException {
+        // Limit number of calls in single batch request
+        for(List<Path> partition : new Partition<Path>(files, PreferencesFactory.get().getInteger("googledrive.delete.multiple.partition"))) {
+            this.delete(partition, callback);
+        }
+    }
+
+    private void delete(final List<Path> files, final Callback callback) throws BackgroundException {
         final BatchRequest batch = session.getClient().batch();
         final List<BackgroundException> failures = new ArrayList<>();
         for(Path file : files) {
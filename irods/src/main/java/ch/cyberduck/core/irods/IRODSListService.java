@@ -23,6 +23,7 @@ import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
 import ch.cyberduck.core.PathNormalizer;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.NotfoundException;
 import ch.cyberduck.core.io.Checksum;
@@ -51,6 +52,7 @@ public class IRODSListService implements ListService {
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         try {
             final AttributedList<Path> children = new AttributedList<Path>();
+            final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
             final IRODSFileSystemAO fs = session.getClient();
             final IRODSFile f = fs.getIRODSFileFactory().instanceIRODSFile(directory.getAbsolute());
             if(!f.exists()) {
@@ -72,8 +74,9 @@ public class IRODSListService implements ListService {
                 children.add(new Path(directory, PathNormalizer.name(normalized),
                         file.isDirectory() ? EnumSet.of(Path.Type.directory) : EnumSet.of(Path.Type.file),
                         attributes));
-                listener.chunk(directory, children);
+                throttled.chunk(directory, children);
             }
+            throttled.flush(directory, children);
             return children;
         }
         catch(JargonException e) {
@@ -20,6 +20,7 @@ import ch.cyberduck.core.DefaultIOExceptionMappingService;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 
 import org.apache.commons.io.FilenameUtils;
@@ -43,6 +44,7 @@ public class MantaListService implements ListService {
     @Override
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         final AttributedList<Path> children = new AttributedList<>();
+        final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
         final Iterator<MantaObject> objectsIter;
         try {
             objectsIter = session.getClient().listObjects(directory.getAbsolute()).iterator();
@@ -63,8 +65,9 @@ public class MantaListService implements ListService {
                 EnumSet.of(o.isDirectory() ? Path.Type.directory : Path.Type.file), adapter.convert(o)
             );
             children.add(file);
-            listener.chunk(directory, children);
+            throttled.chunk(directory, children);
         }
+        throttled.flush(directory, children);
         return children;
     }
 }
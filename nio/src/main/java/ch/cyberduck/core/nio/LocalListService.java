@@ -20,6 +20,7 @@ import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 
 import org.apache.log4j.Logger;
@@ -43,6 +44,7 @@ public class LocalListService implements ListService {
     @Override
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         final AttributedList<ch.cyberduck.core.Path> paths = new AttributedList<>();
+        final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
         try (DirectoryStream<java.nio.file.Path> directoryStream = Files.newDirectoryStream(session.toPath(directory))) {
             for(java.nio.file.Path path : directoryStream) {
                 if(null == path.getFileName()) {
@@ -60,13 +62,14 @@ public class LocalListService implements ListService {
                     final Path file = new Path(directory, path.getFileName().toString(), type, attributes);
                     if(this.post(path, file)) {
                         paths.add(file);
-                        listener.chunk(directory, paths);
+                        throttled.chunk(directory, paths);
                     }
                 }
                 catch(IOException e) {
                     log.warn(String.format("Failure reading attributes for %s", path));
                 }
             }
+            throttled.flush(directory, paths);
         }
         catch(IOException ex) {
             throw new LocalExceptionMappingService().map("Listing directory {0} failed", ex, directory);
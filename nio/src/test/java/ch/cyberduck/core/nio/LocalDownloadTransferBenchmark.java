@@ -0,0 +1,162 @@
+package ch.cyberduck.core.nio;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.DisabledCancelCallback;
+import ch.cyberduck.core.DisabledHostKeyCallback;
+import ch.cyberduck.core.DisabledLoginCallback;
+import ch.cyberduck.core.DisabledPasswordCallback;
+import ch.cyberduck.core.DisabledPasswordStore;
+import ch.cyberduck.core.DisabledProgressListener;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.Local;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.io.DisabledStreamListener;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.transfer.DisabledTransferErrorCallback;
+import ch.cyberduck.core.transfer.DisabledTransferPrompt;
+import ch.cyberduck.core.transfer.DownloadTransfer;
+import ch.cyberduck.core.transfer.Transfer;
+import ch.cyberduck.core.transfer.TransferAction;
+import ch.cyberduck.core.transfer.TransferItem;
+import ch.cyberduck.core.transfer.TransferOptions;
+import ch.cyberduck.core.transfer.TransferSpeedometer;
+import ch.cyberduck.core.worker.SingleTransferWorker;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Download of a synthetic tree with folders of 1000 empty files each from the local filesystem with the memory bound
+ * of the transfer worker disabled and enabled. Peak heap in megabytes is reported as secondary result
+ * <code>peak</code>. Run with main method from test classpath and <code>-p size=10000000</code> for a tree with 10M
+ * files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LocalDownloadTransferBenchmark {
+
+    @Param({"-1", "100000"})
+    private int threshold;
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private File source;
+    private File target;
+
+    private LocalSession session;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+        /**
+         * Peak heap in megabytes
+         */
+        public long peak;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        source = new File(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        for(int d = 0; d < size / 1000; d++) {
+            final File directory = new File(source, String.format("d-%d", d));
+            Files.createDirectories(directory.toPath());
+            for(int f = 0; f < 1000; f++) {
+                Files.createFile(new File(directory, String.format("f-%d", f)).toPath());
+            }
+        }
+        PreferencesFactory.get().setProperty("queue.transfer.cache.swap.threshold", threshold);
+        session = new LocalSession(new Host(new LocalProtocol(), new LocalProtocol().getDefaultHostname()));
+        session.open(new DisabledHostKeyCallback(), new DisabledLoginCallback());
+        session.login(new DisabledPasswordStore(), new DisabledLoginCallback(), new DisabledCancelCallback());
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws Exception {
+        session.close();
+        PreferencesFactory.get().deleteProperty("queue.transfer.cache.swap.threshold");
+        FileUtils.deleteDirectory(source);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        target = new File(System.getProperty("java.io.tmpdir"), UUID.randomUUID().toString());
+        System.gc();
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void delete() throws Exception {
+        FileUtils.deleteDirectory(target);
+    }
+
+    @Benchmark
+    public boolean download(final Heap heap) throws Exception {
+        final Transfer t = new DownloadTransfer(session.getHost(),
+            new Path(source.getAbsolutePath(), EnumSet.of(Path.Type.directory)), new Local(target.getAbsolutePath()));
+        final boolean complete = new SingleTransferWorker(session, session, t, new TransferOptions(), new TransferSpeedometer(t), new DisabledTransferPrompt() {
+            @Override
+            public TransferAction prompt(final TransferItem file) {
+                return TransferAction.overwrite;
+            }
+        }, new DisabledTransferErrorCallback(),
+            new DisabledProgressListener(), new DisabledStreamListener(), new DisabledLoginCallback(), new DisabledPasswordCallback()).run(session, session);
+        long peak = 0L;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        heap.peak = peak / 1024 / 1024;
+        return complete;
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LocalDownloadTransferBenchmark.class.getSimpleName()).build()).run();
+    }
+}
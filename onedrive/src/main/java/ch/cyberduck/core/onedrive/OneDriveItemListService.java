@@ -21,6 +21,7 @@ import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
 import ch.cyberduck.core.PathContainerService;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 
@@ -51,6 +52,7 @@ public class OneDriveItemListService implements ListService {
     @Override
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         final AttributedList<Path> children = new AttributedList<>();
+        final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
         try {
             final OneDriveDrive drive = new OneDriveDrive(session.getClient(), containerService.getContainer(directory).getName());
             final OneDriveFolder folder;
@@ -73,8 +75,9 @@ public class OneDriveItemListService implements ListService {
                 final PathAttributes attributes = this.attributes.convert(metadata);
                 children.add(new Path(directory, metadata.getName(),
                         metadata.isFolder() ? EnumSet.of(Path.Type.directory) : metadata instanceof OneDrivePackageItem.Metadata ? EnumSet.of(Path.Type.placeholder, Path.Type.file) : EnumSet.of(Path.Type.file), attributes));
-                listener.chunk(directory, children);
+                throttled.chunk(directory, children);
             }
+            throttled.flush(directory, children);
         }
         catch(OneDriveRuntimeException e) { // this catches iterator.hasNext() which in return should fail fast
             throw new OneDriveExceptionMappingService().map("Listing directory {0} failed", e.getCause(), directory);
@@ -31,7 +31,7 @@ import ch.cyberduck.core.features.Write;
 import ch.cyberduck.core.http.HttpUploadFeature;
 import ch.cyberduck.core.io.BandwidthThrottle;
 import ch.cyberduck.core.io.HashAlgorithm;
-import ch.cyberduck.core.io.StreamCopier;
+import ch.cyberduck.core.io.PartChecksumCompute;
 import ch.cyberduck.core.io.StreamListener;
 import ch.cyberduck.core.io.StreamProgress;
 import ch.cyberduck.core.threading.BackgroundExceptionCallable;
@@ -41,7 +41,6 @@ import ch.cyberduck.core.threading.ThreadPool;
 import ch.cyberduck.core.transfer.TransferStatus;
 import ch.cyberduck.core.worker.DefaultExceptionMappingService;
 
-import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.log4j.Logger;
 
 import java.io.IOException;
@@ -208,8 +207,7 @@ public class SwiftLargeObjectUploadFeature extends HttpUploadFeature<StorageObje
                         .skip(offset);
                 status.setHeader(overall.getHeader());
                 status.setNonces(overall.getNonces());
-                status.setChecksum(writer.checksum(segment).compute(
-                        StreamCopier.skip(new BoundedInputStream(local.getInputStream(), offset + length), offset), status));
+                status.setChecksum(PartChecksumCompute.compute(writer.checksum(segment), local, offset, length, status));
                 status.setSegment(true);
                 return SwiftLargeObjectUploadFeature.super.upload(
                         segment, local, throttle, listener, status, overall, new StreamProgress() {
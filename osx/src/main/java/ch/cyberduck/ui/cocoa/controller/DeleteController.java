@@ -21,6 +21,7 @@ import ch.cyberduck.binding.application.SheetCallback;
 import ch.cyberduck.core.Cache;
 import ch.cyberduck.core.LocaleFactory;
 import ch.cyberduck.core.LoginCallbackFactory;
+import ch.cyberduck.core.NullFilter;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathNormalizer;
 import ch.cyberduck.core.threading.WorkerBackgroundAction;
@@ -78,7 +79,7 @@ public class DeleteController extends ProxyController {
     private void run(final List<Path> files) {
         final Cache<Path> cache = parent.getCache();
         parent.background(new WorkerBackgroundAction<List<Path>>(parent, parent.getSession(),
-                new DeleteWorker(LoginCallbackFactory.get(parent), files, cache, parent) {
+                new DeleteWorker(LoginCallbackFactory.get(parent), files, cache, new NullFilter<Path>(), parent, parent.getSession()) {
                             @Override
                             public void cleanup(final List<Path> deleted) {
                                 super.cleanup(deleted);
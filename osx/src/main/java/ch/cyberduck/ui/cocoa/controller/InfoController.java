@@ -1082,7 +1082,7 @@ public class InfoController extends ToolbarWindowController {
     private void aclInputDidEndEditing() {
         if(this.toggleAclSettings(false)) {
             controller.background(new WorkerBackgroundAction<Boolean>(controller, session,
-                    new WriteAclWorker(files, new Acl(acl.toArray(new Acl.UserAndRole[acl.size()])), new PromptRecursiveCallback<Acl>(this), controller) {
+                    new WriteAclWorker(files, new Acl(acl.toArray(new Acl.UserAndRole[acl.size()])), new PromptRecursiveCallback<Acl>(this), controller, session) {
                         @Override
                         public void cleanup(final Boolean v) {
                             toggleAclSettings(true);
@@ -1343,7 +1343,7 @@ public class InfoController extends ToolbarWindowController {
                 update.put(header.getName(), header.getValue());
             }
             controller.background(new WorkerBackgroundAction<Boolean>(controller, session,
-                    new WriteMetadataWorker(files, update, new PromptRecursiveCallback<String>(this), controller) {
+                    new WriteMetadataWorker(files, update, new PromptRecursiveCallback<String>(this), controller, session) {
                         @Override
                         public void cleanup(final Boolean v) {
                             toggleMetadataSettings(true);
@@ -2106,7 +2106,7 @@ public class InfoController extends ToolbarWindowController {
         else {
             if(this.togglePermissionSettings(false)) {
                 controller.background(new WorkerBackgroundAction<Boolean>(controller, session,
-                        new WritePermissionWorker(files, permission, new PromptRecursiveCallback<Permission>(this), controller) {
+                        new WritePermissionWorker(files, permission, new PromptRecursiveCallback<Permission>(this), controller, session) {
                             @Override
                             public void cleanup(final Boolean done) {
                                 togglePermissionSettings(true);
@@ -2427,7 +2427,7 @@ public class InfoController extends ToolbarWindowController {
     public void calculateSizeButtonClicked(final ID sender) {
         if(this.toggleSizeSettings(false)) {
             controller.background(new WorkerBackgroundAction<Long>(controller, session,
-                new CalculateSizeWorker(files, controller) {
+                new CalculateSizeWorker(files, controller, session) {
                     @Override
                     public void cleanup(final Long size) {
                         setSize(size);
@@ -0,0 +1,171 @@
+package ch.cyberduck.core.s3;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.IndexedListProgressListener;
+import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.Path;
+import ch.cyberduck.core.RecursiveListService;
+import ch.cyberduck.core.exception.BackgroundException;
+import ch.cyberduck.core.exception.ConnectionCanceledException;
+import ch.cyberduck.core.exception.ListCanceledException;
+import ch.cyberduck.core.preferences.PreferencesFactory;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.worker.DefaultExceptionMappingService;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Recursive listing of all keys with a prefix. The keyspace is partitioned by the common prefixes found in the
+ * first level of the directory and each partition is listed without delimiter concurrently in the listing pool
+ * of the session. Failure or cancel of any partition stops listing the remaining partitions.
+ */
+public class S3ConcurrentObjectListService implements RecursiveListService {
+    private static final Logger log = Logger.getLogger(S3ConcurrentObjectListService.class);
+
+    private final S3Session session;
+    private final S3ObjectListService proxy;
+
+    private final int chunksize;
+
+    public S3ConcurrentObjectListService(final S3Session session) {
+        this.session = session;
+        this.proxy = new S3ObjectListService(session);
+        this.chunksize = PreferencesFactory.get().getInteger("s3.listing.chunksize");
+    }
+
+    /**
+     * @return All files and folders with the prefix of the directory. Same as listing with no delimiter but
+     * including the common prefixes of the first level as placeholders.
+     */
+    @Override
+    public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
+        final AttributedList<Path> children = new AttributedList<Path>();
+        // First failure of any partition
+        final AtomicReference<BackgroundException> failure = new AtomicReference<BackgroundException>();
+        // Partition by common prefixes of first level
+        final List<Path> partitions = new ArrayList<Path>();
+        for(Path f : proxy.list(directory, new PartitionListProgressListener(directory, children, listener, failure))) {
+            if(f.getType().contains(Path.Type.placeholder) && f.isDirectory()) {
+                partitions.add(f);
+            }
+        }
+        if(partitions.isEmpty()) {
+            return children;
+        }
+        if(log.isInfoEnabled()) {
+            log.info(String.format("List %d partitions of %s", partitions.size(), directory));
+        }
+        final ThreadPool pool = session.getListingPool();
+        final List<Future<AttributedList<Path>>> futures = new ArrayList<Future<AttributedList<Path>>>();
+        try {
+            for(final Path partition : partitions) {
+                futures.add(pool.execute(new Callable<AttributedList<Path>>() {
+                    @Override
+                    public AttributedList<Path> call() throws BackgroundException {
+                        if(failure.get() != null) {
+                            throw new ListCanceledException(children);
+                        }
+                        try {
+                            return proxy.list(partition, new PartitionListProgressListener(directory, children, listener, failure), null, chunksize);
+                        }
+                        catch(BackgroundException e) {
+                            failure.compareAndSet(null, e);
+                            throw e;
+                        }
+                    }
+                }));
+            }
+            for(Future<AttributedList<Path>> future : futures) {
+                future.get();
+            }
+        }
+        catch(InterruptedException e) {
+            failure.compareAndSet(null, new ConnectionCanceledException(e));
+            this.cancel(futures);
+            throw failure.get();
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof BackgroundException) {
+                failure.compareAndSet(null, (BackgroundException) e.getCause());
+            }
+            else {
+                failure.compareAndSet(null, new DefaultExceptionMappingService().map(e.getCause()));
+            }
+            this.cancel(futures);
+            throw failure.get();
+        }
+        return children;
+    }
+
+    /**
+     * Remove pending partitions from pool. Running partitions stop with the next chunk.
+     */
+    private void cancel(final List<Future<AttributedList<Path>>> futures) {
+        log.warn(String.format("Cancel %d partitions", futures.size()));
+        for(Future<AttributedList<Path>> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Merge chunks of a partition into the result
+     */
+    private static final class PartitionListProgressListener extends IndexedListProgressListener {
+        private final Path directory;
+        private final AttributedList<Path> children;
+        private final ListProgressListener delegate;
+        private final AtomicReference<BackgroundException> failure;
+
+        public PartitionListProgressListener(final Path directory, final AttributedList<Path> children, final ListProgressListener delegate,
+                                             final AtomicReference<BackgroundException> failure) {
+            this.directory = directory;
+            this.children = children;
+            this.delegate = delegate;
+            this.failure = failure;
+        }
+
+        @Override
+        public void chunk(final Path folder, final AttributedList<Path> list) throws ConnectionCanceledException {
+            if(failure.get() != null) {
+                // Failed or canceled in other partition
+                throw new ListCanceledException(children);
+            }
+            synchronized(children) {
+                super.chunk(folder, list);
+                delegate.chunk(directory, children);
+            }
+        }
+
+        @Override
+        public void visit(final AttributedList<Path> list, final int index, final Path file) {
+            children.add(file);
+        }
+
+        @Override
+        public void message(final String message) {
+            delegate.message(message);
+        }
+    }
+}
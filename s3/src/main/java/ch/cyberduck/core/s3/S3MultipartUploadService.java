@@ -31,10 +31,15 @@ import ch.cyberduck.core.features.Upload;
 import ch.cyberduck.core.features.Write;
 import ch.cyberduck.core.http.HttpUploadFeature;
 import ch.cyberduck.core.io.BandwidthThrottle;
+import ch.cyberduck.core.io.Checksum;
+import ch.cyberduck.core.io.ChecksumCompute;
+import ch.cyberduck.core.io.ChecksumComputeFactory;
+import ch.cyberduck.core.io.HashAlgorithm;
 import ch.cyberduck.core.io.MD5ChecksumCompute;
-import ch.cyberduck.core.io.StreamCopier;
+import ch.cyberduck.core.io.PartChecksumCompute;
 import ch.cyberduck.core.io.StreamListener;
 import ch.cyberduck.core.io.StreamProgress;
+import ch.cyberduck.core.kms.KMSEncryptionFeature;
 import ch.cyberduck.core.preferences.Preferences;
 import ch.cyberduck.core.preferences.PreferencesFactory;
 import ch.cyberduck.core.threading.BackgroundExceptionCallable;
@@ -43,7 +48,6 @@ import ch.cyberduck.core.threading.DefaultThreadPool;
 import ch.cyberduck.core.threading.ThreadPool;
 import ch.cyberduck.core.transfer.TransferStatus;
 
-import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
 import org.jets3t.service.ServiceException;
@@ -60,6 +64,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -116,6 +121,8 @@ public class S3MultipartUploadService extends HttpUploadFeature<StorageObject, M
                 log.warn(String.format("Ignore failure listing incomplete multipart uploads. %s", e.getDetail()));
             }
             final List<MultipartPart> completed = new ArrayList<MultipartPart>();
+            // MD5 of uploaded parts computed locally
+            final Map<Integer, Checksum> checksums = new ConcurrentHashMap<Integer, Checksum>();
             // Not found or new upload
             if(null == multipart) {
                 if(log.isInfoEnabled()) {
@@ -162,7 +169,7 @@ public class S3MultipartUploadService extends HttpUploadFeature<StorageObject, M
                         // Last part can be less than 5 MB. Adjust part size.
                         final Long length = Math.min(Math.max((size / S3DefaultMultipartService.MAXIMUM_UPLOAD_PARTS), partsize), remaining);
                         // Submit to queue
-                        parts.add(this.submit(pool, file, local, throttle, listener, status, multipart, partNumber, offset, length, callback));
+                        parts.add(this.submit(pool, file, local, throttle, listener, status, multipart, partNumber, offset, length, checksums, callback));
                         remaining -= length;
                         offset += length;
                     }
@@ -197,9 +204,13 @@ public class S3MultipartUploadService extends HttpUploadFeature<StorageObject, M
                 }
                 else {
                     completed.sort(new MultipartPart.PartNumberComparator());
+                    // The ETag of parts is not the MD5 of the data with SSE-KMS
+                    final boolean kms = StringUtils.equals(KMSEncryptionFeature.SSE_KMS_DEFAULT.algorithm, status.getEncryption().algorithm);
                     final StringBuilder concat = new StringBuilder();
                     for(MultipartPart part : completed) {
-                        concat.append(part.getEtag());
+                        // Prefer checksum computed from local data for parts uploaded
+                        final Checksum checksum = checksums.get(part.getPartNumber());
+                        concat.append(null == checksum || kms ? part.getEtag() : checksum.hash);
                     }
                     final String expected = String.format("%s-%d",
                             new MD5ChecksumCompute().compute(concat.toString(), status), completed.size());
@@ -240,7 +251,8 @@ public class S3MultipartUploadService extends HttpUploadFeature<StorageObject, M
     private Future<MultipartPart> submit(final ThreadPool pool, final Path file, final Local local,
                                          final BandwidthThrottle throttle, final StreamListener listener,
                                          final TransferStatus overall, final MultipartUpload multipart,
-                                         final int partNumber, final long offset, final long length, final ConnectionCallback callback) throws BackgroundException {
+                                         final int partNumber, final long offset, final long length,
+                                         final Map<Integer, Checksum> checksums, final ConnectionCallback callback) throws BackgroundException {
         if(log.isInfoEnabled()) {
             log.info(String.format("Submit part %d of %s to queue with offset %d and length %d", partNumber, file, offset, length));
         }
@@ -261,9 +273,17 @@ public class S3MultipartUploadService extends HttpUploadFeature<StorageObject, M
                 status.setNonces(overall.getNonces());
                 switch(session.getSignatureVersion()) {
                     case AWS4HMACSHA256:
-                        status.setChecksum(writer.checksum(file)
-                                .compute(StreamCopier.skip(new BoundedInputStream(local.getInputStream(), offset + length), offset), status)
-                        );
+                        final ChecksumCompute compute = writer.checksum(file);
+                        if(HashAlgorithm.sha256 == ChecksumComputeFactory.algorithm(compute)) {
+                            // Single pass for payload signature and verification of ETag
+                            final Map<HashAlgorithm, Checksum> digests = new PartChecksumCompute(HashAlgorithm.sha256, HashAlgorithm.md5)
+                                    .compute(local, offset, length);
+                            status.setChecksum(digests.get(HashAlgorithm.sha256));
+                            checksums.put(partNumber, digests.get(HashAlgorithm.md5));
+                        }
+                        else {
+                            status.setChecksum(PartChecksumCompute.compute(compute, local, offset, length, status));
+                        }
                         break;
                 }
                 status.setSegment(true);
@@ -31,6 +31,7 @@ import ch.cyberduck.core.PasswordCallback;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
 import ch.cyberduck.core.PathNormalizer;
+import ch.cyberduck.core.RecursiveListService;
 import ch.cyberduck.core.Scheme;
 import ch.cyberduck.core.UrlProvider;
 import ch.cyberduck.core.analytics.AnalyticsProvider;
@@ -65,6 +66,8 @@ import ch.cyberduck.core.ssl.ThreadLocalHostnameDelegatingTrustManager;
 import ch.cyberduck.core.ssl.X509KeyManager;
 import ch.cyberduck.core.ssl.X509TrustManager;
 import ch.cyberduck.core.threading.CancelCallback;
+import ch.cyberduck.core.threading.ThreadPool;
+import ch.cyberduck.core.threading.ThreadPoolFactory;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.client.methods.HttpUriRequest;
@@ -91,6 +94,11 @@ public class S3Session extends HttpSession<RequestEntityRestStorageService> {
 
     private Map<Path, Distribution> distributions = Collections.emptyMap();
 
+    /**
+     * Pool shared by concurrent listings of this session
+     */
+    private ThreadPool listing;
+
     private S3Protocol.AuthenticationHeaderSignatureVersion authenticationHeaderSignatureVersion
         = S3Protocol.AuthenticationHeaderSignatureVersion.getDefault(host.getProtocol());
 
@@ -114,6 +122,24 @@ public class S3Session extends HttpSession<RequestEntityRestStorageService> {
         catch(ServiceException e) {
             throw new S3ExceptionMappingService().map(e);
         }
+        finally {
+            synchronized(this) {
+                if(listing != null) {
+                    listing.shutdown(false);
+                    listing = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Pool with concurrency from preferences reused for all recursive listings until logout
+     */
+    protected synchronized ThreadPool getListingPool() {
+        if(null == listing) {
+            listing = ThreadPoolFactory.get("list", preferences.getInteger("s3.listing.concurrency"));
+        }
+        return listing;
     }
 
     protected boolean authorize(HttpUriRequest httpMethod, ProviderCredentials credentials)
@@ -384,6 +410,9 @@ public class S3Session extends HttpSession<RequestEntityRestStorageService> {
         if(type == Search.class) {
             return (T) new S3SearchFeature(this);
         }
+        if(type == RecursiveListService.class) {
+            return (T) new S3ConcurrentObjectListService(this);
+        }
         if(type == IdProvider.class) {
             return (T) new S3VersionIdProvider(this);
         }
@@ -22,6 +22,7 @@ import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.AccessDeniedException;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.InteroperabilityException;
@@ -57,6 +58,7 @@ public class SFTPListService implements ListService {
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         try {
             final AttributedList<Path> children = new AttributedList<Path>();
+            final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
             final RemoteDirectory handle = session.sftp().openDir(directory.getAbsolute());
             for(RemoteResourceInfo f : handle.scan(new RemoteResourceFilter() {
                 @Override
@@ -78,10 +80,11 @@ public class SFTPListService implements ListService {
                 final Path file = new Path(directory, normalizer.normalize(f.getName()).toString(), type, attributes);
                 if(this.post(file)) {
                     children.add(file);
-                    listener.chunk(directory, children);
+                    throttled.chunk(directory, children);
                 }
             }
             handle.close();
+            throttled.flush(directory, children);
             return children;
         }
         catch(IOException e) {
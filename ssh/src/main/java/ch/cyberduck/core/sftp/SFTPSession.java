@@ -304,7 +304,9 @@ public class SFTPSession extends Session<SSHClient> {
             sftp = new SFTPEngine(client, String.valueOf(Path.DELIMITER)) {
                 @Override
                 public Promise<Response, SFTPException> request(final Request req) throws IOException {
-                    log(Type.request, String.format("%d %s", req.getRequestID(), req.getType()));
+                    if(SFTPSession.this.isEnabled()) {
+                        log(Type.request, String.format("%d %s", req.getRequestID(), req.getType()));
+                    }
                     return super.request(req);
                 }
             }.init();
@@ -38,12 +38,10 @@ import org.apache.log4j.Logger;
 import javax.xml.namespace.QName;
 import java.io.IOException;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import com.github.sardine.DavResource;
 import com.github.sardine.impl.SardineException;
 import com.github.sardine.impl.handler.HeadersResponseHandler;
 
@@ -66,12 +64,16 @@ public class DAVAttributesFinderFeature implements AttributesFinder {
         }
         try {
             try {
-                final List<DavResource> status = session.getClient().list(new DAVPathEncoder().encode(file), 1,
+                try (DAVMultistatusReader reader = session.getClient().propfind(new DAVPathEncoder().encode(file),
+                    DAVPropfindRequest.DEPTH_RESOURCE,
                     Stream.of(
                         DAVTimestampFeature.LAST_MODIFIED_CUSTOM_NAMESPACE,
                         DAVTimestampFeature.LAST_MODIFIED_SERVER_CUSTOM_NAMESPACE).
-                        collect(Collectors.toSet()));
-                for(final DavResource resource : status) {
+                        collect(Collectors.toSet()))) {
+                    final DAVResponse resource = reader.next();
+                    if(null == resource) {
+                        throw new NotfoundException(file.getAbsolute());
+                    }
                     if(resource.isDirectory()) {
                         if(!file.getType().contains(Path.Type.directory)) {
                             throw new NotfoundException(String.format("Path %s is directory", file.getAbsolute()));
@@ -84,7 +86,6 @@ public class DAVAttributesFinderFeature implements AttributesFinder {
                     }
                     return this.toAttributes(resource);
                 }
-                throw new NotfoundException(file.getAbsolute());
             }
             catch(SardineException e) {
                 try {
@@ -126,9 +127,9 @@ public class DAVAttributesFinderFeature implements AttributesFinder {
         }
     }
 
-    protected PathAttributes toAttributes(final DavResource resource) {
+    protected PathAttributes toAttributes(final DAVResponse resource) {
         final PathAttributes attributes = new PathAttributes();
-        final Map<QName, String> properties = resource.getCustomPropsNS();
+        final Map<QName, String> properties = resource.getProperties();
         if(null != properties && properties.containsKey(DAVTimestampFeature.LAST_MODIFIED_CUSTOM_NAMESPACE)) {
             final String value = properties.get(DAVTimestampFeature.LAST_MODIFIED_CUSTOM_NAMESPACE);
             if(StringUtils.isNotBlank(value)) {
@@ -29,9 +29,11 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.HttpClientBuilder;
 
+import javax.xml.namespace.QName;
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 import com.github.sardine.impl.SardineImpl;
 import com.github.sardine.impl.handler.VoidResponseHandler;
@@ -91,6 +93,26 @@ public class DAVClient extends SardineImpl {
         }
     }
 
+    /**
+     * @param url        Resource
+     * @param depth      Depth header
+     * @param properties Custom properties to request in addition to the properties mapped to attributes
+     * @return Reader for resources in response. Must be closed by caller.
+     */
+    public DAVMultistatusReader propfind(final String url, final String depth, final Set<QName> properties) throws IOException {
+        final DAVPropfindRequest request = new DAVPropfindRequest(url, depth, properties);
+        final HttpResponse response = this.execute(request);
+        final VoidResponseHandler handler = new VoidResponseHandler();
+        try {
+            handler.handleResponse(response);
+            return new DAVMultistatusReader(request, response.getEntity().getContent());
+        }
+        catch(IOException ex) {
+            request.abort();
+            throw ex;
+        }
+    }
+
     public HttpClientContext context() {
         return context;
     }
@@ -18,23 +18,27 @@ package ch.cyberduck.core.dav;
  */
 
 import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.DescendantsListProgressListener;
 import ch.cyberduck.core.ListProgressListener;
 import ch.cyberduck.core.ListService;
 import ch.cyberduck.core.Path;
 import ch.cyberduck.core.PathAttributes;
 import ch.cyberduck.core.PathNormalizer;
+import ch.cyberduck.core.ThrottledListProgressListener;
 import ch.cyberduck.core.exception.BackgroundException;
 import ch.cyberduck.core.exception.NotfoundException;
 import ch.cyberduck.core.http.HttpExceptionMappingService;
+import ch.cyberduck.core.preferences.PreferencesFactory;
 
+import org.apache.http.HttpStatus;
 import org.apache.log4j.Logger;
 
 import java.io.IOException;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
-import com.github.sardine.DavResource;
 import com.github.sardine.impl.SardineException;
 
 public class DAVListService implements ListService {
@@ -42,6 +46,12 @@ public class DAVListService implements ListService {
 
     private final DAVSession session;
 
+    /**
+     * Number of descendants read between notifications
+     */
+    private final int chunksize
+        = PreferencesFactory.get().getInteger("browser.list.chunk.size");
+
     public DAVListService(final DAVSession session) {
         this.session = session;
     }
@@ -49,12 +59,51 @@ public class DAVListService implements ListService {
     @Override
     public AttributedList<Path> list(final Path directory, final ListProgressListener listener) throws BackgroundException {
         try {
-            final AttributedList<Path> children = new AttributedList<Path>();
-            final List<DavResource> resources = session.getClient().list(new DAVPathEncoder().encode(directory), 1,
-                Collections.singleton(DAVTimestampFeature.LAST_MODIFIED_CUSTOM_NAMESPACE));
-            for(final DavResource resource : resources) {
+            if(session.isDepthInfinity() && listener instanceof DescendantsListProgressListener) {
+                try {
+                    return this.list(directory, listener, DAVPropfindRequest.DEPTH_INFINITY);
+                }
+                catch(SardineException e) {
+                    if(e.getStatusCode() != HttpStatus.SC_FORBIDDEN) {
+                        throw e;
+                    }
+                    // Precondition propfind-finite-depth
+                    log.warn(String.format("Failure with PROPFIND request of depth infinity for %s. %s", directory, e.getResponsePhrase()));
+                    session.setDepthInfinity(false);
+                }
+            }
+            return this.list(directory, listener, DAVPropfindRequest.DEPTH_CHILDREN);
+        }
+        catch(SardineException e) {
+            throw new DAVExceptionMappingService().map("Listing directory {0} failed", e, directory);
+        }
+        catch(IOException e) {
+            throw new HttpExceptionMappingService().map(e, directory);
+        }
+    }
+
+    protected DAVMultistatusReader propfind(final Path directory, final String depth) throws IOException {
+        return session.getClient().propfind(new DAVPathEncoder().encode(directory), depth,
+            Collections.singleton(DAVTimestampFeature.LAST_MODIFIED_CUSTOM_NAMESPACE));
+    }
+
+    /**
+     * Notify listener with files as parsed from response. Listings of subdirectories returned for depth infinity
+     * are passed to the listener of the recursive operation.
+     */
+    private AttributedList<Path> list(final Path directory, final ListProgressListener listener, final String depth) throws IOException, BackgroundException {
+        final AttributedList<Path> children = new AttributedList<Path>();
+        final ThrottledListProgressListener throttled = new ThrottledListProgressListener(listener);
+        // Subdirectories and their listings for depth infinity
+        final Map<String, Path> folders = new HashMap<String, Path>();
+        final Map<String, AttributedList<Path>> listings = new HashMap<String, AttributedList<Path>>();
+        final DAVAttributesFinderFeature feature = new DAVAttributesFinderFeature(session);
+        int descendants = 0;
+        try (DAVMultistatusReader reader = this.propfind(directory, depth)) {
+            DAVResponse resource;
+            while((resource = reader.next()) != null) {
                 // Try to parse as RFC 2396
-                final String href = PathNormalizer.normalize(resource.getHref().getPath(), true);
+                final String href = PathNormalizer.normalize(resource.getPath(), true);
                 if(href.equals(directory.getAbsolute())) {
                     log.warn(String.format("Ignore resource %s", href));
                     // Do not include self
@@ -63,20 +112,37 @@ public class DAVListService implements ListService {
                     }
                     throw new NotfoundException(directory.getAbsolute());
                 }
-                final PathAttributes attributes = new DAVAttributesFinderFeature(session).toAttributes(resource);
-                final Path file = new Path(directory, PathNormalizer.name(href),
-                    resource.isDirectory() ? EnumSet.of(Path.Type.directory) : EnumSet.of(Path.Type.file),
-                    attributes);
-                children.add(file);
-                listener.chunk(directory, children);
+                final PathAttributes attributes = feature.toAttributes(resource);
+                final EnumSet<Path.Type> type = resource.isDirectory() ? EnumSet.of(Path.Type.directory) : EnumSet.of(Path.Type.file);
+                final String parent = PathNormalizer.parent(href, Path.DELIMITER);
+                final Path file;
+                if(directory.getAbsolute().equals(parent)) {
+                    file = new Path(directory, PathNormalizer.name(href), type, attributes);
+                    children.add(file);
+                    throttled.chunk(directory, children);
+                }
+                else {
+                    final Path folder = folders.get(parent);
+                    file = null == folder ? new Path(href, type, attributes) : new Path(folder, PathNormalizer.name(href), type, attributes);
+                    if(!listings.containsKey(parent)) {
+                        listings.put(parent, new AttributedList<Path>());
+                    }
+                    listings.get(parent).add(file);
+                    if(chunksize > 0 && ++descendants % chunksize == 0) {
+                        // Allow to cancel while reading descendants
+                        ((DescendantsListProgressListener) listener).descendants(file.getParent(), listings.get(parent));
+                    }
+                }
+                if(file.isDirectory() && DAVPropfindRequest.DEPTH_INFINITY.equals(depth)) {
+                    folders.put(href, file);
+                }
             }
-            return children;
-        }
-        catch(SardineException e) {
-            throw new DAVExceptionMappingService().map("Listing directory {0} failed", e, directory);
         }
-        catch(IOException e) {
-            throw new HttpExceptionMappingService().map(e, directory);
+        throttled.flush(directory, children);
+        for(Map.Entry<String, Path> folder : folders.entrySet()) {
+            ((DescendantsListProgressListener) listener).descendants(folder.getValue(), listings.containsKey(folder.getKey())
+                ? listings.get(folder.getKey()) : new AttributedList<Path>());
         }
+        return children;
     }
 }
@@ -0,0 +1,229 @@
+package ch.cyberduck.core.dav;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.log4j.Logger;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming reader for multistatus responses to PROPFIND requests. Resources are returned one at a time while
+ * reading from the stream without unmarshalling the whole document.
+ */
+public class DAVMultistatusReader implements Closeable {
+    private static final Logger log = Logger.getLogger(DAVMultistatusReader.class);
+
+    private static final String NAMESPACE = "DAV:";
+
+    private static final XMLInputFactory factory = XMLInputFactory.newInstance();
+
+    static {
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Request to abort when closed before end of document
+     */
+    private final HttpRequestBase request;
+    private final InputStream in;
+    private final XMLStreamReader reader;
+
+    private boolean complete;
+
+    public DAVMultistatusReader(final InputStream in) throws IOException {
+        this(null, in);
+    }
+
+    public DAVMultistatusReader(final HttpRequestBase request, final InputStream in) throws IOException {
+        this.request = request;
+        this.in = in;
+        try {
+            this.reader = factory.createXMLStreamReader(in);
+        }
+        catch(XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Next resource in multistatus response or null when the end of the document is reached
+     */
+    public DAVResponse next() throws IOException {
+        try {
+            while(reader.hasNext()) {
+                if(reader.next() == XMLStreamConstants.START_ELEMENT && this.isElement("response")) {
+                    return this.response();
+                }
+            }
+            complete = true;
+            return null;
+        }
+        catch(XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private DAVResponse response() throws XMLStreamException {
+        String href = null;
+        final Map<QName, String> properties = new HashMap<QName, String>();
+        while(reader.hasNext()) {
+            final int event = reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                if(this.isElement("href")) {
+                    href = StringUtils.trim(reader.getElementText());
+                }
+                else if(this.isElement("propstat")) {
+                    this.propstat(properties);
+                }
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT && this.isElement("response")) {
+                break;
+            }
+        }
+        return new DAVResponse(href, properties);
+    }
+
+    private void propstat(final Map<QName, String> properties) throws XMLStreamException {
+        final Map<QName, String> values = new HashMap<QName, String>();
+        String status = null;
+        while(reader.hasNext()) {
+            final int event = reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                if(this.isElement("prop")) {
+                    this.prop(values);
+                }
+                else if(this.isElement("status")) {
+                    status = reader.getElementText();
+                }
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT && this.isElement("propstat")) {
+                break;
+            }
+        }
+        if(null == status || this.isSuccess(status)) {
+            properties.putAll(values);
+        }
+    }
+
+    private void prop(final Map<QName, String> values) throws XMLStreamException {
+        while(reader.hasNext()) {
+            final int event = reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                final QName name = new QName(reader.getNamespaceURI(), reader.getLocalName());
+                if(DAVPropfindRequest.RESOURCETYPE.equals(name)) {
+                    values.put(name, this.resourcetype());
+                }
+                else {
+                    values.put(name, this.text());
+                }
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT && this.isElement("prop")) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return Collection marker or empty string
+     */
+    private String resourcetype() throws XMLStreamException {
+        String type = StringUtils.EMPTY;
+        int depth = 1;
+        while(depth > 0 && reader.hasNext()) {
+            final int event = reader.next();
+            if(event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if(this.isElement("collection")) {
+                    type = DAVResponse.COLLECTION;
+                }
+            }
+            else if(event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * @return Text content of current element skipping nested elements
+     */
+    private String text() throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while(depth > 0 && reader.hasNext()) {
+            final int event = reader.next();
+            switch(event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    if(1 == depth) {
+                        text.append(reader.getText());
+                    }
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private boolean isElement(final String name) {
+        return NAMESPACE.equals(reader.getNamespaceURI()) && name.equals(reader.getLocalName());
+    }
+
+    /**
+     * @param status Status line such as HTTP/1.1 200 OK
+     */
+    private boolean isSuccess(final String status) {
+        final String[] tokens = StringUtils.split(status);
+        return tokens.length > 1 && tokens[1].startsWith("2");
+    }
+
+    /**
+     * Abort request when document is not read to the end to skip reading remaining resources
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        }
+        catch(XMLStreamException e) {
+            log.warn(String.format("Failure closing reader. %s", e.getMessage()));
+        }
+        if(!complete && null != request) {
+            request.abort();
+        }
+        IOUtils.closeQuietly(in);
+    }
+}
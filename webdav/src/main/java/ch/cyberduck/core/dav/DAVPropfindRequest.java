@@ -0,0 +1,90 @@
+package ch.cyberduck.core.dav;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+
+import javax.xml.namespace.QName;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PROPFIND request for the properties mapped to path attributes only instead of all properties
+ */
+public class DAVPropfindRequest extends HttpEntityEnclosingRequestBase {
+
+    public static final String METHOD_NAME = "PROPFIND";
+
+    public static final String DEPTH_RESOURCE = "0";
+    public static final String DEPTH_CHILDREN = "1";
+    public static final String DEPTH_INFINITY = "infinity";
+
+    private static final String NAMESPACE = "DAV:";
+
+    public static final QName RESOURCETYPE = new QName(NAMESPACE, "resourcetype");
+    public static final QName GETCONTENTTYPE = new QName(NAMESPACE, "getcontenttype");
+    public static final QName GETCONTENTLENGTH = new QName(NAMESPACE, "getcontentlength");
+    public static final QName GETLASTMODIFIED = new QName(NAMESPACE, "getlastmodified");
+    public static final QName CREATIONDATE = new QName(NAMESPACE, "creationdate");
+    public static final QName GETETAG = new QName(NAMESPACE, "getetag");
+    public static final QName DISPLAYNAME = new QName(NAMESPACE, "displayname");
+
+    /**
+     * Properties read for every resource
+     */
+    private static final List<QName> properties = Arrays.asList(
+        RESOURCETYPE, GETCONTENTTYPE, GETCONTENTLENGTH, GETLASTMODIFIED, CREATIONDATE, GETETAG, DISPLAYNAME);
+
+    public DAVPropfindRequest(final String url, final String depth) {
+        this(url, depth, Collections.<QName>emptySet());
+    }
+
+    /**
+     * @param url    Resource
+     * @param depth  Depth header
+     * @param custom Additional properties
+     */
+    public DAVPropfindRequest(final String url, final String depth, final Set<QName> custom) {
+        this.setURI(URI.create(url));
+        this.setHeader("Depth", depth);
+        this.setEntity(new StringEntity(this.body(custom), ContentType.create("text/xml", "UTF-8")));
+    }
+
+    private String body(final Set<QName> custom) {
+        final StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+        body.append("<D:propfind xmlns:D=\"").append(NAMESPACE).append("\"><D:prop>");
+        for(QName property : properties) {
+            body.append("<D:").append(property.getLocalPart()).append("/>");
+        }
+        int i = 0;
+        for(QName property : custom) {
+            body.append(String.format("<ns%d:%s xmlns:ns%d=\"%s\"/>", i, property.getLocalPart(), i, property.getNamespaceURI()));
+            i++;
+        }
+        body.append("</D:prop></D:propfind>");
+        return body.toString();
+    }
+
+    @Override
+    public String getMethod() {
+        return METHOD_NAME;
+    }
+}
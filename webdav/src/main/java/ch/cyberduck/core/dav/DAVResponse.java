@@ -0,0 +1,140 @@
+package ch.cyberduck.core.dav;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.date.ISO8601DateParser;
+import ch.cyberduck.core.date.InvalidDateException;
+import ch.cyberduck.core.date.RFC1123DateFormatter;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.log4j.Logger;
+
+import javax.xml.namespace.QName;
+import java.net.URI;
+import java.util.Date;
+import java.util.Map;
+
+import com.github.sardine.util.SardineUtil;
+
+/**
+ * Resource in multistatus response with properties found
+ */
+public class DAVResponse {
+    private static final Logger log = Logger.getLogger(DAVResponse.class);
+
+    /**
+     * Content type of collections
+     */
+    private static final String DIRECTORY_CONTENT_TYPE = "httpd/unix-directory";
+
+    /**
+     * Marker value for resource type containing collection element
+     */
+    public static final String COLLECTION = "collection";
+
+    private final String href;
+    private final Map<QName, String> properties;
+
+    public DAVResponse(final String href, final Map<QName, String> properties) {
+        this.href = href;
+        this.properties = properties;
+    }
+
+    /**
+     * @return Decoded path of reference
+     */
+    public String getPath() {
+        try {
+            final String path = URI.create(href).getPath();
+            if(null == path) {
+                return href;
+            }
+            return path;
+        }
+        catch(IllegalArgumentException e) {
+            log.warn(String.format("Failure parsing href %s. %s", href, e.getMessage()));
+            return href;
+        }
+    }
+
+    public boolean isDirectory() {
+        return COLLECTION.equals(properties.get(DAVPropfindRequest.RESOURCETYPE))
+            || DIRECTORY_CONTENT_TYPE.equals(properties.get(DAVPropfindRequest.GETCONTENTTYPE));
+    }
+
+    /**
+     * @return Properties found with status 200
+     */
+    public Map<QName, String> getProperties() {
+        return properties;
+    }
+
+    public Date getModified() {
+        final String value = properties.get(DAVPropfindRequest.GETLASTMODIFIED);
+        if(StringUtils.isBlank(value)) {
+            return null;
+        }
+        try {
+            return new RFC1123DateFormatter().parse(value);
+        }
+        catch(InvalidDateException e) {
+            log.warn(String.format("%s is not RFC 1123 format %s", value, e.getMessage()));
+            // Lenient parsing of formats found with servers in the wild
+            return SardineUtil.parseDate(value);
+        }
+    }
+
+    public Date getCreation() {
+        final String value = properties.get(DAVPropfindRequest.CREATIONDATE);
+        if(StringUtils.isBlank(value)) {
+            return null;
+        }
+        try {
+            return new ISO8601DateParser().parse(value);
+        }
+        catch(InvalidDateException e) {
+            log.warn(String.format("%s is not ISO 8601 format %s", value, e.getMessage()));
+            // Lenient parsing of formats found with servers in the wild
+            return SardineUtil.parseDate(value);
+        }
+    }
+
+    public Long getContentLength() {
+        final String value = properties.get(DAVPropfindRequest.GETCONTENTLENGTH);
+        if(StringUtils.isBlank(value)) {
+            return null;
+        }
+        return NumberUtils.toLong(value.trim(), -1L);
+    }
+
+    public String getEtag() {
+        return properties.get(DAVPropfindRequest.GETETAG);
+    }
+
+    public String getDisplayName() {
+        return properties.get(DAVPropfindRequest.DISPLAYNAME);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DAVResponse{");
+        sb.append("href='").append(href).append('\'');
+        sb.append(", properties=").append(properties);
+        sb.append('}');
+        return sb.toString();
+    }
+}
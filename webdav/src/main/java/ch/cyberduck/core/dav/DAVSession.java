@@ -83,6 +83,12 @@ public class DAVSession extends HttpSession<DAVClient> {
     private final Preferences preferences
         = PreferencesFactory.get();
 
+    /**
+     * Request listings with depth infinity until rejected by server
+     */
+    private boolean infinity
+        = preferences.getBoolean("webdav.list.depth.infinity");
+
     public DAVSession(final Host host) {
         super(host, new ThreadLocalHostnameDelegatingTrustManager(new DisabledX509TrustManager(), host.getHostname()), new DefaultX509KeyManager());
     }
@@ -268,6 +274,14 @@ public class DAVSession extends HttpSession<DAVClient> {
         return new DAVListService(this).list(directory, listener);
     }
 
+    protected boolean isDepthInfinity() {
+        return infinity;
+    }
+
+    protected void setDepthInfinity(final boolean infinity) {
+        this.infinity = infinity;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T _getFeature(final Class<T> type) {
@@ -0,0 +1,165 @@
+package ch.cyberduck.core.dav;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import ch.cyberduck.core.AttributedList;
+import ch.cyberduck.core.DescendantsListProgressListener;
+import ch.cyberduck.core.DisabledListProgressListener;
+import ch.cyberduck.core.Host;
+import ch.cyberduck.core.ListProgressListener;
+import ch.cyberduck.core.Path;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.sardine.impl.SardineException;
+
+import static org.junit.Assert.*;
+
+public class DAVListServiceDepthTest {
+
+    private static final String CHILDREN = "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+        "<d:multistatus xmlns:d=\"DAV:\">" +
+        "<d:response><d:href>/d/</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/s/</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/f</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype/><d:getcontentlength>1</d:getcontentlength>" +
+        "<d:getlastmodified>1994-12-01T16:00:00Z</d:getlastmodified></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "</d:multistatus>";
+
+    private static final String INFINITY = "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+        "<d:multistatus xmlns:d=\"DAV:\">" +
+        "<d:response><d:href>/d/</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/s/</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/s/t/</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/s/g</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype/><d:getcontentlength>1</d:getcontentlength></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "<d:response><d:href>/d/f</d:href>" +
+        "<d:propstat><d:prop><d:resourcetype/><d:getcontentlength>1</d:getcontentlength></d:prop>" +
+        "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+        "</d:multistatus>";
+
+    private static final class Recorder extends DisabledListProgressListener implements DescendantsListProgressListener {
+        private final Map<Path, AttributedList<Path>> descendants = new HashMap<Path, AttributedList<Path>>();
+
+        @Override
+        public void descendants(final Path folder, final AttributedList<Path> list) {
+            descendants.put(folder, list);
+        }
+    }
+
+    private static DAVSession session() {
+        final DAVSession session = new DAVSession(new Host(new DAVProtocol(), "localhost"));
+        session.setDepthInfinity(true);
+        return session;
+    }
+
+    @Test
+    public void testListDepthInfinity() throws Exception {
+        final List<String> depths = new ArrayList<String>();
+        final DAVSession session = session();
+        final AttributedList<Path> list = new DAVListService(session) {
+            @Override
+            protected DAVMultistatusReader propfind(final Path directory, final String depth) throws IOException {
+                depths.add(depth);
+                return new DAVMultistatusReader(new ByteArrayInputStream(INFINITY.getBytes(StandardCharsets.UTF_8)));
+            }
+        }.list(new Path("/d", EnumSet.of(Path.Type.directory)), new Recorder());
+        assertEquals(2, list.size());
+        assertEquals(1, depths.size());
+        assertEquals(DAVPropfindRequest.DEPTH_INFINITY, depths.get(0));
+        assertTrue(session.isDepthInfinity());
+    }
+
+    @Test
+    public void testDescendants() throws Exception {
+        final Recorder listener = new Recorder();
+        final AttributedList<Path> list = new DAVListService(session()) {
+            @Override
+            protected DAVMultistatusReader propfind(final Path directory, final String depth) throws IOException {
+                return new DAVMultistatusReader(new ByteArrayInputStream(INFINITY.getBytes(StandardCharsets.UTF_8)));
+            }
+        }.list(new Path("/d", EnumSet.of(Path.Type.directory)), listener);
+        assertEquals(2, list.size());
+        final Path s = new Path("/d/s", EnumSet.of(Path.Type.directory));
+        final Path t = new Path("/d/s/t", EnumSet.of(Path.Type.directory));
+        assertEquals(2, listener.descendants.size());
+        assertEquals(2, listener.descendants.get(s).size());
+        assertTrue(listener.descendants.get(s).contains(t));
+        assertTrue(listener.descendants.get(t).isEmpty());
+    }
+
+    @Test
+    public void testListDepthChildrenWithoutDescendantsListener() throws Exception {
+        final List<String> depths = new ArrayList<String>();
+        final AttributedList<Path> list = new DAVListService(session()) {
+            @Override
+            protected DAVMultistatusReader propfind(final Path directory, final String depth) throws IOException {
+                depths.add(depth);
+                return new DAVMultistatusReader(new ByteArrayInputStream(CHILDREN.getBytes(StandardCharsets.UTF_8)));
+            }
+        }.list(new Path("/d", EnumSet.of(Path.Type.directory)), new DisabledListProgressListener());
+        assertEquals(2, list.size());
+        assertEquals(1, depths.size());
+        assertEquals(DAVPropfindRequest.DEPTH_CHILDREN, depths.get(0));
+        // Lenient parsing of last modified date not in RFC 1123 format
+        assertEquals(786297600000L, list.get(new Path("/d/f", EnumSet.of(Path.Type.file))).attributes().getModificationDate());
+    }
+
+    @Test
+    public void testFallbackDepthChildren() throws Exception {
+        final List<String> depths = new ArrayList<String>();
+        final DAVSession session = session();
+        final ListProgressListener listener = new Recorder();
+        final DAVListService service = new DAVListService(session) {
+            @Override
+            protected DAVMultistatusReader propfind(final Path directory, final String depth) throws IOException {
+                depths.add(depth);
+                if(DAVPropfindRequest.DEPTH_INFINITY.equals(depth)) {
+                    throw new SardineException("propfind-finite-depth", 403, "Forbidden");
+                }
+                return new DAVMultistatusReader(new ByteArrayInputStream(CHILDREN.getBytes(StandardCharsets.UTF_8)));
+            }
+        };
+        assertEquals(2, service.list(new Path("/d", EnumSet.of(Path.Type.directory)), listener).size());
+        assertFalse(session.isDepthInfinity());
+        assertEquals(2, service.list(new Path("/d", EnumSet.of(Path.Type.directory)), listener).size());
+        assertEquals(3, depths.size());
+        assertEquals(DAVPropfindRequest.DEPTH_INFINITY, depths.get(0));
+        assertEquals(DAVPropfindRequest.DEPTH_CHILDREN, depths.get(1));
+        assertEquals(DAVPropfindRequest.DEPTH_CHILDREN, depths.get(2));
+    }
+}
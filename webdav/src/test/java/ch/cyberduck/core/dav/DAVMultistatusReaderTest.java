@@ -0,0 +1,60 @@
+package ch.cyberduck.core.dav;
+
+/*
+ * Copyright (c) 2002-2018 iterate GmbH. All rights reserved.
+ * https://cyberduck.io/
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+
+import org.junit.Test;
+
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DAVMultistatusReaderTest {
+
+    @Test
+    public void testRead() throws Exception {
+        final String xml = "<?xml version=\"1.0\" encoding=\"utf-8\"?>" +
+            "<d:multistatus xmlns:d=\"DAV:\" xmlns:s=\"SAR:\">" +
+            "<d:response><d:href>/remote.php/webdav/</d:href>" +
+            "<d:propstat><d:prop><d:resourcetype><d:collection/></d:resourcetype></d:prop>" +
+            "<d:status>HTTP/1.1 200 OK</d:status></d:propstat></d:response>" +
+            "<d:response><d:href>/remote.php/webdav/f%20n.txt</d:href>" +
+            "<d:propstat><d:prop><d:resourcetype/><d:getcontentlength>3</d:getcontentlength>" +
+            "<d:getlastmodified>Thu, 01 Dec 1994 16:00:00 GMT</d:getlastmodified>" +
+            "<d:getetag>\"e\"</d:getetag><s:lastmodified>l</s:lastmodified></d:prop>" +
+            "<d:status>HTTP/1.1 200 OK</d:status></d:propstat>" +
+            "<d:propstat><d:prop><d:displayname/></d:prop>" +
+            "<d:status>HTTP/1.1 404 Not Found</d:status></d:propstat></d:response>" +
+            "</d:multistatus>";
+        final DAVMultistatusReader reader = new DAVMultistatusReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        final DAVResponse directory = reader.next();
+        assertNotNull(directory);
+        assertEquals("/remote.php/webdav/", directory.getPath());
+        assertTrue(directory.isDirectory());
+        final DAVResponse file = reader.next();
+        assertNotNull(file);
+        assertEquals("/remote.php/webdav/f n.txt", file.getPath());
+        assertFalse(file.isDirectory());
+        assertEquals(Long.valueOf(3L), file.getContentLength());
+        assertEquals(786297600000L, file.getModified().getTime());
+        assertEquals("\"e\"", file.getEtag());
+        assertEquals("l", file.getProperties().get(new QName("SAR:", "lastmodified")));
+        assertNull(file.getDisplayName());
+        assertNull(reader.next());
+        reader.close();
+    }
+}